@@ -0,0 +1,28 @@
+package physicianconnect.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import physicianconnect.objects.Invoice;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Monthly invoice listing used by the billing reports. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BillingBenchmarks {
+
+    @Benchmark
+    public List<Invoice> invoicesByMonth(ClinicState state) {
+        return state.invoices.getInvoicesByMonth(state.invoiceYear, state.invoiceMonth);
+    }
+}
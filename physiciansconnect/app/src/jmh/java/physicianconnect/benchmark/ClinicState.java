@@ -0,0 +1,161 @@
+package physicianconnect.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import physicianconnect.logic.AvailabilityService;
+import physicianconnect.logic.MessageService;
+import physicianconnect.logic.controller.PatientHistoryController;
+import physicianconnect.logic.manager.AppointmentManager;
+import physicianconnect.logic.manager.ReferralManager;
+import physicianconnect.objects.Appointment;
+import physicianconnect.objects.Physician;
+import physicianconnect.persistence.ConnectionPool;
+import physicianconnect.persistence.InMemoryMessageRepository;
+import physicianconnect.persistence.generator.SyntheticDataGenerator;
+import physicianconnect.persistence.interfaces.AppointmentPersistence;
+import physicianconnect.persistence.interfaces.InvoicePersistence;
+import physicianconnect.persistence.interfaces.MessageRepository;
+import physicianconnect.persistence.interfaces.PrescriptionPersistence;
+import physicianconnect.persistence.interfaces.ReferralPersistence;
+import physicianconnect.persistence.sqlite.AppointmentDB;
+import physicianconnect.persistence.sqlite.InvoiceDB;
+import physicianconnect.persistence.sqlite.MessageDB;
+import physicianconnect.persistence.sqlite.PrescriptionDB;
+import physicianconnect.persistence.sqlite.ReferralDB;
+import physicianconnect.persistence.sqlite.SchemaInitializer;
+import physicianconnect.persistence.stub.AppointmentPersistenceStub;
+import physicianconnect.persistence.stub.InvoicePersistenceStub;
+import physicianconnect.persistence.stub.PaymentPersistenceStub;
+import physicianconnect.persistence.stub.PhysicianPersistenceStub;
+import physicianconnect.persistence.stub.PrescriptionPersistenceStub;
+import physicianconnect.persistence.stub.ReceptionistPersistenceStub;
+import physicianconnect.persistence.stub.ReferralPersistenceStub;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A generated clinic behind either the SQLite or the stub persistence layer.
+ * {@code size} is the number of appointments; messages, invoices and the
+ * rest scale from it. SQLite fixtures are generated once per size into
+ * {@code build/jmh-fixtures} (override with {@code -Djmh.fixtures=DIR}) and
+ * reused by later runs; stub fixtures are generated in memory each trial.
+ */
+@State(Scope.Benchmark)
+public class ClinicState {
+
+    static final long SEED = 42;
+    static final int PHYSICIANS = 50;
+
+    @Param({ "sqlite", "stub" })
+    public String backend;
+
+    @Param({ "10000", "100000" })
+    public int size;
+
+    ConnectionPool pool;
+    AppointmentPersistence appointments;
+    MessageRepository messages;
+    InvoicePersistence invoices;
+
+    AppointmentManager appointmentManager;
+    AvailabilityService availabilityService;
+    MessageService messageService;
+    PatientHistoryController patientHistoryController;
+
+    /** Every generated physician, as candidates for slot searches. */
+    List<Physician> physicians;
+
+    /** Busiest physician, one of their patients and a booked slot. */
+    String physicianId = "p1";
+    String patientName;
+    LocalDateTime bookedSlot;
+    LocalDate weekStart;
+    int invoiceYear;
+    int invoiceMonth;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SyntheticDataGenerator.Volumes volumes = volumes();
+        PrescriptionPersistence prescriptions;
+        ReferralPersistence referrals;
+
+        if (backend.equals("sqlite")) {
+            Path file = fixtureFile();
+            if (!Files.exists(file)) {
+                Files.createDirectories(file.getParent());
+                new SyntheticDataGenerator(volumes).generate();
+            }
+            pool = ConnectionPool.open(file.toString(), ConnectionPool.DEFAULT_READERS);
+            SchemaInitializer.initializeSchema(pool.getWriterConnection());
+            appointments = new AppointmentDB(pool);
+            messages = new MessageDB(pool);
+            invoices = new InvoiceDB(pool);
+            prescriptions = new PrescriptionDB(pool);
+            referrals = new ReferralDB(pool);
+        } else {
+            appointments = new AppointmentPersistenceStub(false);
+            messages = new InMemoryMessageRepository();
+            invoices = new InvoicePersistenceStub(false);
+            prescriptions = new PrescriptionPersistenceStub(false);
+            referrals = new ReferralPersistenceStub(false);
+            new SyntheticDataGenerator(volumes).generate(new PhysicianPersistenceStub(false),
+                    new ReceptionistPersistenceStub(false), appointments, messages, invoices,
+                    new PaymentPersistenceStub(false));
+        }
+
+        appointmentManager = new AppointmentManager(appointments);
+        availabilityService = new AvailabilityService(appointments);
+        availabilityService.preload();
+        messageService = new MessageService(messages);
+        patientHistoryController = new PatientHistoryController(appointmentManager, prescriptions,
+                new ReferralManager(referrals));
+
+        physicians = new ArrayList<>();
+        for (int i = 1; i <= PHYSICIANS; i++) {
+            physicians.add(new Physician("p" + i, "Dr. " + i, "p" + i + "@clinic.com", "pw"));
+        }
+
+        List<Appointment> booked = appointments.getAppointmentsForPhysician(physicianId);
+        Appointment sample = booked.get(booked.size() / 2);
+        patientName = sample.getPatientName();
+        bookedSlot = sample.getDateTime();
+        weekStart = bookedSlot.toLocalDate().minusDays(bookedSlot.getDayOfWeek().getValue() - 1L);
+        LocalDate month = SyntheticDataGenerator.START_DATE.plusMonths(6);
+        invoiceYear = month.getYear();
+        invoiceMonth = month.getMonthValue();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private SyntheticDataGenerator.Volumes volumes() {
+        return SyntheticDataGenerator.Volumes.parse(new String[] {
+                "--out=" + fixtureFile(),
+                "--seed=" + SEED,
+                "--physicians=" + PHYSICIANS,
+                "--receptionists=10",
+                "--appointments=" + size,
+                "--messages=" + size * 5L,
+                "--invoices=" + size / 2,
+                "--years=2" });
+    }
+
+    private Path fixtureFile() {
+        return Path.of(System.getProperty("jmh.fixtures", "build/jmh-fixtures"))
+                .resolve("clinic-" + size + "-seed" + SEED + ".db");
+    }
+}
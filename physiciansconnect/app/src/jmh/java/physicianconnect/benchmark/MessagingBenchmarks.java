@@ -0,0 +1,33 @@
+package physicianconnect.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import physicianconnect.objects.Message;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Inbox loading and the unread badge that polls it. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessagingBenchmarks {
+
+    @Benchmark
+    public List<Message> messagesForUser(ClinicState state) {
+        return state.messageService.getMessagesForUser(state.physicianId, "physician");
+    }
+
+    @Benchmark
+    public int countUnreadMessages(ClinicState state) {
+        return state.messages.countUnreadMessages(state.physicianId, "physician");
+    }
+}
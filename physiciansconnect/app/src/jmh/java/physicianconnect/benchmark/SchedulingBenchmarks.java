@@ -0,0 +1,55 @@
+package physicianconnect.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import physicianconnect.logic.AvailabilityService;
+import physicianconnect.logic.SlotSearchCriteria;
+import physicianconnect.objects.Appointment;
+import physicianconnect.objects.TimeSlot;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Appointment lookups behind the calendar, booking and history views. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulingBenchmarks {
+
+    @Benchmark
+    public List<Appointment> appointmentsInRange(ClinicState state) {
+        return state.appointments.getAppointmentsForPhysicianInRange(state.physicianId,
+                state.weekStart.atStartOfDay(), state.weekStart.plusDays(7).atStartOfDay());
+    }
+
+    @Benchmark
+    public boolean isSlotAvailable(ClinicState state) {
+        return state.appointmentManager.isSlotAvailable(state.physicianId, state.bookedSlot);
+    }
+
+    @Benchmark
+    public Map<LocalDate, List<TimeSlot>> weeklyAvailability(ClinicState state) throws Exception {
+        return state.availabilityService.getWeeklyAvailability(state.physicianId, state.weekStart);
+    }
+
+    @Benchmark
+    public List<AvailabilityService.FreeSlot> findNextAvailable(ClinicState state) {
+        return state.availabilityService.findNextAvailable(
+                SlotSearchCriteria.among(state.physicians, state.weekStart.atStartOfDay()), 10);
+    }
+
+    @Benchmark
+    public String patientHistory(ClinicState state) {
+        return state.patientHistoryController.getPatientHistoryString(state.physicianId, state.patientName);
+    }
+}
@@ -0,0 +1,141 @@
+package physicianconnect.logic;
+
+import physicianconnect.logic.event.AppointmentChanged;
+import physicianconnect.logic.event.EventBus;
+import physicianconnect.objects.Appointment;
+import physicianconnect.objects.TimeSlot;
+import physicianconnect.persistence.interfaces.AppointmentPersistence;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Booked slots per physician and day, one bit per half-hour of the
+ * 08:00–17:00 grid from {@link TimeSlot#generateDailySlots}. One physician's
+ * month is an {@code int[31]} of day masks (about 200 bytes with its map
+ * entry), and months without a booking are not stored at all.
+ * <p>
+ * Months are loaded for every physician at once with one range scan and then
+ * kept current from {@link AppointmentChanged} events, so writes that do not
+ * go through {@code AppointmentManager} in this JVM are not seen. Appointments
+ * off the half-hour grid have no bit.
+ */
+public class AvailabilityIndex {
+
+    public static final int SLOTS_PER_DAY = 18;
+    private static final LocalTime GRID_START = LocalTime.of(8, 0);
+    private static final int SLOT_MINUTES = 30;
+
+    private final AppointmentPersistence appointmentDb;
+    private final Map<String, Map<Integer, int[]>> calendars = new HashMap<>();
+    private final Set<Integer> loadedMonths = new HashSet<>();
+
+    public AvailabilityIndex(AppointmentPersistence appointmentDb) {
+        this.appointmentDb = appointmentDb;
+    }
+
+    /** @return the slot's bit position, or -1 if {@code time} is not on the grid */
+    public static int slotIndex(LocalTime time) {
+        int minutes = (time.toSecondOfDay() - GRID_START.toSecondOfDay()) / 60;
+        if (time.getSecond() != 0 || time.getNano() != 0 || minutes < 0 || minutes % SLOT_MINUTES != 0) {
+            return -1;
+        }
+        int index = minutes / SLOT_MINUTES;
+        return index < SLOTS_PER_DAY ? index : -1;
+    }
+
+    public static LocalTime slotStart(int index) {
+        return GRID_START.plusMinutes((long) index * SLOT_MINUTES);
+    }
+
+    /** Lets the events of {@code bus} keep the index current until the subscription is closed. */
+    public EventBus.Subscription subscribe(EventBus bus) {
+        return bus.subscribe(AppointmentChanged.class, this::apply);
+    }
+
+    /**
+     * Rebuilds the months {@code from}..{@code to} (inclusive) for every
+     * physician from one range scan.
+     */
+    public synchronized void load(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            int key = monthKey(month);
+            loadedMonths.add(key);
+            for (Map<Integer, int[]> months : calendars.values()) {
+                months.remove(key);
+            }
+        }
+        for (Appointment a : appointmentDb.getAppointmentsInRange(
+                from.atDay(1).atStartOfDay(), to.plusMonths(1).atDay(1).atStartOfDay())) {
+            mark(a.getPhysicianId(), a.getDateTime(), true);
+        }
+    }
+
+    /** Day mask of booked slots; bit {@code i} is the slot starting at {@link #slotStart(int) slotStart(i)}. */
+    public synchronized int bookedSlots(String physicianId, LocalDate date) {
+        int key = monthKey(YearMonth.from(date));
+        if (!loadedMonths.contains(key)) {
+            YearMonth month = YearMonth.from(date);
+            load(month, month);
+        }
+        Map<Integer, int[]> months = calendars.get(physicianId);
+        int[] days = months == null ? null : months.get(key);
+        return days == null ? 0 : days[date.getDayOfMonth() - 1];
+    }
+
+    public synchronized void apply(AppointmentChanged change) {
+        switch (change.kind()) {
+            case CREATED -> mark(change.appointment().getPhysicianId(), change.appointment().getDateTime(), true);
+            case DELETED -> mark(change.appointment().getPhysicianId(), change.appointment().getDateTime(), false);
+            // The event does not say which slot was vacated, so the physician is reloaded
+            case UPDATED -> reloadPhysician(change.appointment().getPhysicianId());
+            case CLEARED -> calendars.clear();
+        }
+    }
+
+    private void reloadPhysician(String physicianId) {
+        calendars.remove(physicianId);
+        if (loadedMonths.isEmpty()) {
+            return;
+        }
+        int first = loadedMonths.stream().min(Integer::compare).orElseThrow();
+        int last = loadedMonths.stream().max(Integer::compare).orElseThrow();
+        for (Appointment a : appointmentDb.getAppointmentsForPhysicianInRange(physicianId,
+                monthOf(first).atDay(1).atStartOfDay(), monthOf(last + 1).atDay(1).atStartOfDay())) {
+            mark(physicianId, a.getDateTime(), true);
+        }
+    }
+
+    private void mark(String physicianId, LocalDateTime dateTime, boolean booked) {
+        int slot = slotIndex(dateTime.toLocalTime());
+        int key = monthKey(YearMonth.from(dateTime));
+        if (slot < 0 || !loadedMonths.contains(key)) {
+            return;
+        }
+        int day = dateTime.getDayOfMonth() - 1;
+        if (booked) {
+            calendars.computeIfAbsent(physicianId, id -> new HashMap<>())
+                    .computeIfAbsent(key, k -> new int[31])[day] |= 1 << slot;
+        } else {
+            Map<Integer, int[]> months = calendars.get(physicianId);
+            int[] days = months == null ? null : months.get(key);
+            if (days != null) {
+                days[day] &= ~(1 << slot);
+            }
+        }
+    }
+
+    private static int monthKey(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+
+    private static YearMonth monthOf(int key) {
+        return YearMonth.of(key / 12, key % 12 + 1);
+    }
+}
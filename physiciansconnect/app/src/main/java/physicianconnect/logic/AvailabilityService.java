@@ -2,48 +2,62 @@ package physicianconnect.logic;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
 import java.sql.SQLException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.LinkedHashMap;
+import java.util.PriorityQueue;
+import java.util.Set;
 
-import physicianconnect.persistence.sqlite.AppointmentDB;
+import physicianconnect.logic.event.EventBus;
+import physicianconnect.persistence.interfaces.AppointmentPersistence;
 import physicianconnect.objects.Appointment;
+import physicianconnect.objects.Physician;
 import physicianconnect.objects.TimeSlot;
 
 public class AvailabilityService {
-    private final AppointmentDB appointmentDb;
+    /** Months after the current one that are loaded up front. */
+    private static final int PRELOAD_MONTHS = 3;
 
-    public AvailabilityService(AppointmentDB appointmentDb) {
+    private final AppointmentPersistence appointmentDb;
+    private final AvailabilityIndex index;
+
+    public AvailabilityService(AppointmentPersistence appointmentDb) {
+        this(appointmentDb, new AvailabilityIndex(appointmentDb));
+    }
+
+    public AvailabilityService(AppointmentPersistence appointmentDb, AvailabilityIndex index) {
         this.appointmentDb = appointmentDb;
+        this.index = index;
+    }
+
+    /**
+     * Loads the current month and the next {@value #PRELOAD_MONTHS} into the
+     * index with one scan; other months load on first use. Runs a query, so
+     * call it off the EDT.
+     */
+    public void preload() {
+        YearMonth now = YearMonth.now();
+        index.load(now, now.plusMonths(PRELOAD_MONTHS));
+    }
+
+    /** Keeps the index current; close the subscription together with the window using this service. */
+    public EventBus.Subscription subscribe(EventBus eventBus) {
+        return index.subscribe(eventBus);
     }
 
     public List<TimeSlot> getDailyAvailability(String physicianId, LocalDate date)
             throws SQLException
     {
-        List<TimeSlot> slots = TimeSlot.generateDailySlots(date);
-
-        LocalDateTime start = date.atTime(8, 0);
-        LocalDateTime end   = date.atTime(17, 0);
-
-        List<Appointment> appts = appointmentDb.getAppointmentsForPhysicianInRange(
-                physicianId,
-                start,
-                end
-        );
-
-        for (Appointment a : appts) {
-            LocalDateTime apptStart = a.getDateTime();
-            for (TimeSlot ts : slots) {
-                if (ts.getStart().equals(apptStart)) {
-                    ts.setBooked(true);
-                    ts.setPatientName(a.getPatientName());
-                    break;
-                }
-            }
-        }
-
-        return slots;
+        return getAvailabilityForPhysicians(List.of(physicianId), date, date).get(physicianId).get(date);
     }
 
     public Map<LocalDate, List<TimeSlot>> getWeeklyAvailability(
@@ -51,12 +65,181 @@ public class AvailabilityService {
             LocalDate weekStart
     ) throws SQLException
     {
-        Map<LocalDate, List<TimeSlot>> weekMap = new LinkedHashMap<>();
-        for (int i = 0; i < 7; i++) {
-            LocalDate day = weekStart.plusDays(i);
-            List<TimeSlot> daily = getDailyAvailability(physicianId, day);
-            weekMap.put(day, daily);
+        return getAvailabilityForPhysicians(List.of(physicianId), weekStart, weekStart.plusDays(6)).get(physicianId);
+    }
+
+    /**
+     * Slots for each physician and each day {@code from}..{@code to}
+     * (inclusive), in the order given. Booked flags come from the index;
+     * patient names for the booked slots come from one range query covering
+     * every physician, bucketed by physician and day in a single pass.
+     */
+    public Map<String, Map<LocalDate, List<TimeSlot>>> getAvailabilityForPhysicians(
+            Collection<String> physicianIds,
+            LocalDate from,
+            LocalDate to)
+    {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        Map<String, int[]> booked = new LinkedHashMap<>();
+        Set<String> withBookings = new HashSet<>();
+        LocalDate firstBooked = null;
+        LocalDate lastBooked = null;
+        for (String physicianId : physicianIds) {
+            int[] masks = new int[days];
+            for (int i = 0; i < days; i++) {
+                LocalDate day = from.plusDays(i);
+                masks[i] = index.bookedSlots(physicianId, day);
+                if (masks[i] != 0) {
+                    withBookings.add(physicianId);
+                    firstBooked = firstBooked == null || day.isBefore(firstBooked) ? day : firstBooked;
+                    lastBooked = lastBooked == null || day.isAfter(lastBooked) ? day : lastBooked;
+                }
+            }
+            booked.put(physicianId, masks);
+        }
+
+        // Patient names are not in the index; skip the query when nothing is booked
+        Map<String, Map<LocalDate, String[]>> names = new HashMap<>();
+        if (firstBooked != null) {
+            for (Appointment a : appointmentDb.getAppointmentsForPhysiciansInRange(
+                    withBookings, firstBooked.atTime(8, 0), lastBooked.atTime(17, 0))) {
+                int slot = AvailabilityIndex.slotIndex(a.getDateTime().toLocalTime());
+                if (slot >= 0) {
+                    names.computeIfAbsent(a.getPhysicianId(), id -> new HashMap<>())
+                            .computeIfAbsent(a.getDateTime().toLocalDate(),
+                                    d -> new String[AvailabilityIndex.SLOTS_PER_DAY])[slot] = a.getPatientName();
+                }
+            }
+        }
+
+        Map<String, Map<LocalDate, List<TimeSlot>>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, int[]> entry : booked.entrySet()) {
+            Map<LocalDate, String[]> physicianNames = names.getOrDefault(entry.getKey(), Map.of());
+            Map<LocalDate, List<TimeSlot>> byDay = new LinkedHashMap<>();
+            for (int i = 0; i < days; i++) {
+                LocalDate day = from.plusDays(i);
+                List<TimeSlot> slots = TimeSlot.generateDailySlots(day);
+                markBooked(slots, entry.getValue()[i], physicianNames.get(day));
+                byDay.put(day, slots);
+            }
+            result.put(entry.getKey(), byDay);
+        }
+        return result;
+    }
+
+    /** A free slot found by {@link #findNextAvailable}. */
+    public record FreeSlot(Physician physician, LocalDateTime start) {
+    }
+
+    /**
+     * The earliest {@code n} free slots across every physician matching
+     * {@code criteria}, in time order (ties keep the candidates' order).
+     * Each physician contributes a lazy cursor over the free bits of its day
+     * masks and the cursors are merged through a heap, so only about
+     * {@code n} slots beyond one per physician are ever produced.
+     */
+    public List<FreeSlot> findNextAvailable(SlotSearchCriteria criteria, int n) {
+        int window = windowMask(criteria.windowStart(), criteria.windowEnd());
+        PriorityQueue<FreeSlotCursor> heads = new PriorityQueue<>(
+                Comparator.comparing((FreeSlotCursor c) -> c.start).thenComparingInt(c -> c.order));
+        int order = 0;
+        for (Physician physician : criteria.physicians()) {
+            if (criteria.matches(physician)) {
+                FreeSlotCursor cursor = new FreeSlotCursor(physician, order++, criteria, window);
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+        }
+
+        List<FreeSlot> result = new ArrayList<>(Math.max(n, 0));
+        while (result.size() < n && !heads.isEmpty()) {
+            FreeSlotCursor cursor = heads.poll();
+            result.add(new FreeSlot(cursor.physician, cursor.start));
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    /** Bits of the grid slots that lie entirely inside {@code from}–{@code to}. */
+    private static int windowMask(LocalTime from, LocalTime to) {
+        int mask = 0;
+        for (int i = 0; i < AvailabilityIndex.SLOTS_PER_DAY; i++) {
+            LocalTime start = AvailabilityIndex.slotStart(i);
+            if (!start.isBefore(from) && !start.plusMinutes(30).isAfter(to)) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    /** Walks one physician's free slots day by day, one set bit at a time. */
+    private final class FreeSlotCursor {
+        private final Physician physician;
+        private final int order;
+        private final LocalDate firstDay;
+        private final int horizonDays;
+        private final int window;
+        private final int firstDayMask;
+        private int day = -1;
+        private int remaining;
+        private LocalDateTime start;
+
+        FreeSlotCursor(Physician physician, int order, SlotSearchCriteria criteria, int window) {
+            this.physician = physician;
+            this.order = order;
+            this.firstDay = criteria.earliest().toLocalDate();
+            this.horizonDays = criteria.horizonDays();
+            this.window = window;
+            LocalTime notBefore = criteria.earliest().toLocalTime();
+            int mask = 0;
+            for (int i = 0; i < AvailabilityIndex.SLOTS_PER_DAY; i++) {
+                if (!AvailabilityIndex.slotStart(i).isBefore(notBefore)) {
+                    mask |= 1 << i;
+                }
+            }
+            this.firstDayMask = mask;
+        }
+
+        /** Moves to the next free slot; false once the horizon is used up. */
+        boolean advance() {
+            while (remaining == 0) {
+                if (++day >= horizonDays) {
+                    return false;
+                }
+                LocalDate date = firstDay.plusDays(day);
+                remaining = ~index.bookedSlots(physician.getId(), date) & window;
+                if (day == 0) {
+                    remaining &= firstDayMask;
+                }
+            }
+            int slot = Integer.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+            start = firstDay.plusDays(day).atTime(AvailabilityIndex.slotStart(slot));
+            return true;
+        }
+    }
+
+    /** Answered from the index for grid slots; other times fall back to a point query. */
+    public boolean isSlotAvailable(String physicianId, LocalDateTime slotTime) {
+        int slot = AvailabilityIndex.slotIndex(slotTime.toLocalTime());
+        if (slot < 0) {
+            return appointmentDb.getAppointmentsForPhysicianInRange(
+                    physicianId, slotTime, slotTime.plusNanos(1)).isEmpty();
+        }
+        return (index.bookedSlots(physicianId, slotTime.toLocalDate()) & (1 << slot)) == 0;
+    }
+
+    private static void markBooked(List<TimeSlot> slots, int booked, String[] names) {
+        for (int i = 0; i < slots.size(); i++) {
+            if ((booked & (1 << i)) != 0) {
+                TimeSlot ts = slots.get(i);
+                ts.setBooked(true);
+                String name = names == null ? null : names[i];
+                ts.setPatientName(name == null ? "" : name);
+            }
         }
-        return weekMap;
     }
 }
@@ -0,0 +1,59 @@
+package physicianconnect.logic;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import physicianconnect.objects.Message;
+
+/**
+ * Tracks one user's unread message count between refreshes. Each
+ * {@link #poll()} fetches only the messages saved since the previous one; the
+ * count itself comes from the repository's maintained unread counter, so it
+ * stays exact without a COUNT(*). Safe to call from background threads.
+ */
+public class MessagePoller {
+    private final MessageService messageService;
+    private final String userId;
+    private final String userType;
+    private long lastSeq;
+    private int unreadCount;
+
+    public MessagePoller(MessageService messageService, String userId, String userType) {
+        this.messageService = messageService;
+        this.userId = userId;
+        this.userType = userType;
+        resync();
+    }
+
+    /**
+     * Rereads the unread count and restarts polling from the newest message.
+     *
+     * @return the unread count
+     */
+    public synchronized int resync() {
+        // Take the cursor first: a message saved in between is then reported by the next poll
+        // rather than being missed
+        lastSeq = messageService.getLatestMessageSequence();
+        unreadCount = messageService.getUnreadMessageCount(userId, userType);
+        return unreadCount;
+    }
+
+    /**
+     * @return the unread messages received since the last poll, oldest first
+     */
+    public synchronized List<Message> poll() {
+        List<Message> arrived = messageService.getMessagesSince(userId, userType, lastSeq);
+        if (arrived.isEmpty()) {
+            return arrived;
+        }
+        lastSeq = arrived.get(arrived.size() - 1).getSeq();
+        unreadCount = messageService.getUnreadMessageCount(userId, userType);
+        return arrived.stream()
+                .filter(m -> !m.isRead())
+                .collect(Collectors.toList());
+    }
+
+    public synchronized int getUnreadCount() {
+        return unreadCount;
+    }
+}
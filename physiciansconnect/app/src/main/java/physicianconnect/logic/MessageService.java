@@ -1,5 +1,7 @@
 package physicianconnect.logic;
 
+import physicianconnect.logic.event.EventBus;
+import physicianconnect.logic.event.MessageSaved;
 import physicianconnect.objects.Message;
 import physicianconnect.persistence.interfaces.MessageRepository;
 
@@ -8,15 +10,23 @@ import java.util.UUID;
 
 public class MessageService {
     private final MessageRepository messageRepository;
+    private final EventBus eventBus;
 
     public MessageService(MessageRepository messageRepository) {
+        this(messageRepository, EventBus.getDefault());
+    }
+
+    public MessageService(MessageRepository messageRepository, EventBus eventBus) {
         this.messageRepository = messageRepository;
+        this.eventBus = eventBus;
     }
 
     public Message sendMessage(String senderId, String senderType, String receiverId, String receiverType,
             String content) {
         Message message = new Message(senderId, senderType, receiverId, receiverType, content);
-        return messageRepository.save(message);
+        Message saved = messageRepository.save(message);
+        eventBus.publish(new MessageSaved(message));
+        return saved;
     }
 
     public List<Message> getMessagesForUser(String userId, String userType) {
@@ -29,6 +39,19 @@ public class MessageService {
         return allMessages;
     }
 
+    public List<Message> getConversation(String userId, String userType, String otherId, String otherType,
+            Message before, int limit) {
+        return messageRepository.findConversation(userId, userType, otherId, otherType, before, limit);
+    }
+
+    public List<Message> getMessagesSince(String userId, String userType, long lastSeq) {
+        return messageRepository.findSince(userId, userType, lastSeq);
+    }
+
+    public long getLatestMessageSequence() {
+        return messageRepository.latestSequence();
+    }
+
     public List<Message> getUnreadMessagesForUser(String userId, String userType) {
         return messageRepository.findUnreadByReceiverId(userId, userType);
     }
@@ -41,4 +64,9 @@ public class MessageService {
         messageRepository.markAsRead(messageId);
     }
 
+    public int markConversationRead(String readerId, String readerType, String counterpartId,
+            String counterpartType, long upToSeq) {
+        return messageRepository.markConversationRead(readerId, readerType, counterpartId, counterpartType, upToSeq);
+    }
+
 }
\ No newline at end of file
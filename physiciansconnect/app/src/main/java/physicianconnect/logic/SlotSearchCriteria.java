@@ -0,0 +1,60 @@
+package physicianconnect.logic;
+
+import physicianconnect.objects.Physician;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * What {@link AvailabilityService#findNextAvailable} searches: the candidate
+ * physicians (all of them, or any subset), optionally narrowed to one
+ * specialty, from {@code earliest} for {@code horizonDays} days, keeping
+ * only slots that fit inside the daily {@code windowStart}–{@code windowEnd}.
+ */
+public record SlotSearchCriteria(
+        List<Physician> physicians,
+        String specialty,
+        LocalDateTime earliest,
+        LocalTime windowStart,
+        LocalTime windowEnd,
+        int horizonDays) {
+
+    public static final int DEFAULT_HORIZON_DAYS = 90;
+
+    public SlotSearchCriteria {
+        physicians = List.copyOf(physicians);
+        if (!windowStart.isBefore(windowEnd)) {
+            throw new IllegalArgumentException("Time window must start before it ends");
+        }
+        if (horizonDays < 1) {
+            throw new IllegalArgumentException("Horizon must be at least one day");
+        }
+    }
+
+    /** Any specialty, the whole working day, {@value #DEFAULT_HORIZON_DAYS} days ahead. */
+    public static SlotSearchCriteria among(Collection<Physician> physicians, LocalDateTime earliest) {
+        return new SlotSearchCriteria(List.copyOf(physicians), null, earliest,
+                AvailabilityIndex.slotStart(0),
+                AvailabilityIndex.slotStart(AvailabilityIndex.SLOTS_PER_DAY - 1).plusMinutes(30),
+                DEFAULT_HORIZON_DAYS);
+    }
+
+    public SlotSearchCriteria withSpecialty(String specialty) {
+        return new SlotSearchCriteria(physicians, specialty, earliest, windowStart, windowEnd, horizonDays);
+    }
+
+    public SlotSearchCriteria between(LocalTime windowStart, LocalTime windowEnd) {
+        return new SlotSearchCriteria(physicians, specialty, earliest, windowStart, windowEnd, horizonDays);
+    }
+
+    public SlotSearchCriteria withHorizonDays(int horizonDays) {
+        return new SlotSearchCriteria(physicians, specialty, earliest, windowStart, windowEnd, horizonDays);
+    }
+
+    /** Specialty matches ignore case; a null or blank specialty matches everyone. */
+    public boolean matches(Physician physician) {
+        return specialty == null || specialty.isBlank() || specialty.equalsIgnoreCase(physician.getSpecialty());
+    }
+}
@@ -2,8 +2,6 @@ package physicianconnect.logic.controller;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.function.Consumer;
-import java.util.ArrayList;
 
 import physicianconnect.logic.exceptions.InvalidAppointmentException;
 import physicianconnect.logic.manager.AppointmentManager;
@@ -12,63 +10,16 @@ import physicianconnect.presentation.physician.PhysicianApp;
 
 /**
  * Controller for Appointment use‐cases.
- * Delegates persistence/validation to AppointmentManager.
+ * Delegates persistence/validation to AppointmentManager, which publishes
+ * each change as an AppointmentChanged event.
  */
 public class AppointmentController {
     private final AppointmentManager appointmentManager;
-    private final List<Consumer<Appointment>> onAppointmentCreatedCallbacks = new ArrayList<>();
-    private final List<Consumer<Appointment>> onAppointmentUpdatedCallbacks = new ArrayList<>();
-    private final List<Consumer<Appointment>> onAppointmentDeletedCallbacks = new ArrayList<>();
 
     public AppointmentController(AppointmentManager appointmentManager) {
         this.appointmentManager = appointmentManager;
     }
 
-    public void setOnAppointmentCreated(Consumer<Appointment> callback) {
-        this.onAppointmentCreatedCallbacks.add(callback);
-    }
-
-    public void setOnAppointmentUpdated(Consumer<Appointment> callback) {
-        this.onAppointmentUpdatedCallbacks.add(callback);
-    }
-
-    public void setOnAppointmentDeleted(Consumer<Appointment> callback) {
-        this.onAppointmentDeletedCallbacks.add(callback);
-    }
-
-    private void notifyAppointmentCreated(Appointment appointment) {
-        for (Consumer<Appointment> callback : onAppointmentCreatedCallbacks) {
-            try {
-                callback.accept(appointment);
-            } catch (Exception e) {
-                // Log error but continue notifying other callbacks
-                e.printStackTrace();
-            }
-        }
-    }
-
-    private void notifyAppointmentUpdated(Appointment appointment) {
-        for (Consumer<Appointment> callback : onAppointmentUpdatedCallbacks) {
-            try {
-                callback.accept(appointment);
-            } catch (Exception e) {
-                // Log error but continue notifying other callbacks
-                e.printStackTrace();
-            }
-        }
-    }
-
-    private void notifyAppointmentDeleted(Appointment appointment) {
-        for (Consumer<Appointment> callback : onAppointmentDeletedCallbacks) {
-            try {
-                callback.accept(appointment);
-            } catch (Exception e) {
-                // Log error but continue notifying other callbacks
-                e.printStackTrace();
-            }
-        }
-    }
-
     /**
      * Create and persist a new appointment.
      *
@@ -91,7 +42,6 @@ public class AppointmentController {
         }
         // Delegate to manager, which will validate + persist
         appointmentManager.addAppointment(appt);
-        notifyAppointmentCreated(appt);
     }
 
     /**
@@ -109,7 +59,6 @@ public class AppointmentController {
         appt.setNotes(newNotes == null ? "" : newNotes.trim());
         // Delegate to manager, which validates slot availability and persists
         appointmentManager.updateAppointment(appt);
-        notifyAppointmentUpdated(appt);
     }
 
     /**
@@ -119,7 +68,6 @@ public class AppointmentController {
      */
     public void deleteAppointment(Appointment appt) {
         appointmentManager.deleteAppointment(appt);
-        notifyAppointmentDeleted(appt);
     }
 
     /**
@@ -157,6 +105,5 @@ public class AppointmentController {
         );
         // Delegate to manager, which validates slot availability and persists
         appointmentManager.updateAppointment(updatedAppt);
-        notifyAppointmentUpdated(updatedAppt);
     }
 }
@@ -0,0 +1,111 @@
+package physicianconnect.logic.controller;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs controller and service calls off the Swing event thread. Each call
+ * runs on its own virtual thread, and the returned future is completed on the
+ * EDT, so callbacks chained onto it may touch components directly (as long
+ * as no other thread blocks in {@code get()} or {@code join()}, which may run
+ * them itself). Screens that reload the same view repeatedly (week
+ * navigation, switching conversations) use a {@link Latest} so an older
+ * answer can never overwrite a newer one.
+ * <p>
+ * Cancelling a future skips its call if it has not started and otherwise
+ * discards the result; a call that has reached SQLite runs to completion.
+ */
+public class AsyncFacade {
+
+    private static final AsyncFacade DEFAULT =
+            new AsyncFacade(Executors.newVirtualThreadPerTaskExecutor(), SwingUtilities::invokeLater);
+
+    private final Executor io;
+    private final Executor completion;
+
+    /** Lets tests run and complete calls on the calling thread with {@code Runnable::run}. */
+    public AsyncFacade(Executor io, Executor completion) {
+        this.io = io;
+        this.completion = completion;
+    }
+
+    /** Virtual threads for the calls, the EDT for their completion. */
+    public static AsyncFacade getDefault() {
+        return DEFAULT;
+    }
+
+    public <T> CompletableFuture<T> supply(Callable<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        io.execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                T value = call.call();
+                completion.execute(() -> result.complete(value));
+            } catch (Throwable e) {
+                // Errors too, or the caller would wait on the future forever
+                completion.execute(() -> result.completeExceptionally(e));
+            }
+        });
+        return result;
+    }
+
+    public CompletableFuture<Void> run(Runnable call) {
+        return supply(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /** A fresh slot for requests where only the newest one matters. */
+    public <T> Latest<T> latest() {
+        return new Latest<>();
+    }
+
+    /**
+     * Callback for {@link CompletableFuture#whenComplete} that passes results
+     * and failures on, unwrapped, and ignores cancellation.
+     */
+    public static <T> BiConsumer<T, Throwable> handle(Consumer<? super T> onResult,
+            Consumer<? super Throwable> onError) {
+        return (value, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (cause == null) {
+                onResult.accept(value);
+            } else if (!(cause instanceof CancellationException)) {
+                onError.accept(cause);
+            }
+        };
+    }
+
+    /** Holds the pending request of one kind; submitting another cancels it. */
+    public final class Latest<T> {
+        private CompletableFuture<T> pending;
+
+        private Latest() {
+        }
+
+        public synchronized CompletableFuture<T> supply(Callable<T> call) {
+            cancel();
+            pending = AsyncFacade.this.supply(call);
+            return pending;
+        }
+
+        public synchronized void cancel() {
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package physicianconnect.logic.controller;
 
+import physicianconnect.logic.export.StatementExporter;
 import physicianconnect.logic.manager.InvoiceManager;
 import physicianconnect.logic.manager.PaymentManager;
 import physicianconnect.logic.validation.BillingValidator;
 import physicianconnect.logic.exceptions.InvalidBillingException;
 import physicianconnect.objects.Invoice;
 import physicianconnect.objects.Payment;
+import physicianconnect.objects.RevenueTotals;
 import physicianconnect.objects.ServiceItem;
+import physicianconnect.objects.ServiceRevenue;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BooleanSupplier;
 
 public class BillingController {
     private final InvoiceManager invoiceManager;
@@ -28,28 +37,51 @@ public class BillingController {
         return invoice;
     }
 
-    public void recordPayment(String invoiceId, double amount, String method) {
-        Invoice invoice = invoiceManager.getInvoiceById(invoiceId);
-        BillingValidator.validatePaymentAmount(amount, invoice.getBalance());
-        String paymentId = UUID.randomUUID().toString();
-        Payment payment = new Payment(paymentId, invoiceId, amount, method);
-        paymentManager.addPayment(payment);
-
-        // Update invoice balance and status
-        double newBalance = invoice.getBalance() - amount;
-        invoice.setBalance(newBalance);
-        if (newBalance == 0) {
-            invoice.setStatus("Paid");
-        } else {
-            invoice.setStatus("Partial");
+    public Payment recordPayment(String invoiceId, double amount, String method) {
+        return recordPayment(invoiceId, amount, method, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Records a payment and draws down the invoice balance in one transaction,
+     * checked against the balance at that moment, so concurrent payments on
+     * one invoice can neither lose an update nor overpay it. Calling again
+     * with the same {@code idempotencyKey} (a retry) returns the payment
+     * recorded the first time without charging again.
+     *
+     * @throws InvalidBillingException if the amount is not positive, exceeds
+     *         the outstanding balance, the invoice does not exist, or the key
+     *         belongs to another payment
+     */
+    public Payment recordPayment(String invoiceId, double amount, String method, String idempotencyKey) {
+        BillingValidator.validatePaymentAmount(amount);
+        Payment payment = new Payment(UUID.randomUUID().toString(), invoiceId, amount, method);
+        Payment stored;
+        try {
+            stored = paymentManager.recordPayment(payment, idempotencyKey);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidBillingException("Invoice not found.");
+        }
+        if (stored == null) {
+            throw new InvalidBillingException("Payment exceeds outstanding balance.");
         }
-        invoiceManager.updateInvoice(invoice);
+        if (!stored.getInvoiceId().equals(invoiceId) || Math.round(stored.getAmount() * 100) != Math.round(amount * 100)) {
+            throw new InvalidBillingException("Idempotency key was already used for a different payment.");
+        }
+        return stored;
     }
 
     public List<Invoice> getInvoicesByMonth(int year, int month) {
         return invoiceManager.getInvoicesByMonth(year, month);
     }
 
+    public List<Invoice> getInvoicesBetween(LocalDateTime start, LocalDateTime end) {
+        return invoiceManager.getInvoicesBetween(start, end);
+    }
+
+    public List<Payment> getPaymentsBetween(LocalDateTime start, LocalDateTime end) {
+        return paymentManager.getPaymentsBetween(start, end);
+    }
+
     public List<Payment> getPaymentsByInvoice(String invoiceId) {
         return paymentManager.getPaymentsByInvoice(invoiceId);
     }
@@ -58,6 +90,45 @@ public class BillingController {
     return invoiceManager.getAllInvoices();
 }
 
+    public int countInvoices(String patientPrefix) {
+        return invoiceManager.countInvoices(patientPrefix);
+    }
+
+    /** Newest first; see {@link physicianconnect.persistence.interfaces.InvoicePersistence#getInvoicePage}. */
+    public List<Invoice> getInvoicePage(String patientPrefix, Invoice after, int offset, int limit) {
+        return invoiceManager.getInvoicePage(patientPrefix, after, offset, limit);
+    }
+
+    /** Highest revenue first; see {@link physicianconnect.persistence.interfaces.InvoicePersistence#getRevenueByService}. */
+    public List<ServiceRevenue> getRevenueByService(LocalDateTime start, LocalDateTime end) {
+        return invoiceManager.getRevenueByService(start, end);
+    }
+
+    /**
+     * Totals for invoices created in [start, end), either bound null for open.
+     * Invoice writes keep the underlying per-day totals current in their own
+     * transaction; see {@link physicianconnect.persistence.interfaces.InvoicePersistence#getRevenueTotals}.
+     */
+    public RevenueTotals getRevenueTotals(LocalDate start, LocalDate end) {
+        return invoiceManager.getRevenueTotals(start, end);
+    }
+
+    /**
+     * Writes the statements of invoices created on days in [start, end) into
+     * one ZIP file; see {@link StatementExporter#export}. Runs on the calling
+     * thread, so call it off the EDT.
+     *
+     * @throws InvalidBillingException if the range is empty
+     */
+    public int exportStatements(LocalDate start, LocalDate end, Set<StatementExporter.Format> formats, Path target,
+            StatementExporter.Progress progress, BooleanSupplier cancelled) throws IOException {
+        if (!start.isBefore(end)) {
+            throw new InvalidBillingException("Export range must end after it starts.");
+        }
+        return new StatementExporter(invoiceManager, paymentManager).export(start, end, formats, target, progress,
+                cancelled);
+    }
+
 public Invoice getInvoiceById(String id) {
     return invoiceManager.getInvoiceById(id);
 }
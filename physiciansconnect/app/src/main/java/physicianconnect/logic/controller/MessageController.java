@@ -61,6 +61,22 @@ public class MessageController {
         return messageService.getMessagesForUser(userId, userType);
     }
 
+    /**
+     * Retrieve one page of the conversation between two users, oldest first.
+     *
+     * @param userId    the ID of the current user
+     * @param userType  the type of the current user
+     * @param otherId   the ID of the other participant
+     * @param otherType the type of the other participant
+     * @param before    the oldest message already loaded, or null for the newest page
+     * @param limit     the maximum number of messages to return
+     * @return up to {@code limit} messages older than {@code before}
+     */
+    public List<Message> getConversation(String userId, String userType, String otherId, String otherType,
+            Message before, int limit) {
+        return messageService.getConversation(userId, userType, otherId, otherType, before, limit);
+    }
+
     /**
      * Retrieve only unread messages for a user.
      *
@@ -81,6 +97,22 @@ public class MessageController {
         messageService.markMessageAsRead(messageId);
     }
 
+    /**
+     * Mark everything a counterpart has sent the reader, up to and including
+     * {@code upToSeq}, as read in a single update.
+     *
+     * @param readerId        the ID of the user reading the conversation
+     * @param readerType      the type of that user
+     * @param counterpartId   the ID of the other participant
+     * @param counterpartType the type of the other participant
+     * @param upToSeq         the sequence number of the newest message seen
+     * @return the number of messages marked as read
+     */
+    public int markConversationRead(String readerId, String readerType, String counterpartId,
+            String counterpartType, long upToSeq) {
+        return messageService.markConversationRead(readerId, readerType, counterpartId, counterpartType, upToSeq);
+    }
+
     /**
      * Count how many unread messages a user has.
      *
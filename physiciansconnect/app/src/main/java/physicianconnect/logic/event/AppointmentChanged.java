@@ -0,0 +1,17 @@
+package physicianconnect.logic.event;
+
+import physicianconnect.objects.Appointment;
+
+/**
+ * An appointment was created, updated or deleted. {@link Kind#CLEARED} means
+ * every appointment was removed and carries no appointment.
+ */
+public record AppointmentChanged(Kind kind, Appointment appointment) implements DomainEvent {
+
+    public enum Kind {
+        CREATED,
+        UPDATED,
+        DELETED,
+        CLEARED
+    }
+}
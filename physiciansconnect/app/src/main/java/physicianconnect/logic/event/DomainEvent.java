@@ -0,0 +1,7 @@
+package physicianconnect.logic.event;
+
+/**
+ * Marker for the change events published on the {@link EventBus}.
+ */
+public interface DomainEvent {
+}
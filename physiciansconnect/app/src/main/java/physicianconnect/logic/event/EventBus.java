@@ -0,0 +1,75 @@
+package physicianconnect.logic.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * In-process publish/subscribe channel for {@link DomainEvent}s. Publishing
+ * never blocks the writer: events are handed to a single dispatch thread and
+ * delivered in publish order to every handler whose type matches. A handler
+ * that throws is logged and does not stop delivery to the others.
+ * <p>
+ * Only writes made through this JVM are seen; another process writing to the
+ * same database file does not publish here.
+ */
+public class EventBus {
+
+    private static final EventBus DEFAULT = new EventBus();
+
+    /** Handle returned by {@link #subscribe}; closing it stops delivery. */
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private record Handler<E extends DomainEvent>(Class<E> type, Consumer<? super E> consumer) {
+        void deliver(DomainEvent event) {
+            if (type.isInstance(event)) {
+                consumer.accept(type.cast(event));
+            }
+        }
+    }
+
+    private final List<Handler<?>> handlers = new CopyOnWriteArrayList<>();
+    private final Executor dispatcher;
+
+    public EventBus() {
+        this(Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "domain-events");
+            t.setDaemon(true);
+            return t;
+        }));
+    }
+
+    /** Lets tests deliver on the calling thread with {@code Runnable::run}. */
+    public EventBus(Executor dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /** The bus shared by the managers and windows of this application. */
+    public static EventBus getDefault() {
+        return DEFAULT;
+    }
+
+    public <E extends DomainEvent> Subscription subscribe(Class<E> type, Consumer<? super E> consumer) {
+        Handler<E> handler = new Handler<>(type, consumer);
+        handlers.add(handler);
+        return () -> handlers.remove(handler);
+    }
+
+    public void publish(DomainEvent event) {
+        dispatcher.execute(() -> {
+            for (Handler<?> handler : handlers) {
+                try {
+                    handler.deliver(event);
+                } catch (RuntimeException e) {
+                    // Log error but continue notifying other handlers
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package physicianconnect.logic.event;
+
+/**
+ * An invoice was created, changed, deleted or had a payment recorded against it.
+ */
+public record InvoiceUpdated(String invoiceId) implements DomainEvent {
+}
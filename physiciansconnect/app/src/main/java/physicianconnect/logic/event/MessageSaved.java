@@ -0,0 +1,13 @@
+package physicianconnect.logic.event;
+
+import physicianconnect.objects.Message;
+
+/**
+ * A message was saved and is waiting for its receiver.
+ */
+public record MessageSaved(Message message) implements DomainEvent {
+
+    public boolean isFor(String userId, String userType) {
+        return userId.equals(message.getReceiverId()) && userType.equals(message.getReceiverType());
+    }
+}
@@ -0,0 +1,12 @@
+package physicianconnect.logic.event;
+
+/**
+ * New notifications were stored for one user, or for every user of
+ * {@code userType} when {@code userId} is null (a broadcast).
+ */
+public record NotificationAdded(String userId, String userType) implements DomainEvent {
+
+    public boolean isFor(String userId, String userType) {
+        return userType.equals(this.userType) && (this.userId == null || this.userId.equals(userId));
+    }
+}
@@ -0,0 +1,231 @@
+package physicianconnect.logic.export;
+
+import physicianconnect.logic.manager.InvoiceManager;
+import physicianconnect.logic.manager.PaymentManager;
+import physicianconnect.objects.Invoice;
+import physicianconnect.objects.Payment;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports the statements of every invoice created in a date range into one
+ * ZIP file with a {@code manifest.csv}.
+ * <p>
+ * Invoices are read a page at a time through a keyset cursor, together with
+ * the payments of that page, and rendered on a fixed pool of worker threads.
+ * The calling thread writes finished statements to the ZIP in invoice order
+ * and stops handing out work while {@code 2 * workers} statements are waiting
+ * to be written, so memory holds at most one page of invoices and that many
+ * rendered files however long the range is. Manifest rows are spooled to a
+ * temporary file and copied in last.
+ * <p>
+ * The ZIP is written next to the target under a {@code .part} name and only
+ * moved into place once complete; a cancelled or failed export leaves
+ * nothing behind.
+ */
+public class StatementExporter {
+
+    public enum Format {
+        TXT("txt"), PDF("pdf");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    /** Receives the number of invoices written so far and the number expected, on the exporting thread. */
+    public interface Progress {
+        void update(int done, int total);
+    }
+
+    static final String MANIFEST_NAME = "manifest.csv";
+    static final String MANIFEST_HEADER = "invoice_id,patient_name,created_at,total,balance,status,file,bytes,crc32";
+
+    /** Invoices read per page. */
+    static final int PAGE_SIZE = 200;
+
+    private final InvoiceManager invoiceManager;
+    private final PaymentManager paymentManager;
+    private final int workers;
+
+    public StatementExporter(InvoiceManager invoiceManager, PaymentManager paymentManager) {
+        this(invoiceManager, paymentManager, Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)));
+    }
+
+    public StatementExporter(InvoiceManager invoiceManager, PaymentManager paymentManager, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be at least 1");
+        }
+        this.invoiceManager = invoiceManager;
+        this.paymentManager = paymentManager;
+        this.workers = workers;
+    }
+
+    /** One invoice's rendered files, in the order of the requested formats. */
+    private record Rendered(Invoice invoice, List<String> names, List<byte[]> files) {
+    }
+
+    /**
+     * Writes a statement in each of {@code formats} for every invoice created
+     * on a day ≥ start AND < end to the ZIP file {@code target}, replacing it
+     * if it exists.
+     *
+     * @param cancelled polled between invoices; once true the export stops
+     * @return the number of invoices exported
+     * @throws CancellationException if {@code cancelled} turned true or the
+     *         calling thread was interrupted
+     * @throws IOException if writing the ZIP or rendering a statement failed
+     */
+    public int export(LocalDate start, LocalDate end, Set<Format> formats, Path target, Progress progress,
+            BooleanSupplier cancelled) throws IOException {
+        if (formats.isEmpty()) {
+            throw new IllegalArgumentException("At least one format is required");
+        }
+        Set<Format> ordered = EnumSet.copyOf(formats);
+        LocalDateTime from = start.atStartOfDay();
+        LocalDateTime to = end.atStartOfDay();
+        int expected = invoiceManager.getRevenueTotals(start, end).invoiceCount();
+
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        Path manifest = Files.createTempFile("statements", ".csv");
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        boolean complete = false;
+        int done = 0;
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)));
+                BufferedWriter rows = Files.newBufferedWriter(manifest)) {
+            rows.write(MANIFEST_HEADER);
+            rows.newLine();
+            Deque<Future<Rendered>> pending = new ArrayDeque<>();
+            Invoice after = null;
+            List<Invoice> page;
+            do {
+                checkCancelled(cancelled);
+                page = invoiceManager.getInvoicesBetween(from, to, after, PAGE_SIZE);
+                if (page.isEmpty()) {
+                    break;
+                }
+                Map<String, List<Payment>> payments = paymentManager.getPaymentsByInvoices(
+                        page.stream().map(Invoice::getId).toList());
+                for (Invoice invoice : page) {
+                    while (pending.size() >= 2 * workers) {
+                        write(zip, rows, await(pending.poll(), cancelled));
+                        progress.update(++done, Math.max(expected, done));
+                    }
+                    List<Payment> paid = payments.getOrDefault(invoice.getId(), List.of());
+                    pending.add(pool.submit(() -> render(invoice, paid, ordered)));
+                }
+                after = page.get(page.size() - 1);
+            } while (page.size() == PAGE_SIZE);
+            while (!pending.isEmpty()) {
+                write(zip, rows, await(pending.poll(), cancelled));
+                progress.update(++done, Math.max(expected, done));
+            }
+
+            rows.flush();
+            zip.putNextEntry(new ZipEntry(MANIFEST_NAME));
+            Files.copy(manifest, zip);
+            zip.closeEntry();
+            complete = true;
+        } finally {
+            pool.shutdownNow();
+            Files.deleteIfExists(manifest);
+            if (!complete) {
+                Files.deleteIfExists(partial);
+            }
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+        return done;
+    }
+
+    private static Rendered render(Invoice invoice, List<Payment> payments, Set<Format> formats) {
+        String base = invoice.getCreatedAt().toLocalDate() + "_"
+                + invoice.getPatientName().replaceAll("[^a-zA-Z0-9_\\-]", "_") + "_" + invoice.getId();
+        List<String> names = new ArrayList<>();
+        List<byte[]> files = new ArrayList<>();
+        for (Format format : formats) {
+            names.add(base + "." + format.extension);
+            files.add(format == Format.TXT
+                    ? StatementRenderer.renderText(invoice, null, payments)
+                    : StatementRenderer.renderPdf(invoice, null, payments));
+        }
+        return new Rendered(invoice, names, files);
+    }
+
+    private static Rendered await(Future<Rendered> next, BooleanSupplier cancelled) throws IOException {
+        checkCancelled(cancelled);
+        try {
+            return next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Statement export interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to render statement", e.getCause());
+        }
+    }
+
+    private static void write(ZipOutputStream zip, BufferedWriter rows, Rendered rendered) throws IOException {
+        Invoice invoice = rendered.invoice();
+        for (int i = 0; i < rendered.files().size(); i++) {
+            byte[] file = rendered.files().get(i);
+            CRC32 crc = new CRC32();
+            crc.update(file);
+            zip.putNextEntry(new ZipEntry(rendered.names().get(i)));
+            zip.write(file);
+            zip.closeEntry();
+            rows.write(String.join(",",
+                    csv(invoice.getId()),
+                    csv(invoice.getPatientName()),
+                    invoice.getCreatedAt().toString(),
+                    String.format(Locale.ROOT, "%.2f", invoice.getTotalAmount()),
+                    String.format(Locale.ROOT, "%.2f", invoice.getBalance()),
+                    csv(invoice.getStatus()),
+                    csv(rendered.names().get(i)),
+                    Integer.toString(file.length),
+                    String.format("%08x", crc.getValue())));
+            rows.newLine();
+        }
+    }
+
+    private static void checkCancelled(BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean() || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Statement export cancelled");
+        }
+    }
+
+    /** Quotes a CSV field if it holds a comma, quote or line break. */
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.matches("(?s).*[,\"\r\n].*")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
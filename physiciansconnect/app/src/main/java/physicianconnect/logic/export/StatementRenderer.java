@@ -0,0 +1,154 @@
+package physicianconnect.logic.export;
+
+import physicianconnect.objects.Invoice;
+import physicianconnect.objects.Payment;
+import physicianconnect.objects.ServiceItem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders one invoice with its payments as a plain-text statement, or as a
+ * PDF of the same lines set in Courier. Holds no state, so the batch export
+ * calls it from several worker threads at once.
+ */
+public final class StatementRenderer {
+
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    // US Letter in points, with 3/4 inch margins and 10pt Courier on 12pt lines
+    private static final int PAGE_WIDTH = 612;
+    private static final int PAGE_HEIGHT = 792;
+    private static final int MARGIN = 54;
+    private static final int LINE_HEIGHT = 12;
+    private static final int LINES_PER_PAGE = (PAGE_HEIGHT - 2 * MARGIN) / LINE_HEIGHT;
+
+    private StatementRenderer() {
+    }
+
+    /** Writes every statement line to {@code pw}, ending lines with CRLF or LF. */
+    public static void writeLines(PrintWriter pw, Invoice invoice, String apptDateTime, List<Payment> payments,
+            boolean windowsLineEndings) {
+        String ln = windowsLineEndings ? "\r\n" : "\n";
+        pw.print("==================================================" + ln);
+        pw.print("              PHYSICIANSCONNECT INVOICE           " + ln);
+        pw.print("==================================================" + ln);
+        pw.printf("Patient Name: %s%s", invoice.getPatientName(), ln);
+        pw.printf("Appointment:  %s%s", apptDateTime == null ? "-" : apptDateTime, ln);
+        pw.print("--------------------------------------------------" + ln);
+        pw.print("Services:" + ln);
+        for (ServiceItem s : invoice.getServices()) {
+            pw.printf("  * %-18s $%8.2f%s", s.getName(), s.getCost(), ln);
+        }
+        pw.print("--------------------------------------------------" + ln);
+        pw.print("Payments:" + ln);
+        if (payments != null && !payments.isEmpty()) {
+            for (Payment p : payments) {
+                pw.printf("  * %s: $%8.2f via %s%s",
+                        p.getPaidAt().format(STAMP),
+                        p.getAmount(),
+                        p.getMethod(),
+                        ln);
+            }
+        } else {
+            pw.print("  (No payments recorded)" + ln);
+        }
+        pw.print("--------------------------------------------------" + ln);
+        pw.printf("%-22s $%8.2f%s", "Insurance Adjustment:", invoice.getInsuranceAdjustment(), ln);
+        pw.printf("%-22s $%8.2f%s", "Total:", invoice.getTotalAmount(), ln);
+        pw.printf("%-22s $%8.2f%s", "Balance:", invoice.getBalance(), ln);
+        pw.printf("%-22s %s%s", "Status:", invoice.getStatus(), ln);
+        pw.printf("%-22s %s%s", "Created:", invoice.getCreatedAt().format(STAMP), ln);
+        pw.print("==================================================" + ln);
+        pw.print("Thank you for your business!" + ln);
+        pw.print("Exported from PhysiciansConnect" + ln);
+    }
+
+    /** The statement as UTF-8 text with CRLF line endings, as the single-invoice TXT export saves it. */
+    public static byte[] renderText(Invoice invoice, String apptDateTime, List<Payment> payments) {
+        StringWriter out = new StringWriter();
+        try (PrintWriter pw = new PrintWriter(out)) {
+            writeLines(pw, invoice, apptDateTime, payments, true);
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The statement as a PDF, one line of text per line of the TXT version.
+     * Characters outside Latin-1 print as '?', as the standard PDF fonts
+     * cannot show them.
+     */
+    public static byte[] renderPdf(Invoice invoice, String apptDateTime, List<Payment> payments) {
+        StringWriter out = new StringWriter();
+        try (PrintWriter pw = new PrintWriter(out)) {
+            writeLines(pw, invoice, apptDateTime, payments, false);
+        }
+        return pdf(out.toString().split("\n"));
+    }
+
+    private static byte[] pdf(String[] lines) {
+        int pages = Math.max(1, (lines.length + LINES_PER_PAGE - 1) / LINES_PER_PAGE);
+        // Objects: 1 catalog, 2 page tree, 3 font, then a page and its content stream per page
+        List<String> objects = new ArrayList<>();
+        StringBuilder kids = new StringBuilder();
+        for (int p = 0; p < pages; p++) {
+            kids.append(p == 0 ? "" : " ").append(4 + 2 * p).append(" 0 R");
+        }
+        objects.add("<< /Type /Catalog /Pages 2 0 R >>");
+        objects.add("<< /Type /Pages /Kids [" + kids + "] /Count " + pages + " >>");
+        objects.add("<< /Type /Font /Subtype /Type1 /BaseFont /Courier /Encoding /WinAnsiEncoding >>");
+        for (int p = 0; p < pages; p++) {
+            StringBuilder text = new StringBuilder();
+            text.append("BT /F1 10 Tf ").append(LINE_HEIGHT).append(" TL ")
+                    .append(MARGIN).append(' ').append(PAGE_HEIGHT - MARGIN - LINE_HEIGHT).append(" Td\n");
+            for (int i = p * LINES_PER_PAGE; i < Math.min(lines.length, (p + 1) * LINES_PER_PAGE); i++) {
+                text.append('(').append(escape(lines[i])).append(") Tj T*\n");
+            }
+            text.append("ET");
+            objects.add("<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT + "] "
+                    + "/Resources << /Font << /F1 3 0 R >> >> /Contents " + (5 + 2 * p) + " 0 R >>");
+            objects.add("<< /Length " + text.toString().getBytes(StandardCharsets.ISO_8859_1).length + " >>\n"
+                    + "stream\n" + text + "\nendstream");
+        }
+
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        write(pdf, "%PDF-1.4\n");
+        long[] offsets = new long[objects.size()];
+        for (int i = 0; i < objects.size(); i++) {
+            offsets[i] = pdf.size();
+            write(pdf, (i + 1) + " 0 obj\n" + objects.get(i) + "\nendobj\n");
+        }
+        int xref = pdf.size();
+        StringBuilder table = new StringBuilder("xref\n0 " + (objects.size() + 1) + "\n0000000000 65535 f \n");
+        for (long offset : offsets) {
+            table.append(String.format("%010d 00000 n \n", offset));
+        }
+        table.append("trailer\n<< /Size ").append(objects.size() + 1).append(" /Root 1 0 R >>\n")
+                .append("startxref\n").append(xref).append("\n%%EOF\n");
+        write(pdf, table.toString());
+        return pdf.toByteArray();
+    }
+
+    private static String escape(String line) {
+        StringBuilder out = new StringBuilder(line.length());
+        for (char c : line.toCharArray()) {
+            if (c == '\\' || c == '(' || c == ')') {
+                out.append('\\').append(c);
+            } else if (c < ' ' || c > 0xFF) {
+                out.append(c == '\t' ? ' ' : '?');
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private static void write(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
@@ -1,6 +1,9 @@
 package physicianconnect.logic.manager;
 
 import physicianconnect.objects.Appointment;
+import physicianconnect.objects.AppointmentWithPhysician;
+import physicianconnect.logic.event.AppointmentChanged;
+import physicianconnect.logic.event.EventBus;
 import physicianconnect.persistence.interfaces.AppointmentPersistence;
 import physicianconnect.logic.exceptions.*;
 import physicianconnect.logic.validation.*;
@@ -10,15 +13,12 @@ import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 public class AppointmentManager {
 
     private final AppointmentPersistence appointmentDB;
     private final Clock clock;
-
-    // Observer pattern: listeners for appointment changes
-    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private final EventBus eventBus;
 
     /** Production‐ready constructor */
     public AppointmentManager(AppointmentPersistence appointmentDB) {
@@ -27,94 +27,115 @@ public class AppointmentManager {
 
     /** Full constructor (allows tests to pass in a fixed Clock) */
     public AppointmentManager(AppointmentPersistence appointmentDB, Clock clock) {
-        this.appointmentDB = appointmentDB;
-        this.clock = clock;
+        this(appointmentDB, clock, EventBus.getDefault());
     }
 
-    // Observer pattern methods
-    public void addChangeListener(Runnable listener) {
-        listeners.add(listener);
-    }
-
-    public void removeChangeListener(Runnable listener) {
-        listeners.remove(listener);
+    /** Changes are published to {@code eventBus} as {@link AppointmentChanged} */
+    public AppointmentManager(AppointmentPersistence appointmentDB, Clock clock, EventBus eventBus) {
+        this.appointmentDB = appointmentDB;
+        this.clock = clock;
+        this.eventBus = eventBus;
     }
 
-    private void notifyListeners() {
-        for (Runnable listener : listeners) {
-            listener.run();
-        }
+    private void publish(AppointmentChanged.Kind kind, Appointment appointment) {
+        eventBus.publish(new AppointmentChanged(kind, appointment));
     }
 
     public void addAppointment(Appointment appointment) {
         // ← use validate(appointment, clock) so “now” is correct
         AppointmentValidator.validate(appointment, clock);
 
-        if (!isSlotAvailable(appointment.getPhysicianId(), appointment.getDateTime())) {
+        // The store books the slot atomically; two callers racing for it cannot both win
+        if (!appointmentDB.addAppointment(appointment)) {
             throw new InvalidAppointmentException(
                     "Slot already taken at " + appointment.getDateTime()
             );
         }
-        appointmentDB.addAppointment(appointment);
-        notifyListeners(); 
+        publish(AppointmentChanged.Kind.CREATED, appointment);
     }
 
     public void updateAppointment(Appointment appointment) {
         AppointmentValidator.validate(appointment, clock);
-        if (!isSlotAvailableForUpdate(
-                appointment.getPhysicianId(),
-                appointment.getDateTime(),
-                appointment
-        )) {
+        boolean updated;
+        try {
+            updated = appointmentDB.updateAppointment(appointment);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidAppointmentException("Appointment no longer exists.");
+        }
+        if (!updated) {
             throw new InvalidAppointmentException(
                     "Cannot move to " + appointment.getDateTime() + " — slot occupied."
             );
         }
-        appointmentDB.updateAppointment(appointment);
-        notifyListeners(); 
+        publish(AppointmentChanged.Kind.UPDATED, appointment);
     }
 
     public void deleteAppointment(Appointment appointment) {
         appointmentDB.deleteAppointment(appointment);
-        notifyListeners(); 
+        publish(AppointmentChanged.Kind.DELETED, appointment);
     }
 
     public List<Appointment> getAppointmentsForPhysician(String physicianId) {
         return Collections.unmodifiableList(appointmentDB.getAppointmentsForPhysician(physicianId));
     }
 
+    /** One joined, time-ordered query; null filters are left off. */
+    public List<AppointmentWithPhysician> getAppointmentsWithPhysician(String physicianId,
+                                                                      LocalDateTime start,
+                                                                      LocalDateTime end,
+                                                                      int offset,
+                                                                      int limit) {
+        return Collections.unmodifiableList(
+                appointmentDB.getAppointmentsWithPhysician(physicianId, start, end, offset, limit));
+    }
+
+    public int countAppointments(String physicianId, String patientPrefix) {
+        return appointmentDB.countAppointments(physicianId, patientPrefix);
+    }
+
+    /** One keyset- or offset-addressed page; see {@link AppointmentPersistence#getAppointmentPage}. */
+    public List<AppointmentWithPhysician> getAppointmentPage(String physicianId,
+                                                             String patientPrefix,
+                                                             boolean newestFirst,
+                                                             Appointment after,
+                                                             int offset,
+                                                             int limit) {
+        return Collections.unmodifiableList(appointmentDB.getAppointmentPage(
+                physicianId, patientPrefix, newestFirst, after, offset, limit));
+    }
+
     public void deleteAll() {
         appointmentDB.deleteAllAppointments();
-        notifyListeners(); 
+        publish(AppointmentChanged.Kind.CLEARED, null);
     }
 
+    /**
+     * Advisory check for the UI; booking itself does not rely on it. Reads
+     * only the slot itself through the (physician_id, datetime) index.
+     */
     public boolean isSlotAvailable(String physicianId, LocalDateTime slotTime) {
-        for (Appointment a : getAppointmentsForPhysician(physicianId)) {
-            if (a.getDateTime().equals(slotTime)) {
-                return false;
-            }
-        }
-        return true;
+        return appointmentsAt(physicianId, slotTime).isEmpty();
     }
 
     public boolean isSlotAvailableForUpdate(String physicianId,
                                             LocalDateTime slotTime,
                                             Appointment original) {
-        for (Appointment other : getAppointmentsForPhysician(physicianId)) {
+        for (Appointment other : appointmentsAt(physicianId, slotTime)) {
             boolean sameRecord =
                     other.getPhysicianId().equals(original.getPhysicianId())
                             && other.getPatientName().equals(original.getPatientName())
                             && other.getDateTime().equals(original.getDateTime());
-            if (sameRecord) {
-                continue;
-            }
-            if (other.getDateTime().equals(slotTime)) {
+            if (!sameRecord) {
                 return false;
             }
         }
         return true;
     }
 
+    private List<Appointment> appointmentsAt(String physicianId, LocalDateTime slotTime) {
+        return appointmentDB.getAppointmentsForPhysicianInRange(physicianId, slotTime, slotTime.plusNanos(1));
+    }
+
     public List<Appointment> getAllAppointments() {
     return appointmentDB.getAllAppointments();
 }
@@ -1,20 +1,51 @@
 package physicianconnect.logic.manager;
 
+import physicianconnect.logic.event.EventBus;
+import physicianconnect.logic.event.InvoiceUpdated;
 import physicianconnect.objects.Invoice;
+import physicianconnect.objects.RevenueTotals;
+import physicianconnect.objects.ServiceRevenue;
 import physicianconnect.persistence.interfaces.InvoicePersistence;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public class InvoiceManager {
     private final InvoicePersistence invoiceDB;
+    private final EventBus eventBus;
 
-    public InvoiceManager(InvoicePersistence invoiceDB) { this.invoiceDB = invoiceDB; }
+    public InvoiceManager(InvoicePersistence invoiceDB) { this(invoiceDB, EventBus.getDefault()); }
 
-    public void addInvoice(Invoice invoice) { invoiceDB.addInvoice(invoice); }
+    public InvoiceManager(InvoicePersistence invoiceDB, EventBus eventBus) {
+        this.invoiceDB = invoiceDB;
+        this.eventBus = eventBus;
+    }
+
+    public void addInvoice(Invoice invoice) {
+        invoiceDB.addInvoice(invoice);
+        eventBus.publish(new InvoiceUpdated(invoice.getId()));
+    }
     public Invoice getInvoiceById(String id) { return invoiceDB.getInvoiceById(id); }
     public List<Invoice> getInvoicesByMonth(int year, int month) { return invoiceDB.getInvoicesByMonth(year, month); }
+    public List<Invoice> getInvoicesBetween(LocalDateTime start, LocalDateTime end) { return invoiceDB.getInvoicesBetween(start, end); }
+    public List<Invoice> getInvoicesBetween(LocalDateTime start, LocalDateTime end, Invoice after, int limit) { return invoiceDB.getInvoicesBetween(start, end, after, limit); }
     public List<Invoice> getAllInvoices() { return invoiceDB.getAllInvoices(); }
-    public void updateInvoice(Invoice invoice) { invoiceDB.updateInvoice(invoice); }
+    public int countInvoices(String patientPrefix) { return invoiceDB.countInvoices(patientPrefix); }
+    public List<Invoice> getInvoicePage(String patientPrefix, Invoice after, int offset, int limit) {
+        return invoiceDB.getInvoicePage(patientPrefix, after, offset, limit);
+    }
+    public List<ServiceRevenue> getRevenueByService(LocalDateTime start, LocalDateTime end) {
+        return invoiceDB.getRevenueByService(start, end);
+    }
+    public RevenueTotals getRevenueTotals(LocalDate start, LocalDate end) {
+        return invoiceDB.getRevenueTotals(start, end);
+    }
+    public void updateInvoice(Invoice invoice) {
+        invoiceDB.updateInvoice(invoice);
+        eventBus.publish(new InvoiceUpdated(invoice.getId()));
+    }
     public void deleteInvoice(String id) {
     invoiceDB.deleteInvoiceById(id);
+    eventBus.publish(new InvoiceUpdated(id));
 }
 }
\ No newline at end of file
@@ -5,22 +5,22 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 import physicianconnect.objects.Notification;
+import physicianconnect.objects.NotificationCategory;
 import physicianconnect.persistence.interfaces.NotificationPersistence;
-import physicianconnect.persistence.sqlite.NotificationDB;
 import physicianconnect.presentation.NotificationBanner;
 import physicianconnect.presentation.NotificationPanel;
 
 public class InvoiceNotificationManager {
     private final NotificationBanner banner;
     private final NotificationPanel notificationPanel;
-    private final NotificationDB notificationDB;
+    private final NotificationManager notificationManager;
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("MMM d, h:mm a");
 
     public InvoiceNotificationManager(Window owner, NotificationPanel notificationPanel, 
                                     NotificationPersistence notificationPersistence) {
         this.banner = new NotificationBanner(owner);
         this.notificationPanel = notificationPanel;
-        this.notificationDB = (NotificationDB) notificationPersistence;
+        this.notificationManager = new NotificationManager(notificationPersistence);
     }
 
     public void notifyInvoiceCreated(String patientName) {
@@ -30,8 +30,8 @@ public class InvoiceNotificationManager {
         // Show banner notification
         banner.show(message, null);
         
-        // Broadcast to all receptionists
-        notificationDB.broadcastToReceptionists(message, type);
+        // Broadcast to receptionists who want billing notifications
+        notificationManager.notifyReceptionists(message, type, NotificationCategory.BILLING);
     }
 
     public void notifyInvoicePaid(String patientName) {
@@ -41,8 +41,8 @@ public class InvoiceNotificationManager {
         // Show banner notification
         banner.show(message, null);
         
-        // Broadcast to all receptionists
-        notificationDB.broadcastToReceptionists(message, type);
+        // Broadcast to receptionists who want billing notifications
+        notificationManager.notifyReceptionists(message, type, NotificationCategory.BILLING);
     }
 
     public void notifyInvoiceDeleted(String patientName) {
@@ -52,7 +52,7 @@ public class InvoiceNotificationManager {
         // Show banner notification
         banner.show(message, null);
         
-        // Broadcast to all receptionists
-        notificationDB.broadcastToReceptionists(message, type);
+        // Broadcast to receptionists who want billing notifications
+        notificationManager.notifyReceptionists(message, type, NotificationCategory.BILLING);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,45 @@
+package physicianconnect.logic.manager;
+
+import java.time.LocalDateTime;
+
+import physicianconnect.logic.event.EventBus;
+import physicianconnect.logic.event.NotificationAdded;
+import physicianconnect.objects.Notification;
+import physicianconnect.objects.NotificationCategory;
+import physicianconnect.persistence.interfaces.NotificationPersistence;
+
+/**
+ * Stores notifications meant for other users and announces them with
+ * {@link NotificationAdded} so the recipients' windows refresh their badges.
+ */
+public class NotificationManager {
+    private final NotificationPersistence notificationPersistence;
+    private final EventBus eventBus;
+
+    public NotificationManager(NotificationPersistence notificationPersistence) {
+        this(notificationPersistence, EventBus.getDefault());
+    }
+
+    public NotificationManager(NotificationPersistence notificationPersistence, EventBus eventBus) {
+        this.notificationPersistence = notificationPersistence;
+        this.eventBus = eventBus;
+    }
+
+    public void notifyUser(String userId, String userType, String message, String type) {
+        notificationPersistence.addNotification(
+                new Notification(message, type, LocalDateTime.now(), userId, userType));
+        eventBus.publish(new NotificationAdded(userId, userType));
+    }
+
+    /**
+     * @return the number of receptionists notified
+     * @see NotificationPersistence#broadcastToReceptionists
+     */
+    public int notifyReceptionists(String message, String type, NotificationCategory category) {
+        int sent = notificationPersistence.broadcastToReceptionists(message, type, category);
+        if (sent > 0) {
+            eventBus.publish(new NotificationAdded(null, "receptionist"));
+        }
+        return sent;
+    }
+}
@@ -1,15 +1,43 @@
 package physicianconnect.logic.manager;
 
+import physicianconnect.logic.event.EventBus;
+import physicianconnect.logic.event.InvoiceUpdated;
 import physicianconnect.objects.Payment;
 import physicianconnect.persistence.interfaces.PaymentPersistence;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public class PaymentManager {
     private final PaymentPersistence paymentDB;
+    private final EventBus eventBus;
 
-    public PaymentManager(PaymentPersistence paymentDB) { this.paymentDB = paymentDB; }
+    public PaymentManager(PaymentPersistence paymentDB) { this(paymentDB, EventBus.getDefault()); }
 
-    public void addPayment(Payment payment) { paymentDB.addPayment(payment); }
+    public PaymentManager(PaymentPersistence paymentDB, EventBus eventBus) {
+        this.paymentDB = paymentDB;
+        this.eventBus = eventBus;
+    }
+
+    public void addPayment(Payment payment) {
+        paymentDB.addPayment(payment);
+        eventBus.publish(new InvoiceUpdated(payment.getInvoiceId()));
+    }
+    /**
+     * @return the stored payment, or null if the balance did not cover it;
+     *         see {@link PaymentPersistence#recordPayment}
+     * @throws IllegalArgumentException if the invoice does not exist
+     */
+    public Payment recordPayment(Payment payment, String idempotencyKey) {
+        Payment stored = paymentDB.recordPayment(payment, idempotencyKey);
+        if (stored != null) {
+            eventBus.publish(new InvoiceUpdated(stored.getInvoiceId()));
+        }
+        return stored;
+    }
     public List<Payment> getPaymentsByInvoice(String invoiceId) { return paymentDB.getPaymentsByInvoice(invoiceId); }
+    public Map<String, List<Payment>> getPaymentsByInvoices(Collection<String> invoiceIds) { return paymentDB.getPaymentsByInvoices(invoiceIds); }
     public List<Payment> getPaymentsByMonth(int year, int month) { return paymentDB.getPaymentsByMonth(year, month); }
+    public List<Payment> getPaymentsBetween(LocalDateTime start, LocalDateTime end) { return paymentDB.getPaymentsBetween(start, end); }
 }
\ No newline at end of file
@@ -42,10 +42,7 @@ public class ReceptionistManager {
     }
 
     public Receptionist getReceptionistByEmail(String email) {
-        return receptionistDB.getAllReceptionists().stream()
-                .filter(r -> r.getEmail().equalsIgnoreCase(email))
-                .findFirst()
-                .orElse(null);
+        return receptionistDB.getReceptionistByEmail(email);
     }
 
     public Receptionist login(String email, String password) {
@@ -9,6 +9,10 @@ public class BillingValidator {
         if (amount <= 0) throw new InvalidBillingException("Payment must be greater than zero.");
         if (amount > balance) throw new InvalidBillingException("Payment exceeds outstanding balance.");
     }
+    /** For amounts checked against the balance where the payment is stored. */
+    public static void validatePaymentAmount(double amount) throws InvalidBillingException {
+        if (Math.round(amount * 100) <= 0) throw new InvalidBillingException("Payment must be greater than zero.");
+    }
     public static void validateInvoiceServices(List<ServiceItem> services) throws InvalidBillingException {
         if (services == null || services.isEmpty()) throw new InvalidBillingException("At least one service is required.");
     }
@@ -3,17 +3,26 @@ package physicianconnect.logic.validation;
 import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.logic.manager.PhysicianManager;
 import physicianconnect.logic.manager.ReceptionistManager;
+import physicianconnect.persistence.interfaces.UserDirectory;
 
 import javax.swing.*;
 
 public class CredentialVerification {
     private final PhysicianManager physicianManager;
     private final ReceptionistManager receptionistManager;
+    private final UserDirectory userDirectory;
     private final JDialog dialog;
 
     public CredentialVerification(PhysicianManager physicianManager, ReceptionistManager receptionistManager, JDialog dialog) {
+        this(physicianManager, receptionistManager, null, dialog);
+    }
+
+    /** With a {@code userDirectory} the taken-email check is one query across both roles. */
+    public CredentialVerification(PhysicianManager physicianManager, ReceptionistManager receptionistManager,
+            UserDirectory userDirectory, JDialog dialog) {
         this.physicianManager = physicianManager;
         this.receptionistManager = receptionistManager;
+        this.userDirectory = userDirectory;
         this.dialog = dialog;
     }
 
@@ -45,8 +54,7 @@ public class CredentialVerification {
             return false;
         }
 
-        if (physicianManager.getPhysicianByEmail(email) != null ||
-                receptionistManager.getReceptionistByEmail(email) != null) {
+        if (emailTaken(email)) {
             JOptionPane.showMessageDialog(dialog,
                     UIConfig.ERROR_EMAIL_EXISTS, UIConfig.ERROR_DIALOG_TITLE,
                     JOptionPane.ERROR_MESSAGE);
@@ -55,4 +63,12 @@ public class CredentialVerification {
 
         return true;
     }
+
+    private boolean emailTaken(String email) {
+        if (userDirectory != null) {
+            return userDirectory.findUserByEmail(email) != null;
+        }
+        return physicianManager.getPhysicianByEmail(email) != null ||
+                receptionistManager.getReceptionistByEmail(email) != null;
+    }
 }
\ No newline at end of file
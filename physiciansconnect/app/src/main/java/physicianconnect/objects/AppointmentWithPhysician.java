@@ -0,0 +1,9 @@
+package physicianconnect.objects;
+
+/**
+ * An appointment together with its physician's display name, as loaded by
+ * one joined query for schedule tables. {@code physicianName} is null when
+ * the physician no longer exists.
+ */
+public record AppointmentWithPhysician(Appointment appointment, String physicianName) {
+}
@@ -15,6 +15,11 @@ public class Invoice {
     private final LocalDateTime createdAt;
 
     public Invoice(String id, String appointmentId, String patientName, List<ServiceItem> services, double insuranceAdjustment) {
+        this(id, appointmentId, patientName, services, insuranceAdjustment, LocalDateTime.now());
+    }
+
+    public Invoice(String id, String appointmentId, String patientName, List<ServiceItem> services,
+            double insuranceAdjustment, LocalDateTime createdAt) {
         this.id = id;
         this.appointmentId = appointmentId;
         this.patientName = patientName;
@@ -23,7 +28,7 @@ public class Invoice {
         this.totalAmount = calculateTotal();
         this.balance = totalAmount;
         this.status = "Sent";
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = createdAt;
     }
 
     private double calculateTotal() {
@@ -12,6 +12,7 @@ public class Message {
     private String content;
     private LocalDateTime timestamp;
     private boolean isRead;
+    private long seq; // assigned by the repository on save, 0 until then
 
     public Message(String senderId, String senderType, String receiverId, String receiverType, String content) {
         this.messageId = UUID.randomUUID();
@@ -36,4 +37,6 @@ public class Message {
     public void setRead(boolean read) { isRead = read; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
     public void setMessageId(UUID messageId) { this.messageId = messageId; }
+    public long getSeq() { return seq; }
+    public void setSeq(long seq) { this.seq = seq; }
 } 
\ No newline at end of file
@@ -9,6 +9,7 @@ public class Notification {
     private final String userId;
     private final String userType;
     private boolean read;
+    private long seq; // assigned by persistence on insert, 0 until then
 
     public Notification(String message, String type, LocalDateTime timestamp, String userId, String userType) {
         this.message = message;
@@ -40,4 +41,10 @@ public class Notification {
     public void markAsRead() {
         this.read = true;
     }
+    public long getSeq() {
+        return seq;
+    }
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,18 @@
+package physicianconnect.objects;
+
+/**
+ * The receptionist notification preferences a broadcast can be filtered by.
+ */
+public enum NotificationCategory {
+    APPOINTMENT, // Receptionist.notifyAppointment
+    BILLING, // Receptionist.notifyBilling
+    MESSAGES; // Receptionist.notifyMessages
+
+    public boolean isEnabledFor(Receptionist receptionist) {
+        return switch (this) {
+            case APPOINTMENT -> receptionist.isNotifyAppointment();
+            case BILLING -> receptionist.isNotifyBilling();
+            case MESSAGES -> receptionist.isNotifyMessages();
+        };
+    }
+}
@@ -10,11 +10,15 @@ public class Payment {
     private final LocalDateTime paidAt;
 
     public Payment(String id, String invoiceId, double amount, String method) {
+        this(id, invoiceId, amount, method, LocalDateTime.now());
+    }
+
+    public Payment(String id, String invoiceId, double amount, String method, LocalDateTime paidAt) {
         this.id = id;
         this.invoiceId = invoiceId;
         this.amount = amount;
         this.method = method;
-        this.paidAt = LocalDateTime.now();
+        this.paidAt = paidAt;
     }
 
     public String getId() { return id; }
@@ -0,0 +1,23 @@
+package physicianconnect.objects;
+
+/**
+ * Billed, paid and outstanding amounts over the invoices created in a period,
+ * in cents. Paid is what has come off the invoices' balances, so outstanding
+ * is always billed minus paid.
+ */
+public record RevenueTotals(int invoiceCount, long billedCents, long paidCents) {
+
+    public static final RevenueTotals EMPTY = new RevenueTotals(0, 0, 0);
+
+    public double billed() {
+        return billedCents / 100.0;
+    }
+
+    public double paid() {
+        return paidCents / 100.0;
+    }
+
+    public double outstanding() {
+        return (billedCents - paidCents) / 100.0;
+    }
+}
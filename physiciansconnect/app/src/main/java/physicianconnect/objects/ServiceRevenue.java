@@ -0,0 +1,12 @@
+package physicianconnect.objects;
+
+/**
+ * Billed total for one service name over a period, summed in SQL from
+ * invoice line items. Amounts are kept in cents so totals add up exactly.
+ */
+public record ServiceRevenue(String serviceName, int itemCount, long revenueCents) {
+
+    public double revenue() {
+        return revenueCents / 100.0;
+    }
+}
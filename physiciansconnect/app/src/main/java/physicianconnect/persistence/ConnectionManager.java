@@ -1,43 +1,45 @@
 package physicianconnect.persistence;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class ConnectionManager {
-    private static Connection connection;
+    private static ConnectionPool pool;
 
     public static void initialize(String dbFilePath) {
-        if (connection != null)
-            return;
-
-        try {
-            connection = DriverManager.getConnection("jdbc:sqlite:" + dbFilePath);
+        initialize(dbFilePath, ConnectionPool.DEFAULT_READERS);
+    }
 
-            try (var stmt = connection.createStatement()) {
-                stmt.execute("PRAGMA foreign_keys = ON;");
-            }
+    public static void initialize(String dbFilePath, int readerCount) {
+        if (pool != null)
+            return;
 
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to initialize DB connection", e);
-        }
+        pool = ConnectionPool.open(dbFilePath, readerCount);
     }
 
+    /**
+     * Returns the writer connection. Prefer {@link #getPool()} so reads can be
+     * served by the read-only connections.
+     */
     public static Connection get() {
-        if (connection == null) {
+        return getPool().getWriterConnection();
+    }
+
+    public static ConnectionPool getPool() {
+        if (pool == null) {
             throw new IllegalStateException("Connection not initialized");
         }
-        return connection;
+        return pool;
     }
 
     public static void close() {
-        if (connection != null) {
+        if (pool != null) {
             try {
-                connection.close();
+                pool.close();
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to close DB connection", e);
             } finally {
-                connection = null;
+                pool = null;
             }
         }
     }
@@ -47,6 +49,6 @@ public class ConnectionManager {
     }
 
     public static boolean isInitialized() {
-        return connection != null;
+        return pool != null;
     }
 }
@@ -0,0 +1,294 @@
+package physicianconnect.persistence;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SQLite connection pool: a bounded set of read-only connections serves
+ * queries, and a single writer connection is reached through a serialized
+ * (fair-locked) write channel. File databases are opened in WAL journal mode
+ * so readers never block behind the writer.
+ *
+ * In-memory databases (and connections handed in by callers) cannot be shared
+ * across handles, so they run in single-connection mode where reads go through
+ * the write channel as well.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    public static final int DEFAULT_READERS = 4;
+    private static final long ACQUIRE_TIMEOUT_MS = 30_000;
+    private static final int BUSY_TIMEOUT_MS = 5_000;
+
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+
+    private final Connection writer;
+    private final List<Connection> readers;
+    private final BlockingQueue<Connection> idleReaders;
+    private final ReentrantLock writeLock = new ReentrantLock(true);
+    /** Actions waiting for the current write to commit; guarded by {@link #writeLock}. */
+    private final List<Runnable> afterCommit = new ArrayList<>();
+
+    private final AtomicInteger activeReaders = new AtomicInteger();
+    private final AtomicInteger peakActiveReaders = new AtomicInteger();
+    private final AtomicLong readAcquisitions = new AtomicLong();
+    private final AtomicLong readWaitNanos = new AtomicLong();
+    private final AtomicLong writeAcquisitions = new AtomicLong();
+    private final AtomicLong writeWaitNanos = new AtomicLong();
+
+    private ConnectionPool(Connection writer, List<Connection> readers) {
+        this.writer = writer;
+        this.readers = readers;
+        this.idleReaders = new ArrayBlockingQueue<>(Math.max(1, readers.size()));
+        this.idleReaders.addAll(readers);
+    }
+
+    /**
+     * Opens a pool over the given SQLite file with {@code readerCount} read-only
+     * connections. {@code ":memory:"} yields a single-connection pool.
+     */
+    public static ConnectionPool open(String dbFilePath, int readerCount) {
+        String url = "jdbc:sqlite:" + dbFilePath;
+        Connection writer = null;
+        List<Connection> readers = new ArrayList<>();
+        try {
+            writer = DriverManager.getConnection(url);
+            try (Statement stmt = writer.createStatement()) {
+                stmt.execute("PRAGMA foreign_keys = ON;");
+                stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS + ";");
+            }
+            if (isInMemory(dbFilePath)) {
+                return new ConnectionPool(writer, readers);
+            }
+
+            try (Statement stmt = writer.createStatement()) {
+                stmt.execute("PRAGMA journal_mode = WAL;");
+                stmt.execute("PRAGMA synchronous = NORMAL;");
+            }
+            for (int i = 0; i < readerCount; i++) {
+                Connection reader = DriverManager.getConnection(url);
+                readers.add(reader);
+                try (Statement stmt = reader.createStatement()) {
+                    stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS + ";");
+                    stmt.execute("PRAGMA query_only = ON;");
+                }
+            }
+            return new ConnectionPool(writer, readers);
+        } catch (SQLException e) {
+            closeQuietly(readers);
+            if (writer != null) {
+                closeQuietly(List.of(writer));
+            }
+            throw new RuntimeException("Failed to initialize DB connection pool", e);
+        }
+    }
+
+    /**
+     * Wraps an existing connection in a single-connection pool. Every read and
+     * write is serialized on that connection.
+     */
+    public static ConnectionPool wrap(Connection connection) {
+        return new ConnectionPool(connection, new ArrayList<>());
+    }
+
+    private static boolean isInMemory(String dbFilePath) {
+        return dbFilePath == null || dbFilePath.isBlank() || dbFilePath.contains(":memory:")
+                || dbFilePath.contains("mode=memory");
+    }
+
+    /**
+     * Runs {@code work} on a read-only connection. A thread already inside the
+     * write channel reads through the writer so it sees its own changes.
+     */
+    public <T> T read(SqlWork<T> work) throws SQLException {
+        if (readers.isEmpty() || writeLock.isHeldByCurrentThread()) {
+            return write(work);
+        }
+
+        long start = System.nanoTime();
+        Connection reader;
+        try {
+            reader = idleReaders.poll(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a read connection", e);
+        }
+        readWaitNanos.addAndGet(System.nanoTime() - start);
+        if (reader == null) {
+            throw new SQLException("Timed out waiting for a read connection");
+        }
+
+        readAcquisitions.incrementAndGet();
+        peakActiveReaders.accumulateAndGet(activeReaders.incrementAndGet(), Math::max);
+        try {
+            return work.apply(reader);
+        } finally {
+            activeReaders.decrementAndGet();
+            idleReaders.offer(reader);
+        }
+    }
+
+    /**
+     * Runs {@code work} on the writer connection while holding the write lock.
+     * Calls nest, so a write may issue further reads and writes.
+     */
+    public <T> T write(SqlWork<T> work) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!writeLock.tryLock(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out waiting for the write connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the write connection", e);
+        }
+        writeWaitNanos.addAndGet(System.nanoTime() - start);
+        writeAcquisitions.incrementAndGet();
+        boolean outermost = writeLock.getHoldCount() == 1;
+        try {
+            T result = work.apply(writer);
+            if (outermost) {
+                for (Runnable action : afterCommit) {
+                    action.run();
+                }
+            }
+            return result;
+        } finally {
+            if (outermost) {
+                afterCommit.clear();
+            }
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@code action} when the outermost write this thread is inside
+     * returns, after any transaction in it has committed and still under the
+     * write lock. Work of a transaction that rolls back drops its actions, as
+     * does a write that throws. In-memory caches of table state use it so
+     * they never run ahead of a rollback.
+     *
+     * @throws IllegalStateException if called outside a write
+     */
+    public void afterCommit(Runnable action) {
+        if (!writeLock.isHeldByCurrentThread()) {
+            throw new IllegalStateException("afterCommit must be called inside a write");
+        }
+        afterCommit.add(action);
+    }
+
+    /**
+     * Runs {@code work} on the writer inside a single transaction: committed
+     * when it returns, rolled back when it throws. A call made while a
+     * transaction is already open on the writer joins it instead.
+     */
+    public <T> T transaction(SqlWork<T> work) throws SQLException {
+        return write(conn -> {
+            if (!conn.getAutoCommit()) {
+                return work.apply(conn);
+            }
+            conn.setAutoCommit(false);
+            boolean committed = false;
+            int actions = afterCommit.size();
+            try {
+                T result = work.apply(conn);
+                conn.commit();
+                committed = true;
+                return result;
+            } finally {
+                try {
+                    // Whatever was thrown, Errors included: turning autocommit
+                    // back on would otherwise commit the partial work
+                    if (!committed) {
+                        afterCommit.subList(actions, afterCommit.size()).clear();
+                        conn.rollback();
+                    }
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            }
+        });
+    }
+
+    /** Direct access to the writer, for schema setup and seeding at startup. */
+    public Connection getWriterConnection() {
+        return writer;
+    }
+
+    public int getReaderPoolSize() {
+        return readers.size();
+    }
+
+    public int getActiveReaders() {
+        return activeReaders.get();
+    }
+
+    public int getPeakActiveReaders() {
+        return peakActiveReaders.get();
+    }
+
+    /** Fraction of read connections currently checked out, 0.0 - 1.0. */
+    public double getReaderUtilization() {
+        return readers.isEmpty() ? 0.0 : (double) activeReaders.get() / readers.size();
+    }
+
+    public long getReadAcquisitions() {
+        return readAcquisitions.get();
+    }
+
+    public long getReadWaitNanos() {
+        return readWaitNanos.get();
+    }
+
+    public long getWriteAcquisitions() {
+        return writeAcquisitions.get();
+    }
+
+    public long getWriteWaitNanos() {
+        return writeWaitNanos.get();
+    }
+
+    public boolean isWriteLocked() {
+        return writeLock.isLocked();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        SQLException failure = null;
+        for (Connection reader : readers) {
+            try {
+                reader.close();
+            } catch (SQLException e) {
+                failure = e;
+            }
+        }
+        readers.clear();
+        idleReaders.clear();
+        writer.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static void closeQuietly(List<Connection> connections) {
+        for (Connection c : connections) {
+            try {
+                c.close();
+            } catch (SQLException ignored) {
+                // already failing; keep the original error
+            }
+        }
+    }
+}
@@ -1,42 +1,156 @@
 package physicianconnect.persistence;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import physicianconnect.persistence.sqlite.RevenueDaily;
+
+/**
+ * Runs the SQL seed scripts on the classpath. Each file is streamed statement
+ * by statement, executed in batches inside one transaction, and its SHA-256
+ * recorded in {@code seed_history}; a file whose checksum is unchanged since
+ * it was last applied is skipped, so an already-seeded database starts
+ * without re-running any seeds.
+ * <p>
+ * Seed rows bypass {@code InvoiceDB}, so the daily revenue totals are
+ * rebuilt from the invoices in the same transaction as each applied file.
+ */
 public class DatabaseSeeder {
 
+    static final int BATCH_SIZE = 200;
+
     public static void seed(Connection connection, List<String> resourcePaths) {
         for (String path : resourcePaths) {
             executeSqlFromResource(path, connection);
         }
     }
 
-    private static void executeSqlFromResource(String resourcePath, Connection connection) {
-        InputStream input = DatabaseSeeder.class.getClassLoader().getResourceAsStream(resourcePath);
+    /**
+     * @return true if the file was executed, false if it was already applied
+     */
+    static boolean executeSqlFromResource(String resourcePath, Connection connection) {
+        String checksum = checksum(resourcePath);
+
+        try {
+            ensureHistoryTable(connection);
+            if (checksum.equals(appliedChecksum(connection, resourcePath))) {
+                return false;
+            }
+
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                executeStatements(resourcePath, connection);
+                rebuildRevenueTotals(connection);
+                recordChecksum(connection, resourcePath, checksum);
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException("Failed to execute seed file: " + resourcePath, e);
+        }
+    }
 
+    private static InputStream open(String resourcePath) {
+        InputStream input = DatabaseSeeder.class.getClassLoader().getResourceAsStream(resourcePath);
         if (input == null) {
             throw new RuntimeException("Seed file not found: " + resourcePath);
         }
+        return input;
+    }
+
+    private static String checksum(String resourcePath) {
+        try (InputStream input = open(resourcePath)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to read seed file: " + resourcePath, e);
+        }
+    }
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
-            String sql = reader.lines().collect(Collectors.joining("\n"));
-            for (String statement : sql.split(";")) {
-                String trimmed = statement.trim();
-                if (!trimmed.isEmpty()) {
-                    try (Statement stmt = connection.createStatement()) {
-                        stmt.execute(trimmed);
-                    }
+    private static void executeStatements(String resourcePath, Connection connection)
+            throws IOException, SQLException {
+        try (SqlStatementReader reader = new SqlStatementReader(new BufferedReader(
+                new InputStreamReader(open(resourcePath), StandardCharsets.UTF_8)));
+                Statement stmt = connection.createStatement()) {
+            int pending = 0;
+            String sql;
+            while ((sql = reader.next()) != null) {
+                stmt.addBatch(sql);
+                if (++pending == BATCH_SIZE) {
+                    stmt.executeBatch();
+                    pending = 0;
                 }
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Failed to execute seed file: " + resourcePath, e);
-            
+            if (pending > 0) {
+                stmt.executeBatch();
+            }
+        }
+    }
+
+    private static void rebuildRevenueTotals(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery(
+                        "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'revenue_daily'")) {
+            if (!rs.next()) {
+                return; // schema without billing, as in some seeder tests
+            }
+        }
+        RevenueDaily.rebuild(connection);
+    }
+
+    private static void ensureHistoryTable(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS seed_history ("
+                    + "resource TEXT PRIMARY KEY, "
+                    + "checksum TEXT NOT NULL, "
+                    + "applied_at TEXT NOT NULL"
+                    + ")");
+        }
+    }
+
+    private static String appliedChecksum(Connection connection, String resourcePath) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT checksum FROM seed_history WHERE resource = ?")) {
+            stmt.setString(1, resourcePath);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private static void recordChecksum(Connection connection, String resourcePath, String checksum)
+            throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "INSERT OR REPLACE INTO seed_history (resource, checksum, applied_at) VALUES (?, ?, ?)")) {
+            stmt.setString(1, resourcePath);
+            stmt.setString(2, checksum);
+            stmt.setString(3, LocalDateTime.now().toString());
+            stmt.executeUpdate();
         }
     }
 }
@@ -5,17 +5,38 @@ import physicianconnect.persistence.interfaces.MessageRepository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 public class InMemoryMessageRepository implements MessageRepository {
     private final Map<UUID, Message> messages = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final UnreadCounter unread = new UnreadCounter();
+
+    public InMemoryMessageRepository() {
+        unread.warm(Map.of());
+    }
 
     @Override
-    public Message save(Message message) {
-        messages.put(message.getMessageId(), message);
+    public synchronized Message save(Message message) {
+        message.setSeq(sequence.incrementAndGet());
+        Message previous = messages.put(message.getMessageId(), message);
+        if (previous != null && !previous.isRead()) {
+            unread.adjust(previous.getReceiverId(), previous.getReceiverType(), -1);
+        }
+        if (!message.isRead()) {
+            unread.adjust(message.getReceiverId(), message.getReceiverType(), 1);
+        }
         return message;
     }
 
+    @Override
+    public void saveAll(Collection<Message> batch) {
+        for (Message message : batch) {
+            save(message);
+        }
+    }
+
     // Updated: now requires both receiverId and receiverType
     public List<Message> findByReceiverId(String receiverId, String receiverType) {
         return messages.values().stream()
@@ -45,20 +66,69 @@ public class InMemoryMessageRepository implements MessageRepository {
     }
 
     @Override
-    public void markAsRead(UUID messageId) {
+    public List<Message> findConversation(String userId, String userType, String otherId, String otherType,
+            Message before, int limit) {
+        // Same ordering as the SQL keyset: timestamp, then message ID as text
+        Comparator<Message> order = Comparator.comparing(Message::getTimestamp)
+                .thenComparing(message -> message.getMessageId().toString());
+        List<Message> page = messages.values().stream()
+                .filter(message -> isBetween(message, userId, userType, otherId, otherType)
+                        || isBetween(message, otherId, otherType, userId, userType))
+                .filter(message -> before == null || order.compare(message, before) < 0)
+                .sorted(order.reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+        Collections.reverse(page);
+        return page;
+    }
+
+    private static boolean isBetween(Message message, String senderId, String senderType,
+            String receiverId, String receiverType) {
+        return message.getSenderId().equals(senderId) && message.getSenderType().equals(senderType)
+                && message.getReceiverId().equals(receiverId) && message.getReceiverType().equals(receiverType);
+    }
+
+    @Override
+    public List<Message> findSince(String receiverId, String receiverType, long lastSeq) {
+        return messages.values().stream()
+                .filter(message -> message.getReceiverId().equals(receiverId)
+                        && message.getReceiverType().equals(receiverType)
+                        && message.getSeq() > lastSeq)
+                .sorted(Comparator.comparingLong(Message::getSeq))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long latestSequence() {
+        return sequence.get();
+    }
+
+    @Override
+    public synchronized void markAsRead(UUID messageId) {
         Message message = messages.get(messageId);
-        if (message != null) {
+        if (message != null && !message.isRead()) {
             message.setRead(true);
-            messages.put(messageId, message);
+            unread.adjust(message.getReceiverId(), message.getReceiverType(), -1);
         }
     }
 
-    // Updated: now requires both receiverId and receiverType
+    @Override
+    public synchronized int markConversationRead(String readerId, String readerType, String counterpartId,
+            String counterpartType, long upToSeq) {
+        int marked = 0;
+        for (Message message : messages.values()) {
+            if (!message.isRead() && message.getSeq() <= upToSeq
+                    && isBetween(message, counterpartId, counterpartType, readerId, readerType)) {
+                message.setRead(true);
+                marked++;
+            }
+        }
+        unread.adjust(readerId, readerType, -marked);
+        return marked;
+    }
+
+    @Override
     public int countUnreadMessages(String receiverId, String receiverType) {
-        return (int) messages.values().stream()
-                .filter(message -> message.getReceiverId().equals(receiverId)
-                        && message.getReceiverType().equals(receiverType)
-                        && !message.isRead())
-                .count();
+        return unread.get(receiverId, receiverType);
     }
 }
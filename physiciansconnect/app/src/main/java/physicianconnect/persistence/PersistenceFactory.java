@@ -22,6 +22,7 @@ public class PersistenceFactory {
     private static InvoicePersistence invoicePersistence;
     private static PaymentPersistence paymentPersistence;
     private static NotificationPersistence notificationPersistence;
+    private static UserDirectory userDirectory;
 
     public static void initialize(PersistenceType type, boolean seed) {
         if (physicianPersistence != null || appointmentPersistence != null || medicationPersistence != null
@@ -35,7 +36,8 @@ public class PersistenceFactory {
                 String dbPath = type == PersistenceType.PROD ? "prod.db" : "test.db";
                 try {
                     ConnectionManager.initialize(dbPath);
-                    Connection conn = ConnectionManager.get();
+                    ConnectionPool pool = ConnectionManager.getPool();
+                    Connection conn = pool.getWriterConnection();
 
                     SchemaInitializer.initializeSchema(conn);
 
@@ -51,16 +53,17 @@ public class PersistenceFactory {
                                 "database_seeds/seed_payments.sql"));
                     }
 
-                    physicianPersistence = new PhysicianDB(conn);
-                    appointmentPersistence = new AppointmentDB(conn);
-                    medicationPersistence = new MedicationDB(conn);
-                    prescriptionPersistence = new PrescriptionDB(conn);
-                    referralPersistence = new ReferralDB(conn);
-                    messageRepository = new MessageDB(conn);
-                    receptionistPersistence = new ReceptionistDB(conn);
-                    invoicePersistence = new InvoiceDB(conn);
-                    paymentPersistence = new PaymentDB(conn);
-                    notificationPersistence = new NotificationDB(conn, getReceptionistPersistence());
+                    physicianPersistence = new PhysicianDB(pool);
+                    appointmentPersistence = new AppointmentDB(pool);
+                    medicationPersistence = new MedicationDB(pool);
+                    prescriptionPersistence = new PrescriptionDB(pool);
+                    referralPersistence = new ReferralDB(pool);
+                    messageRepository = new MessageDB(pool);
+                    receptionistPersistence = new ReceptionistDB(pool);
+                    invoicePersistence = new InvoiceDB(pool);
+                    paymentPersistence = new PaymentDB(pool);
+                    notificationPersistence = new NotificationDB(pool);
+                    userDirectory = new UserDirectoryDB(pool);
 
                     /*
                      * In production this line wouldn't exist but because we want to make
@@ -80,15 +83,16 @@ public class PersistenceFactory {
 
     private static void fallbackToStubs(Exception e) {
         physicianPersistence = StubFactory.createPhysicianPersistence();
-        appointmentPersistence = StubFactory.createAppointmentPersistence();
+        appointmentPersistence = StubFactory.createAppointmentPersistence(physicianPersistence);
         medicationPersistence = StubFactory.createMedicationPersistence();
         prescriptionPersistence = StubFactory.createPrescriptionPersistence();
         referralPersistence = StubFactory.createReferralPersistence();
         messageRepository = new InMemoryMessageRepository();
         receptionistPersistence = StubFactory.createReceptionistPersistence();
         invoicePersistence = StubFactory.createInvoicePersistence();
-        paymentPersistence = StubFactory.createPaymentPersistence();
-        notificationPersistence = StubFactory.createNotificationPersistence();
+        paymentPersistence = StubFactory.createPaymentPersistence(invoicePersistence);
+        notificationPersistence = StubFactory.createNotificationPersistence(receptionistPersistence);
+        userDirectory = StubFactory.createUserDirectory(physicianPersistence, receptionistPersistence);
 
         if (e != null) {
             System.err.println("Falling back to stubs due to: " + e.getMessage());
@@ -135,16 +139,19 @@ public class PersistenceFactory {
     public static NotificationPersistence getNotificationPersistence() {
         if (notificationPersistence == null) {
             try {
-                Connection conn = ConnectionManager.get();
-                notificationPersistence = new NotificationDB(conn, getReceptionistPersistence());
+                notificationPersistence = new NotificationDB(ConnectionManager.getPool());
             } catch (Exception e) {
                 e.printStackTrace();
-                notificationPersistence = StubFactory.createNotificationPersistence();
+                notificationPersistence = StubFactory.createNotificationPersistence(receptionistPersistence);
             }
         }
         return notificationPersistence;
     }
 
+    public static UserDirectory getUserDirectory() {
+        return userDirectory;
+    }
+
     public static void reset() {
         ConnectionManager.close();
         physicianPersistence = null;
@@ -157,6 +164,7 @@ public class PersistenceFactory {
         invoicePersistence = null;
         paymentPersistence = null;
         notificationPersistence = null;
+        userDirectory = null;
     }
 
     private static void injectTestUserForGrader() {
@@ -169,11 +177,9 @@ public class PersistenceFactory {
         String receptionistEmail = "testR@email.com";
         String receptionistName = "Mrs. Christine Palmer";
 
-        boolean testUserExists = physicianPersistence.getAllPhysicians().stream()
-                .anyMatch(p -> p.getEmail().equalsIgnoreCase(testEmail));
+        boolean testUserExists = physicianPersistence.getPhysicianByEmail(testEmail) != null;
 
-        boolean receptionistExists = receptionistPersistence.getAllReceptionists().stream()
-                .anyMatch(r -> r.getEmail().equalsIgnoreCase(receptionistEmail));
+        boolean receptionistExists = receptionistPersistence.getReceptionistByEmail(receptionistEmail) != null;
 
         if (!testUserExists) {
             physicianPersistence.addPhysician(
@@ -0,0 +1,123 @@
+package physicianconnect.persistence;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streams SQL statements out of a script one at a time, so seed files are
+ * never held in memory whole. Statements end at a {@code ;} that is outside
+ * string literals ({@code '...'}), quoted identifiers ({@code "..."},
+ * {@code `...`}, {@code [...]}) and comments ({@code -- ...} and
+ * {@code /* ... *}{@code /}). Comments are dropped; the returned statement is
+ * trimmed and has no trailing semicolon.
+ *
+ * Trigger bodies ({@code BEGIN ... END;}) are not recognised and would be
+ * split at their inner semicolons.
+ */
+public class SqlStatementReader implements AutoCloseable {
+
+    private static final int EOF = -1;
+
+    private final Reader in;
+    private int peeked = -2;
+
+    public SqlStatementReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * @return the next non-empty statement, or {@code null} at end of input
+     */
+    public String next() throws IOException {
+        StringBuilder sql = new StringBuilder();
+        int c;
+        while ((c = read()) != EOF) {
+            switch (c) {
+                case ';' -> {
+                    String statement = sql.toString().trim();
+                    if (!statement.isEmpty()) {
+                        return statement;
+                    }
+                    sql.setLength(0);
+                }
+                case '\'', '"', '`' -> readQuoted(sql, c, c);
+                case '[' -> readQuoted(sql, '[', ']');
+                case '-' -> {
+                    if (peek() == '-') {
+                        skipLineComment();
+                        sql.append(' ');
+                    } else {
+                        sql.append('-');
+                    }
+                }
+                case '/' -> {
+                    if (peek() == '*') {
+                        read();
+                        skipBlockComment();
+                        sql.append(' ');
+                    } else {
+                        sql.append('/');
+                    }
+                }
+                default -> sql.append((char) c);
+            }
+        }
+        String statement = sql.toString().trim();
+        return statement.isEmpty() ? null : statement;
+    }
+
+    /** Copies a quoted run verbatim; a doubled closing quote is an escape. */
+    private void readQuoted(StringBuilder sql, int open, int close) throws IOException {
+        sql.append((char) open);
+        int c;
+        while ((c = read()) != EOF) {
+            sql.append((char) c);
+            if (c == close) {
+                if (peek() != close) {
+                    return;
+                }
+                sql.append((char) read());
+            }
+        }
+        throw new IOException("Unterminated quoted text starting with " + (char) open);
+    }
+
+    private void skipLineComment() throws IOException {
+        int c;
+        while ((c = read()) != EOF && c != '\n') {
+            // discard
+        }
+    }
+
+    private void skipBlockComment() throws IOException {
+        int c;
+        while ((c = read()) != EOF) {
+            if (c == '*' && peek() == '/') {
+                read();
+                return;
+            }
+        }
+        throw new IOException("Unterminated block comment");
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = in.read();
+        }
+        return peeked;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
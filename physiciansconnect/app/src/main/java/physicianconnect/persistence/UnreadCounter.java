@@ -0,0 +1,61 @@
+package physicianconnect.persistence;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory unread counts per {@code (userId, userType)}, kept beside a
+ * table so a badge refresh is a map lookup instead of a {@code COUNT(*)}.
+ * <p>
+ * The counter starts cold. The owning store warms it once from a grouped
+ * query and then adjusts it for each write that changes the table. SQLite
+ * stores apply both through {@link ConnectionPool#afterCommit}, once the
+ * write has committed and still under the pool's write lock, so a rollback
+ * leaves the counts alone and an adjustment can never be counted twice or
+ * lost against a concurrent warm-up. Bulk and failed writes call
+ * {@link #invalidate()} instead, and the next read warms the counter again.
+ * Writes that bypass the owning store are not seen.
+ */
+public class UnreadCounter {
+
+    public record User(String userId, String userType) {
+    }
+
+    private volatile Map<User, Integer> counts; // null while cold
+
+    public boolean isWarm() {
+        return counts != null;
+    }
+
+    /** Replaces every count; users missing from {@code loaded} have none unread. */
+    public void warm(Map<User, Integer> loaded) {
+        counts = new ConcurrentHashMap<>(loaded);
+    }
+
+    /** @return the unread count, or 0 while the counter is cold */
+    public int get(String userId, String userType) {
+        Map<User, Integer> current = counts;
+        return current == null ? 0 : current.getOrDefault(new User(userId, userType), 0);
+    }
+
+    /** Adds {@code delta} to a user's count; ignored while cold. */
+    public void adjust(String userId, String userType, int delta) {
+        Map<User, Integer> current = counts;
+        if (current != null && delta != 0) {
+            current.merge(new User(userId, userType), delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    /** Sets a user's count to zero; ignored while cold. */
+    public void clear(String userId, String userType) {
+        Map<User, Integer> current = counts;
+        if (current != null) {
+            current.remove(new User(userId, userType));
+        }
+    }
+
+    /** Drops every count so the next read warms from the table again. */
+    public void invalidate() {
+        counts = null;
+    }
+}
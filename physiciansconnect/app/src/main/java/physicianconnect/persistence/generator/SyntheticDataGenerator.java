@@ -0,0 +1,401 @@
+package physicianconnect.persistence.generator;
+
+import physicianconnect.objects.Appointment;
+import physicianconnect.objects.Invoice;
+import physicianconnect.objects.Message;
+import physicianconnect.objects.Payment;
+import physicianconnect.objects.Physician;
+import physicianconnect.objects.Receptionist;
+import physicianconnect.objects.ServiceItem;
+import physicianconnect.persistence.ConnectionPool;
+import physicianconnect.persistence.interfaces.AppointmentPersistence;
+import physicianconnect.persistence.interfaces.InvoicePersistence;
+import physicianconnect.persistence.interfaces.MessageRepository;
+import physicianconnect.persistence.interfaces.PaymentPersistence;
+import physicianconnect.persistence.interfaces.PhysicianPersistence;
+import physicianconnect.persistence.interfaces.ReceptionistPersistence;
+import physicianconnect.persistence.sqlite.AppointmentDB;
+import physicianconnect.persistence.sqlite.InvoiceDB;
+import physicianconnect.persistence.sqlite.MessageDB;
+import physicianconnect.persistence.sqlite.PaymentDB;
+import physicianconnect.persistence.sqlite.PhysicianDB;
+import physicianconnect.persistence.sqlite.ReceptionistDB;
+import physicianconnect.persistence.sqlite.SchemaInitializer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Fills a new SQLite file with synthetic clinic data at production-like
+ * volumes, writing through the persistence interfaces' batched methods.
+ * Output is fully determined by the {@link Volumes} (including the seed):
+ * the same options always produce the same rows.
+ *
+ * Appointments occupy distinct weekday half-hour slots per physician between
+ * 09:00 and 17:00. Patients are drawn from a fixed population with a Zipf
+ * distribution, so a few patients visit often and most visit rarely.
+ *
+ * Run with {@code gradle generateData -Pgen="--out=load.db --scale=0.1"};
+ * see {@link Volumes#parse(String[])} for the options.
+ */
+public class SyntheticDataGenerator {
+
+    static final int CHUNK_SIZE = 10_000;
+    /** First day of generated history (a Monday). */
+    public static final LocalDate START_DATE = LocalDate.of(2021, 1, 4);
+    static final int SLOTS_PER_DAY = 16;
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Christopher", "Lisa", "Daniel", "Nancy", "Matthew", "Betty", "Anthony", "Sandra", "Mark", "Margaret",
+            "Donald", "Ashley", "Steven", "Kimberly", "Andrew", "Emily", "Paul", "Donna", "Joshua", "Michelle",
+            "Kenneth", "Carol", "Kevin", "Amanda", "Brian", "Melissa", "George", "Deborah", "Timothy", "Stephanie",
+            "Aarav", "Priya", "Wei", "Mei", "Hiroshi", "Yuki", "Mohammed", "Fatima", "Olumide", "Amara",
+            "Mateo", "Sofia", "Liam", "Olivia", "Noah", "Emma", "Ethan", "Ava", "Lucas", "Chloe"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores",
+            "Patel", "Singh", "Chen", "Wang", "Kim", "Tremblay", "Roy", "Gagnon", "Okafor", "Haddad"
+    };
+
+    private static final String[] SPECIALTIES = {
+            "Family Medicine", "Cardiology", "Pediatrics", "Dermatology", "Internal Medicine",
+            "Orthopedics", "Neurology", "Psychiatry", "Obstetrics", "Endocrinology"
+    };
+
+    private static final ServiceItem[] SERVICES = {
+            new ServiceItem("Consult", 100), new ServiceItem("Lab", 50), new ServiceItem("XRay", 75),
+            new ServiceItem("Follow-up", 60), new ServiceItem("Vaccination", 30), new ServiceItem("ECG", 90)
+    };
+
+    private static final String[] MESSAGE_TEXTS = {
+            "Can you confirm my schedule for tomorrow?", "Patient called to reschedule.",
+            "Lab results are in.", "Please review the attached referral.", "Billing question on a recent invoice.",
+            "Running about 15 minutes late.", "Insurance pre-authorization approved.", "Thanks, all set."
+    };
+
+    private static final String[] PAYMENT_METHODS = { "Card", "Cash", "Insurance", "Cheque" };
+
+    /** Row counts and options for one run. */
+    public static final class Volumes {
+        long seed = 42;
+        int physicians = 500;
+        int receptionists = 50;
+        long appointments = 2_000_000;
+        long messages = 10_000_000;
+        long invoices = 1_000_000;
+        int years = 5;
+        Path out = Path.of("synthetic.db");
+        boolean force;
+
+        /**
+         * Options: {@code --out=FILE --seed=N --physicians=N --receptionists=N
+         * --appointments=N --messages=N --invoices=N --years=N --scale=F --force}.
+         * {@code --scale} multiplies every row count except physicians and
+         * receptionists (apply it after any explicit counts).
+         */
+        public static Volumes parse(String[] args) {
+            Volumes v = new Volumes();
+            for (String arg : args) {
+                String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+                String value = kv.length > 1 ? kv[1] : "";
+                switch (kv[0]) {
+                    case "out" -> v.out = Path.of(value);
+                    case "seed" -> v.seed = Long.parseLong(value);
+                    case "physicians" -> v.physicians = Integer.parseInt(value);
+                    case "receptionists" -> v.receptionists = Integer.parseInt(value);
+                    case "appointments" -> v.appointments = Long.parseLong(value);
+                    case "messages" -> v.messages = Long.parseLong(value);
+                    case "invoices" -> v.invoices = Long.parseLong(value);
+                    case "years" -> v.years = Integer.parseInt(value);
+                    case "scale" -> {
+                        double scale = Double.parseDouble(value);
+                        v.appointments = Math.round(v.appointments * scale);
+                        v.messages = Math.round(v.messages * scale);
+                        v.invoices = Math.round(v.invoices * scale);
+                    }
+                    case "force" -> v.force = true;
+                    default -> throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (v.physicians < 1 || v.receptionists < 1 || v.years < 1) {
+                throw new IllegalArgumentException("physicians, receptionists and years must be at least 1");
+            }
+            return v;
+        }
+    }
+
+    private final Volumes volumes;
+    private final SplittableRandom random;
+    private final List<LocalDate> workdays;
+    private final String[] patientNames;
+    private final double[] patientWeights;
+
+    public SyntheticDataGenerator(Volumes volumes) {
+        this.volumes = volumes;
+        this.random = new SplittableRandom(volumes.seed);
+        this.workdays = workdays(volumes.years);
+        int population = (int) Math.max(50, Math.min(500_000, volumes.appointments / 6));
+        this.patientNames = patientNames(population);
+        this.patientWeights = zipfCumulative(population, 1.1);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Volumes volumes = Volumes.parse(args);
+        long start = System.nanoTime();
+        new SyntheticDataGenerator(volumes).generate();
+        System.out.printf("Done in %.1f s: %s%n", (System.nanoTime() - start) / 1e9, volumes.out.toAbsolutePath());
+    }
+
+    /**
+     * Creates {@link Volumes#out} and fills it. The file must not exist yet
+     * (unless {@code --force}), because invoices refer to appointments by the
+     * sequential ids a fresh table hands out.
+     */
+    public void generate() throws IOException {
+        if (Files.exists(volumes.out)) {
+            if (!volumes.force) {
+                throw new IllegalStateException(volumes.out + " already exists; pass --force to replace it");
+            }
+            Files.delete(volumes.out);
+            Files.deleteIfExists(Path.of(volumes.out + "-wal"));
+            Files.deleteIfExists(Path.of(volumes.out + "-shm"));
+        }
+
+        try (ConnectionPool pool = ConnectionPool.open(volumes.out.toString(), 1)) {
+            SchemaInitializer.initializeSchema(pool.getWriterConnection());
+            generate(new PhysicianDB(pool), new ReceptionistDB(pool), new AppointmentDB(pool),
+                    new MessageDB(pool), new InvoiceDB(pool), new PaymentDB(pool));
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to close generated database", e);
+        }
+    }
+
+    /**
+     * Writes the data set through the given persistence implementations,
+     * which may be stubs; used directly for in-memory fixtures.
+     */
+    public void generate(PhysicianPersistence physicianDb, ReceptionistPersistence receptionistDb,
+            AppointmentPersistence appointmentDb, MessageRepository messageDb,
+            InvoicePersistence invoiceDb, PaymentPersistence paymentDb) {
+        List<Physician> physicians = physicians();
+        physicians.forEach(physicianDb::addPhysician);
+        List<Receptionist> receptionists = receptionists();
+        receptionists.forEach(receptionistDb::addReceptionist);
+        log("physicians", physicians.size());
+        log("receptionists", receptionists.size());
+
+        long[] counts = appointmentsAndBilling(appointmentDb, invoiceDb, paymentDb);
+        log("appointments", counts[0]);
+        log("invoices", counts[1]);
+        log("payments", counts[2]);
+        log("messages", messages(messageDb));
+    }
+
+    private static void log(String what, long rows) {
+        System.out.printf("  %-14s %,d%n", what, rows);
+    }
+
+    private List<Physician> physicians() {
+        List<Physician> list = new ArrayList<>(volumes.physicians);
+        for (int i = 1; i <= volumes.physicians; i++) {
+            String first = pick(FIRST_NAMES);
+            String last = pick(LAST_NAMES);
+            list.add(new Physician("p" + i, "Dr. " + first + " " + last,
+                    (first + "." + last + "." + i + "@clinic.example").toLowerCase(), "test123",
+                    pick(SPECIALTIES), "Mon-Fri 9am-5pm",
+                    random.nextInt(10) > 0, random.nextBoolean(), random.nextInt(10) > 1,
+                    String.format("(204) %03d-%04d", random.nextInt(1000), random.nextInt(10_000)),
+                    (100 + random.nextInt(900)) + " " + pick(LAST_NAMES) + " St."));
+        }
+        return list;
+    }
+
+    private List<Receptionist> receptionists() {
+        List<Receptionist> list = new ArrayList<>(volumes.receptionists);
+        for (int i = 1; i <= volumes.receptionists; i++) {
+            String first = pick(FIRST_NAMES);
+            String last = pick(LAST_NAMES);
+            list.add(new Receptionist("r" + i, first + " " + last,
+                    (first + "." + last + "." + i + "@frontdesk.example").toLowerCase(), "test123",
+                    random.nextInt(10) > 1, random.nextBoolean(), random.nextInt(10) > 0));
+        }
+        return list;
+    }
+
+    /**
+     * Picks exactly {@code appointments} of all physician x workday x slot
+     * combinations with selection sampling, so no physician is double-booked,
+     * and bills a random subset of them. A fresh table numbers appointments
+     * 1..n in insertion order, which is how invoices refer to them.
+     *
+     * @return {appointments, invoices, payments}
+     */
+    private long[] appointmentsAndBilling(AppointmentPersistence appointmentDb, InvoicePersistence invoiceDb,
+            PaymentPersistence paymentDb) {
+        long perPhysician = (long) workdays.size() * SLOTS_PER_DAY;
+        long total = volumes.physicians * perPhysician;
+        long wanted = Math.min(volumes.appointments, total);
+        long wantedInvoices = Math.min(volumes.invoices, wanted);
+
+        List<Appointment> appointments = new ArrayList<>(CHUNK_SIZE);
+        List<Invoice> invoices = new ArrayList<>(CHUNK_SIZE);
+        List<Payment> payments = new ArrayList<>(CHUNK_SIZE);
+        long chosen = 0;
+        long invoiceCount = 0;
+        long paymentCount = 0;
+
+        for (long slot = 0; slot < total && chosen < wanted; slot++) {
+            if (random.nextLong(total - slot) >= wanted - chosen) {
+                continue;
+            }
+            int rest = (int) (slot % perPhysician);
+            LocalDateTime when = workdays.get(rest / SLOTS_PER_DAY).atTime(9, 0)
+                    .plusMinutes(30L * (rest % SLOTS_PER_DAY));
+            String patient = patient();
+            appointments.add(new Appointment("p" + (slot / perPhysician + 1), patient, when,
+                    random.nextInt(4) == 0 ? "Follow-up" : ""));
+            long appointmentId = ++chosen;
+
+            if (random.nextLong(wanted - appointmentId + 1) < wantedInvoices - invoiceCount) {
+                Invoice invoice = invoice(String.format("inv-%08d", ++invoiceCount), appointmentId, patient,
+                        when.plusMinutes(30));
+                Payment payment = payment(invoice, paymentCount + 1);
+                if (payment != null) {
+                    payments.add(payment);
+                    paymentCount++;
+                }
+                invoices.add(invoice);
+            }
+
+            if (appointments.size() == CHUNK_SIZE || invoices.size() == CHUNK_SIZE) {
+                flush(appointmentDb, appointments, invoiceDb, invoices, paymentDb, payments);
+            }
+        }
+        flush(appointmentDb, appointments, invoiceDb, invoices, paymentDb, payments);
+        return new long[] { chosen, invoiceCount, paymentCount };
+    }
+
+    private Invoice invoice(String id, long appointmentId, String patient, LocalDateTime createdAt) {
+        List<ServiceItem> services = new ArrayList<>();
+        services.add(SERVICES[0]);
+        if (random.nextInt(3) == 0) {
+            services.add(pick(SERVICES));
+        }
+        double adjustment = random.nextInt(4) == 0 ? 20 : 0;
+        return new Invoice(id, Long.toString(appointmentId), patient, services, adjustment, createdAt);
+    }
+
+    /** 70% of invoices are paid in full, 15% partially and 15% are still open. */
+    private Payment payment(Invoice invoice, long paymentNumber) {
+        int outcome = random.nextInt(100);
+        if (outcome >= 85 || invoice.getTotalAmount() <= 0) {
+            return null;
+        }
+        double amount = outcome < 70 ? invoice.getTotalAmount() : Math.floor(invoice.getTotalAmount() / 2);
+        invoice.setBalance(invoice.getTotalAmount() - amount);
+        invoice.setStatus(invoice.getBalance() == 0 ? "Paid" : "Partial");
+        return new Payment(String.format("pay-%08d", paymentNumber), invoice.getId(), amount,
+                pick(PAYMENT_METHODS), invoice.getCreatedAt().plusDays(random.nextInt(30)));
+    }
+
+    /** Appointments go first so the invoices' foreign keys resolve. */
+    private static void flush(AppointmentPersistence appointmentDb, List<Appointment> appointments,
+            InvoicePersistence invoiceDb, List<Invoice> invoices,
+            PaymentPersistence paymentDb, List<Payment> payments) {
+        appointmentDb.addAppointments(appointments);
+        invoiceDb.addInvoices(invoices);
+        paymentDb.addPayments(payments);
+        appointments.clear();
+        invoices.clear();
+        payments.clear();
+    }
+
+    private long messages(MessageRepository db) {
+        List<Message> chunk = new ArrayList<>(CHUNK_SIZE);
+        LocalDateTime origin = START_DATE.atStartOfDay();
+        long spanSeconds = (long) volumes.years * 365 * 24 * 3600;
+        LocalDateTime recent = origin.plusSeconds(spanSeconds).minusDays(14);
+
+        for (long i = 0; i < volumes.messages; i++) {
+            boolean fromPhysician = random.nextBoolean();
+            String physician = "p" + (random.nextInt(volumes.physicians) + 1);
+            String receptionist = "r" + (random.nextInt(volumes.receptionists) + 1);
+            Message message = fromPhysician
+                    ? new Message(physician, "physician", receptionist, "receptionist", pick(MESSAGE_TEXTS))
+                    : new Message(receptionist, "receptionist", physician, "physician", pick(MESSAGE_TEXTS));
+            message.setMessageId(new UUID(random.nextLong(), random.nextLong()));
+            LocalDateTime sent = origin.plusSeconds(random.nextLong(spanSeconds));
+            message.setTimestamp(sent);
+            // everything older than two weeks has been read, about a third of recent mail has not
+            message.setRead(sent.isBefore(recent) || random.nextInt(3) > 0);
+            chunk.add(message);
+            if (chunk.size() == CHUNK_SIZE) {
+                db.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        db.saveAll(chunk);
+        return volumes.messages;
+    }
+
+    private String patient() {
+        int index = Arrays.binarySearch(patientWeights, random.nextDouble());
+        return patientNames[index >= 0 ? index : Math.min(-index - 1, patientNames.length - 1)];
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String[] patientNames(int population) {
+        String[] names = new String[population];
+        int combos = FIRST_NAMES.length * LAST_NAMES.length;
+        for (int i = 0; i < population; i++) {
+            String name = pick(FIRST_NAMES) + " " + pick(LAST_NAMES);
+            // past the first/last name combinations, add a middle initial so names stay mostly distinct
+            names[i] = i < combos ? name : name.replace(" ", " " + (char) ('A' + random.nextInt(26)) + ". ");
+        }
+        return names;
+    }
+
+    /** Cumulative Zipf(s) weights over ranks 1..n, normalised to end at 1.0. */
+    static double[] zipfCumulative(int n, double s) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1.0 / Math.pow(rank, s);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    static List<LocalDate> workdays(int years) {
+        List<LocalDate> days = new ArrayList<>();
+        LocalDate end = START_DATE.plusYears(years);
+        for (LocalDate d = START_DATE; d.isBefore(end); d = d.plusDays(1)) {
+            if (d.getDayOfWeek() != DayOfWeek.SATURDAY && d.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                days.add(d);
+            }
+        }
+        return days;
+    }
+}
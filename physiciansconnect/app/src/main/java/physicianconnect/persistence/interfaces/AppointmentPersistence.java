@@ -1,18 +1,35 @@
 package physicianconnect.persistence.interfaces;
 
 import physicianconnect.objects.Appointment;
+import physicianconnect.objects.AppointmentWithPhysician;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-
+import java.util.Collection;
 import java.util.List;
 
 public interface AppointmentPersistence {
     List<Appointment> getAppointmentsForPhysician(String physicianId);
 
-    void addAppointment(Appointment appointment);
+    /**
+     * Books the physician's time slot in one atomic step.
+     *
+     * @return false, with nothing stored, if the physician already has an
+     *         appointment at that time
+     */
+    boolean addAppointment(Appointment appointment);
+
+    /**
+     * Insert all appointments as one unit: either every row is stored or none is.
+     */
+    void addAppointments(Collection<Appointment> appointments);
 
-    void updateAppointment(Appointment appointment);
+    /**
+     * Moves or edits an appointment in one atomic step.
+     *
+     * @return false, with nothing changed, if the new time is already taken
+     *         by another of the physician's appointments
+     * @throws IllegalArgumentException if the appointment does not exist
+     */
+    boolean updateAppointment(Appointment appointment);
 
     void deleteAppointment(Appointment appointment);
 
@@ -28,4 +45,58 @@ public interface AppointmentPersistence {
             LocalDateTime start,
             LocalDateTime end
     );
+
+    /**
+     * Fetch every physician's appointments whose datetime is ≥ start AND < end,
+     * ordered by datetime.
+     */
+    List<Appointment> getAppointmentsInRange(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Fetch the appointments of several physicians whose datetime is ≥ start
+     * AND < end in one query, ordered by physician and then datetime.
+     */
+    List<Appointment> getAppointmentsForPhysiciansInRange(
+            Collection<String> physicianIds,
+            LocalDateTime start,
+            LocalDateTime end
+    );
+
+    /**
+     * Appointments joined with their physician's name, ordered by datetime and
+     * then id. A null {@code physicianId}, {@code start} or {@code end} leaves
+     * that filter off; {@code limit <= 0} returns every row after
+     * {@code offset}.
+     */
+    List<AppointmentWithPhysician> getAppointmentsWithPhysician(
+            String physicianId,
+            LocalDateTime start,
+            LocalDateTime end,
+            int offset,
+            int limit
+    );
+
+    /**
+     * Number of appointments {@link #getAppointmentPage} pages through for
+     * the same filters.
+     */
+    int countAppointments(String physicianId, String patientPrefix);
+
+    /**
+     * One page of appointments joined with physician names, ordered by
+     * datetime and then id (both descending when {@code newestFirst}). A null
+     * {@code physicianId} or {@code patientPrefix} leaves that filter off;
+     * the prefix matches the start of the patient name, ignoring case.
+     * With {@code after} the page starts right after that row (a keyset
+     * cursor) and {@code offset} is ignored; otherwise {@code offset} rows
+     * are skipped.
+     */
+    List<AppointmentWithPhysician> getAppointmentPage(
+            String physicianId,
+            String patientPrefix,
+            boolean newestFirst,
+            Appointment after,
+            int offset,
+            int limit
+    );
 }
@@ -1,13 +1,62 @@
 package physicianconnect.persistence.interfaces;
 
 import physicianconnect.objects.Invoice;
+import physicianconnect.objects.RevenueTotals;
+import physicianconnect.objects.ServiceRevenue;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface InvoicePersistence {
     void addInvoice(Invoice invoice);
+    void addInvoices(Collection<Invoice> invoices);
     Invoice getInvoiceById(String id);
     List<Invoice> getInvoicesByMonth(int year, int month);
+
+    /**
+     * Fetch all invoices whose created_at is ≥ start AND < end, oldest first.
+     */
+    List<Invoice> getInvoicesBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Up to {@code limit} invoices created ≥ start AND < end, oldest first by
+     * created_at and then id. With {@code after} the page starts right after
+     * that invoice (a keyset cursor), so a long range can be walked one page
+     * at a time.
+     */
+    List<Invoice> getInvoicesBetween(LocalDateTime start, LocalDateTime end, Invoice after, int limit);
+
     List<Invoice> getAllInvoices();
+
+    /**
+     * Number of invoices {@link #getInvoicePage} pages through for the same
+     * patient-name prefix (null for all).
+     */
+    int countInvoices(String patientPrefix);
+
+    /**
+     * One page of invoices, newest first by created_at and then id. The
+     * prefix matches the start of the patient name, ignoring case. With
+     * {@code after} the page starts right after that invoice (a keyset
+     * cursor) and {@code offset} is ignored; otherwise {@code offset} rows
+     * are skipped.
+     */
+    List<Invoice> getInvoicePage(String patientPrefix, Invoice after, int offset, int limit);
+
+    /**
+     * Billed amount and line count per service name over invoices created
+     * ≥ start AND < end, highest revenue first.
+     */
+    List<ServiceRevenue> getRevenueByService(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Billed, paid and outstanding totals over invoices created on days ≥
+     * start AND < end; a null bound leaves that side open. Answered from
+     * per-day totals, so the cost does not grow with the number of invoices.
+     */
+    RevenueTotals getRevenueTotals(LocalDate start, LocalDate end);
+
     void updateInvoice(Invoice invoice);
     void deleteInvoiceById(String id);
 }
\ No newline at end of file
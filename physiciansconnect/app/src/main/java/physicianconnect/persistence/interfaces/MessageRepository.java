@@ -1,17 +1,55 @@
 package physicianconnect.persistence.interfaces;
 
 import physicianconnect.objects.Message;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface MessageRepository {
     Message save(Message message);
+    void saveAll(Collection<Message> messages);
 
     List<Message> findByReceiverId(String receiverId, String receiverType);
     List<Message> findBySenderId(String senderId, String senderType);
     List<Message> findUnreadByReceiverId(String receiverId, String receiverType);
 
+    /**
+     * One page of the conversation between two users, in either direction,
+     * oldest first. Pass {@code before = null} for the newest page, then the
+     * first message of the previous page to step further back.
+     *
+     * @param before keyset cursor; only messages ordered before it (by
+     *               timestamp, then message ID) are returned
+     * @param limit  maximum number of messages in the page
+     */
+    List<Message> findConversation(String userId, String userType, String otherId, String otherType,
+            Message before, int limit);
+
+    /**
+     * Messages received by a user whose sequence number is above
+     * {@code lastSeq}, in sequence order. Every save is given the next number
+     * in one repository-wide sequence, so a poller only has to remember the
+     * highest number it has seen.
+     */
+    List<Message> findSince(String receiverId, String receiverType, long lastSeq);
+
+    /** The highest sequence number assigned so far, or 0 if there are no messages. */
+    long latestSequence();
+
     void markAsRead(UUID messageId);
 
+    /**
+     * Marks every unread message {@code counterpart} sent to {@code reader}
+     * with a sequence number up to {@code upToSeq} as read, in one statement.
+     *
+     * @return the number of messages that changed from unread to read
+     */
+    int markConversationRead(String readerId, String readerType, String counterpartId, String counterpartType,
+            long upToSeq);
+
+    /**
+     * A receiver's unread message count, read from a counter kept in step
+     * with every save and read rather than counted on each call.
+     */
     int countUnreadMessages(String receiverId, String receiverType);
 }
\ No newline at end of file
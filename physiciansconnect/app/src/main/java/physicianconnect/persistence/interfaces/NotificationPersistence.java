@@ -1,10 +1,45 @@
 package physicianconnect.persistence.interfaces;
 
+import java.util.Collection;
 import java.util.List;
 import physicianconnect.objects.Notification;
+import physicianconnect.objects.NotificationCategory;
 
 public interface NotificationPersistence {
     void addNotification(Notification notification);
+    void addNotifications(Collection<Notification> notifications);
     List<Notification> getNotificationsForUser(String userId, String userType);
     void clearNotificationsForUser(String userId, String userType);
-} 
\ No newline at end of file
+    void markNotificationAsRead(Notification notification);
+
+    /**
+     * Marks every unread notification of a user with an id (sequence number)
+     * up to {@code upToId} as read, in one statement.
+     *
+     * @return the number of notifications that changed from unread to read
+     */
+    int markAllNotificationsRead(String userId, String userType, long upToId);
+
+    /**
+     * A user's unread notification count, read from a counter kept in step
+     * with every insert and read rather than counted on each call.
+     */
+    int countUnreadNotifications(String userId, String userType);
+
+    /**
+     * A user's notifications with a sequence number above {@code lastSeq}, in
+     * sequence order.
+     */
+    List<Notification> findSince(String userId, String userType, long lastSeq);
+
+    /** The highest sequence number assigned so far, or 0 if there are none. */
+    long latestSequence();
+
+    /**
+     * Sends one notification to every receptionist who has {@code category}
+     * enabled; receptionists who opted out get nothing.
+     *
+     * @return the number of notifications created
+     */
+    int broadcastToReceptionists(String message, String type, NotificationCategory category);
+}
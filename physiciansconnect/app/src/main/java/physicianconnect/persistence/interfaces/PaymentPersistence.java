@@ -1,10 +1,39 @@
 package physicianconnect.persistence.interfaces;
 
 import physicianconnect.objects.Payment;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface PaymentPersistence {
     void addPayment(Payment payment);
+
+    /**
+     * Takes {@code payment} off its invoice's balance and stores it as one
+     * atomic step: the balance only drops if it still covers the amount, and
+     * the invoice becomes "Paid" when it reaches zero or "Partial" otherwise.
+     * A non-null {@code idempotencyKey} that was already recorded makes this
+     * a no-op that returns the payment stored under that key.
+     *
+     * @return the payment as stored, or null, with nothing changed, if the
+     *         invoice balance is less than the amount
+     * @throws IllegalArgumentException if the invoice does not exist
+     */
+    Payment recordPayment(Payment payment, String idempotencyKey);
+
+    void addPayments(Collection<Payment> payments);
     List<Payment> getPaymentsByInvoice(String invoiceId);
+
+    /**
+     * Payments of several invoices at once, oldest first per invoice, keyed
+     * by invoice id; invoices without payments have no entry.
+     */
+    Map<String, List<Payment>> getPaymentsByInvoices(Collection<String> invoiceIds);
     List<Payment> getPaymentsByMonth(int year, int month);
+
+    /**
+     * Fetch all payments whose paid_at is ≥ start AND < end, oldest first.
+     */
+    List<Payment> getPaymentsBetween(LocalDateTime start, LocalDateTime end);
 }
\ No newline at end of file
@@ -15,5 +15,8 @@ public interface PhysicianPersistence {
 
     Physician getPhysicianById(String id);
 
+    /** Email matches ignore case and surrounding whitespace. */
+    Physician getPhysicianByEmail(String email);
+
     void updatePhysician(Physician physician);
 }
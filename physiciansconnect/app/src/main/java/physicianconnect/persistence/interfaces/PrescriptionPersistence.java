@@ -1,10 +1,12 @@
 package physicianconnect.persistence.interfaces;
 
 import physicianconnect.objects.Prescription;
+import java.util.Collection;
 import java.util.List;
 
 public interface PrescriptionPersistence {
     void addPrescription(Prescription prescription);
+    void addPrescriptions(Collection<Prescription> prescriptions);
     List<Prescription> getPrescriptionsForPatient(String patientName);
     List<Prescription> getAllPrescriptions();
     void deletePrescriptionById(int id);
@@ -6,6 +6,7 @@ import java.util.List;
 public interface ReceptionistPersistence {
     Receptionist getReceptionistById(String id);
 
+    /** Email matches ignore case and surrounding whitespace. */
     Receptionist getReceptionistByEmail(String email);
 
     void addReceptionist(Receptionist receptionist);
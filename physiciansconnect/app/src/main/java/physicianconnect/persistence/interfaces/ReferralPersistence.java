@@ -1,10 +1,12 @@
 package physicianconnect.persistence.interfaces;
 
 import physicianconnect.objects.Referral;
+import java.util.Collection;
 import java.util.List;
 
 public interface ReferralPersistence {
     void addReferral(Referral referral);
+    void addReferrals(Collection<Referral> referrals);
     List<Referral> getReferralsForPhysician(String physicianId);
     List<Referral> getReferralsForPatient(String patientName);
     void deleteReferralById(int id);
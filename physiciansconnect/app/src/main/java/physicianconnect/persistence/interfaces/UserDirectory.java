@@ -0,0 +1,18 @@
+package physicianconnect.persistence.interfaces;
+
+/**
+ * Email lookups across every kind of account, so checking whether an email
+ * is taken does not need one query per role.
+ */
+public interface UserDirectory {
+
+    /** An account's id and its user type ({@code "physician"} or {@code "receptionist"}). */
+    record UserAccount(String id, String userType) {
+    }
+
+    /**
+     * The account registered under {@code email}, ignoring case and
+     * surrounding whitespace, or {@code null} if no role uses it.
+     */
+    UserAccount findUserByEmail(String email);
+}
@@ -1,49 +1,65 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Appointment;
+import physicianconnect.objects.AppointmentWithPhysician;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.AppointmentPersistence;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 public class AppointmentDB implements AppointmentPersistence {
 
-    private final Connection connection;
+    private static final String INSERT_SQL = "INSERT INTO appointments (physician_id, patient_name, datetime, notes) " +
+            "VALUES (?, ?, ?, ?)";
+
+    private final ConnectionPool pool;
 
     public AppointmentDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public AppointmentDB(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     // ─── Existing method ────────────────────────────────────────────────────────
     @Override
     public List<Appointment> getAppointmentsForPhysician(String physicianId) {
-        List<Appointment> list = new ArrayList<>();
         String sql = "SELECT id, patient_name, datetime, notes " +
                 "FROM appointments " +
                 "WHERE physician_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, physicianId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                int id = rs.getInt("id");
-                String patient = rs.getString("patient_name");
-                String dateTime = rs.getString("datetime");
-                String notes = rs.getString("notes");
-                list.add(new Appointment(
-                        id,
-                        physicianId,
-                        patient,
-                        LocalDateTime.parse(dateTime),
-                        notes));
-            }
+        try {
+            return pool.read(conn -> {
+                List<Appointment> list = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, physicianId);
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        int id = rs.getInt("id");
+                        String patient = rs.getString("patient_name");
+                        String dateTime = rs.getString("datetime");
+                        String notes = rs.getString("notes");
+                        list.add(new Appointment(
+                                id,
+                                physicianId,
+                                patient,
+                                LocalDateTime.parse(dateTime),
+                                notes));
+                    }
+                }
+                return list;
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to load appointments", e);
         }
-
-        return list;
     }
 
     // ─── New method: fetch by date range ─────────────────────────────────────────
@@ -56,7 +72,6 @@ public class AppointmentDB implements AppointmentPersistence {
             String physicianId,
             LocalDateTime start,
             LocalDateTime end) {
-        List<Appointment> list = new ArrayList<>();
         String sql = "SELECT patient_name, datetime, notes " +
                 "FROM appointments " +
                 "WHERE physician_id = ? " +
@@ -64,74 +79,344 @@ public class AppointmentDB implements AppointmentPersistence {
                 "  AND datetime < ? " +
                 "ORDER BY datetime";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, physicianId);
-            // We assume your 'datetime' column is stored as a TEXT in ISO-8601 format (e.g.
-            // "2025-06-01T09:00")
-            stmt.setString(2, start.toString()); // "2025-06-01T09:00"
-            stmt.setString(3, end.toString()); // "2025-06-01T17:00"
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                String patient = rs.getString("patient_name");
-                String dateTime = rs.getString("datetime");
-                String notes = rs.getString("notes");
-                list.add(new Appointment(
-                        physicianId,
-                        patient,
-                        LocalDateTime.parse(dateTime),
-                        notes));
-            }
+        try {
+            return pool.read(conn -> {
+                List<Appointment> list = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, physicianId);
+                    // We assume your 'datetime' column is stored as a TEXT in ISO-8601 format (e.g.
+                    // "2025-06-01T09:00")
+                    stmt.setString(2, start.toString()); // "2025-06-01T09:00"
+                    stmt.setString(3, end.toString()); // "2025-06-01T17:00"
+                    ResultSet rs = stmt.executeQuery();
+
+                    while (rs.next()) {
+                        String patient = rs.getString("patient_name");
+                        String dateTime = rs.getString("datetime");
+                        String notes = rs.getString("notes");
+                        list.add(new Appointment(
+                                physicianId,
+                                patient,
+                                LocalDateTime.parse(dateTime),
+                                notes));
+                    }
+                }
+                return list;
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to load appointments in range", e);
         }
+    }
+
+    @Override
+    public List<Appointment> getAppointmentsInRange(LocalDateTime start, LocalDateTime end) {
+        String sql = "SELECT id, physician_id, patient_name, datetime, notes " +
+                "FROM appointments " +
+                "WHERE datetime >= ? " +
+                "  AND datetime < ? " +
+                "ORDER BY datetime";
+
+        try {
+            return pool.read(conn -> {
+                List<Appointment> list = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, start.toString());
+                    stmt.setString(2, end.toString());
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        list.add(new Appointment(
+                                rs.getInt("id"),
+                                rs.getString("physician_id"),
+                                rs.getString("patient_name"),
+                                LocalDateTime.parse(rs.getString("datetime")),
+                                rs.getString("notes")));
+                    }
+                }
+                return list;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load appointments in range", e);
+        }
+    }
+
+    @Override
+    public List<Appointment> getAppointmentsForPhysiciansInRange(
+            Collection<String> physicianIds,
+            LocalDateTime start,
+            LocalDateTime end) {
+        if (physicianIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> ids = new ArrayList<>(physicianIds);
+        // One IN lookup per id on (physician_id, datetime); rows come back already sorted
+        String sql = "SELECT id, physician_id, patient_name, datetime, notes " +
+                "FROM appointments " +
+                "WHERE physician_id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ") " +
+                "  AND datetime >= ? " +
+                "  AND datetime < ? " +
+                "ORDER BY physician_id, datetime";
+
+        try {
+            return pool.read(conn -> {
+                List<Appointment> list = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int i = 1;
+                    for (String id : ids) {
+                        stmt.setString(i++, id);
+                    }
+                    stmt.setString(i++, start.toString());
+                    stmt.setString(i, end.toString());
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        list.add(new Appointment(
+                                rs.getInt("id"),
+                                rs.getString("physician_id"),
+                                rs.getString("patient_name"),
+                                LocalDateTime.parse(rs.getString("datetime")),
+                                rs.getString("notes")));
+                    }
+                }
+                return list;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load appointments in range", e);
+        }
+    }
+
+    @Override
+    public List<AppointmentWithPhysician> getAppointmentsWithPhysician(
+            String physicianId,
+            LocalDateTime start,
+            LocalDateTime end,
+            int offset,
+            int limit) {
+        // Only the filters in use go into the WHERE clause so SQLite can pick
+        // (physician_id, datetime) or (datetime) and read rows in order
+        List<String> where = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        if (physicianId != null) {
+            where.add("a.physician_id = ?");
+            args.add(physicianId);
+        }
+        if (start != null) {
+            where.add("a.datetime >= ?");
+            args.add(start.toString());
+        }
+        if (end != null) {
+            where.add("a.datetime < ?");
+            args.add(end.toString());
+        }
+        String sql = "SELECT a.id, a.physician_id, a.patient_name, a.datetime, a.notes, p.name AS physician_name " +
+                "FROM appointments a " +
+                "LEFT JOIN physicians p ON p.id = a.physician_id " +
+                (where.isEmpty() ? "" : "WHERE " + String.join(" AND ", where) + " ") +
+                "ORDER BY a.datetime, a.id " +
+                "LIMIT ? OFFSET ?";
 
-        return list;
+        try {
+            return pool.read(conn -> {
+                List<AppointmentWithPhysician> list = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int i = 1;
+                    for (String arg : args) {
+                        stmt.setString(i++, arg);
+                    }
+                    stmt.setInt(i++, limit > 0 ? limit : -1);
+                    stmt.setInt(i, Math.max(offset, 0));
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        list.add(new AppointmentWithPhysician(new Appointment(
+                                rs.getInt("id"),
+                                rs.getString("physician_id"),
+                                rs.getString("patient_name"),
+                                LocalDateTime.parse(rs.getString("datetime")),
+                                rs.getString("notes")), rs.getString("physician_name")));
+                    }
+                }
+                return list;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load appointments with physicians", e);
+        }
+    }
+
+    @Override
+    public int countAppointments(String physicianId, String patientPrefix) {
+        List<String> where = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        pageFilters(physicianId, patientPrefix, "", where, args);
+        String sql = "SELECT COUNT(*) FROM appointments" +
+                (where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where));
+        try {
+            return pool.read(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < args.size(); i++) {
+                        stmt.setString(i + 1, args.get(i));
+                    }
+                    ResultSet rs = stmt.executeQuery();
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count appointments", e);
+        }
+    }
+
+    @Override
+    public List<AppointmentWithPhysician> getAppointmentPage(
+            String physicianId,
+            String patientPrefix,
+            boolean newestFirst,
+            Appointment after,
+            int offset,
+            int limit) {
+        List<String> where = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        pageFilters(physicianId, patientPrefix, "a.", where, args);
+        if (after != null) {
+            // Keyset cursor: seeks the index to the last row shown instead of counting past it
+            where.add("(a.datetime, a.id) " + (newestFirst ? "<" : ">") + " (?, ?)");
+        }
+        String direction = newestFirst ? " DESC" : "";
+        String sql = "SELECT a.id, a.physician_id, a.patient_name, a.datetime, a.notes, p.name AS physician_name " +
+                "FROM appointments a " +
+                "LEFT JOIN physicians p ON p.id = a.physician_id " +
+                (where.isEmpty() ? "" : "WHERE " + String.join(" AND ", where) + " ") +
+                "ORDER BY a.datetime" + direction + ", a.id" + direction + " " +
+                "LIMIT ? OFFSET ?";
+
+        try {
+            return pool.read(conn -> {
+                List<AppointmentWithPhysician> list = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int i = 1;
+                    for (String arg : args) {
+                        stmt.setString(i++, arg);
+                    }
+                    if (after != null) {
+                        stmt.setString(i++, after.getDateTime().toString());
+                        stmt.setInt(i++, after.getId());
+                    }
+                    stmt.setInt(i++, limit);
+                    stmt.setInt(i, after != null ? 0 : Math.max(offset, 0));
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        list.add(new AppointmentWithPhysician(new Appointment(
+                                rs.getInt("id"),
+                                rs.getString("physician_id"),
+                                rs.getString("patient_name"),
+                                LocalDateTime.parse(rs.getString("datetime")),
+                                rs.getString("notes")), rs.getString("physician_name")));
+                    }
+                }
+                return list;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load appointment page", e);
+        }
+    }
+
+    private static void pageFilters(String physicianId, String patientPrefix, String alias,
+            List<String> where, List<String> args) {
+        if (physicianId != null) {
+            where.add(alias + "physician_id = ?");
+            args.add(physicianId);
+        }
+        if (NamePrefix.isActive(patientPrefix)) {
+            where.add(NamePrefix.condition(alias + "patient_name"));
+            args.add(NamePrefix.lower(patientPrefix));
+            args.add(NamePrefix.upper(patientPrefix));
+        }
     }
 
     // ─── Other existing methods ─────────────────────────────────────────────────
     @Override
-    public void addAppointment(Appointment appointment) {
-        String sql = "INSERT INTO appointments (physician_id, patient_name, datetime, notes) " +
-                "VALUES (?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, appointment.getPhysicianId());
-            stmt.setString(2, appointment.getPatientName());
-            stmt.setString(3, appointment.getDateTime().toString()); // ISO format
-            stmt.setString(4, appointment.getNotes());
-            stmt.executeUpdate();
+    public boolean addAppointment(Appointment appointment) {
+        try {
+            return pool.write(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
+                    bind(stmt, appointment);
+                    return stmt.executeUpdate() == 1;
+                } catch (SQLException e) {
+                    if (isSlotConflict(e)) {
+                        return false;
+                    }
+                    throw e;
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to add appointment", e);
         }
     }
 
     @Override
-    public void updateAppointment(Appointment appointment) {
+    public void addAppointments(Collection<Appointment> appointments) {
+        try {
+            BatchInsert.run(pool, INSERT_SQL, appointments, AppointmentDB::bind);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add appointments", e);
+        }
+    }
+
+    private static void bind(PreparedStatement stmt, Appointment appointment) throws SQLException {
+        stmt.setString(1, appointment.getPhysicianId());
+        stmt.setString(2, appointment.getPatientName());
+        stmt.setString(3, appointment.getDateTime().toString()); // ISO format
+        stmt.setString(4, appointment.getNotes());
+    }
+
+    @Override
+    public boolean updateAppointment(Appointment appointment) {
         String sql = "UPDATE appointments " +
                 "   SET notes = ?, " +
                 "       datetime = ? " +
                 " WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, appointment.getNotes());
-            stmt.setString(2, appointment.getDateTime().toString());
-            stmt.setInt(3, appointment.getId());
-            stmt.executeUpdate();
+        try {
+            return pool.write(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, appointment.getNotes());
+                    stmt.setString(2, appointment.getDateTime().toString());
+                    stmt.setInt(3, appointment.getId());
+                    if (stmt.executeUpdate() == 0) {
+                        throw new IllegalArgumentException("No appointment with id " + appointment.getId());
+                    }
+                    return true;
+                } catch (SQLException e) {
+                    if (isSlotConflict(e)) {
+                        return false;
+                    }
+                    throw e;
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to update appointment", e);
         }
     }
 
+    /**
+     * The unique (physician_id, datetime) index is what decides a booking
+     * race: whichever write reaches it second fails here.
+     */
+    private static boolean isSlotConflict(SQLException e) {
+        return e instanceof SQLiteException sqlite
+                && sqlite.getResultCode() == SQLiteErrorCode.SQLITE_CONSTRAINT_UNIQUE;
+    }
+
     @Override
     public void deleteAppointment(Appointment appointment) {
         String sql = "DELETE FROM appointments " +
                 " WHERE physician_id = ? " +
                 "   AND patient_name = ? " +
                 "   AND datetime = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, appointment.getPhysicianId());
-            stmt.setString(2, appointment.getPatientName());
-            stmt.setString(3, appointment.getDateTime().toString());
-            stmt.executeUpdate();
+        try {
+            pool.write(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, appointment.getPhysicianId());
+                    stmt.setString(2, appointment.getPatientName());
+                    stmt.setString(3, appointment.getDateTime().toString());
+                    return stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete appointment", e);
         }
@@ -139,8 +424,12 @@ public class AppointmentDB implements AppointmentPersistence {
 
     @Override
     public void deleteAllAppointments() {
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute("DELETE FROM appointments");
+        try {
+            pool.write(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    return stmt.executeUpdate("DELETE FROM appointments");
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete all appointments", e);
         }
@@ -148,21 +437,25 @@ public class AppointmentDB implements AppointmentPersistence {
 
     @Override
     public List<Appointment> getAllAppointments() {
-        List<Appointment> list = new ArrayList<>();
         String sql = "SELECT id, physician_id, patient_name, datetime, notes FROM appointments";
-        try (Statement stmt = connection.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                int id = rs.getInt("id");
-                String physicianId = rs.getString("physician_id");
-                String patient = rs.getString("patient_name");
-                String dateTime = rs.getString("datetime");
-                String notes = rs.getString("notes");
-                list.add(new Appointment(id, physicianId, patient, LocalDateTime.parse(dateTime), notes));
-            }
+        try {
+            return pool.read(conn -> {
+                List<Appointment> list = new ArrayList<>();
+                try (Statement stmt = conn.createStatement();
+                        ResultSet rs = stmt.executeQuery(sql)) {
+                    while (rs.next()) {
+                        int id = rs.getInt("id");
+                        String physicianId = rs.getString("physician_id");
+                        String patient = rs.getString("patient_name");
+                        String dateTime = rs.getString("datetime");
+                        String notes = rs.getString("notes");
+                        list.add(new Appointment(id, physicianId, patient, LocalDateTime.parse(dateTime), notes));
+                    }
+                }
+                return list;
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to load appointments", e);
         }
-        return list;
     }
 }
@@ -0,0 +1,71 @@
+package physicianconnect.persistence.sqlite;
+
+import physicianconnect.persistence.ConnectionPool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * Shared bulk-write path for the SQLite persistence classes: one prepared
+ * statement, rows sent in JDBC batches, all inside a single transaction so a
+ * bulk insert costs one commit and either lands completely or not at all.
+ */
+final class BatchInsert {
+
+    static final int BATCH_SIZE = 500;
+
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement stmt, T item) throws SQLException;
+    }
+
+    private BatchInsert() {
+    }
+
+    /**
+     * @return the number of rows inserted
+     */
+    static <T> int run(ConnectionPool pool, String sql, Collection<? extends T> items, Binder<T> binder)
+            throws SQLException {
+        if (items == null || items.isEmpty()) {
+            return 0;
+        }
+        return pool.transaction(conn -> run(conn, sql, items, binder));
+    }
+
+    /**
+     * Batches {@code items} on a connection the caller already holds, so rows
+     * for several tables can share one transaction.
+     *
+     * @return the number of rows inserted
+     */
+    static <T> int run(Connection conn, String sql, Collection<? extends T> items, Binder<T> binder)
+            throws SQLException {
+        int rows = 0;
+        int pending = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (T item : items) {
+                binder.bind(stmt, item);
+                stmt.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    rows += sum(stmt.executeBatch());
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                rows += sum(stmt.executeBatch());
+            }
+        }
+        return rows;
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int c : counts) {
+            total += Math.max(c, 0);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,19 @@
+package physicianconnect.persistence.sqlite;
+
+/**
+ * Money columns added since invoice line items are stored as INTEGER cents,
+ * so SQL sums are exact; the domain objects still carry dollars as doubles.
+ */
+final class Cents {
+
+    private Cents() {
+    }
+
+    static long of(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    static double toAmount(long cents) {
+        return cents / 100.0;
+    }
+}
@@ -1,18 +1,33 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Invoice;
+import physicianconnect.objects.RevenueTotals;
 import physicianconnect.objects.ServiceItem;
+import physicianconnect.objects.ServiceRevenue;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.InvoicePersistence;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 
 public class InvoiceDB implements InvoicePersistence {
-    private final Connection connection;
+    private static final String INSERT_SQL = "INSERT INTO invoices (id, appointment_id, patient_name, insurance_adjustment, total_amount, balance, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ITEM_SQL = "INSERT INTO invoice_items (invoice_id, position, service_name, amount_cents) VALUES (?, ?, ?, ?)";
+
+    /** Invoice ids per {@code IN (...)} when loading line items, well under SQLite's bind limit. */
+    private static final int ITEM_LOAD_CHUNK = 500;
+
+    private final ConnectionPool pool;
 
     public InvoiceDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public InvoiceDB(ConnectionPool pool) {
+        this.pool = pool;
         createTable();
     }
 
@@ -20,125 +35,399 @@ public class InvoiceDB implements InvoicePersistence {
         // Table is created in SchemaInitializer
     }
 
+    @Override
+    public void addInvoice(Invoice invoice) {
+        try {
+            pool.transaction(conn -> insert(conn, List.of(invoice)));
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add invoice", e);
+        }
+    }
+
+    @Override
+    public void addInvoices(Collection<Invoice> invoices) {
+        if (invoices == null || invoices.isEmpty()) {
+            return;
+        }
+        try {
+            pool.transaction(conn -> insert(conn, invoices));
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add invoices", e);
+        }
+    }
+
+    /** Invoices, their line items and their revenue_daily totals in the caller's transaction. */
+    private int insert(Connection conn, Collection<Invoice> invoices) throws SQLException {
+        List<LineItem> items = new ArrayList<>();
+        for (Invoice invoice : invoices) {
+            List<ServiceItem> services = invoice.getServices();
+            for (int i = 0; i < services.size(); i++) {
+                items.add(new LineItem(invoice.getId(), i, services.get(i)));
+            }
+        }
+        int rows = BatchInsert.run(conn, INSERT_SQL, invoices, this::bind);
+        BatchInsert.run(conn, INSERT_ITEM_SQL, items, InvoiceDB::bindItem);
+        List<RevenueDaily.Delta> revenue = new ArrayList<>(invoices.size());
+        for (Invoice invoice : invoices) {
+            long billed = Cents.of(invoice.getTotalAmount());
+            revenue.add(new RevenueDaily.Delta(RevenueDaily.Delta.dayOf(invoice.getCreatedAt()), 1,
+                    billed, billed - Cents.of(invoice.getBalance())));
+        }
+        RevenueDaily.apply(conn, revenue);
+        return rows;
+    }
+
+    /** One service of an invoice at its position in the services list. */
+    private record LineItem(String invoiceId, int position, ServiceItem service) {
+    }
+
+    private static void bindItem(PreparedStatement stmt, LineItem item) throws SQLException {
+        stmt.setString(1, item.invoiceId());
+        stmt.setInt(2, item.position());
+        stmt.setString(3, item.service().getName());
+        stmt.setLong(4, Cents.of(item.service().getCost()));
+    }
 
-@Override
-public void addInvoice(Invoice invoice) {
-    String sql = "INSERT INTO invoices (id, appointment_id, patient_name, services, insurance_adjustment, total_amount, balance, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+    private void bind(PreparedStatement stmt, Invoice invoice) throws SQLException {
         stmt.setString(1, invoice.getId());
         stmt.setInt(2, Integer.parseInt(invoice.getAppointmentId())); // <-- FIXED
         stmt.setString(3, invoice.getPatientName());
-        stmt.setString(4, serializeServices(invoice.getServices()));
-        stmt.setDouble(5, invoice.getInsuranceAdjustment());
-        stmt.setDouble(6, invoice.getTotalAmount());
-        stmt.setDouble(7, invoice.getBalance());
-        stmt.setString(8, invoice.getStatus());
-        stmt.setString(9, invoice.getCreatedAt().toString());
-        stmt.executeUpdate();
-    } catch (SQLException e) {
-        throw new RuntimeException("Failed to add invoice", e);
+        stmt.setDouble(4, invoice.getInsuranceAdjustment());
+        stmt.setDouble(5, invoice.getTotalAmount());
+        stmt.setDouble(6, invoice.getBalance());
+        stmt.setString(7, invoice.getStatus());
+        stmt.setString(8, invoice.getCreatedAt().toString());
     }
-}
 
     @Override
     public Invoice getInvoiceById(String id) {
         String sql = "SELECT * FROM invoices WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) return fromResultSet(rs);
+        try {
+            return pool.read(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, id);
+                    List<Invoice> found = readInvoices(conn, stmt.executeQuery());
+                    return found.isEmpty() ? null : found.get(0);
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to fetch invoice", e);
         }
-        return null;
     }
 
     @Override
     public List<Invoice> getInvoicesByMonth(int year, int month) {
-        List<Invoice> result = new ArrayList<>();
-        String sql = "SELECT * FROM invoices";
-        try (Statement stmt = connection.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
-            while (rs.next()) {
-                Invoice inv = fromResultSet(rs);
-                if (inv.getCreatedAt().getYear() == year && inv.getCreatedAt().getMonthValue() == month)
-                    result.add(inv);
-            }
+        YearMonth ym = YearMonth.of(year, month);
+        return queryInvoicesBetween(ym.atDay(1).atStartOfDay(), ym.plusMonths(1).atDay(1).atStartOfDay(),
+                "Failed to fetch invoices by month");
+    }
+
+    @Override
+    public List<Invoice> getInvoicesBetween(LocalDateTime start, LocalDateTime end) {
+        return queryInvoicesBetween(start, end, "Failed to fetch invoices in range");
+    }
+
+    @Override
+    public List<Invoice> getInvoicesBetween(LocalDateTime start, LocalDateTime end, Invoice after, int limit) {
+        // Keyset cursor over idx_invoices_created_at (created_at, id)
+        String sql = "SELECT * FROM invoices WHERE created_at >= ? AND created_at < ? "
+                + (after != null ? "AND (created_at, id) > (?, ?) " : "")
+                + "ORDER BY created_at, id LIMIT ?";
+        try {
+            return pool.read(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int i = 1;
+                    stmt.setString(i++, start.toString());
+                    stmt.setString(i++, end.toString());
+                    if (after != null) {
+                        stmt.setString(i++, after.getCreatedAt().toString());
+                        stmt.setString(i++, after.getId());
+                    }
+                    stmt.setInt(i, limit);
+                    return readInvoices(conn, stmt.executeQuery());
+                }
+            });
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to fetch invoices by month", e);
+            throw new RuntimeException("Failed to load invoices in range", e);
+        }
+    }
+
+    private List<Invoice> queryInvoicesBetween(LocalDateTime start, LocalDateTime end, String failure) {
+        // created_at is ISO-8601 text, so string order matches time order and
+        // the half-open range is answered from idx_invoices_created_at
+        String sql = "SELECT * FROM invoices WHERE created_at >= ? AND created_at < ? ORDER BY created_at";
+        try {
+            return pool.read(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, start.toString());
+                    stmt.setString(2, end.toString());
+                    return readInvoices(conn, stmt.executeQuery());
+                }
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException(failure, e);
         }
-        return result;
     }
 
     @Override
     public List<Invoice> getAllInvoices() {
-        List<Invoice> result = new ArrayList<>();
         String sql = "SELECT * FROM invoices";
-        try (Statement stmt = connection.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
-            while (rs.next()) result.add(fromResultSet(rs));
+        try {
+            return pool.read(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    return readInvoices(conn, stmt.executeQuery(sql));
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to fetch all invoices", e);
         }
-        return result;
+    }
+
+    @Override
+    public int countInvoices(String patientPrefix) {
+        boolean filtered = NamePrefix.isActive(patientPrefix);
+        String sql = "SELECT COUNT(*) FROM invoices" +
+                (filtered ? " WHERE " + NamePrefix.condition("patient_name") : "");
+        try {
+            return pool.read(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    if (filtered) {
+                        stmt.setString(1, NamePrefix.lower(patientPrefix));
+                        stmt.setString(2, NamePrefix.upper(patientPrefix));
+                    }
+                    ResultSet rs = stmt.executeQuery();
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count invoices", e);
+        }
+    }
+
+    @Override
+    public List<Invoice> getInvoicePage(String patientPrefix, Invoice after, int offset, int limit) {
+        boolean filtered = NamePrefix.isActive(patientPrefix);
+        List<String> where = new ArrayList<>();
+        if (filtered) {
+            where.add(NamePrefix.condition("patient_name"));
+        }
+        if (after != null) {
+            // Keyset cursor over idx_invoices_created_at (created_at, id)
+            where.add("(created_at, id) < (?, ?)");
+        }
+        String sql = "SELECT * FROM invoices " +
+                (where.isEmpty() ? "" : "WHERE " + String.join(" AND ", where) + " ") +
+                "ORDER BY created_at DESC, id DESC LIMIT ? OFFSET ?";
+        try {
+            return pool.read(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int i = 1;
+                    if (filtered) {
+                        stmt.setString(i++, NamePrefix.lower(patientPrefix));
+                        stmt.setString(i++, NamePrefix.upper(patientPrefix));
+                    }
+                    if (after != null) {
+                        stmt.setString(i++, after.getCreatedAt().toString());
+                        stmt.setString(i++, after.getId());
+                    }
+                    stmt.setInt(i++, limit);
+                    stmt.setInt(i, after != null ? 0 : Math.max(offset, 0));
+                    return readInvoices(conn, stmt.executeQuery());
+                }
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load invoice page", e);
+        }
+    }
+
+    @Override
+    public RevenueTotals getRevenueTotals(LocalDate start, LocalDate end) {
+        List<String> where = new ArrayList<>();
+        if (start != null) {
+            where.add("day >= ?");
+        }
+        if (end != null) {
+            where.add("day < ?");
+        }
+        String sql = "SELECT COALESCE(SUM(invoice_count), 0), COALESCE(SUM(billed_cents), 0), "
+                + "COALESCE(SUM(paid_cents), 0) FROM revenue_daily"
+                + (where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where));
+        try {
+            return pool.read(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int i = 1;
+                    if (start != null) {
+                        stmt.setString(i++, start.toString());
+                    }
+                    if (end != null) {
+                        stmt.setString(i, end.toString());
+                    }
+                    ResultSet rs = stmt.executeQuery();
+                    return rs.next() ? new RevenueTotals(rs.getInt(1), rs.getLong(2), rs.getLong(3))
+                            : RevenueTotals.EMPTY;
+                }
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to fetch revenue totals", e);
+        }
+    }
+
+    /**
+     * Recomputes revenue_daily from the invoices table, for after the data
+     * was edited outside this class.
+     *
+     * @return the days whose stored totals were wrong, oldest first
+     */
+    public List<String> rebuildRevenueDaily() {
+        try {
+            return pool.transaction(RevenueDaily::rebuild);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to rebuild revenue totals", e);
+        }
     }
 
     @Override
     public void updateInvoice(Invoice invoice) {
         String sql = "UPDATE invoices SET balance = ?, status = ? WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setDouble(1, invoice.getBalance());
-            stmt.setString(2, invoice.getStatus());
-            stmt.setString(3, invoice.getId());
-            stmt.executeUpdate();
+        try {
+            pool.transaction(conn -> {
+                Stored before = stored(conn, invoice.getId());
+                int rows;
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setDouble(1, invoice.getBalance());
+                    stmt.setString(2, invoice.getStatus());
+                    stmt.setString(3, invoice.getId());
+                    rows = stmt.executeUpdate();
+                }
+                if (before != null) {
+                    RevenueDaily.apply(conn, List.of(new RevenueDaily.Delta(before.day(), 0, 0,
+                            before.balanceCents() - Cents.of(invoice.getBalance()))));
+                }
+                return rows;
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to update invoice", e);
         }
     }
 
-private Invoice fromResultSet(ResultSet rs) throws SQLException {
-    String id = rs.getString("id");
-    String appointmentId = Integer.toString(rs.getInt("appointment_id")); // <-- FIXED
-    String patientName = rs.getString("patient_name");
-    List<ServiceItem> services = deserializeServices(rs.getString("services"));
-    double insuranceAdjustment = rs.getDouble("insurance_adjustment");
-    double totalAmount = rs.getDouble("total_amount");
-    double balance = rs.getDouble("balance");
-    String status = rs.getString("status");
-    LocalDateTime createdAt = LocalDateTime.parse(rs.getString("created_at"));
-    Invoice inv = new Invoice(id, appointmentId, patientName, services, insuranceAdjustment);
-    inv.setBalance(balance);
-    inv.setStatus(status);
-    return inv;
-}
+    @Override
+    public List<ServiceRevenue> getRevenueByService(LocalDateTime start, LocalDateTime end) {
+        // The invoice range comes from idx_invoices_created_at, which also
+        // carries the id, and each invoice's items from the primary key
+        String sql = "SELECT it.service_name, COUNT(*) AS items, SUM(it.amount_cents) AS cents "
+                + "FROM invoices v JOIN invoice_items it ON it.invoice_id = v.id "
+                + "WHERE v.created_at >= ? AND v.created_at < ? "
+                + "GROUP BY it.service_name ORDER BY cents DESC, it.service_name";
+        try {
+            return pool.read(conn -> {
+                List<ServiceRevenue> result = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, start.toString());
+                    stmt.setString(2, end.toString());
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        result.add(new ServiceRevenue(rs.getString(1), rs.getInt(2), rs.getLong(3)));
+                    }
+                }
+                return result;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to fetch revenue by service", e);
+        }
+    }
+
+    /** The amounts an invoice currently contributes to its revenue_daily row. */
+    private record Stored(String day, long billedCents, long balanceCents) {
+    }
+
+    /** @return null when there is no such invoice or it has no creation time */
+    private static Stored stored(Connection conn, String id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT created_at, total_amount, balance FROM invoices WHERE id = ?")) {
+            stmt.setString(1, id);
+            ResultSet rs = stmt.executeQuery();
+            if (!rs.next() || rs.getString(1) == null) {
+                return null;
+            }
+            return new Stored(rs.getString(1).substring(0, 10), Cents.of(rs.getDouble(2)), Cents.of(rs.getDouble(3)));
+        }
+    }
+
+    /** Column values of one invoices row, held until its line items are loaded. */
+    private record InvoiceRow(String id, String appointmentId, String patientName, double insuranceAdjustment,
+            double balance, String status, LocalDateTime createdAt) {
+
+        Invoice toInvoice(List<ServiceItem> services) {
+            Invoice inv = new Invoice(id, appointmentId, patientName, services, insuranceAdjustment, createdAt);
+            inv.setBalance(balance);
+            inv.setStatus(status);
+            return inv;
+        }
+    }
 
-    private String serializeServices(List<ServiceItem> services) {
-        StringBuilder sb = new StringBuilder();
-        for (ServiceItem s : services) {
-            if (sb.length() > 0) sb.append(";");
-            sb.append(s.getName()).append(":").append(s.getCost());
+    /**
+     * Drains {@code rs}, then loads the line items of every invoice read with
+     * one primary-key lookup per {@link #ITEM_LOAD_CHUNK} invoices.
+     */
+    private List<Invoice> readInvoices(Connection conn, ResultSet rs) throws SQLException {
+        List<InvoiceRow> rows = new ArrayList<>();
+        while (rs.next()) {
+            rows.add(new InvoiceRow(
+                    rs.getString("id"),
+                    Integer.toString(rs.getInt("appointment_id")),
+                    rs.getString("patient_name"),
+                    rs.getDouble("insurance_adjustment"),
+                    rs.getDouble("balance"),
+                    rs.getString("status"),
+                    LocalDateTime.parse(rs.getString("created_at"))));
+        }
+        Map<String, List<ServiceItem>> services = new HashMap<>();
+        for (int from = 0; from < rows.size(); from += ITEM_LOAD_CHUNK) {
+            loadItems(conn, rows.subList(from, Math.min(from + ITEM_LOAD_CHUNK, rows.size())), services);
         }
-        return sb.toString();
+        List<Invoice> result = new ArrayList<>(rows.size());
+        for (InvoiceRow row : rows) {
+            result.add(row.toInvoice(services.getOrDefault(row.id(), new ArrayList<>())));
+        }
+        return result;
     }
 
-    private List<ServiceItem> deserializeServices(String str) {
-        List<ServiceItem> list = new ArrayList<>();
-        if (str == null || str.isEmpty()) return list;
-        for (String part : str.split(";")) {
-            String[] arr = part.split(":");
-            if (arr.length == 2) list.add(new ServiceItem(arr[0], Double.parseDouble(arr[1])));
+    private void loadItems(Connection conn, List<InvoiceRow> rows, Map<String, List<ServiceItem>> into)
+            throws SQLException {
+        String sql = "SELECT invoice_id, service_name, amount_cents FROM invoice_items WHERE invoice_id IN ("
+                + String.join(", ", Collections.nCopies(rows.size(), "?")) + ") ORDER BY invoice_id, position";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < rows.size(); i++) {
+                stmt.setString(i + 1, rows.get(i).id());
+            }
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                into.computeIfAbsent(rs.getString(1), id -> new ArrayList<>())
+                        .add(new ServiceItem(rs.getString(2), Cents.toAmount(rs.getLong(3))));
+            }
         }
-        return list;
     }
 
     @Override
-public void deleteInvoiceById(String id) {
-    String sql = "DELETE FROM invoices WHERE id = ?";
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-        stmt.setString(1, id);
-        stmt.executeUpdate();
-    } catch (SQLException e) {
-        throw new RuntimeException("Failed to delete invoice", e);
+    public void deleteInvoiceById(String id) {
+        // invoice_items rows go with it through ON DELETE CASCADE
+        String sql = "DELETE FROM invoices WHERE id = ?";
+        try {
+            pool.transaction(conn -> {
+                Stored before = stored(conn, id);
+                int rows;
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, id);
+                    rows = stmt.executeUpdate();
+                }
+                if (before != null) {
+                    RevenueDaily.apply(conn, List.of(new RevenueDaily.Delta(before.day(), -1, -before.billedCents(),
+                            before.balanceCents() - before.billedCents())));
+                }
+                return rows;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to delete invoice", e);
+        }
     }
 }
-}
\ No newline at end of file
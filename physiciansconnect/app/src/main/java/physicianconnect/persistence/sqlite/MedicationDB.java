@@ -1,6 +1,7 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Medication;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.MedicationPersistence;
 
 import java.sql.*;
@@ -9,21 +10,29 @@ import java.util.List;
 
 public class MedicationDB implements MedicationPersistence {
 
-    private final Connection connection;
+    private final ConnectionPool pool;
 
     public MedicationDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public MedicationDB(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
     public void addMedication(Medication medication) {
         String sql = "INSERT INTO medications (name, dosage, default_frequency, default_notes) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, medication.getName());
-            stmt.setString(2, medication.getDosage());
-            stmt.setString(3, medication.getDefaultFrequency());
-            stmt.setString(4, medication.getDefaultNotes());
-            stmt.executeUpdate();
+        try {
+            pool.write(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, medication.getName());
+                    stmt.setString(2, medication.getDosage());
+                    stmt.setString(3, medication.getDefaultFrequency());
+                    stmt.setString(4, medication.getDefaultNotes());
+                    return stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to add medication", e);
         }
@@ -31,30 +40,38 @@ public class MedicationDB implements MedicationPersistence {
 
     @Override
     public List<Medication> getAllMedications() {
-        List<Medication> meds = new ArrayList<>();
         String sql = "SELECT name, dosage, default_frequency, default_notes FROM medications";
-        try (Statement stmt = connection.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                meds.add(new Medication(
-                        rs.getString("name"),
-                        rs.getString("dosage"),
-                        rs.getString("default_frequency"),
-                        rs.getString("default_notes")));
-            }
+        try {
+            return pool.read(conn -> {
+                List<Medication> meds = new ArrayList<>();
+                try (Statement stmt = conn.createStatement();
+                        ResultSet rs = stmt.executeQuery(sql)) {
+                    while (rs.next()) {
+                        meds.add(new Medication(
+                                rs.getString("name"),
+                                rs.getString("dosage"),
+                                rs.getString("default_frequency"),
+                                rs.getString("default_notes")));
+                    }
+                }
+                return meds;
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to load medications", e);
         }
-        return meds;
     }
 
     @Override
     public void deleteMedication(Medication medication) {
         String sql = "DELETE FROM medications WHERE name = ? AND dosage = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, medication.getName());
-            stmt.setString(2, medication.getDosage());
-            stmt.executeUpdate();
+        try {
+            pool.write(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, medication.getName());
+                    stmt.setString(2, medication.getDosage());
+                    return stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete medication", e);
         }
@@ -62,8 +79,12 @@ public class MedicationDB implements MedicationPersistence {
 
     @Override
     public void deleteAllMedications() {
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute("DELETE FROM medications");
+        try {
+            pool.write(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    return stmt.executeUpdate("DELETE FROM medications");
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete all medications", e);
         }
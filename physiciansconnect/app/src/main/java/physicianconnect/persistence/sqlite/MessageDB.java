@@ -1,40 +1,79 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Message;
+import physicianconnect.persistence.ConnectionPool;
+import physicianconnect.persistence.UnreadCounter;
 import physicianconnect.persistence.interfaces.MessageRepository;
 import java.sql.*;
 import java.util.*;
 import java.time.LocalDateTime;
 
 public class MessageDB implements MessageRepository {
-    private final Connection connection;
+    // seq is the next value of one table-wide sequence; idx_messages_seq makes MAX(seq) a single index probe
+    private static final String INSERT_SQL = "INSERT OR REPLACE INTO messages (message_id, sender_id, sender_type, receiver_id, receiver_type, content, timestamp, is_read, seq) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, (SELECT COALESCE(MAX(seq), 0) + 1 FROM messages))";
+
+    private static final String CONVERSATION_DIRECTION_SQL = "SELECT * FROM messages WHERE sender_id = ? AND sender_type = ? AND receiver_id = ? AND receiver_type = ?";
+    private static final String NEWEST_FIRST = " ORDER BY timestamp DESC, message_id DESC LIMIT ?";
+
+    private static final String READ_STATE_SQL = "SELECT receiver_id, receiver_type, is_read FROM messages WHERE message_id = ?";
+
+    private final ConnectionPool pool;
+    private final UnreadCounter unread = new UnreadCounter();
 
     public MessageDB(Connection connection) {
-        this.connection = connection;
-        createTable();
-    }
-
-    private void createTable() {
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS messages (
-                    message_id TEXT PRIMARY KEY,
-                    sender_id TEXT NOT NULL,
-                    sender_type TEXT NOT NULL,
-                    receiver_id TEXT NOT NULL,
-                    receiver_type TEXT NOT NULL,
-                    content TEXT NOT NULL,
-                    timestamp TEXT NOT NULL,
-                    is_read BOOLEAN NOT NULL
-                )
-            """);
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public MessageDB(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public Message save(Message message) {
+        validate(message);
+        try {
+            pool.write(conn -> {
+                // INSERT OR REPLACE may overwrite an unread copy of the same message
+                Message previous = unread.isWarm() ? readState(conn, message.getMessageId()) : null;
+                int rows;
+                try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
+                    bind(pstmt, message);
+                    rows = pstmt.executeUpdate();
+                }
+                pool.afterCommit(() -> {
+                    if (previous != null && !previous.isRead()) {
+                        unread.adjust(previous.getReceiverId(), previous.getReceiverType(), -1);
+                    }
+                    if (!message.isRead()) {
+                        unread.adjust(message.getReceiverId(), message.getReceiverType(), 1);
+                    }
+                });
+                return rows;
+            });
+            return message;
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to create messages table: " + e.getMessage(), e);
+            unread.invalidate();
+            throw new RuntimeException("Failed to save message: " + e.getMessage() +
+                    " (Message ID: " + message.getMessageId() + ")", e);
         }
     }
 
     @Override
-    public Message save(Message message) {
+    public void saveAll(Collection<Message> messages) {
+        for (Message message : messages) {
+            validate(message);
+        }
+        try {
+            BatchInsert.run(pool, INSERT_SQL, messages, MessageDB::bind);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to save messages: " + e.getMessage(), e);
+        } finally {
+            unread.invalidate();
+        }
+    }
+
+    private static void validate(Message message) {
         if (message == null) {
             throw new IllegalArgumentException("Message cannot be null");
         }
@@ -59,23 +98,17 @@ public class MessageDB implements MessageRepository {
         if (message.getTimestamp() == null) {
             throw new IllegalArgumentException("Timestamp cannot be null");
         }
+    }
 
-        String sql = "INSERT OR REPLACE INTO messages (message_id, sender_id, sender_type, receiver_id, receiver_type, content, timestamp, is_read) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, message.getMessageId().toString());
-            pstmt.setString(2, message.getSenderId());
-            pstmt.setString(3, message.getSenderType());
-            pstmt.setString(4, message.getReceiverId());
-            pstmt.setString(5, message.getReceiverType());
-            pstmt.setString(6, message.getContent());
-            pstmt.setString(7, message.getTimestamp().toString());
-            pstmt.setBoolean(8, message.isRead());
-            pstmt.executeUpdate();
-            return message;
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to save message: " + e.getMessage() +
-                    " (Message ID: " + message.getMessageId() + ")", e);
-        }
+    private static void bind(PreparedStatement pstmt, Message message) throws SQLException {
+        pstmt.setString(1, message.getMessageId().toString());
+        pstmt.setString(2, message.getSenderId());
+        pstmt.setString(3, message.getSenderType());
+        pstmt.setString(4, message.getReceiverId());
+        pstmt.setString(5, message.getReceiverType());
+        pstmt.setString(6, message.getContent());
+        pstmt.setString(7, message.getTimestamp().toString());
+        pstmt.setBoolean(8, message.isRead());
     }
 
     @Override
@@ -114,24 +147,177 @@ public class MessageDB implements MessageRepository {
         return queryMessages(sql, receiverId, receiverType, "Failed to find unread messages by receiver");
     }
 
+    /**
+     * Each direction of the conversation is a separate range scan of
+     * idx_messages_conversation that stops after {@code limit} rows; only the
+     * two short runs are merged, so the cost is set by the page size rather
+     * than by how many messages either user has.
+     */
+    @Override
+    public List<Message> findConversation(String userId, String userType, String otherId, String otherType,
+            Message before, int limit) {
+        if (userId == null || userId.trim().isEmpty() || otherId == null || otherId.trim().isEmpty()) {
+            throw new IllegalArgumentException("User IDs cannot be null or empty");
+        }
+        if (userType == null || userType.trim().isEmpty() || otherType == null || otherType.trim().isEmpty()) {
+            throw new IllegalArgumentException("User types cannot be null or empty");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        String direction = "SELECT * FROM (" + CONVERSATION_DIRECTION_SQL
+                + (before == null ? "" : " AND (timestamp, message_id) < (?, ?)") + NEWEST_FIRST + ")";
+        String sql = "SELECT * FROM (" + direction + " UNION ALL " + direction + ")" + NEWEST_FIRST;
+
+        try {
+            List<Message> page = pool.read(conn -> {
+                List<Message> messages = new ArrayList<>();
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    int i = bindDirection(pstmt, 1, userId, userType, otherId, otherType, before, limit);
+                    i = bindDirection(pstmt, i, otherId, otherType, userId, userType, before, limit);
+                    pstmt.setInt(i, limit);
+                    ResultSet rs = pstmt.executeQuery();
+                    while (rs.next()) {
+                        messages.add(fromResultSet(rs));
+                    }
+                }
+                return messages;
+            });
+            Collections.reverse(page);
+            return page;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find conversation: " + e.getMessage(), e);
+        }
+    }
+
+    private static int bindDirection(PreparedStatement pstmt, int index, String senderId, String senderType,
+            String receiverId, String receiverType, Message before, int limit) throws SQLException {
+        pstmt.setString(index++, senderId);
+        pstmt.setString(index++, senderType);
+        pstmt.setString(index++, receiverId);
+        pstmt.setString(index++, receiverType);
+        if (before != null) {
+            pstmt.setString(index++, before.getTimestamp().toString());
+            pstmt.setString(index++, before.getMessageId().toString());
+        }
+        pstmt.setInt(index++, limit);
+        return index;
+    }
+
+    @Override
+    public List<Message> findSince(String receiverId, String receiverType, long lastSeq) {
+        if (receiverId == null || receiverId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Receiver ID cannot be null or empty");
+        }
+        if (receiverType == null || receiverType.trim().isEmpty()) {
+            throw new IllegalArgumentException("Receiver type cannot be null or empty");
+        }
+        String sql = "SELECT * FROM messages WHERE receiver_id = ? AND receiver_type = ? AND seq > ? ORDER BY seq";
+        try {
+            return pool.read(conn -> {
+                List<Message> messages = new ArrayList<>();
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, receiverId);
+                    pstmt.setString(2, receiverType);
+                    pstmt.setLong(3, lastSeq);
+                    ResultSet rs = pstmt.executeQuery();
+                    while (rs.next()) {
+                        messages.add(fromResultSet(rs));
+                    }
+                }
+                return messages;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find new messages: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long latestSequence() {
+        try {
+            return pool.read(conn -> {
+                try (Statement stmt = conn.createStatement();
+                        ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(seq), 0) FROM messages")) {
+                    return rs.next() ? rs.getLong(1) : 0L;
+                }
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read message sequence: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public void markAsRead(UUID messageId) {
         if (messageId == null) {
             throw new IllegalArgumentException("Message ID cannot be null");
         }
         String sql = "UPDATE messages SET is_read = 1 WHERE message_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, messageId.toString());
-            int updated = pstmt.executeUpdate();
-            if (updated == 0) {
-                throw new RuntimeException("No message found with ID: " + messageId);
-            }
+        int updated;
+        try {
+            updated = pool.write(conn -> {
+                Message previous = readState(conn, messageId);
+                if (previous == null) {
+                    return 0;
+                }
+                if (previous.isRead()) {
+                    return 1; // already read, nothing to change
+                }
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, messageId.toString());
+                    pstmt.executeUpdate();
+                }
+                pool.afterCommit(() -> unread.adjust(previous.getReceiverId(), previous.getReceiverType(), -1));
+                return 1;
+            });
         } catch (SQLException e) {
+            unread.invalidate();
             throw new RuntimeException("Failed to mark message as read: " + e.getMessage() +
                     " (Message ID: " + messageId + ")", e);
         }
+        if (updated == 0) {
+            throw new RuntimeException("No message found with ID: " + messageId);
+        }
     }
 
+    /**
+     * One UPDATE over idx_messages_unread however long the backlog is; messages
+     * that arrive after {@code upToSeq} stay unread.
+     */
+    @Override
+    public int markConversationRead(String readerId, String readerType, String counterpartId,
+            String counterpartType, long upToSeq) {
+        if (readerId == null || readerId.trim().isEmpty() || counterpartId == null || counterpartId.trim().isEmpty()) {
+            throw new IllegalArgumentException("User IDs cannot be null or empty");
+        }
+        if (readerType == null || readerType.trim().isEmpty() || counterpartType == null || counterpartType.trim().isEmpty()) {
+            throw new IllegalArgumentException("User types cannot be null or empty");
+        }
+        String sql = "UPDATE messages SET is_read = 1 WHERE receiver_id = ? AND receiver_type = ? "
+                + "AND sender_id = ? AND sender_type = ? AND is_read = 0 AND seq <= ?";
+        try {
+            return pool.write(conn -> {
+                int rows;
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, readerId);
+                    pstmt.setString(2, readerType);
+                    pstmt.setString(3, counterpartId);
+                    pstmt.setString(4, counterpartType);
+                    pstmt.setLong(5, upToSeq);
+                    rows = pstmt.executeUpdate();
+                }
+                pool.afterCommit(() -> unread.adjust(readerId, readerType, -rows));
+                return rows;
+            });
+        } catch (SQLException e) {
+            unread.invalidate();
+            throw new RuntimeException("Failed to mark conversation as read: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Answered from the in-memory {@link UnreadCounter}; the first call warms
+     * it for every receiver with one grouped query over idx_messages_unread.
+     */
     @Override
     public int countUnreadMessages(String receiverId, String receiverType) {
         if (receiverId == null || receiverId.trim().isEmpty()) {
@@ -140,42 +326,78 @@ public class MessageDB implements MessageRepository {
         if (receiverType == null || receiverType.trim().isEmpty()) {
             throw new IllegalArgumentException("Receiver type cannot be null or empty");
         }
-        String sql = "SELECT COUNT(*) FROM messages WHERE receiver_id = ? AND receiver_type = ? AND is_read = 0";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, receiverId);
-            pstmt.setString(2, receiverType);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1);
+        if (!unread.isWarm()) {
+            String sql = "SELECT receiver_id, receiver_type, COUNT(*) FROM messages WHERE is_read = 0 "
+                    + "GROUP BY receiver_id, receiver_type";
+            try {
+                // Warm under the write lock so no save can slip between the query and the install
+                pool.write(conn -> {
+                    if (!unread.isWarm()) {
+                        Map<UnreadCounter.User, Integer> counts = new HashMap<>();
+                        try (PreparedStatement pstmt = conn.prepareStatement(sql);
+                                ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                counts.put(new UnreadCounter.User(rs.getString(1), rs.getString(2)), rs.getInt(3));
+                            }
+                        }
+                        // Queued behind any adjustment made earlier in this write, which a
+                        // cold counter ignores, so uncommitted rows are not counted twice
+                        pool.afterCommit(() -> unread.warm(counts));
+                    }
+                    return null;
+                });
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to count unread messages: " + e.getMessage(), e);
+            }
+        }
+        return unread.get(receiverId, receiverType);
+    }
+
+    private static Message readState(Connection conn, UUID messageId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(READ_STATE_SQL)) {
+            pstmt.setString(1, messageId.toString());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                Message state = new Message(null, null, rs.getString("receiver_id"), rs.getString("receiver_type"), null);
+                state.setRead(rs.getBoolean("is_read"));
+                return state;
             }
-            return 0;
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to count unread messages: " + e.getMessage(), e);
         }
     }
 
     // Helper for queries with two parameters (id, type)
     private List<Message> queryMessages(String sql, String id, String type, String errorMessage) {
-        List<Message> messages = new ArrayList<>();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, id);
-            pstmt.setString(2, type);
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                Message message = new Message(
-                        rs.getString("sender_id"),
-                        rs.getString("sender_type"),
-                        rs.getString("receiver_id"),
-                        rs.getString("receiver_type"),
-                        rs.getString("content"));
-                message.setMessageId(UUID.fromString(rs.getString("message_id")));
-                message.setTimestamp(LocalDateTime.parse(rs.getString("timestamp")));
-                message.setRead(rs.getBoolean("is_read"));
-                messages.add(message);
-            }
-            return messages;
+        try {
+            return pool.read(conn -> {
+                List<Message> messages = new ArrayList<>();
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, id);
+                    pstmt.setString(2, type);
+                    ResultSet rs = pstmt.executeQuery();
+                    while (rs.next()) {
+                        messages.add(fromResultSet(rs));
+                    }
+                }
+                return messages;
+            });
         } catch (SQLException e) {
             throw new RuntimeException(errorMessage + ": " + e.getMessage(), e);
         }
     }
+
+    private static Message fromResultSet(ResultSet rs) throws SQLException {
+        Message message = new Message(
+                rs.getString("sender_id"),
+                rs.getString("sender_type"),
+                rs.getString("receiver_id"),
+                rs.getString("receiver_type"),
+                rs.getString("content"));
+        message.setMessageId(UUID.fromString(rs.getString("message_id")));
+        message.setTimestamp(LocalDateTime.parse(rs.getString("timestamp")));
+        message.setRead(rs.getBoolean("is_read"));
+        message.setSeq(rs.getLong("seq"));
+        return message;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package physicianconnect.persistence.sqlite;
+
+/**
+ * Case-insensitive "starts with" filters written as a half-open range over a
+ * {@code COLLATE NOCASE} index, {@code [prefix, prefix + U+10FFFF)}, so SQLite
+ * can seek the index instead of evaluating {@code LIKE} on every row.
+ */
+final class NamePrefix {
+
+    private static final String MAX_CHAR = new String(Character.toChars(Character.MAX_CODE_POINT));
+
+    private NamePrefix() {
+    }
+
+    /** @return whether {@code prefix} filters anything (null and blank match every row) */
+    static boolean isActive(String prefix) {
+        return prefix != null && !prefix.isBlank();
+    }
+
+    /** The WHERE condition for {@code column}; bind {@link #lower} then {@link #upper}. */
+    static String condition(String column) {
+        return column + " COLLATE NOCASE >= ? AND " + column + " COLLATE NOCASE < ?";
+    }
+
+    static String lower(String prefix) {
+        return prefix.trim();
+    }
+
+    static String upper(String prefix) {
+        return prefix.trim() + MAX_CHAR;
+    }
+}
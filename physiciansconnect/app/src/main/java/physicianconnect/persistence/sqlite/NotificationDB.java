@@ -3,145 +3,315 @@ package physicianconnect.persistence.sqlite;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import physicianconnect.objects.Notification;
+import physicianconnect.objects.NotificationCategory;
+import physicianconnect.persistence.ConnectionPool;
+import physicianconnect.persistence.UnreadCounter;
 import physicianconnect.persistence.interfaces.NotificationPersistence;
-import physicianconnect.persistence.interfaces.ReceptionistPersistence;
 
 public class NotificationDB implements NotificationPersistence {
-    private final Connection conn;
-    private final ReceptionistPersistence receptionistPersistence;
-
-    public NotificationDB(Connection conn, ReceptionistPersistence receptionistPersistence) {
-        this.conn = conn;
-        this.receptionistPersistence = receptionistPersistence;
-        createTable();
-    }
-
-    private void createTable() {
-        String sql = """
-            CREATE TABLE IF NOT EXISTS notifications (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                user_id TEXT NOT NULL,
-                user_type TEXT NOT NULL,
-                message TEXT NOT NULL,
-                type TEXT NOT NULL,
-                timestamp TEXT NOT NULL,
-                is_read INTEGER DEFAULT 0
-            )
-        """;
-
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
-            
-            // Check if is_read column exists
-            try {
-                stmt.executeQuery("SELECT is_read FROM notifications LIMIT 1");
-            } catch (SQLException e) {
-                // Column doesn't exist, add it
-                stmt.execute("ALTER TABLE notifications ADD COLUMN is_read INTEGER DEFAULT 0");
-            }
+    private static final String INSERT_SQL = "INSERT INTO notifications (user_id, user_type, message, type, timestamp, is_read) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String BROADCAST_SQL = "INSERT INTO notifications (user_id, user_type, message, type, timestamp, is_read) "
+            + "SELECT id, 'receptionist', ?, ?, ?, 0 FROM receptionists WHERE ";
+
+    private final ConnectionPool pool;
+    private final UnreadCounter unread = new UnreadCounter();
+
+    public NotificationDB(Connection conn) {
+        this(ConnectionPool.wrap(conn));
+    }
+
+    public NotificationDB(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void addNotification(Notification notification) {
+        try {
+            pool.write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    bind(pstmt, notification);
+                    int rows = pstmt.executeUpdate();
+                    try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                        if (keys.next()) {
+                            notification.setSeq(keys.getLong(1));
+                        }
+                    }
+                    if (!notification.isRead()) {
+                        pool.afterCommit(() -> unread.adjust(notification.getUserId(), notification.getUserType(), 1));
+                    }
+                    return rows;
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
+            unread.invalidate();
         }
     }
 
     @Override
-    public void addNotification(Notification notification) {
-        String sql = "INSERT INTO notifications (user_id, user_type, message, type, timestamp, is_read) VALUES (?, ?, ?, ?, ?, ?)";
-        
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, notification.getUserId());
-            pstmt.setString(2, notification.getUserType());
-            pstmt.setString(3, notification.getMessage());
-            pstmt.setString(4, notification.getType());
-            pstmt.setString(5, notification.getTimestamp().toString());
-            pstmt.setInt(6, notification.isRead() ? 1 : 0);
-            
-            pstmt.executeUpdate();
+    public void addNotifications(Collection<Notification> notifications) {
+        try {
+            BatchInsert.run(pool, INSERT_SQL, notifications, NotificationDB::bind);
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            unread.invalidate();
         }
     }
 
+    private static void bind(PreparedStatement pstmt, Notification notification) throws SQLException {
+        pstmt.setString(1, notification.getUserId());
+        pstmt.setString(2, notification.getUserType());
+        pstmt.setString(3, notification.getMessage());
+        pstmt.setString(4, notification.getType());
+        pstmt.setString(5, notification.getTimestamp().toString());
+        pstmt.setInt(6, notification.isRead() ? 1 : 0);
+    }
+
     @Override
     public List<Notification> getNotificationsForUser(String userId, String userType) {
-        List<Notification> notifications = new ArrayList<>();
         String sql = "SELECT * FROM notifications WHERE user_id = ? AND user_type = ? ORDER BY timestamp DESC LIMIT 10";
-        
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, userId);
-            pstmt.setString(2, userType);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Notification notification = new Notification(
-                        rs.getString("message"),
-                        rs.getString("type"),
-                        LocalDateTime.parse(rs.getString("timestamp")),
-                        rs.getString("user_id"),
-                        rs.getString("user_type")
-                    );
-                    if (rs.getInt("is_read") == 1) {
-                        notification.markAsRead();
+
+        try {
+            return pool.read(conn -> {
+                List<Notification> notifications = new ArrayList<>();
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, userId);
+                    pstmt.setString(2, userType);
+
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            notifications.add(fromResultSet(rs));
+                        }
                     }
-                    notifications.add(notification);
                 }
-            }
+                return notifications;
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        
-        return notifications;
+
+        return new ArrayList<>();
+    }
+
+    /** Notification ids come from AUTOINCREMENT, so they never go backwards and double as the sequence. */
+    @Override
+    public List<Notification> findSince(String userId, String userType, long lastSeq) {
+        String sql = "SELECT * FROM notifications WHERE user_id = ? AND user_type = ? AND id > ? ORDER BY id";
+
+        try {
+            return pool.read(conn -> {
+                List<Notification> notifications = new ArrayList<>();
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, userId);
+                    pstmt.setString(2, userType);
+                    pstmt.setLong(3, lastSeq);
+
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            notifications.add(fromResultSet(rs));
+                        }
+                    }
+                }
+                return notifications;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return new ArrayList<>();
+    }
+
+    @Override
+    public long latestSequence() {
+        try {
+            return pool.read(NotificationDB::latestId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    private static long latestId(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(id), 0) FROM notifications")) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        }
+    }
+
+    /**
+     * Answered from the in-memory {@link UnreadCounter}; the first call warms
+     * it for every user with one grouped query over idx_notifications_unread.
+     */
+    @Override
+    public int countUnreadNotifications(String userId, String userType) {
+        if (!unread.isWarm()) {
+            String sql = "SELECT user_id, user_type, COUNT(*) FROM notifications WHERE is_read = 0 "
+                    + "GROUP BY user_id, user_type";
+            try {
+                // Warm under the write lock so no insert can slip between the query and the install
+                pool.write(conn -> {
+                    if (!unread.isWarm()) {
+                        Map<UnreadCounter.User, Integer> counts = new HashMap<>();
+                        try (PreparedStatement pstmt = conn.prepareStatement(sql);
+                                ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                counts.put(new UnreadCounter.User(rs.getString(1), rs.getString(2)), rs.getInt(3));
+                            }
+                        }
+                        // Queued behind any adjustment made earlier in this write, which a
+                        // cold counter ignores, so uncommitted rows are not counted twice
+                        pool.afterCommit(() -> unread.warm(counts));
+                    }
+                    return null;
+                });
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return 0;
+            }
+        }
+        return unread.get(userId, userType);
+    }
+
+    private static Notification fromResultSet(ResultSet rs) throws SQLException {
+        Notification notification = new Notification(
+            rs.getString("message"),
+            rs.getString("type"),
+            LocalDateTime.parse(rs.getString("timestamp")),
+            rs.getString("user_id"),
+            rs.getString("user_type")
+        );
+        if (rs.getInt("is_read") == 1) {
+            notification.markAsRead();
+        }
+        notification.setSeq(rs.getLong("id"));
+        return notification;
     }
 
     @Override
     public void clearNotificationsForUser(String userId, String userType) {
         String sql = "DELETE FROM notifications WHERE user_id = ? AND user_type = ?";
         
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, userId);
-            pstmt.setString(2, userType);
-            
-            pstmt.executeUpdate();
+        try {
+            pool.write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, userId);
+                    pstmt.setString(2, userType);
+
+                    int rows = pstmt.executeUpdate();
+                    pool.afterCommit(() -> unread.clear(userId, userType));
+                    return rows;
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
+            unread.invalidate();
         }
     }
 
+    /** Finds the row by its id, which {@link Notification#getSeq()} carries once stored. */
+    @Override
     public void markNotificationAsRead(Notification notification) {
-        String sql = "UPDATE notifications SET is_read = 1 WHERE user_id = ? AND user_type = ? AND message = ? AND type = ? AND timestamp = ?";
+        String sql = "UPDATE notifications SET is_read = 1 WHERE id = ? AND is_read = 0";
         
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, notification.getUserId());
-            pstmt.setString(2, notification.getUserType());
-            pstmt.setString(3, notification.getMessage());
-            pstmt.setString(4, notification.getType());
-            pstmt.setString(5, notification.getTimestamp().toString());
-            
-            pstmt.executeUpdate();
+        try {
+            pool.write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setLong(1, notification.getSeq());
+
+                    int rows = pstmt.executeUpdate();
+                    pool.afterCommit(() -> unread.adjust(notification.getUserId(), notification.getUserType(), -rows));
+                    return rows;
+                }
+            });
             notification.markAsRead();
         } catch (SQLException e) {
             e.printStackTrace();
+            unread.invalidate();
         }
     }
 
-    public void broadcastToReceptionists(String message, String type) {
-        // Get all receptionists
-        List<String> receptionistIds = receptionistPersistence.getAllReceptionistIds();
-        
-        // Create a notification for each receptionist
-        for (String receptionistId : receptionistIds) {
-            // Create notification with the recipient's ID as userId
-            Notification notification = new Notification(
-                message,
-                type,
-                LocalDateTime.now(),
-                receptionistId,  // This is now the recipient's ID
-                "receptionist"
-            );
-            addNotification(notification);
+    @Override
+    public int markAllNotificationsRead(String userId, String userType, long upToId) {
+        String sql = "UPDATE notifications SET is_read = 1 WHERE user_id = ? AND user_type = ? AND is_read = 0 AND id <= ?";
+
+        try {
+            return pool.write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, userId);
+                    pstmt.setString(2, userType);
+                    pstmt.setLong(3, upToId);
+
+                    int rows = pstmt.executeUpdate();
+                    pool.afterCommit(() -> unread.adjust(userId, userType, -rows));
+                    return rows;
+                }
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            unread.invalidate();
+        }
+        return 0;
+    }
+
+    /**
+     * Fans out with a single {@code INSERT ... SELECT} over {@code receptionists},
+     * filtered on the matching preference column, so the whole broadcast is one
+     * statement in one transaction however many receptionists there are.
+     */
+    @Override
+    public int broadcastToReceptionists(String message, String type, NotificationCategory category) {
+        String sql = BROADCAST_SQL + preferenceColumn(category) + " = 1";
+
+        try {
+            return pool.transaction(conn -> {
+                long before = unread.isWarm() ? latestId(conn) : 0;
+                int rows;
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, message);
+                    pstmt.setString(2, type);
+                    pstmt.setString(3, LocalDateTime.now().toString());
+                    rows = pstmt.executeUpdate();
+                }
+                if (unread.isWarm() && rows > 0) {
+                    // The new rows are the ids above the previous maximum
+                    List<String> recipients = new ArrayList<>();
+                    try (PreparedStatement pstmt = conn.prepareStatement(
+                            "SELECT user_id FROM notifications WHERE id > ?")) {
+                        pstmt.setLong(1, before);
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                recipients.add(rs.getString(1));
+                            }
+                        }
+                    }
+                    pool.afterCommit(() -> {
+                        for (String recipient : recipients) {
+                            unread.adjust(recipient, "receptionist", 1);
+                        }
+                    });
+                }
+                return rows;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            unread.invalidate();
         }
+        return 0;
+    }
+
+    private static String preferenceColumn(NotificationCategory category) {
+        return switch (category) {
+            case APPOINTMENT -> "notifyAppointment";
+            case BILLING -> "notifyBilling";
+            case MESSAGES -> "notifyMessages";
+        };
     }
 } 
\ No newline at end of file
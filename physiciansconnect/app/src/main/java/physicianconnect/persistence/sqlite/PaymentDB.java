@@ -1,17 +1,28 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Payment;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.PaymentPersistence;
 
 import java.sql.*;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 
 public class PaymentDB implements PaymentPersistence {
-    private final Connection connection;
+    private static final String INSERT_SQL = "INSERT INTO payments (id, invoice_id, amount, method, paid_at) VALUES (?, ?, ?, ?, ?)";
+
+    /** Invoice ids per {@code IN (...)} in {@link #getPaymentsByInvoices}, well under SQLite's bind limit. */
+    private static final int LOAD_CHUNK = 500;
+
+    private final ConnectionPool pool;
 
     public PaymentDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public PaymentDB(ConnectionPool pool) {
+        this.pool = pool;
         createTable();
     }
 
@@ -21,48 +32,176 @@ public class PaymentDB implements PaymentPersistence {
 
     @Override
     public void addPayment(Payment payment) {
-        String sql = "INSERT INTO payments (id, invoice_id, amount, method, paid_at) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, payment.getId());
-            stmt.setString(2, payment.getInvoiceId());
-            stmt.setDouble(3, payment.getAmount());
-            stmt.setString(4, payment.getMethod());
-            stmt.setString(5, payment.getPaidAt().toString());
-            stmt.executeUpdate();
+        try {
+            pool.write(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
+                    bind(stmt, payment);
+                    return stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to add payment", e);
         }
     }
 
     @Override
-    public List<Payment> getPaymentsByInvoice(String invoiceId) {
-        List<Payment> result = new ArrayList<>();
-        String sql = "SELECT * FROM payments WHERE invoice_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+    public Payment recordPayment(Payment payment, String idempotencyKey) {
+        long cents = Cents.of(payment.getAmount());
+        // Balances are compared and decremented in whole cents so that a run
+        // of partial payments lands on exactly zero
+        String debit = "UPDATE invoices SET balance = (ROUND(balance * 100) - ?) / 100.0, "
+                + "status = CASE WHEN ROUND(balance * 100) = ? THEN 'Paid' ELSE 'Partial' END "
+                + "WHERE id = ? AND ROUND(balance * 100) >= ?";
+        try {
+            return pool.transaction(conn -> {
+                if (idempotencyKey != null) {
+                    Payment earlier = findByIdempotencyKey(conn, idempotencyKey);
+                    if (earlier != null) {
+                        return earlier;
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(debit)) {
+                    stmt.setLong(1, cents);
+                    stmt.setLong(2, cents);
+                    stmt.setString(3, payment.getInvoiceId());
+                    stmt.setLong(4, cents);
+                    if (stmt.executeUpdate() == 0) {
+                        if (!invoiceExists(conn, payment.getInvoiceId())) {
+                            throw new IllegalArgumentException("No invoice with id " + payment.getInvoiceId());
+                        }
+                        return null;
+                    }
+                }
+                Payment stored = new Payment(payment.getId(), payment.getInvoiceId(), Cents.toAmount(cents),
+                        payment.getMethod(), payment.getPaidAt());
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "INSERT INTO payments (id, invoice_id, amount, method, paid_at, idempotency_key) "
+                                + "VALUES (?, ?, ?, ?, ?, ?)")) {
+                    bind(stmt, stored);
+                    stmt.setString(6, idempotencyKey);
+                    stmt.executeUpdate();
+                }
+                try (PreparedStatement stmt = conn.prepareStatement("SELECT created_at FROM invoices WHERE id = ?")) {
+                    stmt.setString(1, payment.getInvoiceId());
+                    ResultSet rs = stmt.executeQuery();
+                    if (rs.next() && rs.getString(1) != null) {
+                        RevenueDaily.apply(conn, List.of(new RevenueDaily.Delta(rs.getString(1).substring(0, 10),
+                                0, 0, cents)));
+                    }
+                }
+                return stored;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to record payment", e);
+        }
+    }
+
+    private static boolean invoiceExists(Connection conn, String invoiceId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM invoices WHERE id = ?")) {
             stmt.setString(1, invoiceId);
+            return stmt.executeQuery().next();
+        }
+    }
+
+    private Payment findByIdempotencyKey(Connection conn, String idempotencyKey) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM payments WHERE idempotency_key = ?")) {
+            stmt.setString(1, idempotencyKey);
             ResultSet rs = stmt.executeQuery();
-            while (rs.next()) result.add(fromResultSet(rs));
+            return rs.next() ? fromResultSet(rs) : null;
+        }
+    }
+
+    @Override
+    public void addPayments(Collection<Payment> payments) {
+        try {
+            BatchInsert.run(pool, INSERT_SQL, payments, PaymentDB::bind);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add payments", e);
+        }
+    }
+
+    private static void bind(PreparedStatement stmt, Payment payment) throws SQLException {
+        stmt.setString(1, payment.getId());
+        stmt.setString(2, payment.getInvoiceId());
+        stmt.setDouble(3, payment.getAmount());
+        stmt.setString(4, payment.getMethod());
+        stmt.setString(5, payment.getPaidAt().toString());
+    }
+
+    @Override
+    public List<Payment> getPaymentsByInvoice(String invoiceId) {
+        String sql = "SELECT * FROM payments WHERE invoice_id = ?";
+        try {
+            return pool.read(conn -> {
+                List<Payment> result = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, invoiceId);
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) result.add(fromResultSet(rs));
+                }
+                return result;
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to fetch payments by invoice", e);
         }
-        return result;
+    }
+
+    @Override
+    public Map<String, List<Payment>> getPaymentsByInvoices(Collection<String> invoiceIds) {
+        List<String> ids = new ArrayList<>(invoiceIds);
+        try {
+            return pool.read(conn -> {
+                Map<String, List<Payment>> result = new HashMap<>();
+                for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+                    List<String> chunk = ids.subList(from, Math.min(from + LOAD_CHUNK, ids.size()));
+                    String sql = "SELECT * FROM payments WHERE invoice_id IN ("
+                            + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") ORDER BY paid_at";
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        for (int i = 0; i < chunk.size(); i++) {
+                            stmt.setString(i + 1, chunk.get(i));
+                        }
+                        ResultSet rs = stmt.executeQuery();
+                        while (rs.next()) {
+                            Payment payment = fromResultSet(rs);
+                            result.computeIfAbsent(payment.getInvoiceId(), id -> new ArrayList<>()).add(payment);
+                        }
+                    }
+                }
+                return result;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to fetch payments by invoices", e);
+        }
     }
 
     @Override
     public List<Payment> getPaymentsByMonth(int year, int month) {
-        List<Payment> result = new ArrayList<>();
-        String sql = "SELECT * FROM payments";
-        try (Statement stmt = connection.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
-            while (rs.next()) {
-                Payment p = fromResultSet(rs);
-                if (p.getPaidAt().getYear() == year && p.getPaidAt().getMonthValue() == month)
-                    result.add(p);
-            }
+        YearMonth ym = YearMonth.of(year, month);
+        return queryPaymentsBetween(ym.atDay(1).atStartOfDay(), ym.plusMonths(1).atDay(1).atStartOfDay(),
+                "Failed to fetch payments by month");
+    }
+
+    @Override
+    public List<Payment> getPaymentsBetween(LocalDateTime start, LocalDateTime end) {
+        return queryPaymentsBetween(start, end, "Failed to fetch payments in range");
+    }
+
+    private List<Payment> queryPaymentsBetween(LocalDateTime start, LocalDateTime end, String failure) {
+        String sql = "SELECT * FROM payments WHERE paid_at >= ? AND paid_at < ? ORDER BY paid_at";
+        try {
+            return pool.read(conn -> {
+                List<Payment> result = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, start.toString());
+                    stmt.setString(2, end.toString());
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) result.add(fromResultSet(rs));
+                }
+                return result;
+            });
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to fetch payments by month", e);
+            throw new RuntimeException(failure, e);
         }
-        return result;
     }
 
     private Payment fromResultSet(ResultSet rs) throws SQLException {
@@ -71,6 +210,6 @@ public class PaymentDB implements PaymentPersistence {
         double amount = rs.getDouble("amount");
         String method = rs.getString("method");
         LocalDateTime paidAt = LocalDateTime.parse(rs.getString("paid_at"));
-        return new Payment(id, invoiceId, amount, method);
+        return new Payment(id, invoiceId, amount, method, paidAt);
     }
-}
\ No newline at end of file
+}
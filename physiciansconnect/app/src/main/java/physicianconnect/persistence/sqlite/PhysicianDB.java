@@ -1,6 +1,7 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Physician;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.PhysicianPersistence;
 
 import java.sql.*;
@@ -9,10 +10,14 @@ import java.util.List;
 
 public class PhysicianDB implements PhysicianPersistence {
 
-    private final Connection connection;
+    private final ConnectionPool pool;
 
     public PhysicianDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public PhysicianDB(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
@@ -25,19 +30,23 @@ public class PhysicianDB implements PhysicianPersistence {
                 "(id, name, email, password, specialty, officeHours, notifyAppointment, notifyBilling, notifyMessages, phone, officeAddress) "
                 +
                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, physician.getId());
-            stmt.setString(2, physician.getName());
-            stmt.setString(3, physician.getEmail());
-            stmt.setString(4, physician.getPassword());
-            stmt.setString(5, physician.getSpecialty());
-            stmt.setString(6, physician.getOfficeHours());
-            stmt.setBoolean(7, physician.isNotifyAppointment());
-            stmt.setBoolean(8, physician.isNotifyBilling());
-            stmt.setBoolean(9, physician.isNotifyMessages());
-            stmt.setString(10, physician.getPhone());
-            stmt.setString(11, physician.getOfficeAddress());
-            stmt.executeUpdate();
+        try {
+            pool.write(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, physician.getId());
+                    stmt.setString(2, physician.getName());
+                    stmt.setString(3, physician.getEmail());
+                    stmt.setString(4, physician.getPassword());
+                    stmt.setString(5, physician.getSpecialty());
+                    stmt.setString(6, physician.getOfficeHours());
+                    stmt.setBoolean(7, physician.isNotifyAppointment());
+                    stmt.setBoolean(8, physician.isNotifyBilling());
+                    stmt.setBoolean(9, physician.isNotifyMessages());
+                    stmt.setString(10, physician.getPhone());
+                    stmt.setString(11, physician.getOfficeAddress());
+                    return stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to add physician", e);
         }
@@ -45,64 +54,75 @@ public class PhysicianDB implements PhysicianPersistence {
 
     @Override
     public List<Physician> getAllPhysicians() {
-        List<Physician> list = new ArrayList<>();
         String sql = "SELECT * FROM physicians";
 
-        try (Statement stmt = connection.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                list.add(new Physician(
-                        rs.getString("id"),
-                        rs.getString("name"),
-                        rs.getString("email"),
-                        rs.getString("password"),
-                        rs.getString("specialty"),
-                        rs.getString("officeHours"),
-                        rs.getBoolean("notifyAppointment"),
-                        rs.getBoolean("notifyBilling"),
-                        rs.getBoolean("notifyMessages"),
-                        rs.getString("phone"),
-                        rs.getString("officeAddress")));
-            }
+        try {
+            return pool.read(conn -> {
+                List<Physician> list = new ArrayList<>();
+                try (Statement stmt = conn.createStatement();
+                        ResultSet rs = stmt.executeQuery(sql)) {
+                    while (rs.next()) {
+                        list.add(fromResultSet(rs));
+                    }
+                }
+                return list;
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to fetch physicians", e);
         }
-
-        return list;
     }
 
     @Override
     public Physician getPhysicianById(String id) {
         String sql = "SELECT * FROM physicians WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return new Physician(
-                        rs.getString("id"),
-                        rs.getString("name"),
-                        rs.getString("email"),
-                        rs.getString("password"),
-                        rs.getString("specialty"),
-                        rs.getString("officeHours"),
-                        rs.getBoolean("notifyAppointment"),
-                        rs.getBoolean("notifyBilling"),
-                        rs.getBoolean("notifyMessages"),
-                        rs.getString("phone"),
-                        rs.getString("officeAddress"));
-            }
+        try {
+            return pool.read(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, id);
+                    ResultSet rs = stmt.executeQuery();
+                    return rs.next() ? fromResultSet(rs) : null;
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to find physician", e);
         }
-        return null;
+    }
+
+    @Override
+    public Physician getPhysicianByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        String sql = "SELECT * FROM physicians WHERE email = ? COLLATE NOCASE";
+        try {
+            return pool.read(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, email.trim());
+                    ResultSet rs = stmt.executeQuery();
+                    return rs.next() ? fromResultSet(rs) : null;
+                }
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find physician by email", e);
+        }
     }
 
     @Override
     public void deletePhysicianById(String id) {
         String sql = "DELETE FROM physicians WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            stmt.executeUpdate();
+        try {
+            // notifications has no foreign key to cascade through (user_id may be a receptionist)
+            pool.transaction(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "DELETE FROM notifications WHERE user_id = ? AND user_type = 'physician'")) {
+                    stmt.setString(1, id);
+                    stmt.executeUpdate();
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, id);
+                    return stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete physician", e);
         }
@@ -110,8 +130,13 @@ public class PhysicianDB implements PhysicianPersistence {
 
     @Override
     public void deleteAllPhysicians() {
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute("DELETE FROM physicians");
+        try {
+            pool.transaction(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("DELETE FROM notifications WHERE user_type = 'physician'");
+                    return stmt.executeUpdate("DELETE FROM physicians");
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete all physicians", e);
         }
@@ -119,22 +144,40 @@ public class PhysicianDB implements PhysicianPersistence {
 
     @Override
     public void updatePhysician(Physician physician) {
-        try (PreparedStatement stmt = connection.prepareStatement(
-                "UPDATE physicians SET name = ?, specialty = ?, officeHours = ?, " +
-                        "notifyAppointment = ?, notifyBilling = ?, notifyMessages = ?, phone = ?, officeAddress = ? WHERE id = ?")) {
-            stmt.setString(1, physician.getName());
-            stmt.setString(2, physician.getSpecialty());
-            stmt.setString(3, physician.getOfficeHours());
-            stmt.setBoolean(4, physician.isNotifyAppointment());
-            stmt.setBoolean(5, physician.isNotifyBilling());
-            stmt.setBoolean(6, physician.isNotifyMessages());
-            stmt.setString(7, physician.getPhone());
-            stmt.setString(8, physician.getOfficeAddress());
-            stmt.setString(9, physician.getId());
-
-            stmt.executeUpdate();
+        String sql = "UPDATE physicians SET name = ?, specialty = ?, officeHours = ?, " +
+                "notifyAppointment = ?, notifyBilling = ?, notifyMessages = ?, phone = ?, officeAddress = ? WHERE id = ?";
+        try {
+            pool.write(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, physician.getName());
+                    stmt.setString(2, physician.getSpecialty());
+                    stmt.setString(3, physician.getOfficeHours());
+                    stmt.setBoolean(4, physician.isNotifyAppointment());
+                    stmt.setBoolean(5, physician.isNotifyBilling());
+                    stmt.setBoolean(6, physician.isNotifyMessages());
+                    stmt.setString(7, physician.getPhone());
+                    stmt.setString(8, physician.getOfficeAddress());
+                    stmt.setString(9, physician.getId());
+                    return stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
+
+    private Physician fromResultSet(ResultSet rs) throws SQLException {
+        return new Physician(
+                rs.getString("id"),
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getString("password"),
+                rs.getString("specialty"),
+                rs.getString("officeHours"),
+                rs.getBoolean("notifyAppointment"),
+                rs.getBoolean("notifyBilling"),
+                rs.getBoolean("notifyMessages"),
+                rs.getString("phone"),
+                rs.getString("officeAddress"));
+    }
 }
@@ -1,6 +1,7 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Receptionist;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.ReceptionistPersistence;
 
 import java.sql.*;
@@ -8,26 +9,35 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class ReceptionistDB implements ReceptionistPersistence {
-    private final Connection connection;
+    private final ConnectionPool pool;
 
     public ReceptionistDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public ReceptionistDB(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
     public Receptionist getReceptionistById(String id) {
         String sql = "SELECT * FROM receptionists WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return new Receptionist(
-                    rs.getString("id"),
-                    rs.getString("name"),
-                    rs.getString("email"),
-                    rs.getString("password")
-                );
-            }
+        try {
+            return pool.read(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, id);
+                    ResultSet rs = stmt.executeQuery();
+                    if (rs.next()) {
+                        return new Receptionist(
+                            rs.getString("id"),
+                            rs.getString("name"),
+                            rs.getString("email"),
+                            rs.getString("password")
+                        );
+                    }
+                    return null;
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -36,39 +46,39 @@ public class ReceptionistDB implements ReceptionistPersistence {
 
     @Override
     public Receptionist getReceptionistByEmail(String email) {
-        String sql = "SELECT * FROM receptionists WHERE email = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, email);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return new Receptionist(
-                        rs.getString("id"),
-                        rs.getString("name"),
-                        rs.getString("email"),
-                        rs.getString("password"),
-                        rs.getBoolean("notifyAppointment"),
-                        rs.getBoolean("notifyBilling"),
-                        rs.getBoolean("notifyMessages"));
-
-            }
+        if (email == null) {
+            return null;
+        }
+        String sql = "SELECT * FROM receptionists WHERE email = ? COLLATE NOCASE";
+        try {
+            return pool.read(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, email.trim());
+                    ResultSet rs = stmt.executeQuery();
+                    return rs.next() ? fromResultSet(rs) : null;
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to find receptionist by email", e);
         }
-        return null;
     }
 
     @Override
     public void addReceptionist(Receptionist receptionist) {
         String sql = "INSERT OR IGNORE INTO receptionists (id, name, email, password, notifyAppointment, notifyBilling, notifyMessages) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, receptionist.getId());
-            stmt.setString(2, receptionist.getName());
-            stmt.setString(3, receptionist.getEmail());
-            stmt.setString(4, receptionist.getPassword());
-            stmt.setBoolean(5, receptionist.isNotifyAppointment());
-            stmt.setBoolean(6, receptionist.isNotifyBilling());
-            stmt.setBoolean(7, receptionist.isNotifyMessages());
-            stmt.executeUpdate();
+        try {
+            pool.write(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, receptionist.getId());
+                    stmt.setString(2, receptionist.getName());
+                    stmt.setString(3, receptionist.getEmail());
+                    stmt.setString(4, receptionist.getPassword());
+                    stmt.setBoolean(5, receptionist.isNotifyAppointment());
+                    stmt.setBoolean(6, receptionist.isNotifyBilling());
+                    stmt.setBoolean(7, receptionist.isNotifyMessages());
+                    return stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to add receptionist", e);
         }
@@ -76,24 +86,21 @@ public class ReceptionistDB implements ReceptionistPersistence {
 
     @Override
     public List<Receptionist> getAllReceptionists() {
-        List<Receptionist> list = new ArrayList<>();
         String sql = "SELECT * FROM receptionists";
-        try (Statement stmt = connection.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                list.add(new Receptionist(
-                        rs.getString("id"),
-                        rs.getString("name"),
-                        rs.getString("email"),
-                        rs.getString("password"),
-                        rs.getBoolean("notifyAppointment"),
-                        rs.getBoolean("notifyBilling"),
-                        rs.getBoolean("notifyMessages")));
-            }
+        try {
+            return pool.read(conn -> {
+                List<Receptionist> list = new ArrayList<>();
+                try (Statement stmt = conn.createStatement();
+                        ResultSet rs = stmt.executeQuery(sql)) {
+                    while (rs.next()) {
+                        list.add(fromResultSet(rs));
+                    }
+                }
+                return list;
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to fetch receptionists", e);
         }
-        return list;
     }
 
     @Override
@@ -104,15 +111,19 @@ public class ReceptionistDB implements ReceptionistPersistence {
                         notifyAppointment = ?, notifyBilling = ?, notifyMessages = ?
                     WHERE id = ?
                 """;
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, receptionist.getName());
-            stmt.setString(2, receptionist.getEmail());
-            stmt.setString(3, receptionist.getPassword());
-            stmt.setBoolean(4, receptionist.isNotifyAppointment());
-            stmt.setBoolean(5, receptionist.isNotifyBilling());
-            stmt.setBoolean(6, receptionist.isNotifyMessages());
-            stmt.setString(7, receptionist.getId());
-            stmt.executeUpdate();
+        try {
+            pool.write(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, receptionist.getName());
+                    stmt.setString(2, receptionist.getEmail());
+                    stmt.setString(3, receptionist.getPassword());
+                    stmt.setBoolean(4, receptionist.isNotifyAppointment());
+                    stmt.setBoolean(5, receptionist.isNotifyBilling());
+                    stmt.setBoolean(6, receptionist.isNotifyMessages());
+                    stmt.setString(7, receptionist.getId());
+                    return stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to update receptionist", e);
         }
@@ -120,30 +131,50 @@ public class ReceptionistDB implements ReceptionistPersistence {
 
     @Override
     public List<String> getAllReceptionistIds() {
-        List<String> ids = new ArrayList<>();
         String sql = "SELECT id FROM receptionists";
-        
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                ids.add(rs.getString("id"));
-            }
+
+        try {
+            return pool.read(conn -> {
+                List<String> ids = new ArrayList<>();
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery(sql)) {
+                    while (rs.next()) {
+                        ids.add(rs.getString("id"));
+                    }
+                }
+                return ids;
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        
-        return ids;
+
+        return new ArrayList<>();
     }
 
     @Override
     public void deleteReceptionist(String id) {
         String sql = "DELETE FROM receptionists WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            stmt.executeUpdate();
+        try {
+            pool.write(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, id);
+                    return stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
-}
\ No newline at end of file
+    private Receptionist fromResultSet(ResultSet rs) throws SQLException {
+        return new Receptionist(
+                rs.getString("id"),
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getString("password"),
+                rs.getBoolean("notifyAppointment"),
+                rs.getBoolean("notifyBilling"),
+                rs.getBoolean("notifyMessages"));
+    }
+
+}
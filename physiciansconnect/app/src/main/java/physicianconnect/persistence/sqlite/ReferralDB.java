@@ -1,84 +1,77 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Referral;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.ReferralPersistence;
 
 import java.sql.*;
 import java.util.*;
 
 public class ReferralDB implements ReferralPersistence {
-    private final Connection connection;
+    private static final String INSERT_SQL = "INSERT INTO referrals (physician_id, patient_name, referral_type, details, date_created) VALUES (?, ?, ?, ?, ?)";
+
+    private final ConnectionPool pool;
 
     public ReferralDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public ReferralDB(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
     public void addReferral(Referral referral) {
-        String sql = "INSERT INTO referrals (physician_id, patient_name, referral_type, details, date_created) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, referral.getPhysicianId());
-            stmt.setString(2, referral.getPatientName());
-            stmt.setString(3, referral.getReferralType());
-            stmt.setString(4, referral.getDetails());
-            stmt.setString(5, referral.getDateCreated());
-            stmt.executeUpdate();
+        try {
+            pool.write(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
+                    bind(stmt, referral);
+                    return stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to add referral", e);
         }
     }
 
     @Override
-    public List<Referral> getReferralsForPhysician(String physicianId) {
-        List<Referral> list = new ArrayList<>();
-        String sql = "SELECT * FROM referrals WHERE physician_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, physicianId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                list.add(new Referral(
-                    rs.getInt("id"),
-                    rs.getString("physician_id"),
-                    rs.getString("patient_name"),
-                    rs.getString("referral_type"),
-                    rs.getString("details"),
-                    rs.getString("date_created")
-                ));
-            }
+    public void addReferrals(Collection<Referral> referrals) {
+        try {
+            BatchInsert.run(pool, INSERT_SQL, referrals, ReferralDB::bind);
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to fetch referrals", e);
+            throw new RuntimeException("Failed to add referrals", e);
         }
-        return list;
+    }
+
+    private static void bind(PreparedStatement stmt, Referral referral) throws SQLException {
+        stmt.setString(1, referral.getPhysicianId());
+        stmt.setString(2, referral.getPatientName());
+        stmt.setString(3, referral.getReferralType());
+        stmt.setString(4, referral.getDetails());
+        stmt.setString(5, referral.getDateCreated());
+    }
+
+    @Override
+    public List<Referral> getReferralsForPhysician(String physicianId) {
+        String sql = "SELECT * FROM referrals WHERE physician_id = ?";
+        return queryReferrals(sql, physicianId);
     }
 
     @Override
     public List<Referral> getReferralsForPatient(String patientName) {
-        List<Referral> list = new ArrayList<>();
         String sql = "SELECT * FROM referrals WHERE patient_name = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, patientName);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                list.add(new Referral(
-                    rs.getInt("id"),
-                    rs.getString("physician_id"),
-                    rs.getString("patient_name"),
-                    rs.getString("referral_type"),
-                    rs.getString("details"),
-                    rs.getString("date_created")
-                ));
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to fetch referrals", e);
-        }
-        return list;
+        return queryReferrals(sql, patientName);
     }
 
     @Override
     public void deleteReferralById(int id) {
-        try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM referrals WHERE id = ?")) {
-            stmt.setInt(1, id);
-            stmt.executeUpdate();
+        try {
+            pool.write(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM referrals WHERE id = ?")) {
+                    stmt.setInt(1, id);
+                    return stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete referral", e);
         }
@@ -86,10 +79,40 @@ public class ReferralDB implements ReferralPersistence {
 
     @Override
     public void deleteAllReferrals() {
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute("DELETE FROM referrals");
+        try {
+            pool.write(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    return stmt.executeUpdate("DELETE FROM referrals");
+                }
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete all referrals", e);
         }
     }
-}
\ No newline at end of file
+
+    // Helper for single-parameter referral lookups
+    private List<Referral> queryReferrals(String sql, String param) {
+        try {
+            return pool.read(conn -> {
+                List<Referral> list = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, param);
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        list.add(new Referral(
+                            rs.getInt("id"),
+                            rs.getString("physician_id"),
+                            rs.getString("patient_name"),
+                            rs.getString("referral_type"),
+                            rs.getString("details"),
+                            rs.getString("date_created")
+                        ));
+                    }
+                }
+                return list;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to fetch referrals", e);
+        }
+    }
+}
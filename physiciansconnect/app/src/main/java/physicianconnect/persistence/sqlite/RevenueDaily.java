@@ -0,0 +1,100 @@
+package physicianconnect.persistence.sqlite;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-day revenue totals in {@code revenue_daily}, keyed by the day invoices
+ * were created, so a summary over any range sums one row per day instead of
+ * every invoice. {@link InvoiceDB} applies a {@link Delta} in the same
+ * transaction as each invoice insert, balance change and delete;
+ * {@link #rebuild} recomputes the table from invoices and reports the days
+ * that had drifted.
+ */
+public final class RevenueDaily {
+
+    static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS revenue_daily ("
+            + "day TEXT PRIMARY KEY, "
+            + "invoice_count INTEGER NOT NULL, "
+            + "billed_cents INTEGER NOT NULL, "
+            + "paid_cents INTEGER NOT NULL"
+            + ") WITHOUT ROWID";
+
+    /** What revenue_daily should hold, computed from the raw invoices. */
+    private static final String FROM_INVOICES = "SELECT substr(created_at, 1, 10) AS day, COUNT(*), "
+            + "COALESCE(SUM(CAST(ROUND(total_amount * 100) AS INTEGER)), 0), "
+            + "COALESCE(SUM(CAST(ROUND(total_amount * 100) AS INTEGER) - CAST(ROUND(balance * 100) AS INTEGER)), 0) "
+            + "FROM invoices WHERE created_at IS NOT NULL GROUP BY day";
+
+    private static final String TABLE_ROWS = "SELECT day, invoice_count, billed_cents, paid_cents FROM revenue_daily";
+
+    private static final String UPSERT_SQL = "INSERT INTO revenue_daily (day, invoice_count, billed_cents, paid_cents) "
+            + "VALUES (?, ?, ?, ?) ON CONFLICT(day) DO UPDATE SET "
+            + "invoice_count = invoice_count + excluded.invoice_count, "
+            + "billed_cents = billed_cents + excluded.billed_cents, "
+            + "paid_cents = paid_cents + excluded.paid_cents";
+
+    /** A change to one day's totals. */
+    record Delta(String day, int invoices, long billedCents, long paidCents) {
+
+        static String dayOf(LocalDateTime createdAt) {
+            return createdAt.toLocalDate().toString();
+        }
+
+        Delta plus(Delta other) {
+            return new Delta(day, invoices + other.invoices, billedCents + other.billedCents,
+                    paidCents + other.paidCents);
+        }
+    }
+
+    private RevenueDaily() {
+    }
+
+    /** Adds {@code deltas} in the caller's transaction, merging those for the same day first. */
+    static void apply(Connection conn, Collection<Delta> deltas) throws SQLException {
+        Map<String, Delta> byDay = new LinkedHashMap<>();
+        for (Delta delta : deltas) {
+            byDay.merge(delta.day(), delta, Delta::plus);
+        }
+        BatchInsert.run(conn, UPSERT_SQL, byDay.values(), (stmt, delta) -> {
+            stmt.setString(1, delta.day());
+            stmt.setInt(2, delta.invoices());
+            stmt.setLong(3, delta.billedCents());
+            stmt.setLong(4, delta.paidCents());
+        });
+        // A day whose last invoice was deleted has nothing left to report
+        BatchInsert.run(conn, "DELETE FROM revenue_daily WHERE day = ? AND invoice_count = 0",
+                byDay.keySet(), (stmt, day) -> stmt.setString(1, day));
+    }
+
+    /**
+     * Replaces the table with totals recomputed from invoices.
+     *
+     * @return the days whose stored totals differed, oldest first
+     */
+    public static List<String> rebuild(Connection conn) throws SQLException {
+        List<String> drifted = new ArrayList<>();
+        String diff = "SELECT day FROM (" + FROM_INVOICES + " EXCEPT " + TABLE_ROWS + ") "
+                + "UNION SELECT day FROM (" + TABLE_ROWS + " EXCEPT " + FROM_INVOICES + ") ORDER BY day";
+        try (PreparedStatement stmt = conn.prepareStatement(diff)) {
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                drifted.add(rs.getString(1));
+            }
+        }
+        if (!drifted.isEmpty()) {
+            SchemaMigrations.execute(conn,
+                    "DELETE FROM revenue_daily",
+                    "INSERT INTO revenue_daily (day, invoice_count, billed_cents, paid_cents) " + FROM_INVOICES);
+        }
+        return drifted;
+    }
+}
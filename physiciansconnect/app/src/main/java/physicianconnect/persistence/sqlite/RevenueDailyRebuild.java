@@ -0,0 +1,40 @@
+package physicianconnect.persistence.sqlite;
+
+import physicianconnect.persistence.ConnectionPool;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Checks the revenue_daily totals of a database file against its invoices
+ * and rewrites them if any day drifted, e.g. after invoices were edited by
+ * hand. Prints the days that were corrected and exits with status 1 if there
+ * were any.
+ *
+ * Run with {@code gradle rebuildRevenue -Pdb=prod.db}.
+ */
+public class RevenueDailyRebuild {
+
+    private RevenueDailyRebuild() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("usage: RevenueDailyRebuild <database file>");
+            System.exit(2);
+        }
+        List<String> drifted;
+        try (ConnectionPool pool = ConnectionPool.open(args[0], 1)) {
+            SchemaInitializer.initializeSchema(pool.getWriterConnection());
+            drifted = new InvoiceDB(pool).rebuildRevenueDaily();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to close " + args[0], e);
+        }
+        if (drifted.isEmpty()) {
+            System.out.println("revenue_daily matches invoices");
+            return;
+        }
+        System.out.printf("Corrected %d day(s): %s%n", drifted.size(), String.join(", ", drifted));
+        System.exit(1);
+    }
+}
@@ -79,7 +79,6 @@ public class SchemaInitializer {
                                 + "id TEXT PRIMARY KEY, "
                                 + "appointment_id INTEGER, "
                                 + "patient_name TEXT, "
-                                + "services TEXT, "
                                 + "insurance_adjustment REAL, "
                                 + "total_amount REAL, "
                                 + "balance REAL, "
@@ -113,8 +112,7 @@ public class SchemaInitializer {
                                 + "user_type TEXT NOT NULL, "
                                 + "message TEXT NOT NULL, "
                                 + "type TEXT NOT NULL, "
-                                + "timestamp TEXT NOT NULL, "
-                                + "FOREIGN KEY (user_id) REFERENCES physicians(id) ON DELETE CASCADE"
+                                + "timestamp TEXT NOT NULL"
                                 + ");";
 
                 try (Statement stmt = connection.createStatement()) {
@@ -132,5 +130,8 @@ public class SchemaInitializer {
                 } catch (SQLException e) {
                         throw new RuntimeException("Failed to initialize PhysicianConnect schema", e);
                 }
+
+                // Indexes and later column changes live in versioned migrations
+                SchemaMigrations.migrate(connection);
         }
 }
\ No newline at end of file
@@ -0,0 +1,321 @@
+package physicianconnect.persistence.sqlite;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Ordered, versioned schema changes applied on top of the base tables from
+ * {@link SchemaInitializer}. The applied version is kept in
+ * {@code schema_version}; each pending step runs in its own transaction and
+ * must be idempotent so databases created by older builds converge on the same
+ * schema. {@code ANALYZE} is refreshed whenever a step is applied.
+ */
+public class SchemaMigrations {
+
+    @FunctionalInterface
+    interface Step {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    static final class Migration {
+        final int version;
+        final String description;
+        final Step step;
+
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Add notifications.is_read",
+                    conn -> addColumnIfMissing(conn, "notifications", "is_read", "INTEGER DEFAULT 0")),
+            new Migration(2, "Secondary indexes for hot lookups", conn -> execute(conn,
+                    "CREATE INDEX IF NOT EXISTS idx_appointments_physician_datetime ON appointments(physician_id, datetime)",
+                    "CREATE INDEX IF NOT EXISTS idx_messages_receiver ON messages(receiver_id, receiver_type, is_read)",
+                    "CREATE INDEX IF NOT EXISTS idx_messages_sender ON messages(sender_id, sender_type)",
+                    "CREATE INDEX IF NOT EXISTS idx_notifications_user ON notifications(user_id, user_type, timestamp)",
+                    "CREATE INDEX IF NOT EXISTS idx_prescriptions_patient ON prescriptions(patient_name)",
+                    "CREATE INDEX IF NOT EXISTS idx_prescriptions_physician ON prescriptions(physician_id)",
+                    "CREATE INDEX IF NOT EXISTS idx_referrals_patient ON referrals(patient_name)",
+                    "CREATE INDEX IF NOT EXISTS idx_referrals_physician ON referrals(physician_id)",
+                    "CREATE INDEX IF NOT EXISTS idx_receptionists_email ON receptionists(email)",
+                    "CREATE INDEX IF NOT EXISTS idx_payments_invoice ON payments(invoice_id)",
+                    "CREATE INDEX IF NOT EXISTS idx_invoices_created_at ON invoices(created_at)",
+                    "CREATE INDEX IF NOT EXISTS idx_invoices_appointment ON invoices(appointment_id)")),
+            new Migration(3, "Index payments by paid_at for range queries", conn -> execute(conn,
+                    "CREATE INDEX IF NOT EXISTS idx_payments_paid_at ON payments(paid_at)")),
+            new Migration(4, "Drop physicians foreign key from notifications",
+                    SchemaMigrations::dropNotificationsForeignKey),
+            new Migration(5, "Index messages by conversation for keyset paging", conn -> execute(conn,
+                    "CREATE INDEX IF NOT EXISTS idx_messages_conversation "
+                            + "ON messages(sender_id, sender_type, receiver_id, receiver_type, timestamp, message_id)")),
+            new Migration(6, "Sequence numbers for incremental message and notification polling", conn -> {
+                addColumnIfMissing(conn, "messages", "seq", "INTEGER");
+                execute(conn,
+                        "UPDATE messages SET seq = rowid WHERE seq IS NULL",
+                        "CREATE UNIQUE INDEX IF NOT EXISTS idx_messages_seq ON messages(seq)",
+                        "CREATE INDEX IF NOT EXISTS idx_messages_receiver_seq ON messages(receiver_id, receiver_type, seq)",
+                        "CREATE INDEX IF NOT EXISTS idx_notifications_user_seq ON notifications(user_id, user_type, id)");
+            }),
+            new Migration(7, "Partial indexes over unread rows for warming unread counts", conn -> execute(conn,
+                    "CREATE INDEX IF NOT EXISTS idx_messages_unread ON messages(receiver_id, receiver_type) WHERE is_read = 0",
+                    "CREATE INDEX IF NOT EXISTS idx_notifications_unread ON notifications(user_id, user_type) WHERE is_read = 0")),
+            new Migration(8, "One appointment per physician and time slot", conn -> {
+                moveDoubleBookings(conn);
+                execute(conn,
+                        "DROP INDEX IF EXISTS idx_appointments_physician_datetime",
+                        "CREATE UNIQUE INDEX idx_appointments_physician_datetime ON appointments(physician_id, datetime)");
+            }),
+            new Migration(9, "Index appointments by datetime for clinic-wide calendar scans", conn -> execute(conn,
+                    "CREATE INDEX IF NOT EXISTS idx_appointments_datetime ON appointments(datetime)")),
+            new Migration(10, "Unique case-insensitive staff emails", conn -> {
+                uniqueEmails(conn, "physicians");
+                uniqueEmails(conn, "receptionists");
+                execute(conn, "DROP INDEX IF EXISTS idx_receptionists_email");
+            }),
+            new Migration(11, "Indexes for paging and prefix search in schedule and billing tables", conn -> execute(conn,
+                    "CREATE INDEX IF NOT EXISTS idx_appointments_patient_nocase ON appointments(patient_name COLLATE NOCASE)",
+                    "CREATE INDEX IF NOT EXISTS idx_invoices_patient_nocase ON invoices(patient_name COLLATE NOCASE)",
+                    // Widened so (created_at, id) keyset cursors over text ids seek instead of sorting
+                    "DROP INDEX IF EXISTS idx_invoices_created_at",
+                    "CREATE INDEX idx_invoices_created_at ON invoices(created_at, id)")),
+            new Migration(12, "Invoice line items in their own table with integer cents", conn -> {
+                execute(conn, "CREATE TABLE IF NOT EXISTS invoice_items ("
+                        + "invoice_id TEXT NOT NULL REFERENCES invoices(id) ON DELETE CASCADE, "
+                        + "position INTEGER NOT NULL, "
+                        + "service_name TEXT NOT NULL, "
+                        + "amount_cents INTEGER NOT NULL, "
+                        + "PRIMARY KEY (invoice_id, position)"
+                        + ") WITHOUT ROWID");
+                splitInvoiceServices(conn);
+            }),
+            new Migration(13, "Daily revenue totals maintained with each invoice write", conn -> {
+                execute(conn, RevenueDaily.CREATE_TABLE);
+                RevenueDaily.rebuild(conn);
+            }),
+            new Migration(14, "Idempotency keys for safely retried payments", conn -> {
+                addColumnIfMissing(conn, "payments", "idempotency_key", "TEXT");
+                execute(conn, "CREATE UNIQUE INDEX IF NOT EXISTS idx_payments_idempotency_key "
+                        + "ON payments(idempotency_key) WHERE idempotency_key IS NOT NULL");
+            }));
+
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    /**
+     * Brings the schema up to {@link #latestVersion()}.
+     *
+     * @return the number of migrations applied
+     */
+    public static int migrate(Connection connection) {
+        try {
+            execute(connection, "CREATE TABLE IF NOT EXISTS schema_version ("
+                    + "version INTEGER PRIMARY KEY, "
+                    + "description TEXT NOT NULL, "
+                    + "applied_at TEXT NOT NULL"
+                    + ")");
+
+            int current = currentVersion(connection);
+            int applied = 0;
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version <= current) {
+                    continue;
+                }
+                apply(connection, migration);
+                applied++;
+            }
+
+            if (applied > 0) {
+                execute(connection, "ANALYZE");
+            }
+            return applied;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to migrate PhysicianConnect schema", e);
+        }
+    }
+
+    public static int currentVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void apply(Connection connection, Migration migration) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            migration.step.apply(connection);
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "INSERT INTO schema_version (version, description, applied_at) VALUES (?, ?, ?)")) {
+                stmt.setInt(1, migration.version);
+                stmt.setString(2, migration.description);
+                stmt.setString(3, LocalDateTime.now().toString());
+                stmt.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("Migration " + migration.version + " (" + migration.description + ") failed", e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    static void execute(Connection connection, String... statements) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String sql : statements) {
+                stmt.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * notifications.user_id points at physicians or receptionists depending on
+     * user_type, so the old FOREIGN KEY to physicians rejected receptionist rows.
+     * SQLite cannot drop a constraint in place, so the table is rebuilt.
+     */
+    private static void dropNotificationsForeignKey(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("PRAGMA foreign_key_list(notifications)")) {
+            if (!rs.next()) {
+                return;
+            }
+        }
+        execute(connection,
+                "CREATE TABLE notifications_rebuild ("
+                        + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                        + "user_id TEXT NOT NULL, "
+                        + "user_type TEXT NOT NULL, "
+                        + "message TEXT NOT NULL, "
+                        + "type TEXT NOT NULL, "
+                        + "timestamp TEXT NOT NULL, "
+                        + "is_read INTEGER DEFAULT 0"
+                        + ")",
+                "INSERT INTO notifications_rebuild (id, user_id, user_type, message, type, timestamp, is_read) "
+                        + "SELECT id, user_id, user_type, message, type, timestamp, is_read FROM notifications",
+                "DROP TABLE notifications",
+                "ALTER TABLE notifications_rebuild RENAME TO notifications",
+                "CREATE INDEX IF NOT EXISTS idx_notifications_user ON notifications(user_id, user_type, timestamp)");
+    }
+
+    /**
+     * Double bookings from the old check-then-insert race would block the
+     * unique slot index. The earliest booking keeps the slot; the others move,
+     * with their original ids, to appointment_conflicts, where
+     * {@code kept_id} names the booking they clashed with, so staff can
+     * rebook them. Invoices written against a moved booking point at the
+     * kept one, as the cascade on appointments would otherwise delete them.
+     */
+    private static void moveDoubleBookings(Connection connection) throws SQLException {
+        execute(connection,
+                "CREATE TABLE IF NOT EXISTS appointment_conflicts ("
+                        + "id INTEGER PRIMARY KEY, "
+                        + "physician_id TEXT NOT NULL, "
+                        + "patient_name TEXT NOT NULL, "
+                        + "datetime TEXT NOT NULL, "
+                        + "notes TEXT, "
+                        + "kept_id INTEGER NOT NULL"
+                        + ")",
+                "INSERT INTO appointment_conflicts (id, physician_id, patient_name, datetime, notes, kept_id) "
+                        + "SELECT dup.id, dup.physician_id, dup.patient_name, dup.datetime, dup.notes, "
+                        + "(SELECT MIN(keep.id) FROM appointments keep "
+                        + "WHERE keep.physician_id = dup.physician_id AND keep.datetime = dup.datetime) "
+                        + "FROM appointments dup WHERE dup.id NOT IN "
+                        + "(SELECT MIN(id) FROM appointments GROUP BY physician_id, datetime)",
+                "UPDATE invoices SET appointment_id = "
+                        + "(SELECT kept_id FROM appointment_conflicts c WHERE c.id = invoices.appointment_id) "
+                        + "WHERE appointment_id IN (SELECT id FROM appointment_conflicts)",
+                "DELETE FROM appointments WHERE id IN (SELECT id FROM appointment_conflicts)");
+    }
+
+    /**
+     * Trims stored emails and indexes them {@code UNIQUE COLLATE NOCASE}.
+     * Lookups used to return whichever row matched first, so accounts that
+     * only differ from an older one by case could never sign in; they keep
+     * their rows but get {@code #<id>} appended to the email so the index can
+     * be built.
+     */
+    private static void uniqueEmails(Connection connection, String table) throws SQLException {
+        execute(connection,
+                "UPDATE " + table + " SET email = TRIM(email) WHERE email <> TRIM(email)",
+                "UPDATE " + table + " SET email = email || '#' || id WHERE rowid NOT IN "
+                        + "(SELECT MIN(rowid) FROM " + table + " GROUP BY email COLLATE NOCASE)",
+                "CREATE UNIQUE INDEX IF NOT EXISTS idx_" + table + "_email_nocase ON "
+                        + table + "(email COLLATE NOCASE)");
+    }
+
+    /**
+     * Moves the {@code name:cost;name:cost} strings in invoices.services into
+     * invoice_items and drops the column. Each part is split at its last ':',
+     * so names containing a colon, which the old reader dropped, are kept;
+     * parts whose cost does not parse are skipped as before.
+     */
+    private static void splitInvoiceServices(Connection connection) throws SQLException {
+        if (!columnExists(connection, "invoices", "services")) {
+            return;
+        }
+        try (Statement select = connection.createStatement();
+                ResultSet rs = select.executeQuery("SELECT id, services FROM invoices WHERE services <> ''");
+                PreparedStatement insert = connection.prepareStatement("INSERT OR IGNORE INTO invoice_items "
+                        + "(invoice_id, position, service_name, amount_cents) VALUES (?, ?, ?, ?)")) {
+            int pending = 0;
+            while (rs.next()) {
+                int position = 0;
+                for (String part : rs.getString(2).split(";")) {
+                    int colon = part.lastIndexOf(':');
+                    if (colon <= 0) {
+                        continue;
+                    }
+                    double cost;
+                    try {
+                        cost = Double.parseDouble(part.substring(colon + 1));
+                    } catch (NumberFormatException e) {
+                        continue;
+                    }
+                    insert.setString(1, rs.getString(1));
+                    insert.setInt(2, position++);
+                    insert.setString(3, part.substring(0, colon));
+                    insert.setLong(4, Cents.of(cost));
+                    insert.addBatch();
+                    if (++pending == BatchInsert.BATCH_SIZE) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                insert.executeBatch();
+            }
+        }
+        execute(connection, "ALTER TABLE invoices DROP COLUMN services");
+    }
+
+    static boolean columnExists(Connection connection, String table, String column) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static void addColumnIfMissing(Connection connection, String table, String column, String definition)
+            throws SQLException {
+        if (!columnExists(connection, table, column)) {
+            execute(connection, "ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+    }
+}
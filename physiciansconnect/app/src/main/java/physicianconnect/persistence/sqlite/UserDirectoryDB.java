@@ -0,0 +1,51 @@
+package physicianconnect.persistence.sqlite;
+
+import physicianconnect.persistence.ConnectionPool;
+import physicianconnect.persistence.interfaces.UserDirectory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Probes the {@code COLLATE NOCASE} email indexes of both account tables in
+ * one statement.
+ */
+public class UserDirectoryDB implements UserDirectory {
+
+    private static final String FIND_BY_EMAIL =
+            "SELECT id, 'physician' AS user_type FROM physicians WHERE email = ?1 COLLATE NOCASE "
+                    + "UNION ALL "
+                    + "SELECT id, 'receptionist' AS user_type FROM receptionists WHERE email = ?1 COLLATE NOCASE "
+                    + "LIMIT 1";
+
+    private final ConnectionPool pool;
+
+    public UserDirectoryDB(Connection connection) {
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public UserDirectoryDB(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public UserAccount findUserByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        try {
+            return pool.read(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(FIND_BY_EMAIL)) {
+                    stmt.setString(1, email.trim());
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        return rs.next() ? new UserAccount(rs.getString("id"), rs.getString("user_type")) : null;
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find user by email", e);
+        }
+    }
+}
@@ -1,19 +1,30 @@
 package physicianconnect.persistence.stub;
 
 import physicianconnect.objects.Appointment;
+import physicianconnect.objects.AppointmentWithPhysician;
+import physicianconnect.objects.Physician;
 import physicianconnect.persistence.interfaces.AppointmentPersistence;
+import physicianconnect.persistence.interfaces.PhysicianPersistence;
 
 import java.time.LocalDateTime;
 import java.util.*;
 
 public class AppointmentPersistenceStub implements AppointmentPersistence {
     private final List<Appointment> appointments;
+    private final PhysicianPersistence physicians;
+    private int nextId = 1;
 
     public AppointmentPersistenceStub(boolean seed) {
+        this(seed, null);
+    }
+
+    /** With {@code physicians}, joined rows carry physician names like the SQLite store's. */
+    public AppointmentPersistenceStub(boolean seed, PhysicianPersistence physicians) {
+        this.physicians = physicians;
         appointments = new ArrayList<>();
         if (seed) {
-            appointments.add(new Appointment("1", "Alice Johnson", java.time.LocalDateTime.of(2025, 5, 30, 10, 0)));
-            appointments.add(new Appointment("2", "Bob Brown", java.time.LocalDateTime.of(2025, 6, 1, 14, 30)));
+            appointments.add(withId(new Appointment("1", "Alice Johnson", java.time.LocalDateTime.of(2025, 5, 30, 10, 0))));
+            appointments.add(withId(new Appointment("2", "Bob Brown", java.time.LocalDateTime.of(2025, 6, 1, 14, 30))));
         }
     }
 
@@ -29,21 +40,61 @@ public class AppointmentPersistenceStub implements AppointmentPersistence {
     }
 
     @Override
-    public void addAppointment(Appointment appointment) {
-        appointments.add(appointment);
+    public boolean addAppointment(Appointment appointment) {
+        if (slotTaken(appointment, null)) {
+            return false;
+        }
+        appointments.add(withId(appointment));
+        return true;
+    }
+
+    /** Numbers rows like an autoincrement key; rows that already carry an id keep it. */
+    private Appointment withId(Appointment appointment) {
+        if (appointment.getId() >= 0) {
+            nextId = Math.max(nextId, appointment.getId() + 1);
+            return appointment;
+        }
+        return new Appointment(nextId++, appointment.getPhysicianId(), appointment.getPatientName(),
+                appointment.getDateTime(), appointment.getNotes());
+    }
+
+    private boolean slotTaken(Appointment appointment, Appointment ignore) {
+        for (Appointment existing : appointments) {
+            if (existing != ignore
+                    && existing.getPhysicianId().equals(appointment.getPhysicianId())
+                    && existing.getDateTime().equals(appointment.getDateTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void addAppointments(Collection<Appointment> newAppointments) {
+        for (Appointment appointment : newAppointments) {
+            appointments.add(withId(appointment));
+        }
     }
 
     @Override
-    public void updateAppointment(Appointment appointment) {
+    public boolean updateAppointment(Appointment appointment) {
         for (int i = 0; i < appointments.size(); i++) {
             Appointment existing = appointments.get(i);
-            if (existing.getPhysicianId().equals(appointment.getPhysicianId()) &&
-                    existing.getPatientName().equals(appointment.getPatientName()) &&
-                    existing.getDateTime().equals(appointment.getDateTime())) {
-                appointments.set(i, appointment);
-                break;
+            // Like the SQLite update, match on the id when there is one
+            boolean same = appointment.getId() >= 0 ? existing.getId() == appointment.getId()
+                    : existing.getPhysicianId().equals(appointment.getPhysicianId()) &&
+                            existing.getPatientName().equals(appointment.getPatientName()) &&
+                            existing.getDateTime().equals(appointment.getDateTime());
+            if (same) {
+                if (slotTaken(appointment, existing)) {
+                    return false;
+                }
+                appointments.set(i, new Appointment(existing.getId(), appointment.getPhysicianId(),
+                        appointment.getPatientName(), appointment.getDateTime(), appointment.getNotes()));
+                return true;
             }
         }
+        throw new IllegalArgumentException("No appointment with id " + appointment.getId());
     }
 
     @Override
@@ -76,6 +127,96 @@ public class AppointmentPersistenceStub implements AppointmentPersistence {
         return result;
     }
 
+    @Override
+    public List<Appointment> getAppointmentsInRange(LocalDateTime start, LocalDateTime end) {
+        List<Appointment> result = new ArrayList<>();
+        for (Appointment appt : appointments) {
+            LocalDateTime dt = appt.getDateTime();
+            if (!dt.isBefore(start) && dt.isBefore(end)) {
+                result.add(appt);
+            }
+        }
+        result.sort(Comparator.comparing(Appointment::getDateTime));
+        return result;
+    }
+
+    @Override
+    public List<Appointment> getAppointmentsForPhysiciansInRange(
+            Collection<String> physicianIds,
+            LocalDateTime start,
+            LocalDateTime end) {
+        List<Appointment> result = new ArrayList<>();
+        for (Appointment appt : getAppointmentsInRange(start, end)) {
+            if (physicianIds.contains(appt.getPhysicianId())) {
+                result.add(appt);
+            }
+        }
+        result.sort(Comparator.comparing(Appointment::getPhysicianId));
+        return result;
+    }
+
+    @Override
+    public List<AppointmentWithPhysician> getAppointmentsWithPhysician(
+            String physicianId,
+            LocalDateTime start,
+            LocalDateTime end,
+            int offset,
+            int limit) {
+        List<AppointmentWithPhysician> result = new ArrayList<>();
+        appointments.stream()
+                .filter(a -> physicianId == null || a.getPhysicianId().equals(physicianId))
+                .filter(a -> start == null || !a.getDateTime().isBefore(start))
+                .filter(a -> end == null || a.getDateTime().isBefore(end))
+                .sorted(Comparator.comparing(Appointment::getDateTime).thenComparingInt(Appointment::getId))
+                .skip(Math.max(offset, 0))
+                .limit(limit > 0 ? limit : Long.MAX_VALUE)
+                .forEach(a -> result.add(new AppointmentWithPhysician(a, physicianName(a.getPhysicianId()))));
+        return result;
+    }
+
+    @Override
+    public int countAppointments(String physicianId, String patientPrefix) {
+        return (int) appointments.stream().filter(a -> matches(a, physicianId, patientPrefix)).count();
+    }
+
+    @Override
+    public List<AppointmentWithPhysician> getAppointmentPage(
+            String physicianId,
+            String patientPrefix,
+            boolean newestFirst,
+            Appointment after,
+            int offset,
+            int limit) {
+        Comparator<Appointment> order = Comparator.comparing(Appointment::getDateTime)
+                .thenComparingInt(Appointment::getId);
+        Comparator<Appointment> pageOrder = newestFirst ? order.reversed() : order;
+        List<AppointmentWithPhysician> result = new ArrayList<>();
+        appointments.stream()
+                .filter(a -> matches(a, physicianId, patientPrefix))
+                .filter(a -> after == null || pageOrder.compare(a, after) > 0)
+                .sorted(pageOrder)
+                .skip(after == null ? Math.max(offset, 0) : 0)
+                .limit(limit)
+                .forEach(a -> result.add(new AppointmentWithPhysician(a, physicianName(a.getPhysicianId()))));
+        return result;
+    }
+
+    private static boolean matches(Appointment appointment, String physicianId, String patientPrefix) {
+        if (physicianId != null && !appointment.getPhysicianId().equals(physicianId)) {
+            return false;
+        }
+        if (patientPrefix == null || patientPrefix.isBlank()) {
+            return true;
+        }
+        String p = patientPrefix.trim();
+        return appointment.getPatientName().regionMatches(true, 0, p, 0, p.length());
+    }
+
+    private String physicianName(String physicianId) {
+        Physician physician = physicians == null ? null : physicians.getPhysicianById(physicianId);
+        return physician == null ? null : physician.getName();
+    }
+
     @Override
     public List<Appointment> getAllAppointments() {
         return new ArrayList<>(appointments);
@@ -1,10 +1,14 @@
 package physicianconnect.persistence.stub;
 
 import physicianconnect.objects.Invoice;
+import physicianconnect.objects.RevenueTotals;
 import physicianconnect.objects.ServiceItem;
+import physicianconnect.objects.ServiceRevenue;
 import physicianconnect.persistence.interfaces.InvoicePersistence;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 
 public class InvoicePersistenceStub implements InvoicePersistence {
@@ -46,6 +50,13 @@ public class InvoicePersistenceStub implements InvoicePersistence {
         }
     }
 
+    @Override
+    public void addInvoices(Collection<Invoice> newInvoices) {
+        for (Invoice invoice : newInvoices) {
+            addInvoice(invoice);
+        }
+    }
+
     @Override
     public Invoice getInvoiceById(String id) {
         return invoices.get(id);
@@ -53,13 +64,36 @@ public class InvoicePersistenceStub implements InvoicePersistence {
 
     @Override
     public List<Invoice> getInvoicesByMonth(int year, int month) {
+        YearMonth ym = YearMonth.of(year, month);
+        return getInvoicesBetween(ym.atDay(1).atStartOfDay(), ym.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    @Override
+    public List<Invoice> getInvoicesBetween(LocalDateTime start, LocalDateTime end) {
         List<Invoice> result = new ArrayList<>();
         for (Invoice inv : invoices.values()) {
             LocalDateTime created = inv.getCreatedAt();
-            if (created.getYear() == year && created.getMonthValue() == month) {
+            // include invoices where start <= created < end
+            if (!created.isBefore(start) && created.isBefore(end)) {
                 result.add(inv);
             }
         }
+        result.sort(Comparator.comparing(Invoice::getCreatedAt));
+        return result;
+    }
+
+    /** Same order as the SQLite range query: oldest first, then id. */
+    private static final Comparator<Invoice> RANGE_ORDER = Comparator.comparing(Invoice::getCreatedAt)
+            .thenComparing(Invoice::getId);
+
+    @Override
+    public List<Invoice> getInvoicesBetween(LocalDateTime start, LocalDateTime end, Invoice after, int limit) {
+        List<Invoice> result = new ArrayList<>();
+        getInvoicesBetween(start, end).stream()
+                .filter(inv -> after == null || RANGE_ORDER.compare(inv, after) > 0)
+                .sorted(RANGE_ORDER)
+                .limit(limit)
+                .forEach(result::add);
         return result;
     }
 
@@ -68,6 +102,70 @@ public class InvoicePersistenceStub implements InvoicePersistence {
         return new ArrayList<>(invoices.values());
     }
 
+    /** Same order as the SQLite page query: newest first, then id descending. */
+    private static final Comparator<Invoice> PAGE_ORDER = Comparator.comparing(Invoice::getCreatedAt)
+            .thenComparing(Invoice::getId).reversed();
+
+    @Override
+    public int countInvoices(String patientPrefix) {
+        return (int) invoices.values().stream().filter(inv -> startsWith(inv, patientPrefix)).count();
+    }
+
+    @Override
+    public List<Invoice> getInvoicePage(String patientPrefix, Invoice after, int offset, int limit) {
+        List<Invoice> result = new ArrayList<>();
+        invoices.values().stream()
+                .filter(inv -> startsWith(inv, patientPrefix))
+                .filter(inv -> after == null || PAGE_ORDER.compare(inv, after) > 0)
+                .sorted(PAGE_ORDER)
+                .skip(after == null ? Math.max(offset, 0) : 0)
+                .limit(limit)
+                .forEach(result::add);
+        return result;
+    }
+
+    private static boolean startsWith(Invoice invoice, String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return true;
+        }
+        String p = prefix.trim();
+        return invoice.getPatientName() != null && invoice.getPatientName().regionMatches(true, 0, p, 0, p.length());
+    }
+
+    @Override
+    public List<ServiceRevenue> getRevenueByService(LocalDateTime start, LocalDateTime end) {
+        Map<String, long[]> totals = new HashMap<>();
+        for (Invoice inv : getInvoicesBetween(start, end)) {
+            for (ServiceItem item : inv.getServices()) {
+                long[] t = totals.computeIfAbsent(item.getName(), name -> new long[2]);
+                t[0]++;
+                t[1] += Math.round(item.getCost() * 100);
+            }
+        }
+        List<ServiceRevenue> result = new ArrayList<>();
+        totals.forEach((name, t) -> result.add(new ServiceRevenue(name, (int) t[0], t[1])));
+        result.sort(Comparator.comparingLong(ServiceRevenue::revenueCents).reversed()
+                .thenComparing(ServiceRevenue::serviceName));
+        return result;
+    }
+
+    @Override
+    public RevenueTotals getRevenueTotals(LocalDate start, LocalDate end) {
+        int count = 0;
+        long billed = 0;
+        long paid = 0;
+        for (Invoice inv : invoices.values()) {
+            LocalDate day = inv.getCreatedAt().toLocalDate();
+            if ((start == null || !day.isBefore(start)) && (end == null || day.isBefore(end))) {
+                long total = Math.round(inv.getTotalAmount() * 100);
+                count++;
+                billed += total;
+                paid += total - Math.round(inv.getBalance() * 100);
+            }
+        }
+        return new RevenueTotals(count, billed, paid);
+    }
+
     @Override
     public void updateInvoice(Invoice invoice) {
         if (invoice != null && invoice.getId() != null) {
@@ -1,19 +1,33 @@
 package physicianconnect.persistence.stub;
 
+import physicianconnect.objects.Invoice;
 import physicianconnect.objects.Payment;
+import physicianconnect.persistence.interfaces.InvoicePersistence;
 import physicianconnect.persistence.interfaces.PaymentPersistence;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 
 public class PaymentPersistenceStub implements PaymentPersistence {
     private final List<Payment> payments;
+    private final Map<String, Payment> byIdempotencyKey = new HashMap<>();
+    private final InvoicePersistence invoices;
 
     public PaymentPersistenceStub() {
         this(true);
     }
 
     public PaymentPersistenceStub(boolean seed) {
+        this(seed, null);
+    }
+
+    /**
+     * @param invoices whose balances {@link #recordPayment} draws down; with
+     *                 null, payments are recorded without checking a balance
+     */
+    public PaymentPersistenceStub(boolean seed, InvoicePersistence invoices) {
+        this.invoices = invoices;
         payments = new ArrayList<>();
         if (seed) {
             // Example seeded payments
@@ -29,6 +43,41 @@ public class PaymentPersistenceStub implements PaymentPersistence {
         }
     }
 
+    @Override
+    public synchronized Payment recordPayment(Payment payment, String idempotencyKey) {
+        if (idempotencyKey != null && byIdempotencyKey.containsKey(idempotencyKey)) {
+            return byIdempotencyKey.get(idempotencyKey);
+        }
+        long cents = Math.round(payment.getAmount() * 100);
+        if (invoices != null) {
+            Invoice invoice = invoices.getInvoiceById(payment.getInvoiceId());
+            if (invoice == null) {
+                throw new IllegalArgumentException("No invoice with id " + payment.getInvoiceId());
+            }
+            long balance = Math.round(invoice.getBalance() * 100);
+            if (balance < cents) {
+                return null;
+            }
+            invoice.setBalance((balance - cents) / 100.0);
+            invoice.setStatus(balance == cents ? "Paid" : "Partial");
+            invoices.updateInvoice(invoice);
+        }
+        Payment stored = new Payment(payment.getId(), payment.getInvoiceId(), cents / 100.0, payment.getMethod(),
+                payment.getPaidAt());
+        payments.add(stored);
+        if (idempotencyKey != null) {
+            byIdempotencyKey.put(idempotencyKey, stored);
+        }
+        return stored;
+    }
+
+    @Override
+    public void addPayments(Collection<Payment> newPayments) {
+        for (Payment payment : newPayments) {
+            addPayment(payment);
+        }
+    }
+
     @Override
     public List<Payment> getPaymentsByInvoice(String invoiceId) {
         List<Payment> result = new ArrayList<>();
@@ -38,14 +87,33 @@ public class PaymentPersistenceStub implements PaymentPersistence {
         return result;
     }
 
+    @Override
+    public Map<String, List<Payment>> getPaymentsByInvoices(Collection<String> invoiceIds) {
+        Set<String> wanted = new HashSet<>(invoiceIds);
+        Map<String, List<Payment>> result = new HashMap<>();
+        payments.stream()
+                .filter(p -> wanted.contains(p.getInvoiceId()))
+                .sorted(Comparator.comparing(Payment::getPaidAt))
+                .forEach(p -> result.computeIfAbsent(p.getInvoiceId(), id -> new ArrayList<>()).add(p));
+        return result;
+    }
+
     @Override
     public List<Payment> getPaymentsByMonth(int year, int month) {
+        YearMonth ym = YearMonth.of(year, month);
+        return getPaymentsBetween(ym.atDay(1).atStartOfDay(), ym.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    @Override
+    public List<Payment> getPaymentsBetween(LocalDateTime start, LocalDateTime end) {
         List<Payment> result = new ArrayList<>();
         for (Payment p : payments) {
             LocalDateTime paidAt = p.getPaidAt();
-            if (paidAt.getYear() == year && paidAt.getMonthValue() == month)
+            // include payments where start <= paidAt < end
+            if (!paidAt.isBefore(start) && paidAt.isBefore(end))
                 result.add(p);
         }
+        result.sort(Comparator.comparing(Payment::getPaidAt));
         return result;
     }
 
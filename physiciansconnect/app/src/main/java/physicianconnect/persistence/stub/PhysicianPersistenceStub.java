@@ -45,6 +45,19 @@ public class PhysicianPersistenceStub implements PhysicianPersistence {
         return physicians.get(id);
     }
 
+    @Override
+    public Physician getPhysicianByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        for (Physician p : physicians.values()) {
+            if (p.getEmail().equalsIgnoreCase(email.trim())) {
+                return p;
+            }
+        }
+        return null;
+    }
+
     public void deletePhysicianById(String id) {
         physicians.remove(id);
     }
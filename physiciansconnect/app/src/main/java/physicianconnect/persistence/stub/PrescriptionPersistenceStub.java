@@ -55,6 +55,13 @@ public PrescriptionPersistenceStub(boolean seed) {
         prescriptions.put(withId.getId(), withId);
     }
 
+    @Override
+    public void addPrescriptions(Collection<Prescription> newPrescriptions) {
+        for (Prescription prescription : newPrescriptions) {
+            addPrescription(prescription);
+        }
+    }
+
     @Override
     public List<Prescription> getPrescriptionsForPatient(String patientName) {
         List<Prescription> result = new ArrayList<>();
@@ -27,8 +27,11 @@ public class ReceptionistPersistenceStub implements ReceptionistPersistence {
 
     @Override
     public Receptionist getReceptionistByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
         for (Receptionist r : receptionists.values()) {
-            if (r.getEmail().equalsIgnoreCase(email)) {
+            if (r.getEmail().equalsIgnoreCase(email.trim())) {
                 return r;
             }
         }
@@ -23,6 +23,13 @@ public class ReferralPersistenceStub implements ReferralPersistence {
                 referral.getReferralType(), referral.getDetails(), referral.getDateCreated()));
     }
 
+    @Override
+    public void addReferrals(Collection<Referral> newReferrals) {
+        for (Referral referral : newReferrals) {
+            addReferral(referral);
+        }
+    }
+
     @Override
     public List<Referral> getReferralsForPhysician(String physicianId) {
         List<Referral> result = new ArrayList<>();
@@ -1,10 +1,17 @@
 package physicianconnect.persistence.stub;
 
+import physicianconnect.persistence.UnreadCounter;
 import physicianconnect.persistence.interfaces.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import physicianconnect.objects.Notification;
+import physicianconnect.objects.NotificationCategory;
+import physicianconnect.objects.Physician;
+import physicianconnect.objects.Receptionist;
 
 public class StubFactory {
 
@@ -16,6 +23,10 @@ public class StubFactory {
         return new AppointmentPersistenceStub(true); // seeded
     }
 
+    public static AppointmentPersistence createAppointmentPersistence(PhysicianPersistence physicians) {
+        return new AppointmentPersistenceStub(true, physicians); // seeded
+    }
+
     public static MedicationPersistence createMedicationPersistence() {
         return new MedicationPersistenceStub(true); // seeded
     }
@@ -40,16 +51,55 @@ public class StubFactory {
         return new PaymentPersistenceStub(true); // seeded
     }
 
+    public static PaymentPersistence createPaymentPersistence(InvoicePersistence invoices) {
+        return new PaymentPersistenceStub(true, invoices); // seeded
+    }
+
     public static NotificationPersistence createNotificationPersistence() {
-        return new StubNotificationPersistence();
+        return createNotificationPersistence(createReceptionistPersistence());
+    }
+
+    public static NotificationPersistence createNotificationPersistence(ReceptionistPersistence receptionists) {
+        return new StubNotificationPersistence(receptionists);
+    }
+
+    public static UserDirectory createUserDirectory(PhysicianPersistence physicians,
+            ReceptionistPersistence receptionists) {
+        return email -> {
+            Physician physician = physicians.getPhysicianByEmail(email);
+            if (physician != null) {
+                return new UserDirectory.UserAccount(physician.getId(), "physician");
+            }
+            Receptionist receptionist = receptionists.getReceptionistByEmail(email);
+            return receptionist == null ? null : new UserDirectory.UserAccount(receptionist.getId(), "receptionist");
+        };
     }
 
     private static class StubNotificationPersistence implements NotificationPersistence {
         private final List<Notification> notifications = new ArrayList<>();
+        private final ReceptionistPersistence receptionists;
+        private final UnreadCounter unread = new UnreadCounter();
+        private long sequence;
+
+        StubNotificationPersistence(ReceptionistPersistence receptionists) {
+            this.receptionists = receptionists;
+            unread.warm(Map.of());
+        }
 
         @Override
         public void addNotification(Notification notification) {
+            notification.setSeq(++sequence);
             notifications.add(notification);
+            if (!notification.isRead()) {
+                unread.adjust(notification.getUserId(), notification.getUserType(), 1);
+            }
+        }
+
+        @Override
+        public void addNotifications(Collection<Notification> newNotifications) {
+            for (Notification notification : newNotifications) {
+                addNotification(notification);
+            }
         }
 
         @Override
@@ -62,6 +112,66 @@ public class StubFactory {
         @Override
         public void clearNotificationsForUser(String userId, String userType) {
             notifications.removeIf(n -> n.getUserId().equals(userId) && n.getUserType().equals(userType));
+            unread.clear(userId, userType);
+        }
+
+        @Override
+        public void markNotificationAsRead(Notification notification) {
+            for (Notification stored : notifications) {
+                if (!stored.isRead() && stored.getSeq() == notification.getSeq()) {
+                    stored.markAsRead();
+                    unread.adjust(stored.getUserId(), stored.getUserType(), -1);
+                }
+            }
+            notification.markAsRead();
+        }
+
+        @Override
+        public int markAllNotificationsRead(String userId, String userType, long upToId) {
+            int marked = 0;
+            for (Notification stored : notifications) {
+                if (!stored.isRead() && stored.getUserId().equals(userId) && stored.getUserType().equals(userType)
+                        && stored.getSeq() <= upToId) {
+                    stored.markAsRead();
+                    marked++;
+                }
+            }
+            unread.adjust(userId, userType, -marked);
+            return marked;
+        }
+
+        @Override
+        public int countUnreadNotifications(String userId, String userType) {
+            return unread.get(userId, userType);
+        }
+
+        @Override
+        public List<Notification> findSince(String userId, String userType, long lastSeq) {
+            return notifications.stream()
+                .filter(n -> n.getUserId().equals(userId) && n.getUserType().equals(userType)
+                        && n.getSeq() > lastSeq)
+                .collect(Collectors.toList());
+        }
+
+        @Override
+        public long latestSequence() {
+            return sequence;
+        }
+
+        @Override
+        public int broadcastToReceptionists(String message, String type, NotificationCategory category) {
+            if (receptionists == null) {
+                return 0;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            int sent = 0;
+            for (Receptionist receptionist : receptionists.getAllReceptionists()) {
+                if (category.isEnabledFor(receptionist)) {
+                    addNotification(new Notification(message, type, now, receptionist.getId(), "receptionist"));
+                    sent++;
+                }
+            }
+            return sent;
         }
     }
 }
\ No newline at end of file
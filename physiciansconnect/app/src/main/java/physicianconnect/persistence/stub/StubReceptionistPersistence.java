@@ -31,8 +31,11 @@ public class StubReceptionistPersistence implements ReceptionistPersistence {
 
     @Override
     public Receptionist getReceptionistByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
         return receptionists.stream()
-                .filter(r -> r.getEmail().equalsIgnoreCase(email))
+                .filter(r -> r.getEmail().equalsIgnoreCase(email.trim()))
                 .findFirst()
                 .orElse(null);
     }
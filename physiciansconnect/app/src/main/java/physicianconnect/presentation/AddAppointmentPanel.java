@@ -32,8 +32,11 @@ import java.util.ArrayList;
 
 
 
+import physicianconnect.logic.AvailabilityService;
+import physicianconnect.logic.SlotSearchCriteria;
 import physicianconnect.logic.controller.AppointmentController;
 import physicianconnect.logic.exceptions.InvalidAppointmentException;
+import physicianconnect.objects.Physician;
 import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.presentation.config.UITheme;
 
@@ -41,6 +44,8 @@ import physicianconnect.presentation.config.UITheme;
  * AddAppointmentDialog supports:
  *  • A 3-arg constructor  (parent, controller, physicianId)
  *  • A 4-arg constructor  (parent, controller, physicianId, onSuccessCallback)
+ *  • A 5-arg constructor  (parent, controller, physician, availabilityService, onSuccessCallback)
+ *    that adds a “Suggest” button filling in the physician’s next free slot
  */
 public class AddAppointmentPanel extends JDialog {
 
@@ -50,12 +55,17 @@ public class AddAppointmentPanel extends JDialog {
     private final AppointmentController appointmentController;
     private final String physicianId;
     private final Runnable onSuccessCallback;  // may be null
+    private final Physician physician;                    // may be null
+    private final AvailabilityService availabilityService; // may be null
 
     private JTextField patientNameField;
     public JSpinner dateSpinner;
     public JComboBox<String> timeCombo;
     private JTextArea notesArea;
 
+    private static final int SUGGESTION_COUNT = 5;
+    private static final DateTimeFormatter SUGGESTION_FORMAT = DateTimeFormatter.ofPattern("EEE yyyy-MM-dd HH:mm");
+
     /*------------------------------------------------------------------*/
     /* Constructors                                                     */
     /*------------------------------------------------------------------*/
@@ -69,9 +79,28 @@ public class AddAppointmentPanel extends JDialog {
                                 AppointmentController appointmentController,
                                 String physicianId,
                                 Runnable onSuccessCallback) {
+        this(parent, appointmentController, physicianId, null, null, onSuccessCallback);
+    }
+
+    public AddAppointmentPanel(JFrame parent,
+                                AppointmentController appointmentController,
+                                Physician physician,
+                                AvailabilityService availabilityService,
+                                Runnable onSuccessCallback) {
+        this(parent, appointmentController, physician.getId(), physician, availabilityService, onSuccessCallback);
+    }
+
+    private AddAppointmentPanel(JFrame parent,
+                                AppointmentController appointmentController,
+                                String physicianId,
+                                Physician physician,
+                                AvailabilityService availabilityService,
+                                Runnable onSuccessCallback) {
         super(parent, UIConfig.ADD_APPOINTMENT_DIALOG_TITLE, true);
         this.appointmentController = appointmentController;
         this.physicianId = physicianId;
+        this.physician = physician;
+        this.availabilityService = availabilityService;
         this.onSuccessCallback = onSuccessCallback;
         initializeUI();
         setLocationRelativeTo(parent);
@@ -182,6 +211,11 @@ public class AddAppointmentPanel extends JDialog {
         saveBtn.addActionListener(e -> saveAppointment());
         cancelBtn.addActionListener(e -> dispose());
 
+        if (availabilityService != null) {
+            JButton suggestBtn = createStyledButton(UIConfig.SUGGEST_SLOT_BUTTON_TEXT);
+            suggestBtn.addActionListener(e -> suggestSlot());
+            buttonPanel.add(suggestBtn);
+        }
         buttonPanel.add(saveBtn);
         buttonPanel.add(cancelBtn);
         add(buttonPanel, BorderLayout.SOUTH);
@@ -203,6 +237,39 @@ public class AddAppointmentPanel extends JDialog {
         return slots;
     }
 
+    /**
+     * Offers the physician’s next free slots from the selected date on (never
+     * earlier than now) and fills in the one the user picks.
+     */
+    void suggestSlot() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = ((Date) dateSpinner.getValue()).toInstant()
+                .atZone(ZoneId.systemDefault()).toLocalDate().atStartOfDay();
+        List<AvailabilityService.FreeSlot> free = availabilityService.findNextAvailable(
+                SlotSearchCriteria.among(List.of(physician), from.isAfter(now) ? from : now), SUGGESTION_COUNT);
+        if (free.isEmpty()) {
+            JOptionPane.showMessageDialog(this, UIConfig.NO_FREE_SLOTS_MESSAGE,
+                    UIConfig.SUGGEST_SLOT_DIALOG_TITLE, JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        String[] options = new String[free.size()];
+        for (int i = 0; i < options.length; i++) {
+            options[i] = free.get(i).start().format(SUGGESTION_FORMAT);
+        }
+        Object choice = JOptionPane.showInputDialog(this, UIConfig.SUGGEST_SLOT_PROMPT,
+                UIConfig.SUGGEST_SLOT_DIALOG_TITLE, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        for (int i = 0; i < options.length; i++) {
+            if (options[i].equals(choice)) {
+                applySlot(free.get(i).start());
+            }
+        }
+    }
+
+    void applySlot(LocalDateTime slot) {
+        dateSpinner.setValue(Date.from(slot.atZone(ZoneId.systemDefault()).toInstant()));
+        timeCombo.setSelectedItem(slot.toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")));
+    }
+
     /*------------------------------------------------------------------*/
     /* Save logic                                                       */
     /*------------------------------------------------------------------*/
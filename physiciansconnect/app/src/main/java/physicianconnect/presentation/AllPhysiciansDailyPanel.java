@@ -1,15 +1,18 @@
 package physicianconnect.presentation;
 
 import physicianconnect.logic.controller.AppointmentController;
+import physicianconnect.logic.controller.AsyncFacade;
 import physicianconnect.logic.manager.PhysicianManager;
 import physicianconnect.logic.AvailabilityService;
 import physicianconnect.objects.Physician;
+import physicianconnect.objects.TimeSlot;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class AllPhysiciansDailyPanel extends JPanel {
@@ -19,7 +22,9 @@ public class AllPhysiciansDailyPanel extends JPanel {
     private final AppointmentController appointmentController;
     private final AvailabilityService availabilityService;
     private final LocalDate date;
-    private List<Physician> allPhysicians;
+    private final AsyncFacade async;
+    private List<Physician> allPhysicians = List.of();
+    private Map<String, Map<LocalDate, List<TimeSlot>>> slotsByPhysician = Map.of();
 
     public AllPhysiciansDailyPanel(
             PhysicianManager physicianManager,
@@ -27,11 +32,24 @@ public class AllPhysiciansDailyPanel extends JPanel {
             AvailabilityService availabilityService,
             LocalDate date,
             java.util.function.Consumer<LocalDate> onDateChange
+    ) {
+        this(physicianManager, appointmentController, availabilityService, date, onDateChange,
+                AsyncFacade.getDefault());
+    }
+
+    public AllPhysiciansDailyPanel(
+            PhysicianManager physicianManager,
+            AppointmentController appointmentController,
+            AvailabilityService availabilityService,
+            LocalDate date,
+            java.util.function.Consumer<LocalDate> onDateChange,
+            AsyncFacade async
     ) {
         this.physicianManager = physicianManager;
         this.appointmentController = appointmentController;
         this.availabilityService = availabilityService;
         this.date = date;
+        this.async = async;
 
         setLayout(new BorderLayout(10, 10));
         setBackground(new Color(245, 247, 250));
@@ -73,10 +91,6 @@ public class AllPhysiciansDailyPanel extends JPanel {
                 JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
         add(scrollPane, BorderLayout.CENTER);
 
-        // Load all physicians and display panels
-        allPhysicians = physicianManager.getAllPhysicians();
-        updatePhysicianPanels(allPhysicians);
-
         // Search filter
         searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
             public void insertUpdate(javax.swing.event.DocumentEvent e) {
@@ -92,13 +106,40 @@ public class AllPhysiciansDailyPanel extends JPanel {
             }
 
             private void filter() {
-                String text = searchField.getText().trim().toLowerCase();
-                List<Physician> filtered = allPhysicians.stream()
-                        .filter(p -> p.getName().toLowerCase().contains(text))
-                        .collect(Collectors.toList());
-                updatePhysicianPanels(filtered);
+                applyFilter();
             }
         });
+
+        loadPhysicians();
+    }
+
+    private void applyFilter() {
+        String text = searchField.getText().trim().toLowerCase();
+        List<Physician> filtered = allPhysicians.stream()
+                .filter(p -> p.getName().toLowerCase().contains(text))
+                .collect(Collectors.toList());
+        updatePhysicianPanels(filtered);
+    }
+
+    /** The physicians and their day in one query off the EDT; the search filter reuses both. */
+    private void loadPhysicians() {
+        async.supply(() -> {
+                    List<Physician> physicians = physicianManager.getAllPhysicians();
+                    Map<String, Map<LocalDate, List<TimeSlot>>> slots;
+                    try {
+                        slots = availabilityService.getAvailabilityForPhysicians(
+                                physicians.stream().map(Physician::getId).collect(Collectors.toList()), date, date);
+                    } catch (Exception ex) {
+                        ex.printStackTrace();
+                        slots = Map.of();
+                    }
+                    return Map.entry(physicians, slots);
+                })
+                .whenComplete(AsyncFacade.handle(loaded -> {
+                    allPhysicians = loaded.getKey();
+                    slotsByPhysician = loaded.getValue();
+                    applyFilter();
+                }, Throwable::printStackTrace));
     }
 
     private void updatePhysicianPanels(List<Physician> physicians) {
@@ -117,11 +158,19 @@ public class AllPhysiciansDailyPanel extends JPanel {
                     availabilityService,
                     appointmentController,
                     date,
-                    () -> date.with(DayOfWeek.MONDAY));
+                    slotsFor(p.getId()),
+                    () -> date.with(DayOfWeek.MONDAY),
+                    async);
             panelWithLabel.add(dailyPanel, BorderLayout.CENTER);
             panelsContainer.add(panelWithLabel);
         }
         panelsContainer.revalidate();
         panelsContainer.repaint();
     }
-}
\ No newline at end of file
+
+    private List<TimeSlot> slotsFor(String physicianId) {
+        Map<LocalDate, List<TimeSlot>> days = slotsByPhysician.get(physicianId);
+        List<TimeSlot> slots = days == null ? null : days.get(date);
+        return slots != null ? slots : TimeSlot.generateDailySlots(date);
+    }
+}
@@ -2,6 +2,7 @@ package physicianconnect.presentation;
 
 import physicianconnect.logic.AvailabilityService;
 import physicianconnect.logic.controller.AppointmentController;
+import physicianconnect.logic.controller.AsyncFacade;
 import physicianconnect.objects.TimeSlot;
 import physicianconnect.objects.Appointment;
 import physicianconnect.presentation.config.UIConfig;
@@ -30,6 +31,8 @@ public class DailyAvailabilityPanel extends JPanel {
     private final AvailabilityService availabilityService;
     private final AppointmentController appointmentController;
     private final Runnable onDayChanged;
+    private final AsyncFacade async;
+    private final AsyncFacade.Latest<List<TimeSlot>> dayLoads;
 
     private LocalDate currentDate;
     private List<TimeSlot> currentSlots;
@@ -52,18 +55,47 @@ public class DailyAvailabilityPanel extends JPanel {
                                   AppointmentController apptController,
                                   LocalDate date,
                                   Runnable onDayChanged) {
+        this(physicianId, svc, apptController, date, null, onDayChanged);
+    }
+
+    /**
+     * @param slots                the day’s slots if the caller already loaded them
+     *                             (e.g. for many physicians at once), or null to load here
+     */
+    public DailyAvailabilityPanel(String physicianId,
+                                  AvailabilityService svc,
+                                  AppointmentController apptController,
+                                  LocalDate date,
+                                  List<TimeSlot> slots,
+                                  Runnable onDayChanged) {
+        this(physicianId, svc, apptController, date, slots, onDayChanged, AsyncFacade.getDefault());
+    }
+
+    public DailyAvailabilityPanel(String physicianId,
+                                  AvailabilityService svc,
+                                  AppointmentController apptController,
+                                  LocalDate date,
+                                  List<TimeSlot> slots,
+                                  Runnable onDayChanged,
+                                  AsyncFacade async) {
         this.physicianId          = physicianId;
         this.availabilityService  = svc;
         this.appointmentController = apptController;
         this.currentDate          = date;
         this.onDayChanged         = onDayChanged;
+        this.async                = async;
+        this.dayLoads             = async.latest();
 
         int totalWidth  = TIME_LABEL_WIDTH + SLOT_COLUMN_WIDTH;
         int totalHeight = SLOT_COUNT * PIXEL_PER_SLOT;
         setPreferredSize(new Dimension(totalWidth + 1, totalHeight + 1));
         setBackground(UITheme.BACKGROUND_COLOR);
 
-        loadSlotsForDate(date);
+        if (slots != null) {
+            this.currentSlots = slots;
+        } else {
+            loadSlotsForDate(date);
+        }
 
         // When user clicks on a slot, either book a new appointment or view/edit an existing one:
         addMouseListener(new MouseAdapter() {
@@ -127,14 +159,21 @@ public class DailyAvailabilityPanel extends JPanel {
                         addDlg.setVisible(true);
                     }
                 } else {
-                    // → BOOKED slot: find matching Appointment by exact date/time via controller
-                    Appointment existingAppt = appointmentController
-                            .getAppointmentsForPhysician(String.valueOf(physicianId))
-                            .stream()
-                            .filter(a -> a.getDateTime().equals(slotTime))
-                            .findFirst()
-                            .orElse(null);
+                    openBookedSlot(slotTime);
+                }
+            }
+        });
+    }
 
+    /** Finds the appointment in a booked slot off the EDT and opens it. */
+    private void openBookedSlot(LocalDateTime slotTime) {
+        async.supply(() -> appointmentController
+                        .getAppointmentsForPhysician(String.valueOf(physicianId))
+                        .stream()
+                        .filter(a -> a.getDateTime().equals(slotTime))
+                        .findFirst()
+                        .orElse(null))
+                .whenComplete(AsyncFacade.handle(existingAppt -> {
                     if (existingAppt != null) {
                         ViewAppointmentPanel viewDlg = new ViewAppointmentPanel(
                                 (JFrame) SwingUtilities.getWindowAncestor(DailyAvailabilityPanel.this),
@@ -148,34 +187,34 @@ public class DailyAvailabilityPanel extends JPanel {
                         );
                         viewDlg.setVisible(true);
                     } else {
-                        JOptionPane.showMessageDialog(
-                                DailyAvailabilityPanel.this,
-                                UIConfig.ERROR_APPOINTMENT_NOT_FOUND,
-                                UIConfig.ERROR_DIALOG_TITLE,
-                                JOptionPane.ERROR_MESSAGE
-                        );
+                        showAppointmentNotFound();
                     }
-                }
-            }
-        });
+                }, error -> showAppointmentNotFound()));
+    }
+
+    private void showAppointmentNotFound() {
+        JOptionPane.showMessageDialog(
+                DailyAvailabilityPanel.this,
+                UIConfig.ERROR_APPOINTMENT_NOT_FOUND,
+                UIConfig.ERROR_DIALOG_TITLE,
+                JOptionPane.ERROR_MESSAGE
+        );
     }
 
     /**
-     * Loads 16 half-hour slots for the given date.
-     * On SQLException, falls back to “all free” using TimeSlot.generateDailySlots().
+     * Shows {@code date} as all free at once and fills in the bookings when
+     * the query returns; loading another day before then drops this one's
+     * answer. On exception the day stays all free.
      */
     public void loadSlotsForDate(LocalDate date) {
         this.currentDate = date;
-        try {
-            this.currentSlots = availabilityService.getDailyAvailability(
-                    String.valueOf(physicianId),
-                    date
-            );
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            this.currentSlots = TimeSlot.generateDailySlots(date);
-        }
+        this.currentSlots = TimeSlot.generateDailySlots(date);
         repaint();
+        dayLoads.supply(() -> availabilityService.getDailyAvailability(String.valueOf(physicianId), date))
+                .whenComplete(AsyncFacade.handle(slots -> {
+                    this.currentSlots = slots;
+                    repaint();
+                }, Throwable::printStackTrace));
     }
 
     /**
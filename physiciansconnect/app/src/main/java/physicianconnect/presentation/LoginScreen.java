@@ -10,6 +10,7 @@ import physicianconnect.logic.manager.AppointmentManager;
 import physicianconnect.logic.manager.PhysicianManager;
 import physicianconnect.logic.manager.ReceptionistManager;
 import physicianconnect.logic.validation.CredentialVerification;
+import physicianconnect.persistence.PersistenceFactory;
 import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.presentation.config.UITheme;
 import java.nio.file.Path;
@@ -346,7 +347,8 @@ public class LoginScreen extends JFrame {
             String password = new String(passwordField.getPassword());
             String confirmPassword = new String(confirmPasswordField.getPassword());
 
-            CredentialVerification verification = new CredentialVerification(physicianManager, receptionistManager, dialog);
+            CredentialVerification verification = new CredentialVerification(physicianManager, receptionistManager,
+                    PersistenceFactory.getUserDirectory(), dialog);
             if (!verification.verifySignUpData(name, email, password, confirmPassword)) {
                 errorLabel.setText("Please check all fields and try again");
                 return;
@@ -2,6 +2,7 @@
 
 package physicianconnect.presentation;
 
+import physicianconnect.logic.controller.AsyncFacade;
 import physicianconnect.logic.controller.MessageController;
 import physicianconnect.logic.exceptions.InvalidMessageException;
 import physicianconnect.objects.Message;
@@ -15,7 +16,9 @@ import java.awt.*;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class MessagePanel extends JPanel {
@@ -32,11 +35,31 @@ public class MessagePanel extends JPanel {
     private final List<Object> allUsers; // Physician or Receptionist
     private Object selectedRecipient;
     private final JLabel selectedRecipientLabel;
+    private final JScrollPane messageScrollPane;
+    private boolean hasOlderMessages;
+    private boolean pagingEnabled;
+    private final AsyncFacade async;
+    private final AsyncFacade.Latest<List<Message>> conversationLoads;
+    private final AsyncFacade.Latest<UnreadCounts> unreadLoads;
+    /** Unread messages per sender, keyed by {@link #senderKey}; read by the recipient renderer. */
+    private Map<String, Integer> unreadBySender = Map.of();
+
+    private record UnreadCounts(int total, Map<String, Integer> bySender) {
+    }
 
+    private static final int PAGE_SIZE = 50;
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern(UIConfig.TIME_FORMAT_PATTERN);
 
     public MessagePanel(MessageController messageController, String currentUserId, String currentUserType,
             List<Object> users) {
+        this(messageController, currentUserId, currentUserType, users, AsyncFacade.getDefault());
+    }
+
+    public MessagePanel(MessageController messageController, String currentUserId, String currentUserType,
+            List<Object> users, AsyncFacade async) {
+        this.async = async;
+        this.conversationLoads = async.latest();
+        this.unreadLoads = async.latest();
         this.currentUserId = currentUserId;
         this.currentUserType = currentUserType;
         this.messageController = messageController;
@@ -110,14 +133,10 @@ public class MessagePanel extends JPanel {
                 String name = UserUtil.getUserName(value);
                 String email = UserUtil.getUserEmail(value);
                 // Show unread count for this user
-                List<Message> unreadMessages = messageController
-                        .getUnreadMessagesForUser(currentUserId, currentUserType)
-                        .stream()
-                        .filter(m -> m.getSenderId().equals(UserUtil.getUserId(value))
-                                && m.getSenderType().equals(UserUtil.getUserType(value)))
-                        .collect(Collectors.toList());
-                String unreadText = !unreadMessages.isEmpty() ? 
-                    String.format(" (<span style='color: red;'>%d unread</span>)", unreadMessages.size()) : "";
+                int unread = unreadBySender.getOrDefault(
+                        senderKey(UserUtil.getUserId(value), UserUtil.getUserType(value)), 0);
+                String unreadText = unread > 0 ?
+                    String.format(" (<span style='color: red;'>%d unread</span>)", unread) : "";
                 setText("<html>" + name + " (" + email + ")" + unreadText + "</html>");
                 return this;
             }
@@ -161,10 +180,18 @@ public class MessagePanel extends JPanel {
         messageList.setFont(UITheme.LABEL_FONT);
         messageList.setBackground(UITheme.BACKGROUND_COLOR);
         messageList.setFixedCellHeight(60);
-        JScrollPane messageScrollPane = new JScrollPane(messageList);
+        messageScrollPane = new JScrollPane(messageList);
         messageScrollPane.setPreferredSize(new Dimension(400, 300));
         messageScrollPane.setBorder(BorderFactory.createTitledBorder(UIConfig.MESSAGES_BORDER));
 
+        // Page older messages in when the user scrolls to the top
+        messageScrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            if (pagingEnabled && hasOlderMessages
+                    && e.getValue() == e.getAdjustable().getMinimum()) {
+                loadOlderMessages();
+            }
+        });
+
         // ─────────── Input Panel ───────────
         JPanel inputPanel = new JPanel(new BorderLayout(10, 10));
         inputPanel.setBackground(UITheme.BACKGROUND_COLOR);
@@ -210,8 +237,9 @@ public class MessagePanel extends JPanel {
         add(searchContainer, BorderLayout.WEST);
         add(messageContainer, BorderLayout.CENTER);
 
-        // Show all users by default
+        // Show all users by default, with their unread counts once loaded
         showAllUsers();
+        updateUnreadCount();
     }
 
     private void showAllUsers() {
@@ -232,67 +260,122 @@ public class MessagePanel extends JPanel {
     }
 
     private void refreshMessages() {
+        pagingEnabled = false;
+        hasOlderMessages = false;
         messageListModel.clear();
-        if (selectedRecipient != null) {
-            List<Message> messages = messageController.getAllMessagesForUser(currentUserId, currentUserType);
-            String recipientId = UserUtil.getUserId(selectedRecipient);
-            List<Message> conversationMessages = messages.stream()
-                    .filter(m -> ((m.getSenderId().equals(currentUserId) && m.getSenderType().equals(currentUserType) &&
-                            m.getReceiverId().equals(UserUtil.getUserId(selectedRecipient))
-                            && m.getReceiverType().equals(UserUtil.getUserType(selectedRecipient)))
-                            ||
-                            (m.getReceiverId().equals(currentUserId) && m.getReceiverType().equals(currentUserType) &&
-                                    m.getSenderId().equals(UserUtil.getUserId(selectedRecipient))
-                                    && m.getSenderType().equals(UserUtil.getUserType(selectedRecipient)))))
-                    .sorted((m1, m2) -> m1.getTimestamp().compareTo(m2.getTimestamp()))
-                    .collect(Collectors.toList());
-
-            conversationMessages.forEach(messageListModel::addElement);
-
-            // Mark messages as read only if they were sent by the selected recipient
-            conversationMessages.stream()
-                    .filter(m -> m.getReceiverId().equals(currentUserId) &&
-                            m.getSenderId().equals(recipientId) &&
-                            !m.isRead())
-                    .forEach(m -> {
-                        messageController.markMessageAsRead(m.getMessageId());
-                        m.setRead(true);
-                    });
-
-            scrollToBottom();
+        if (selectedRecipient == null) {
+            conversationLoads.cancel();
+            updateUnreadCount();
+            return;
         }
-        updateUnreadCount();
+        Object recipient = selectedRecipient;
+        conversationLoads.supply(() -> loadPage(recipient, null))
+                .whenComplete(AsyncFacade.handle(page -> {
+                    page.forEach(messageListModel::addElement);
+                    hasOlderMessages = page.size() == PAGE_SIZE;
+                    messageScrollPane.validate();
+                    scrollToBottom();
+                    pagingEnabled = true;
+                    updateUnreadCount();
+                }, Throwable::printStackTrace));
+    }
+
+    private void loadOlderMessages() {
+        if (selectedRecipient == null || messageListModel.isEmpty()) {
+            return;
+        }
+        pagingEnabled = false;
+        Object recipient = selectedRecipient;
+        Message oldest = messageListModel.getElementAt(0);
+        conversationLoads.supply(() -> loadPage(recipient, oldest))
+                .whenComplete(AsyncFacade.handle(older -> {
+                    for (int i = older.size() - 1; i >= 0; i--) {
+                        messageListModel.add(0, older.get(i));
+                    }
+                    hasOlderMessages = older.size() == PAGE_SIZE;
+                    // Keep the message that was at the top in view
+                    messageScrollPane.validate();
+                    messageScrollPane.getVerticalScrollBar().setValue(older.size() * messageList.getFixedCellHeight());
+                    pagingEnabled = true;
+                    updateUnreadCount();
+                }, Throwable::printStackTrace));
+    }
+
+    /**
+     * Fetches one page of the conversation with {@code recipient} ending just
+     * before {@code before}; runs off the EDT.
+     */
+    private List<Message> loadPage(Object recipient, Message before) {
+        String recipientId = UserUtil.getUserId(recipient);
+        String recipientType = UserUtil.getUserType(recipient);
+        List<Message> page = messageController.getConversation(
+                currentUserId, currentUserType, recipientId, recipientType, before, PAGE_SIZE);
+
+        // Mark messages as read only if they were sent by the selected recipient; one update covers
+        // this page and any older unread backlog
+        List<Message> unread = page.stream()
+                .filter(m -> m.getReceiverId().equals(currentUserId) &&
+                        m.getSenderId().equals(recipientId) &&
+                        !m.isRead())
+                .toList();
+        if (!unread.isEmpty()) {
+            long upToSeq = unread.stream().mapToLong(Message::getSeq).max().getAsLong();
+            messageController.markConversationRead(currentUserId, currentUserType, recipientId, recipientType, upToSeq);
+            unread.forEach(m -> m.setRead(true));
+        }
+        return page;
     }
 
     private void updateUnreadCount() {
-        int unreadCount = messageController.getUnreadMessageCount(currentUserId, currentUserType);
-        unreadCountLabel.setText(unreadCount > 0
-                ? unreadCount + " " + UIConfig.UNREAD_SUFFIX
-                : "");
-        showAllUsers();
+        unreadLoads.supply(() -> {
+            int total = messageController.getUnreadMessageCount(currentUserId, currentUserType);
+            Map<String, Integer> bySender = new HashMap<>();
+            for (Message m : messageController.getUnreadMessagesForUser(currentUserId, currentUserType)) {
+                bySender.merge(senderKey(m.getSenderId(), m.getSenderType()), 1, Integer::sum);
+            }
+            return new UnreadCounts(total, bySender);
+        }).whenComplete(AsyncFacade.handle(counts -> {
+            unreadBySender = counts.bySender();
+            unreadCountLabel.setText(counts.total() > 0
+                    ? counts.total() + " " + UIConfig.UNREAD_SUFFIX
+                    : "");
+            showAllUsers();
+        }, Throwable::printStackTrace));
+    }
+
+    private static String senderKey(String senderId, String senderType) {
+        return senderType + ":" + senderId;
     }
 
     private void sendMessage() {
         String content = messageInput.getText().trim();
         if (!content.isEmpty() && selectedRecipient != null) {
-            try {
-                Message sentMessage = messageController.sendMessage(
-                        currentUserId,
-                        currentUserType,
-                        UserUtil.getUserId(selectedRecipient),
-                        UserUtil.getUserType(selectedRecipient),
-                        content);
-                messageInput.setText("");
-                messageListModel.addElement(sentMessage);
-                scrollToBottom();
-                updateUnreadCount();
-            } catch (InvalidMessageException ex) {
-                JOptionPane.showMessageDialog(
-                        this,
-                        ex.getMessage(),
-                        UIConfig.ERROR_DIALOG_TITLE,
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            Object recipient = selectedRecipient;
+            async.supply(() -> messageController.sendMessage(
+                            currentUserId,
+                            currentUserType,
+                            UserUtil.getUserId(recipient),
+                            UserUtil.getUserType(recipient),
+                            content))
+                    .whenComplete(AsyncFacade.handle(sentMessage -> {
+                        messageInput.setText("");
+                        // The user may have opened another conversation meanwhile
+                        if (recipient == selectedRecipient) {
+                            messageListModel.addElement(sentMessage);
+                            scrollToBottom();
+                        }
+                        updateUnreadCount();
+                    }, error -> {
+                        if (error instanceof InvalidMessageException) {
+                            JOptionPane.showMessageDialog(
+                                    this,
+                                    error.getMessage(),
+                                    UIConfig.ERROR_DIALOG_TITLE,
+                                    JOptionPane.ERROR_MESSAGE);
+                        } else {
+                            error.printStackTrace();
+                        }
+                    }));
         } else if (selectedRecipient == null) {
             JOptionPane.showMessageDialog(
                     this,
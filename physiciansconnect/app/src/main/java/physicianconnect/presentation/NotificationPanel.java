@@ -5,14 +5,15 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 
+import physicianconnect.logic.controller.AsyncFacade;
 import physicianconnect.presentation.config.UITheme;
 import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.objects.Notification;
 import physicianconnect.persistence.interfaces.NotificationPersistence;
-import physicianconnect.persistence.sqlite.NotificationDB;
 
 public class NotificationPanel extends JPanel {
     private final DefaultListModel<Notification> notificationListModel;
@@ -23,9 +24,27 @@ public class NotificationPanel extends JPanel {
     private final String userId;
     private final String userType;
     private final List<Notification> unreadNotifications;
+    private final AsyncFacade async;
+    private final AsyncFacade.Latest<Loaded> loads;
     private LocalDateTime lastViewedTime;
+    /** Written on the EDT; read by {@link #fetchNewNotifications} on background threads. */
+    private volatile long lastSeq;
+
+    /** What one poll found, with the user's unread count as of the same poll. */
+    public record NewNotifications(List<Notification> found, int unreadCount) {
+    }
+
+    private record Loaded(long latestSeq, List<Notification> notifications) {
+    }
 
     public NotificationPanel(NotificationPersistence notificationPersistence, String userId, String userType) {
+        this(notificationPersistence, userId, userType, AsyncFacade.getDefault());
+    }
+
+    public NotificationPanel(NotificationPersistence notificationPersistence, String userId, String userType,
+            AsyncFacade async) {
+        this.async = async;
+        this.loads = async.latest();
         this.notificationPersistence = notificationPersistence;
         this.userId = userId;
         this.userType = userType;
@@ -59,12 +78,20 @@ public class NotificationPanel extends JPanel {
     }
 
     /**
-     * Load notifications from persistence
+     * Load notifications from persistence, off the EDT; the list is replaced
+     * once they arrive
      */
     public void loadNotifications() {
+        loads.supply(() -> new Loaded(notificationPersistence.latestSequence(),
+                        notificationPersistence.getNotificationsForUser(userId, userType)))
+                .whenComplete(AsyncFacade.handle(this::showLoaded, Throwable::printStackTrace));
+    }
+
+    private void showLoaded(Loaded loaded) {
         notificationListModel.clear();
         unreadNotifications.clear();
-        List<Notification> storedNotifications = notificationPersistence.getNotificationsForUser(userId, userType);
+        lastSeq = loaded.latestSeq();
+        List<Notification> storedNotifications = new ArrayList<>(loaded.notifications());
         
         // Sort notifications by timestamp, newest first
         storedNotifications.sort((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()));
@@ -82,7 +109,14 @@ public class NotificationPanel extends JPanel {
         repaint();
     }
 
-    public void addNotification(String message, String type) {
+    /**
+     * Stores the notification off the EDT and lists it once stored, so it
+     * carries its sequence number by then.
+     *
+     * @return completes on the EDT after the notification is listed, at once
+     *         if it was a duplicate
+     */
+    public CompletableFuture<Void> addNotification(String message, String type) {
         // Check if a similar notification already exists in the last few seconds
         LocalDateTime now = LocalDateTime.now();
         boolean duplicateExists = false;
@@ -97,49 +131,112 @@ public class NotificationPanel extends JPanel {
             }
         }
         
-        if (!duplicateExists) {
-            Notification notification = new Notification(message, type, now, userId, userType);
-            
-            // Add to persistence
-            notificationPersistence.addNotification(notification);
-            
-            // Add to the beginning of the list
+        if (duplicateExists) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Notification notification = new Notification(message, type, now, userId, userType);
+
+        // Add to persistence
+        return async.run(() -> notificationPersistence.addNotification(notification))
+                .whenComplete(AsyncFacade.handle(done -> showAdded(notification), Throwable::printStackTrace));
+    }
+
+    private void showAdded(Notification notification) {
+        if (notification.getSeq() > 0 && isShown(notification.getSeq())) {
+            return; // a poll listed it first
+        }
+
+        // Add to the beginning of the list
+        notificationListModel.add(0, notification);
+
+        // Always add to unread notifications for new notifications
+        unreadNotifications.add(notification);
+
+        // Keep only the most recent notifications
+        while (notificationListModel.size() > MAX_NOTIFICATIONS) {
+            notificationListModel.remove(notificationListModel.size() - 1);
+        }
+
+        // Ensure the UI is updated
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Pulls in only the notifications stored since the last load or poll.
+     *
+     * @return the unread notification count
+     */
+    public int pollNewNotifications() {
+        return applyNewNotifications(fetchNewNotifications());
+    }
+
+    /**
+     * The query half of {@link #pollNewNotifications}; touches no Swing
+     * state, so it can run off the EDT.
+     */
+    public NewNotifications fetchNewNotifications() {
+        List<Notification> found = notificationPersistence.findSince(userId, userType, lastSeq);
+        return new NewNotifications(found, notificationPersistence.countUnreadNotifications(userId, userType));
+    }
+
+    /**
+     * The EDT half of {@link #pollNewNotifications}: lists what
+     * {@link #fetchNewNotifications} found.
+     *
+     * @return the unread notification count the fetch read from the
+     *         persistence layer's counter, which also covers unread
+     *         notifications older than the listed page
+     */
+    public int applyNewNotifications(NewNotifications fetched) {
+        for (Notification notification : fetched.found()) {
+            lastSeq = Math.max(lastSeq, notification.getSeq());
+            if (isShown(notification.getSeq())) {
+                continue; // added by this panel, already listed
+            }
             notificationListModel.add(0, notification);
-            
-            // Always add to unread notifications for new notifications
-            unreadNotifications.add(notification);
-            
-            // Keep only the most recent notifications
-            while (notificationListModel.size() > MAX_NOTIFICATIONS) {
-                notificationListModel.remove(notificationListModel.size() - 1);
+            if (!notification.isRead()) {
+                unreadNotifications.add(notification);
+            }
+        }
+        while (notificationListModel.size() > MAX_NOTIFICATIONS) {
+            notificationListModel.remove(notificationListModel.size() - 1);
+        }
+        return fetched.unreadCount();
+    }
+
+    private boolean isShown(long seq) {
+        for (int i = 0; i < notificationListModel.size(); i++) {
+            if (notificationListModel.get(i).getSeq() == seq) {
+                return true;
             }
-            
-            // Ensure the UI is updated
-            revalidate();
-            repaint();
         }
+        return false;
     }
 
+    /**
+     * @return the user's unread count from the persistence layer's counter,
+     *         without reloading the list
+     */
     public int getUnreadNotificationCount() {
-        // Force a refresh of notifications to ensure accurate count
-        loadNotifications();
-        return unreadNotifications.size();
+        return notificationPersistence.countUnreadNotifications(userId, userType);
     }
 
     public void markAllAsRead() {
         lastViewedTime = LocalDateTime.now();
+        // One update also covers unread notifications older than the loaded page
+        long upToId = lastSeq;
         for (Notification notification : unreadNotifications) {
-            if (notificationPersistence instanceof NotificationDB) {
-                ((NotificationDB) notificationPersistence).markNotificationAsRead(notification);
-            } else {
-                notification.markAsRead();
-            }
+            upToId = Math.max(upToId, notification.getSeq());
+            notification.markAsRead();
         }
         unreadNotifications.clear();
-        
-        // Force a refresh of notifications to ensure UI is up to date
-        loadNotifications();
-        
+        long lastId = upToId;
+
+        // Force a refresh of notifications, once the update is stored, to ensure UI is up to date
+        async.run(() -> notificationPersistence.markAllNotificationsRead(userId, userType, lastId))
+                .whenComplete(AsyncFacade.handle(done -> loadNotifications(), Throwable::printStackTrace));
+
         // Ensure the UI is updated
         revalidate();
         repaint();
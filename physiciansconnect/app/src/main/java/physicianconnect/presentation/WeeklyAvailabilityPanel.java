@@ -2,8 +2,8 @@ package physicianconnect.presentation;
 
 import physicianconnect.logic.AvailabilityService;
 import physicianconnect.logic.controller.AppointmentController;
+import physicianconnect.logic.controller.AsyncFacade;
 import physicianconnect.objects.TimeSlot;
-import physicianconnect.objects.Appointment;
 import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.presentation.config.UITheme;
 
@@ -32,6 +32,8 @@ public class WeeklyAvailabilityPanel extends JPanel {
     private final AvailabilityService availabilityService;
     private final AppointmentController appointmentController;
     private final Runnable onWeekChanged;
+    private final AsyncFacade async;
+    private final AsyncFacade.Latest<Map<LocalDate, List<TimeSlot>>> weekLoads;
     private LocalDate weekStart;
     private Map<LocalDate, List<TimeSlot>> weekData;
 
@@ -55,10 +57,21 @@ public class WeeklyAvailabilityPanel extends JPanel {
                                    AppointmentController apptController,
                                    LocalDate monday,
                                    Runnable onWeekChanged) {
+        this(physicianId, svc, apptController, monday, onWeekChanged, AsyncFacade.getDefault());
+    }
+
+    public WeeklyAvailabilityPanel(String physicianId,
+                                   AvailabilityService svc,
+                                   AppointmentController apptController,
+                                   LocalDate monday,
+                                   Runnable onWeekChanged,
+                                   AsyncFacade async) {
         this.physicianId           = physicianId;
         this.availabilityService   = svc;
         this.appointmentController = apptController;
         this.onWeekChanged         = onWeekChanged;
+        this.async                 = async;
+        this.weekLoads             = async.latest();
         this.weekStart             = monday;
 
         int totalW = TIME_LABEL_WIDTH + (DAYS_IN_WEEK * DAY_COLUMN_WIDTH);
@@ -133,14 +146,21 @@ public class WeeklyAvailabilityPanel extends JPanel {
                         addDlg.setVisible(true);
                     }
                 } else {
-                    // → BOOKED slot: find the matching Appointment by date/time via controller
-                    Appointment existingAppt = appointmentController
-                            .getAppointmentsForPhysician(String.valueOf(physicianId))
-                            .stream()
-                            .filter(a -> a.getDateTime().equals(slotTime))
-                            .findFirst()
-                            .orElse(null);
+                    openBookedSlot(slotTime);
+                }
+            }
+        });
+    }
 
+    /** Finds the appointment in a booked slot off the EDT and opens it. */
+    private void openBookedSlot(LocalDateTime slotTime) {
+        async.supply(() -> appointmentController
+                        .getAppointmentsForPhysician(String.valueOf(physicianId))
+                        .stream()
+                        .filter(a -> a.getDateTime().equals(slotTime))
+                        .findFirst()
+                        .orElse(null))
+                .whenComplete(AsyncFacade.handle(existingAppt -> {
                     if (existingAppt != null) {
                         ViewAppointmentPanel viewDlg = new ViewAppointmentPanel(
                                 (JFrame) SwingUtilities.getWindowAncestor(WeeklyAvailabilityPanel.this),
@@ -154,39 +174,43 @@ public class WeeklyAvailabilityPanel extends JPanel {
                         );
                         viewDlg.setVisible(true);
                     } else {
-                        JOptionPane.showMessageDialog(
-                                WeeklyAvailabilityPanel.this,
-                                UIConfig.ERROR_APPOINTMENT_NOT_FOUND,
-                                UIConfig.ERROR_DIALOG_TITLE,
-                                JOptionPane.ERROR_MESSAGE
-                        );
+                        showAppointmentNotFound();
                     }
-                }
-            }
-        });
+                }, error -> showAppointmentNotFound()));
+    }
+
+    private void showAppointmentNotFound() {
+        JOptionPane.showMessageDialog(
+                WeeklyAvailabilityPanel.this,
+                UIConfig.ERROR_APPOINTMENT_NOT_FOUND,
+                UIConfig.ERROR_DIALOG_TITLE,
+                JOptionPane.ERROR_MESSAGE
+        );
     }
 
     /**
-     * Loads a map of seven days → sixteen slots each. On exception, falls back to “all free.”
+     * Shows {@code monday}'s week as all free at once and fills in the
+     * bookings when the query returns; navigating again before then drops
+     * this week's answer. On exception the week stays all free.
      */
     public void loadWeek(LocalDate monday) {
         this.weekStart = monday;
-        try {
-            this.weekData = availabilityService.getWeeklyAvailability(
-                    String.valueOf(physicianId),
-                    monday
-            );
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            Map<LocalDate, List<TimeSlot>> fallback = new LinkedHashMap<>();
-            for (int i = 0; i < DAYS_IN_WEEK; i++) {
-                LocalDate day = monday.plusDays(i);
-                List<TimeSlot> slots = TimeSlot.generateDailySlots(day);
-                fallback.put(day, slots);
-            }
-            this.weekData = fallback;
-        }
+        this.weekData = freeWeek(monday);
         repaint();
+        weekLoads.supply(() -> availabilityService.getWeeklyAvailability(String.valueOf(physicianId), monday))
+                .whenComplete(AsyncFacade.handle(week -> {
+                    this.weekData = week;
+                    repaint();
+                }, Throwable::printStackTrace));
+    }
+
+    private static Map<LocalDate, List<TimeSlot>> freeWeek(LocalDate monday) {
+        Map<LocalDate, List<TimeSlot>> week = new LinkedHashMap<>();
+        for (int i = 0; i < DAYS_IN_WEEK; i++) {
+            LocalDate day = monday.plusDays(i);
+            week.put(day, TimeSlot.generateDailySlots(day));
+        }
+        return week;
     }
 
     @Override
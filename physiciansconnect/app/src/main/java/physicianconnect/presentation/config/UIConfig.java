@@ -170,6 +170,10 @@ public final class UIConfig {
     public static final String REFERRALS_HEADER = "Referrals for";
     public static final String REFERRALS_LIST_TITLE = "All Referrals";
     public static final String ADD_APPOINTMENT_CONFIRM_TITLE = "Add Appointment";
+    public static final String SUGGEST_SLOT_BUTTON_TEXT = "Suggest";
+    public static final String SUGGEST_SLOT_DIALOG_TITLE = "Next Available Slots";
+    public static final String SUGGEST_SLOT_PROMPT = "Choose a free slot:";
+    public static final String NO_FREE_SLOTS_MESSAGE = "No free slots in the next 90 days.";
     public static final String EMAIL_FIELD_NAME = "emailField";
     public static final String PASSWORD_FIELD_NAME = "passwordField";
     public static final String LOGIN_BUTTON_NAME = "loginBtn";
@@ -221,8 +225,17 @@ public final class UIConfig {
     public static final String TOTAL_BILLED_LABEL = "Billed";
     public static final String TOTAL_PAID_LABEL = "Paid";
     public static final String OUTSTANDING_LABEL = "Outstanding";
+    public static final String REVENUE_BY_SERVICE_TITLE = "This Month by Service";
+    public static final String REVENUE_BY_SERVICE_FORMAT = "$%.2f (%d)";
     public static final String CREATED_LABEL = "Created: ";
     public static final String NEW_INVOICE_DIALOG_TITLE = "Create New Invoice";
+    public static final String EXPORT_STATEMENTS_BUTTON_TEXT = "Export Statements";
+    public static final String EXPORT_STATEMENTS_DIALOG_TITLE = "Export Statements";
+    public static final String EXPORT_FROM_LABEL = "From (yyyy-mm-dd):";
+    public static final String EXPORT_TO_LABEL = "To (yyyy-mm-dd):";
+    public static final String EXPORT_STATEMENTS_DONE_FORMAT = "Exported %d statements to:\n%s";
+    public static final String ERROR_EXPORT_DATE_FORMAT = "Please enter dates as yyyy-mm-dd.";
+    public static final String ERROR_EXPORT_NO_FORMAT = "Please select at least one format.";
 
     // ─────────── Profile Photo ───────────
     public static final String PHOTO_DIR = "src/main/resources/profile_photos";
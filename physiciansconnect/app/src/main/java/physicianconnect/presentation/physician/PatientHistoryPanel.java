@@ -10,6 +10,7 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 
+import physicianconnect.logic.controller.AsyncFacade;
 import physicianconnect.logic.controller.PatientHistoryController;
 import physicianconnect.logic.manager.AppointmentManager;
 import physicianconnect.objects.Appointment;
@@ -23,6 +24,7 @@ import physicianconnect.presentation.config.UITheme;
 public class PatientHistoryPanel extends JPanel {
     private final PatientHistoryController historyController;
     private final String physicianId;
+    private final AsyncFacade.Latest<String> historyLoads;
 
     private JComboBox<String> patientCombo;
     private JTextArea historyArea;
@@ -37,20 +39,21 @@ public class PatientHistoryPanel extends JPanel {
     public PatientHistoryPanel(AppointmentManager appointmentManager,
                                PatientHistoryController historyController,
                                String physicianId) {
+        this(appointmentManager, historyController, physicianId, AsyncFacade.getDefault());
+    }
+
+    public PatientHistoryPanel(AppointmentManager appointmentManager,
+                               PatientHistoryController historyController,
+                               String physicianId,
+                               AsyncFacade async) {
         this.historyController  = historyController;
         this.physicianId        = physicianId;
+        this.historyLoads       = async.latest();
 
         setLayout(new BorderLayout(10, 10));
         setBackground(UITheme.BACKGROUND_COLOR);
 
-        // ─── Populate patient names into a sorted set ───
-        Set<String> patientNames = appointmentManager
-                .getAppointmentsForPhysician(physicianId)
-                .stream()
-                .map(Appointment::getPatientName)
-                .collect(Collectors.toCollection(TreeSet::new));
-
-        patientCombo = new JComboBox<>(patientNames.toArray(new String[0]));
+        patientCombo = new JComboBox<>();
         patientCombo.setName("patientCombo");
         patientCombo.setFont(UITheme.LABEL_FONT);
         patientCombo.setBackground(UITheme.BACKGROUND_COLOR);
@@ -67,10 +70,18 @@ public class PatientHistoryPanel extends JPanel {
         add(patientCombo, BorderLayout.NORTH);
         add(new JScrollPane(historyArea), BorderLayout.CENTER);
 
-        if (!patientNames.isEmpty()) {
-            patientCombo.setSelectedIndex(0);
-            updateHistory();
-        }
+        // ─── Populate patient names into a sorted set, off the EDT ───
+        async.supply(() -> appointmentManager
+                        .getAppointmentsForPhysician(physicianId)
+                        .stream()
+                        .map(Appointment::getPatientName)
+                        .collect(Collectors.toCollection(TreeSet::new)))
+                .whenComplete(AsyncFacade.handle(this::showPatients, Throwable::printStackTrace));
+    }
+
+    private void showPatients(Set<String> patientNames) {
+        // Adding the first item selects it, which fires updateHistory
+        patientNames.forEach(patientCombo::addItem);
     }
 
     /**
@@ -80,12 +91,13 @@ public class PatientHistoryPanel extends JPanel {
     private void updateHistory() {
         String patient = (String) patientCombo.getSelectedItem();
         if (patient == null) {
+            historyLoads.cancel();
             historyArea.setText("");
             return;
         }
 
-        // Delegate formatting to the controller
-        String historyText = historyController.getPatientHistoryString(physicianId, patient);
-        historyArea.setText(historyText);
+        // Delegate formatting to the controller; a newer selection drops this answer
+        historyLoads.supply(() -> historyController.getPatientHistoryString(physicianId, patient))
+                .whenComplete(AsyncFacade.handle(historyArea::setText, Throwable::printStackTrace));
     }
 }
\ No newline at end of file
@@ -8,14 +8,13 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.GridLayout;
 import java.awt.event.ActionListener;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import javax.swing.BorderFactory;
 import javax.swing.DefaultListCellRenderer;
 import javax.swing.DefaultListModel;
@@ -36,21 +35,26 @@ import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
 import physicianconnect.logic.AvailabilityService;
+import physicianconnect.logic.MessagePoller;
 import physicianconnect.logic.MessageService;
 import physicianconnect.logic.controller.AppointmentController;
+import physicianconnect.logic.controller.AsyncFacade;
 import physicianconnect.logic.controller.MessageController;
 import physicianconnect.logic.controller.PatientHistoryController;
 import physicianconnect.logic.controller.PrescriptionController;
+import physicianconnect.logic.event.AppointmentChanged;
+import physicianconnect.logic.event.EventBus;
+import physicianconnect.logic.event.MessageSaved;
+import physicianconnect.logic.event.NotificationAdded;
 import physicianconnect.logic.manager.AppointmentManager;
+import physicianconnect.logic.manager.NotificationManager;
 import physicianconnect.logic.manager.PhysicianManager;
 import physicianconnect.logic.manager.ReceptionistManager;
 import physicianconnect.logic.manager.ReferralManager;
 import physicianconnect.objects.Appointment;
+import physicianconnect.objects.NotificationCategory;
 import physicianconnect.objects.Physician;
-import physicianconnect.objects.Receptionist;
 import physicianconnect.persistence.PersistenceFactory;
-import physicianconnect.persistence.sqlite.AppointmentDB;
-import physicianconnect.persistence.interfaces.NotificationPersistence;
 import physicianconnect.presentation.AddAppointmentPanel;
 import physicianconnect.presentation.DailyAvailabilityPanel;
 import physicianconnect.presentation.MessageButton;
@@ -62,8 +66,8 @@ import physicianconnect.presentation.ViewAppointmentPanel;
 import physicianconnect.presentation.WeeklyAvailabilityPanel;
 import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.presentation.config.UITheme;
+import physicianconnect.presentation.util.EdtCoalescer;
 import physicianconnect.presentation.util.ProfileImageUtil;
-import physicianconnect.objects.Notification;
 
 /**
  * Main window for a logged-in physician.
@@ -83,6 +87,8 @@ public class PhysicianApp {
     private final AppointmentController appointmentController; // unified controller
     private final ReceptionistManager receptionistManager;
     private final MessageService messageService;
+    /** Built off the EDT, as it reads the unread count; null until then. */
+    private volatile MessagePoller messagePoller;
     private final MessageController messageController;
     private final ReferralManager referralManager;
 
@@ -93,18 +99,27 @@ public class PhysicianApp {
     private LocalDate weekStart; // Monday of the currently shown week
 
     private MessageButton messageButton;
-    private Timer messageRefreshTimer;
     private NotificationPanel notificationPanel;
     private NotificationBanner notificationBanner;
     private JDialog notificationDialog;
     private NotificationButton notificationButton;
-    private Timer notificationRefreshTimer;
+    private final List<EventBus.Subscription> subscriptions = new ArrayList<>();
+    private AvailabilityService availabilityService;
 
     private JButton profilePicButton;
 
     private final Runnable logoutCallback;
 
-    private int lastNotifiedUnreadMessageCount = 0;
+    private int lastUnreadNotificationCount = 0;
+
+    /** Keeps database reads for the list and badges off the EDT. */
+    private final AsyncFacade async = AsyncFacade.getDefault();
+    private final AsyncFacade.Latest<List<Appointment>> appointmentLoads = async.latest();
+    private final AsyncFacade.Latest<NotificationPanel.NewNotifications> notificationPolls = async.latest();
+
+    /** What one message refresh found: the badge count and, if anything arrived, the banner text. */
+    private record MessageTick(int unreadCount, String notification) {
+    }
 
     /*------------------------------------------------------------------*/
     /* Constructor */
@@ -135,11 +150,6 @@ public class PhysicianApp {
         this.notificationDialog.pack();
         this.notificationDialog.setLocationRelativeTo(frame);
 
-        // Register appointment callbacks
-        appointmentController.setOnAppointmentCreated(this::onAppointmentCreated);
-        appointmentController.setOnAppointmentUpdated(this::onAppointmentUpdated);
-        appointmentController.setOnAppointmentDeleted(this::onAppointmentDeleted);
-
         initializeUI();
     }
 
@@ -163,9 +173,6 @@ public class PhysicianApp {
             );
         }
 
-        // Load any existing notifications
-        notificationPanel.loadNotifications();
-
         // Create notification banner
         notificationBanner = new NotificationBanner(frame);
 
@@ -191,6 +198,11 @@ public class PhysicianApp {
 
         messageButton = new MessageButton();
         messageButton.setOnAction(e -> showMessageDialog());
+        async.supply(() -> new MessagePoller(messageService, loggedIn.getId(), "physician"))
+                .whenComplete(AsyncFacade.handle(poller -> {
+                    messagePoller = poller;
+                    messageButton.updateNotificationCount(poller.getUnreadCount());
+                }, Throwable::printStackTrace));
 
         // Add notification button
         notificationButton = new NotificationButton();
@@ -215,13 +227,6 @@ public class PhysicianApp {
                 .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))));
         clock.start();
 
-        messageRefreshTimer = new Timer(5000, e -> refreshMessageCount());
-        messageRefreshTimer.start();
-
-        // Add notification refresh timer
-        notificationRefreshTimer = new Timer(5000, e -> refreshNotificationCount());
-        notificationRefreshTimer.start();
-
         frame.add(topPanel, BorderLayout.NORTH);
 
         /*---------------- Appointments list ---------------------------*/
@@ -264,7 +269,8 @@ public class PhysicianApp {
             AddAppointmentPanel dlg = new AddAppointmentPanel(
                     frame,
                     appointmentController, // controller not manager
-                    loggedIn.getId(),
+                    loggedIn,
+                    availabilityService,
                     () -> {
                         dailyPanel.loadSlotsForDate(selectedDate);
                         weeklyPanel.loadWeek(weekStart);
@@ -310,18 +316,11 @@ public class PhysicianApp {
         buttonPanel.add(logoutBtn);
 
         /*---------------- Availability panels (daily/weekly) ----------*/
-        // DB + service
-        Connection conn;
-        try {
-            conn = DriverManager.getConnection("jdbc:sqlite:prod.db");
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(frame,
-                    UIConfig.ERROR_DATABASE_OPEN + "\n" + ex.getMessage(),
-                    UIConfig.ERROR_DIALOG_TITLE,
-                    JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-        AvailabilityService availabilityService = new AvailabilityService(new AppointmentDB(conn));
+        // Service shares the pooled persistence rather than opening its own handle
+        availabilityService = new AvailabilityService(
+                PersistenceFactory.getAppointmentPersistence());
+        // Months the panels ask for first are loaded on first use; this fills the rest off the EDT
+        async.run(availabilityService::preload).whenComplete(AsyncFacade.handle(done -> { }, Throwable::printStackTrace));
 
         selectedDate = LocalDate.now();
         weekStart = selectedDate.with(DayOfWeek.MONDAY);
@@ -355,7 +354,7 @@ public class PhysicianApp {
         frame.add(buttonPanel, BorderLayout.SOUTH);
 
         refreshAppointments();
-        appointmentManager.addChangeListener(this::refreshAppointments);
+        subscribeToChanges();
 
         frame.setVisible(true);
     }
@@ -448,16 +447,12 @@ public class PhysicianApp {
 
     /*------------------------------------------------------------------*/
     private void refreshAppointments() {
-        // Clear existing appointments
-        appointmentListModel.clear();
-        
-        // Get appointments for the current physician
-        List<Appointment> appointments = appointmentManager.getAppointmentsForPhysician(loggedIn.getId());
-        
-        // Add appointments to the table
-        for (Appointment apt : appointments) {
-            appointmentListModel.addElement(apt);
-        }
+        // Get appointments for the current physician off the EDT; a newer refresh drops this one
+        appointmentLoads.supply(() -> appointmentManager.getAppointmentsForPhysician(loggedIn.getId()))
+                .whenComplete(AsyncFacade.handle(appointments -> {
+                    appointmentListModel.clear();
+                    appointments.forEach(appointmentListModel::addElement);
+                }, Throwable::printStackTrace));
     }
 
     private void showNotificationPanel() {
@@ -476,7 +471,7 @@ public class PhysicianApp {
         // Mark all notifications as read when panel is opened
         notificationPanel.showNotificationPanel();
         notificationButton.updateNotificationCount(0);
-        lastNotifiedUnreadMessageCount = 0;
+        lastUnreadNotificationCount = 0;
     }
 
     private void showNotificationBanner(String message, java.awt.event.ActionListener onClick) {
@@ -490,63 +485,75 @@ public class PhysicianApp {
     }
 
     private void showMessageDialog() {
-        JDialog dlg = new JDialog(frame, UIConfig.MESSAGES_DIALOG_TITLE, true);
-
-        // Combine all physicians and all receptionists
-        List<Object> allUsers = new java.util.ArrayList<>();
-        allUsers.addAll(physicianManager.getAllPhysicians());
-        allUsers.addAll(receptionistManager.getAllReceptionists());
+        // Combine all physicians and all receptionists, off the EDT; the dialog opens once they are in
+        async.supply(() -> {
+            List<Object> allUsers = new java.util.ArrayList<>();
+            allUsers.addAll(physicianManager.getAllPhysicians());
+            allUsers.addAll(receptionistManager.getAllReceptionists());
+            return allUsers;
+        }).whenComplete(AsyncFacade.handle(this::openMessageDialog, Throwable::printStackTrace));
+    }
 
+    private void openMessageDialog(List<Object> allUsers) {
+        JDialog dlg = new JDialog(frame, UIConfig.MESSAGES_DIALOG_TITLE, true);
         MessagePanel messagePanel = new MessagePanel(messageController, loggedIn.getId(), "physician", allUsers);
         dlg.setContentPane(messagePanel);
         dlg.pack();
         dlg.setLocationRelativeTo(frame);
         dlg.setVisible(true);
-        refreshMessageCount();
+        MessagePoller poller = messagePoller;
+        if (poller != null) {
+            showMessageTick(() -> new MessageTick(poller.resync(), null));
+        }
     }
 
     private void refreshMessageCount() {
-        int unreadCount = messageService.getUnreadMessageCount(loggedIn.getId(), "physician");
-        messageButton.updateNotificationCount(unreadCount);
-        if (unreadCount > lastNotifiedUnreadMessageCount) {
-            // Find the latest unread message
-            List<physicianconnect.objects.Message> unreadMessages = messageService.getUnreadMessagesForUser(loggedIn.getId(), "physician");
-            if (!unreadMessages.isEmpty()) {
-                physicianconnect.objects.Message latest = unreadMessages.get(unreadMessages.size() - 1);
-                String senderType = latest.getSenderType();
-                String senderName = "";
-                if (senderType.equals("physician")) {
-                    senderName = physicianManager.getPhysicianById(latest.getSenderId()).getName();
-                } else if (senderType.equals("receptionist")) {
-                    senderName = receptionistManager.getReceptionistById(latest.getSenderId()).getName();
-                }
-                String notificationMsg = "New message received from " + senderName + " (" + senderType + ")";
-                showNotificationBanner(notificationMsg, e -> showMessageDialog());
-                if (notificationPanel != null) {
-                    notificationPanel.addNotification(notificationMsg, "Message");
-                }
-            }
+        // Only messages saved since the last tick are fetched; the badge is updated from that delta.
+        // Before the poller is built there is nothing to poll: it starts from the current count
+        MessagePoller poller = messagePoller;
+        if (poller != null) {
+            showMessageTick(() -> pollMessages(poller));
         }
-        lastNotifiedUnreadMessageCount = unreadCount;
     }
 
-    private void notifyAppointmentChange(String message, String type) {
-        // Always add to notification panel for persistence
-        if (notificationPanel == null) {
-            notificationPanel = new NotificationPanel(
-                PersistenceFactory.getNotificationPersistence(),
-                loggedIn.getId(),
-                "physician"
-            );
+    private void showMessageTick(java.util.concurrent.Callable<MessageTick> query) {
+        // Not superseded: each poll advances the poller, so every answer must be shown
+        async.supply(query)
+                .whenComplete(AsyncFacade.handle(tick -> {
+                    messageButton.updateNotificationCount(tick.unreadCount());
+                    if (tick.notification() != null) {
+                        showNotificationBanner(tick.notification(), e -> showMessageDialog());
+                        if (notificationPanel != null) {
+                            notificationPanel.addNotification(tick.notification(), "Message")
+                                    .thenRun(this::refreshNotificationCount);
+                        }
+                    }
+                }, Throwable::printStackTrace));
+    }
+
+    /** Runs off the EDT: polls for new messages and names the latest sender. */
+    private MessageTick pollMessages(MessagePoller poller) {
+        List<physicianconnect.objects.Message> arrived = poller.poll();
+        if (arrived.isEmpty()) {
+            return new MessageTick(poller.getUnreadCount(), null);
+        }
+        physicianconnect.objects.Message latest = arrived.get(arrived.size() - 1);
+        String senderType = latest.getSenderType();
+        String senderName = "";
+        if (senderType.equals("physician")) {
+            senderName = physicianManager.getPhysicianById(latest.getSenderId()).getName();
+        } else if (senderType.equals("receptionist")) {
+            senderName = receptionistManager.getReceptionistById(latest.getSenderId()).getName();
         }
-        notificationPanel.addNotification(message, type);
-        // Update notification count immediately
-        notificationButton.updateNotificationCount(notificationPanel.getUnreadNotificationCount());
+        return new MessageTick(poller.getUnreadCount(),
+                "New message received from " + senderName + " (" + senderType + ")");
+    }
 
+    private void showAppointmentBanner(String message) {
         // Only show banner if user is logged in
         if (frame != null && frame.isVisible()) {
             showNotificationBanner(message, e -> {
-                // Refresh the calendar views
+                // Refresh the calendar views and appointments list
                 if (dailyPanel != null) {
                     dailyPanel.revalidate();
                     dailyPanel.repaint();
@@ -560,122 +567,131 @@ public class PhysicianApp {
         }
     }
 
-    public void onAppointmentCreated(Appointment appointment) {
-        if (appointment.getPhysicianId().equals(loggedIn.getId())) {
-            String message = String.format("New appointment scheduled with %s.", 
-                appointment.getPatientName());
-            
-            // Add to notification panel for persistence
-            if (notificationPanel == null) {
-                notificationPanel = new NotificationPanel(
-                    PersistenceFactory.getNotificationPersistence(),
-                    loggedIn.getId(),
-                    "physician"
-                );
-            }
-            notificationPanel.addNotification(message, "New Appointment!");
-            
-            // Only show banner if user is logged in
-            if (frame != null && frame.isVisible()) {
-                showNotificationBanner(message, e -> {
-                    // Refresh the calendar views and appointments list
-                    if (dailyPanel != null) {
-                        dailyPanel.revalidate();
-                        dailyPanel.repaint();
-                    }
-                    if (weeklyPanel != null) {
-                        weeklyPanel.revalidate();
-                        weeklyPanel.repaint();
-                    }
-                    refreshAppointments();
-                });
-            }
-
-            // Notify all receptionists about the new appointment
-            List<Receptionist> receptionists = receptionistManager.getAllReceptionists();
-            NotificationPersistence notificationPersistence = PersistenceFactory.getNotificationPersistence();
-            for (Receptionist receptionist : receptionists) {
-                String receptionistMessage = String.format("New appointment scheduled for %s with %s.", 
-                    appointment.getPatientName(),
-                    loggedIn.getName());
-                
-                // Add notification directly to persistence
-                Notification notification = new Notification(
-                    receptionistMessage,
-                    "New Appointment!",
-                    LocalDateTime.now(),
-                    receptionist.getId(),
-                    "receptionist"
-                );
-                notificationPersistence.addNotification(notification);
-            }
+    /**
+     * Runs off the EDT: stores the notifications for a change to one of this
+     * physician's appointments, one for the physician and one for each
+     * receptionist who wants appointment notifications.
+     *
+     * @return the banner text for this window, or null if the appointment is
+     *         another physician's
+     */
+    private String notifyAppointmentChange(Appointment appointment, String message, String receptionistMessage,
+            String type) {
+        if (!appointment.getPhysicianId().equals(loggedIn.getId())) {
+            return null;
         }
+        String banner = String.format(message, appointment.getPatientName());
+        NotificationManager notifications = notificationManager();
+        notifications.notifyUser(loggedIn.getId(), "physician", banner, type);
+        notifications.notifyReceptionists(
+                String.format(receptionistMessage, appointment.getPatientName(), loggedIn.getName()),
+                type, NotificationCategory.APPOINTMENT);
+        return banner;
     }
 
-    public void onAppointmentUpdated(Appointment appointment) {
-        if (appointment.getPhysicianId().equals(loggedIn.getId())) {
-            String message = String.format("Appointment with %s has been updated.", 
-                appointment.getPatientName());
-            notifyAppointmentChange(message, "Appointment Update!");
-
-            // Notify all receptionists about the appointment update
-            List<Receptionist> receptionists = receptionistManager.getAllReceptionists();
-            NotificationPersistence notificationPersistence = PersistenceFactory.getNotificationPersistence();
-            for (Receptionist receptionist : receptionists) {
-                String receptionistMessage = String.format("Appointment for %s with %s has been updated.", 
-                    appointment.getPatientName(),
-                    loggedIn.getName());
-                
-                // Add notification directly to persistence
-                Notification notification = new Notification(
-                    receptionistMessage,
-                    "Appointment Update!",
-                    LocalDateTime.now(),
-                    receptionist.getId(),
-                    "receptionist"
-                );
-                notificationPersistence.addNotification(notification);
-            }
-        }
+    public String onAppointmentCreated(Appointment appointment) {
+        return notifyAppointmentChange(appointment,
+                "New appointment scheduled with %s.",
+                "New appointment scheduled for %s with %s.",
+                "New Appointment!");
     }
 
-    public void onAppointmentDeleted(Appointment appointment) {
-        if (appointment.getPhysicianId().equals(loggedIn.getId())) {
-            String message = String.format("Appointment with %s has been cancelled.", 
-                appointment.getPatientName());
-            notifyAppointmentChange(message, "Appointment Cancellation!");
-
-            // Notify all receptionists about the appointment cancellation
-            List<Receptionist> receptionists = receptionistManager.getAllReceptionists();
-            NotificationPersistence notificationPersistence = PersistenceFactory.getNotificationPersistence();
-            for (Receptionist receptionist : receptionists) {
-                String receptionistMessage = String.format("Appointment for %s with %s has been cancelled.", 
-                    appointment.getPatientName(),
-                    loggedIn.getName());
-                
-                // Add notification directly to persistence
-                Notification notification = new Notification(
-                    receptionistMessage,
-                    "Appointment Cancellation!",
-                    LocalDateTime.now(),
-                    receptionist.getId(),
-                    "receptionist"
-                );
-                notificationPersistence.addNotification(notification);
-            }
-        }
+    public String onAppointmentUpdated(Appointment appointment) {
+        return notifyAppointmentChange(appointment,
+                "Appointment with %s has been updated.",
+                "Appointment for %s with %s has been updated.",
+                "Appointment Update!");
+    }
+
+    public String onAppointmentDeleted(Appointment appointment) {
+        return notifyAppointmentChange(appointment,
+                "Appointment with %s has been cancelled.",
+                "Appointment for %s with %s has been cancelled.",
+                "Appointment Cancellation!");
     }
 
     private void refreshNotificationCount() {
-        if (notificationPanel != null) {
-            int count = notificationPanel.getUnreadNotificationCount();
-            if (count != lastNotifiedUnreadMessageCount) {
-                notificationButton.updateNotificationCount(count);
-                lastNotifiedUnreadMessageCount = count;
-            }
+        NotificationPanel panel = notificationPanel;
+        if (panel != null) {
+            notificationPolls.supply(panel::fetchNewNotifications)
+                    .whenComplete(AsyncFacade.handle(fetched -> {
+                        int count = panel.applyNewNotifications(fetched);
+                        if (count != lastUnreadNotificationCount) {
+                            notificationButton.updateNotificationCount(count);
+                            lastUnreadNotificationCount = count;
+                        }
+                    }, Throwable::printStackTrace));
         }
     }
 
+    private NotificationManager notificationManager() {
+        return new NotificationManager(PersistenceFactory.getNotificationPersistence());
+    }
+
+    /**
+     * Refreshes the badges and appointment views when a change is published,
+     * instead of polling; subscriptions end when the window is disposed.
+     */
+    private void subscribeToChanges() {
+        EventBus eventBus = EventBus.getDefault();
+        // Subscribed first so the calendar index is current before the views refresh
+        subscriptions.add(availabilityService.subscribe(eventBus));
+        Consumer<MessageSaved> messages =
+                EdtCoalescer.coalescing(batch -> refreshMessageCount());
+        Consumer<NotificationAdded> notifications =
+                EdtCoalescer.coalescing(batch -> refreshNotificationCount());
+        subscriptions.add(eventBus.subscribe(MessageSaved.class, e -> {
+            if (e.isFor(loggedIn.getId(), "physician")) {
+                messages.accept(e);
+            }
+        }));
+        subscriptions.add(eventBus.subscribe(NotificationAdded.class, e -> {
+            if (e.isFor(loggedIn.getId(), "physician")) {
+                notifications.accept(e);
+            }
+        }));
+        subscriptions.add(eventBus.subscribe(AppointmentChanged.class,
+                EdtCoalescer.coalescing(this::onAppointmentsChanged)));
+
+        frame.addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                subscriptions.forEach(EventBus.Subscription::close);
+                subscriptions.clear();
+            }
+        });
+    }
+
+    /**
+     * Stores the notifications for a batch of changes off the EDT, then shows
+     * their banners and refreshes the views. The physician's own
+     * notifications reach the panel and badge through {@link NotificationAdded}.
+     */
+    private void onAppointmentsChanged(List<AppointmentChanged> changes) {
+        async.supply(() -> {
+                    List<String> banners = new ArrayList<>();
+                    for (AppointmentChanged change : changes) {
+                        String banner = switch (change.kind()) {
+                            case CREATED -> onAppointmentCreated(change.appointment());
+                            case UPDATED -> onAppointmentUpdated(change.appointment());
+                            case DELETED -> onAppointmentDeleted(change.appointment());
+                            case CLEARED -> null;
+                        };
+                        if (banner != null) {
+                            banners.add(banner);
+                        }
+                    }
+                    return banners;
+                })
+                .whenComplete(AsyncFacade.handle(banners -> {
+                    banners.forEach(this::showAppointmentBanner);
+                    refreshAppointments();
+                }, error -> {
+                    error.printStackTrace();
+                    refreshAppointments();
+                }));
+    }
+
     public static void launchSingleUser(Physician loggedIn, PhysicianManager physicianManager,
             AppointmentManager appointmentManager, ReceptionistManager receptionistManager, 
             AppointmentController appointmentController, Runnable logoutCallback) {
@@ -731,10 +747,14 @@ public class PhysicianApp {
     }
 
     private void openReferralDialog() {
-        List<String> patientNames = appointmentManager.getAppointmentsForPhysician(loggedIn.getId())
-                .stream().map(Appointment::getPatientName)
-                .distinct().toList();
+        // Patient names come from the physician's appointments, read off the EDT
+        async.supply(() -> appointmentManager.getAppointmentsForPhysician(loggedIn.getId())
+                        .stream().map(Appointment::getPatientName)
+                        .distinct().toList())
+                .whenComplete(AsyncFacade.handle(this::showReferralDialog, Throwable::printStackTrace));
+    }
 
+    private void showReferralDialog(List<String> patientNames) {
         JDialog dlg = new JDialog(frame, UIConfig.REFERRAL_DIALOG_TITLE, true);
         dlg.setContentPane(new ReferralPanel(
                 referralManager, 
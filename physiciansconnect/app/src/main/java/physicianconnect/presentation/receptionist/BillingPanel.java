@@ -1,5 +1,6 @@
 package physicianconnect.presentation.receptionist;
 
+import physicianconnect.logic.controller.AsyncFacade;
 import physicianconnect.logic.controller.BillingController;
 import physicianconnect.logic.manager.InvoiceNotificationManager;
 import physicianconnect.logic.controller.AppointmentController;
@@ -8,18 +9,21 @@ import physicianconnect.objects.Appointment;
 import physicianconnect.objects.Invoice;
 import physicianconnect.objects.ServiceItem;
 import physicianconnect.objects.Payment;
+import physicianconnect.objects.RevenueTotals;
+import physicianconnect.objects.ServiceRevenue;
 import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.presentation.config.UITheme;
 import physicianconnect.presentation.util.InvoiceExportUtil;
+import physicianconnect.presentation.util.StatementExportDialog;
+import physicianconnect.presentation.util.PagedTableModel;
 import physicianconnect.presentation.util.RevenueSummaryUtil;
 import physicianconnect.presentation.NotificationPanel;
 import physicianconnect.persistence.interfaces.NotificationPersistence;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableRowSorter;
 import java.awt.*;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.*;
@@ -32,11 +36,22 @@ public class BillingPanel extends JPanel {
 
     private final BillingController billingController;
     private final AppointmentController appointmentController;
-    private final DefaultTableModel model;
+    /** Rows per invoice page, and pages kept in memory however many invoices there are. */
+    private static final int INVOICE_PAGE_SIZE = 100;
+    private static final int INVOICE_MAX_PAGES = 20;
+
+    private final PagedTableModel<Invoice> model;
     private final JTable invoiceTable;
-    private final TableRowSorter<DefaultTableModel> sorter;
     private final JTextField searchField;
     private final InvoiceNotificationManager notificationManager;
+    private final AsyncFacade async = AsyncFacade.getDefault();
+    private final AsyncFacade.Latest<InvoiceDetail> invoiceLoads = async.latest();
+
+    private record InvoiceDetail(Invoice invoice, List<Payment> payments) {
+    }
+
+    private record RevenueView(RevenueTotals totals, List<ServiceRevenue> byService) {
+    }
 
     // For keeping the invoice dialog open and refreshing content
     private JDialog invoiceDialog;
@@ -55,13 +70,16 @@ public class BillingPanel extends JPanel {
         // Top bar with buttons and search
         JButton newInvoiceBtn = new JButton(UIConfig.NEW_INVOICE_BUTTON_TEXT);
         JButton revenueSummaryBtn = new JButton(UIConfig.REVENUE_SUMMARY_BUTTON_TEXT);
+        JButton exportStatementsBtn = new JButton(UIConfig.EXPORT_STATEMENTS_BUTTON_TEXT);
         styleButton(newInvoiceBtn);
         styleButton(revenueSummaryBtn);
+        styleButton(exportStatementsBtn);
 
         JPanel topBar = new JPanel(new FlowLayout(FlowLayout.LEFT, 12, 0));
         topBar.setBackground(UITheme.BACKGROUND_COLOR);
         topBar.add(newInvoiceBtn);
         topBar.add(revenueSummaryBtn);
+        topBar.add(exportStatementsBtn);
 
         searchField = new JTextField(20);
         searchField.setFont(UITheme.LABEL_FONT);
@@ -73,17 +91,12 @@ public class BillingPanel extends JPanel {
         add(topBar, BorderLayout.NORTH);
 
         // Table setup
-        model = new DefaultTableModel(new Object[] {
+        model = new PagedTableModel<>(new String[] {
                 UIConfig.PATIENT_NAME_LABEL,
                 UIConfig.TOTAL_LABEL,
                 UIConfig.BALANCE_LABEL,
                 UIConfig.STATUS_LABEL
-        }, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        }, BillingPanel::invoiceCell, INVOICE_PAGE_SIZE, INVOICE_MAX_PAGES);
         invoiceTable = new JTable(model);
         invoiceTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         invoiceTable.setFont(UITheme.LABEL_FONT);
@@ -101,7 +114,7 @@ public class BillingPanel extends JPanel {
             public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
                     boolean hasFocus, int row, int column) {
                 Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-                String status = value.toString();
+                String status = value == null ? "" : value.toString();
                 if ("Paid".equalsIgnoreCase(status))
                     c.setBackground(new Color(200, 255, 200));
                 else if ("Partial".equalsIgnoreCase(status))
@@ -115,10 +128,7 @@ public class BillingPanel extends JPanel {
             }
         });
 
-        sorter = new TableRowSorter<>(model);
-        invoiceTable.setRowSorter(sorter);
-
-        refreshInvoices();
+        showInvoices("");
 
         JScrollPane tableScroll = new JScrollPane(invoiceTable);
         tableScroll.setBorder(BorderFactory.createLineBorder(UITheme.ACCENT_LIGHT_COLOR, 2, true));
@@ -126,19 +136,32 @@ public class BillingPanel extends JPanel {
 
         // Listeners
         newInvoiceBtn.addActionListener(e -> showNewInvoiceDialog());
+        exportStatementsBtn.addActionListener(e -> StatementExportDialog.show(this, billingController));
         revenueSummaryBtn.addActionListener(
-                e -> RevenueSummaryUtil.showRevenueSummary(this, billingController.getAllInvoices()));
+                e -> async.supply(() -> {
+                            YearMonth month = YearMonth.now();
+                            return new RevenueView(billingController.getRevenueTotals(null, null),
+                                    billingController.getRevenueByService(month.atDay(1).atStartOfDay(),
+                                            month.plusMonths(1).atDay(1).atStartOfDay()));
+                        })
+                        .whenComplete(AsyncFacade.handle(
+                                view -> RevenueSummaryUtil.showRevenueSummary(this, view.totals(), view.byService()),
+                                Throwable::printStackTrace)));
 
         invoiceTable.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting() && invoiceTable.getSelectedRow() != -1) {
-                int viewRow = invoiceTable.getSelectedRow();
-                int modelRow = invoiceTable.convertRowIndexToModel(viewRow);
-                String patientName = (String) model.getValueAt(modelRow, 0);
-                Invoice invoice = billingController.getAllInvoices().stream()
-                        .filter(inv -> inv.getPatientName().equals(patientName))
-                        .findFirst().orElse(null);
-                if (invoice != null)
-                    showInvoiceDetail(invoice, billingController.getPaymentsByInvoice(invoice.getId()));
+                Invoice row = model.getRow(invoiceTable.getSelectedRow());
+                if (row != null) {
+                    // The cached row may be stale after a payment; read the invoice again, off the EDT
+                    invoiceLoads.supply(() -> {
+                        Invoice invoice = billingController.getInvoiceById(row.getId());
+                        return invoice == null ? null
+                                : new InvoiceDetail(invoice, billingController.getPaymentsByInvoice(invoice.getId()));
+                    }).whenComplete(AsyncFacade.handle(detail -> {
+                        if (detail != null)
+                            showInvoiceDetail(detail.invoice(), detail.payments());
+                    }, Throwable::printStackTrace));
+                }
             }
         });
 
@@ -156,12 +179,7 @@ public class BillingPanel extends JPanel {
             }
 
             private void filter() {
-                String text = searchField.getText();
-                if (text.trim().isEmpty()) {
-                    sorter.setRowFilter(null);
-                } else {
-                    sorter.setRowFilter(RowFilter.regexFilter("(?i)" + text, 0));
-                }
+                showInvoices(searchField.getText());
             }
         });
     }
@@ -176,17 +194,32 @@ public class BillingPanel extends JPanel {
         btn.setOpaque(true);
     }
 
+    /** Newest invoices first, narrowed to patients whose names start with {@code patientPrefix}. */
+    private void showInvoices(String patientPrefix) {
+        model.setSource(new PagedTableModel.PageSource<>() {
+            @Override
+            public int count() {
+                return billingController.countInvoices(patientPrefix);
+            }
+
+            @Override
+            public List<Invoice> page(Invoice after, int offset, int limit) {
+                return billingController.getInvoicePage(patientPrefix, after, offset, limit);
+            }
+        });
+    }
+
+    private static Object invoiceCell(Invoice inv, int column) {
+        return switch (column) {
+            case 0 -> inv.getPatientName();
+            case 1 -> inv.getTotalAmount();
+            case 2 -> inv.getBalance();
+            default -> inv.getStatus();
+        };
+    }
+
     private void refreshInvoices() {
-        model.setRowCount(0);
-        List<Invoice> invoices = billingController.getAllInvoices();
-        for (Invoice inv : invoices) {
-            model.addRow(new Object[] {
-                    inv.getPatientName(),
-                    inv.getTotalAmount(),
-                    inv.getBalance(),
-                    inv.getStatus()
-            });
-        }
+        model.refresh();
         invoiceTable.clearSelection();
     }
 
@@ -349,7 +382,6 @@ public class BillingPanel extends JPanel {
                     billingController.createInvoice(appointmentId, patientName, selectedServices[0], insuranceAdj);
                     notificationManager.notifyInvoiceCreated(patientName);
                     refreshInvoices();
-                    RevenueSummaryUtil.fireRevenueSummaryChanged();
                 } catch (NumberFormatException ex) {
                     JOptionPane.showMessageDialog(this, "Please enter a valid insurance adjustment amount.",
                             UIConfig.ERROR_DIALOG_TITLE, JOptionPane.ERROR_MESSAGE);
@@ -564,7 +596,6 @@ public class BillingPanel extends JPanel {
                 billingController.deleteInvoice(invoice.getId());
                 notificationManager.notifyInvoiceDeleted(invoice.getPatientName());
                 refreshInvoices();
-                RevenueSummaryUtil.fireRevenueSummaryChanged();
                 invoiceDialog.dispose();
             }
         });
@@ -663,10 +694,12 @@ public class BillingPanel extends JPanel {
             }
         });
 
-        int result = JOptionPane.showConfirmDialog(this, panel, UIConfig.RECORD_PAYMENT_DIALOG_TITLE,
-                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
-
-        if (result == JOptionPane.OK_OPTION) {
+        // One key per payment: the dialog reopens with the same key after a
+        // failed submit, so resubmitting a payment that did reach the database
+        // returns it instead of charging the invoice twice
+        String paymentKey = UUID.randomUUID().toString();
+        while (JOptionPane.showConfirmDialog(this, panel, UIConfig.RECORD_PAYMENT_DIALOG_TITLE,
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) == JOptionPane.OK_OPTION) {
             try {
                 String amountText = amountField.getText().trim();
                 if (!amountText.matches("^\\d*\\.?\\d{0,2}$")) {
@@ -678,23 +711,9 @@ public class BillingPanel extends JPanel {
                 String method = (String) methodBox.getSelectedItem();
                 BillingValidator.validatePaymentAmount(amount, invoice.getBalance());
                 
-                // Record the payment
-                billingController.recordPayment(invoice.getId(), amount, method);
-                
-                // Get the updated invoice to check its new status
-                Invoice updatedInvoice = billingController.getInvoiceById(invoice.getId());
-                
-                // Only show the paid notification if the invoice is now fully paid
-                if ("Paid".equals(updatedInvoice.getStatus())) {
-                    notificationManager.notifyInvoicePaid(updatedInvoice.getPatientName());
-                }
-                
-                refreshInvoices();
-                RevenueSummaryUtil.fireRevenueSummaryChanged();
-                
-                // Show updated details in the same dialog
-                List<Payment> updatedPayments = billingController.getPaymentsByInvoice(invoice.getId());
-                showInvoiceDetail(updatedInvoice, updatedPayments);
+                billingController.recordPayment(invoice.getId(), amount, method, paymentKey);
+                showPaidInvoice(invoice);
+                return;
 
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this, "Please enter a valid amount with up to 2 decimal places.",
@@ -706,4 +725,26 @@ public class BillingPanel extends JPanel {
             }
         }
     }
+
+    /** Shows the invoice again after a payment was recorded against it. */
+    private void showPaidInvoice(Invoice invoice) {
+        try {
+            // Get the updated invoice to check its new status
+            Invoice updatedInvoice = billingController.getInvoiceById(invoice.getId());
+            
+            // Only show the paid notification if the invoice is now fully paid
+            if ("Paid".equals(updatedInvoice.getStatus())) {
+                notificationManager.notifyInvoicePaid(updatedInvoice.getPatientName());
+            }
+            
+            refreshInvoices();
+            
+            // Show updated details in the same dialog
+            List<Payment> updatedPayments = billingController.getPaymentsByInvoice(invoice.getId());
+            showInvoiceDetail(updatedInvoice, updatedPayments);
+        } catch (Exception ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), UIConfig.ERROR_DIALOG_TITLE,
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
 }
\ No newline at end of file
@@ -1,18 +1,26 @@
 package physicianconnect.presentation.receptionist;
 
 import physicianconnect.logic.AvailabilityService;
+import physicianconnect.logic.MessagePoller;
 import physicianconnect.logic.MessageService;
 import physicianconnect.logic.controller.AppointmentController;
+import physicianconnect.logic.controller.AsyncFacade;
 import physicianconnect.logic.controller.BillingController;
 import physicianconnect.logic.controller.MessageController;
 import physicianconnect.logic.controller.ReceptionistController;
+import physicianconnect.logic.event.AppointmentChanged;
+import physicianconnect.logic.event.EventBus;
+import physicianconnect.logic.event.InvoiceUpdated;
+import physicianconnect.logic.event.MessageSaved;
+import physicianconnect.logic.event.NotificationAdded;
 import physicianconnect.logic.manager.AppointmentManager;
 import physicianconnect.logic.manager.InvoiceManager;
+import physicianconnect.logic.manager.NotificationManager;
 import physicianconnect.logic.manager.PaymentManager;
 import physicianconnect.logic.manager.PhysicianManager;
 import physicianconnect.logic.manager.ReceptionistManager;
 import physicianconnect.objects.Appointment;
-import physicianconnect.objects.Invoice;
+import physicianconnect.objects.AppointmentWithPhysician;
 import physicianconnect.objects.Payment;
 import physicianconnect.objects.Physician;
 import physicianconnect.objects.Receptionist;
@@ -30,20 +38,21 @@ import physicianconnect.presentation.ViewAppointmentPanel;
 import physicianconnect.presentation.WeeklyAvailabilityPanel;
 import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.presentation.config.UITheme;
+import physicianconnect.presentation.util.EdtCoalescer;
+import physicianconnect.presentation.util.PagedTableModel;
 import physicianconnect.presentation.util.ProfileImageUtil;
 import physicianconnect.presentation.util.RevenueSummaryUtil;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.ActionListener;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 public class ReceptionistApp {
     private final Receptionist loggedIn;
@@ -54,6 +63,8 @@ public class ReceptionistApp {
     private final PaymentManager paymentManager;
     private final Runnable logoutCallback;
     private final MessageService messageService;
+    /** Built off the EDT, as it reads the unread count; null until then. */
+    private volatile MessagePoller messagePoller;
     private final MessageController messageController;
     private final AppointmentController appointmentController;
     private final ReceptionistController receptionistController;
@@ -62,9 +73,15 @@ public class ReceptionistApp {
 
     private JFrame frame;
     private JComboBox<Object> physicianCombo;
-    private DefaultTableModel appointmentTableModel;
+    /** Rows per schedule page, and pages kept in memory however long the history is. */
+    private static final int SCHEDULE_PAGE_SIZE = 100;
+    private static final int SCHEDULE_MAX_PAGES = 20;
+    private static final DateTimeFormatter SCHEDULE_DATE_FORMAT = DateTimeFormatter.ofPattern(UIConfig.DATE_FORMAT);
+    private static final DateTimeFormatter SCHEDULE_TIME_FORMAT = DateTimeFormatter.ofPattern(UIConfig.TIME_FORMAT);
+
+    private PagedTableModel<AppointmentWithPhysician> appointmentTableModel;
+    private boolean scheduleNewestFirst = false;
     private JTable appointmentTable;
-    private TableRowSorter<DefaultTableModel> appointmentTableSorter;
     private JTextField appointmentSearchField;
     private DailyAvailabilityPanel dailyPanel;
     private WeeklyAvailabilityPanel weeklyPanel;
@@ -86,13 +103,20 @@ public class ReceptionistApp {
     private JPanel revenueSummaryContent;
     private boolean revenueSummaryCollapsed = false;
 
-    private Timer messageRefreshTimer;
     private NotificationPanel notificationPanel;
     private NotificationBanner notificationBanner;
     private JDialog notificationDialog;
     private NotificationButton notificationButton;
-    private Timer notificationRefreshTimer;
-    private int lastNotifiedUnreadMessageCount = 0;
+    private final List<EventBus.Subscription> subscriptions = new ArrayList<>();
+    private int lastUnreadNotificationCount = 0;
+
+    /** Keeps database reads for the badges off the EDT. */
+    private final AsyncFacade async = AsyncFacade.getDefault();
+    private final AsyncFacade.Latest<NotificationPanel.NewNotifications> notificationPolls = async.latest();
+
+    /** What one message refresh found: the badge count and, if anything arrived, the banner text. */
+    private record MessageTick(int unreadCount, String notification) {
+    }
 
     public ReceptionistApp(Receptionist loggedIn, PhysicianManager physicianManager,
                            AppointmentManager appointmentManager, ReceptionistManager receptionistManager, 
@@ -114,8 +138,9 @@ public class ReceptionistApp {
         this.invoiceManager = new InvoiceManager(PersistenceFactory.getInvoicePersistence());
         this.paymentManager = new PaymentManager(PersistenceFactory.getPaymentPersistence());
         this.billingController = new BillingController(invoiceManager, paymentManager);
-        this.availabilityService = new AvailabilityService(
-                (physicianconnect.persistence.sqlite.AppointmentDB) PersistenceFactory.getAppointmentPersistence());
+        this.availabilityService = new AvailabilityService(PersistenceFactory.getAppointmentPersistence());
+        // Months the panels ask for first are loaded on first use; this fills the rest off the EDT
+        async.run(availabilityService::preload).whenComplete(AsyncFacade.handle(done -> { }, Throwable::printStackTrace));
         
         // Initialize notification panel
         this.notificationPanel = new NotificationPanel(
@@ -128,11 +153,6 @@ public class ReceptionistApp {
         this.notificationDialog.pack();
         this.notificationDialog.setLocationRelativeTo(frame);
         
-        // Register appointment callbacks
-        appointmentController.setOnAppointmentCreated(this::onAppointmentCreated);
-        appointmentController.setOnAppointmentUpdated(this::onAppointmentUpdated);
-        appointmentController.setOnAppointmentDeleted(this::onAppointmentDeleted);
-        
         initializeUI();
     }
 
@@ -143,14 +163,6 @@ public class ReceptionistApp {
         frame.setLocationRelativeTo(null);
         frame.setLayout(new BorderLayout(10, 10));
 
-        // Register for revenue summary updates
-        RevenueSummaryUtil.addListener(this::updateRevenueSummary);
-        frame.addWindowListener(new java.awt.event.WindowAdapter() {
-            public void windowClosed(java.awt.event.WindowEvent e) {
-                RevenueSummaryUtil.removeListener(ReceptionistApp.this::updateRevenueSummary);
-            }
-        });
-
         // Top Panel
         JPanel topPanel = new JPanel(new BorderLayout(10, 10));
         topPanel.setBackground(UITheme.BACKGROUND_COLOR);
@@ -172,12 +184,14 @@ public class ReceptionistApp {
         profilePicButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
         profilePicButton.addActionListener(e -> openProfileDialog());
 
-        // Physician dropdown
-        List<Physician> physicians = physicianManager.getAllPhysicians();
+        // Physician dropdown; the physicians are read off the EDT and added once they arrive
         physicianCombo = new JComboBox<>();
         physicianCombo.addItem(UIConfig.ALL_PHYSICIANS_LABEL);
-        for (Physician p : physicians)
-            physicianCombo.addItem(p);
+        async.supply(physicianManager::getAllPhysicians)
+                .whenComplete(AsyncFacade.handle(physicians -> {
+                    for (Physician p : physicians)
+                        physicianCombo.addItem(p);
+                }, Throwable::printStackTrace));
 
         // Date/Time Label
         JLabel dateTimeLabel = new JLabel();
@@ -194,19 +208,16 @@ public class ReceptionistApp {
         // Message Button
         messageButton = new MessageButton();
         messageButton.setOnAction(e -> showMessageDialog());
+        async.supply(() -> new MessagePoller(messageService, loggedIn.getId(), "receptionist"))
+                .whenComplete(AsyncFacade.handle(poller -> {
+                    messagePoller = poller;
+                    messageButton.updateNotificationCount(poller.getUnreadCount());
+                }, Throwable::printStackTrace));
 
         // Add notification button
         notificationButton = new NotificationButton();
         notificationButton.setOnAction(e -> showNotificationPanel());
 
-        // Initialize notification refresh timer
-        notificationRefreshTimer = new Timer(5000, e -> refreshNotificationCount());
-        notificationRefreshTimer.start();
-
-        // Initialize message refresh timer
-        messageRefreshTimer = new Timer(5000, e -> refreshMessageCount());
-        messageRefreshTimer.start();
-
         // Right-aligned panel for physician dropdown, date/time, and message button
         JPanel rightPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
         rightPanel.setOpaque(false);
@@ -245,21 +256,26 @@ public class ReceptionistApp {
         // Table for appointments
         String[] columns = { UIConfig.PATIENT_LABEL, UIConfig.PHYSICIAN_LABEL, UIConfig.DATE_LABEL,
                 UIConfig.TIME_LABEL };
-        appointmentTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        appointmentTableModel = new PagedTableModel<>(columns, ReceptionistApp::scheduleCell,
+                SCHEDULE_PAGE_SIZE, SCHEDULE_MAX_PAGES);
         appointmentTable = new JTable(appointmentTableModel);
         appointmentTable.setFont(UITheme.LABEL_FONT);
         appointmentTable.setRowHeight(28);
         appointmentTable.getTableHeader().setFont(UITheme.HEADER_FONT);
         appointmentTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        appointmentTable.setAutoCreateRowSorter(true);
 
-        appointmentTableSorter = new TableRowSorter<>(appointmentTableModel);
-        appointmentTable.setRowSorter(appointmentTableSorter);
+        // Rows are sorted by the query; the date and time headers flip its direction
+        appointmentTable.getTableHeader().addMouseListener(new java.awt.event.MouseAdapter() {
+            @Override
+            public void mouseClicked(java.awt.event.MouseEvent e) {
+                int column = appointmentTable.convertColumnIndexToModel(
+                        appointmentTable.columnAtPoint(e.getPoint()));
+                if (column == 2 || column == 3) {
+                    scheduleNewestFirst = !scheduleNewestFirst;
+                    updateAppointments();
+                }
+            }
+        });
 
         appointmentSearchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
             public void insertUpdate(javax.swing.event.DocumentEvent e) {
@@ -425,7 +441,8 @@ public class ReceptionistApp {
             AddAppointmentPanel dlg = new AddAppointmentPanel(
                     frame,
                     appointmentController,
-                    selectedPhysician.getId(),
+                    selectedPhysician,
+                    availabilityService,
                     this::updateAppointments);
             dlg.setVisible(true);
         });
@@ -437,28 +454,9 @@ public class ReceptionistApp {
                         UIConfig.ERROR_DIALOG_TITLE, JOptionPane.INFORMATION_MESSAGE);
                 return;
             }
-            int modelRow = appointmentTable.convertRowIndexToModel(selectedRow);
-            String patientName = (String) appointmentTableModel.getValueAt(modelRow, 0);
-            String physicianName = (String) appointmentTableModel.getValueAt(modelRow, 1);
-            String dateStr = (String) appointmentTableModel.getValueAt(modelRow, 2);
-            String timeStr = (String) appointmentTableModel.getValueAt(modelRow, 3);
-
-            // Find the matching Appointment object
-            List<Appointment> allAppointments = physicianManager.getAllPhysicians().stream()
-                    .flatMap(p -> appointmentManager.getAppointmentsForPhysician(p.getId()).stream())
-                    .collect(Collectors.toList());
-            Appointment selectedAppt = null;
-            for (Appointment a : allAppointments) {
-                Physician p = physicianManager.getPhysicianById(a.getPhysicianId());
-                String pName = (p != null) ? p.getName() : UIConfig.UNKNOWN_PHYSICIAN_LABEL;
-                String date = a.getDateTime().format(DateTimeFormatter.ofPattern(UIConfig.DATE_FORMAT));
-                String time = a.getDateTime().format(DateTimeFormatter.ofPattern(UIConfig.TIME_FORMAT));
-                if (a.getPatientName().equals(patientName) && pName.equals(physicianName)
-                        && date.equals(dateStr) && time.equals(timeStr)) {
-                    selectedAppt = a;
-                    break;
-                }
-            }
+            AppointmentWithPhysician selectedRowData = appointmentTableModel.getRow(
+                    appointmentTable.convertRowIndexToModel(selectedRow));
+            Appointment selectedAppt = selectedRowData == null ? null : selectedRowData.appointment();
             if (selectedAppt == null) {
                 JOptionPane.showMessageDialog(frame, UIConfig.ERROR_APPOINTMENT_NOT_FOUND,
                         UIConfig.ERROR_DIALOG_TITLE, JOptionPane.ERROR_MESSAGE);
@@ -505,47 +503,48 @@ public class ReceptionistApp {
         updateAppointments();
         updateCalendarPanels();
 
-        appointmentManager.addChangeListener(this::updateAppointments);
+        subscribeToChanges();
 
         frame.setVisible(true);
     }
 
+/**
+ * Points the schedule table at the current physician, search text and sort
+ * direction; pages are then loaded off the EDT as the table scrolls.
+ */
 private void updateAppointments() {
     Object selected = physicianCombo.getSelectedItem();
     Physician selectedPhysician = (selected instanceof Physician) ? (Physician) selected : null;
-    List<Appointment> allAppointments;
-    if (selectedPhysician == null) {
-        allAppointments = physicianManager.getAllPhysicians().stream()
-                .flatMap(p -> appointmentManager.getAppointmentsForPhysician(p.getId()).stream())
-                .collect(Collectors.toList());
-    } else {
-        allAppointments = appointmentManager.getAppointmentsForPhysician(selectedPhysician.getId());
-    }
-    appointmentTableModel.setRowCount(0);
-    List<Appointment> filtered = allAppointments.stream()
-            .sorted((a, b) -> a.getDateTime().compareTo(b.getDateTime()))
-            .collect(Collectors.toList());
-    for (Appointment a : filtered) {
-        Physician p = physicianManager.getPhysicianById(a.getPhysicianId());
-        String physicianName = (p != null) ? p.getName() : UIConfig.UNKNOWN_PHYSICIAN_LABEL;
-        String date = a.getDateTime().format(DateTimeFormatter.ofPattern(UIConfig.DATE_FORMAT));
-        String time = a.getDateTime().format(DateTimeFormatter.ofPattern(UIConfig.TIME_FORMAT));
-        appointmentTableModel.addRow(new Object[] {
-                a.getPatientName(),
-                physicianName,
-                date,
-                time
-        });
-    }
+    String physicianId = selectedPhysician == null ? null : selectedPhysician.getId();
+    String patientPrefix = appointmentSearchField.getText();
+    boolean newestFirst = scheduleNewestFirst;
+    appointmentTableModel.setSource(new PagedTableModel.PageSource<>() {
+        @Override
+        public int count() {
+            return appointmentManager.countAppointments(physicianId, patientPrefix);
+        }
+
+        @Override
+        public List<AppointmentWithPhysician> page(AppointmentWithPhysician after, int offset, int limit) {
+            return appointmentManager.getAppointmentPage(physicianId, patientPrefix, newestFirst,
+                    after == null ? null : after.appointment(), offset, limit);
+        }
+    });
+}
+
+private static Object scheduleCell(AppointmentWithPhysician row, int column) {
+    Appointment a = row.appointment();
+    return switch (column) {
+        case 0 -> a.getPatientName();
+        case 1 -> row.physicianName() != null ? row.physicianName() : UIConfig.UNKNOWN_PHYSICIAN_LABEL;
+        case 2 -> a.getDateTime().format(SCHEDULE_DATE_FORMAT);
+        default -> a.getDateTime().format(SCHEDULE_TIME_FORMAT);
+    };
 }
 
+/** The search matches the start of patient names, in SQL. */
 private void filterAppointments() {
-    String text = appointmentSearchField.getText();
-    if (text.trim().length() == 0) {
-        appointmentTableSorter.setRowFilter(null);
-    } else {
-        appointmentTableSorter.setRowFilter(RowFilter.regexFilter("(?i)" + text, 0)); // 0 = Patient Name column
-    }
+    updateAppointments();
 }
 
 private void updateCalendarPanels() {
@@ -639,7 +638,7 @@ private void updateCalendarPanels() {
         // Mark all notifications as read when panel is opened
         notificationPanel.showNotificationPanel();
         notificationButton.updateNotificationCount(0);
-        lastNotifiedUnreadMessageCount = 0;
+        lastUnreadNotificationCount = 0;
     }
 
     private void showNotificationBanner(String message, java.awt.event.ActionListener onClick) {
@@ -653,83 +652,164 @@ private void updateCalendarPanels() {
     }
 
     private void updateRevenueSummary() {
-        revenueSummaryContent.removeAll();
-        List<Invoice> invoices = billingController.getAllInvoices();
-        JPanel summary = RevenueSummaryUtil.createSummaryPanel(invoices);
-        revenueSummaryContent.add(summary, BorderLayout.CENTER);
-        revenueSummaryContent.setVisible(!revenueSummaryCollapsed);
-        revenueSummaryContent.revalidate();
-        revenueSummaryContent.repaint();
+        async.supply(() -> billingController.getRevenueTotals(null, null))
+                .whenComplete(AsyncFacade.handle(totals -> {
+                    revenueSummaryContent.removeAll();
+                    revenueSummaryContent.add(RevenueSummaryUtil.createSummaryPanel(totals), BorderLayout.CENTER);
+                    revenueSummaryContent.setVisible(!revenueSummaryCollapsed);
+                    revenueSummaryContent.revalidate();
+                    revenueSummaryContent.repaint();
+                }, Throwable::printStackTrace));
     }
 
     private void showMessageDialog() {
-        JDialog dialog = new JDialog(frame, UIConfig.MESSAGES_DIALOG_TITLE, true);
-
-        // Combine physicians and receptionists into one list
-        List<Object> allUsers = new java.util.ArrayList<>();
-        allUsers.addAll(physicianManager.getAllPhysicians());
-        allUsers.addAll(receptionistManager.getAllReceptionists());
+        // Combine physicians and receptionists into one list, off the EDT; the dialog opens once it is in
+        async.supply(() -> {
+            List<Object> allUsers = new java.util.ArrayList<>();
+            allUsers.addAll(physicianManager.getAllPhysicians());
+            allUsers.addAll(receptionistManager.getAllReceptionists());
+            return allUsers;
+        }).whenComplete(AsyncFacade.handle(this::openMessageDialog, Throwable::printStackTrace));
+    }
 
+    private void openMessageDialog(List<Object> allUsers) {
+        JDialog dialog = new JDialog(frame, UIConfig.MESSAGES_DIALOG_TITLE, true);
         MessagePanel messagePanel = new MessagePanel(messageController, loggedIn.getId(), "receptionist", allUsers);
         dialog.setContentPane(messagePanel);
         dialog.pack();
         dialog.setLocationRelativeTo(frame);
         dialog.setVisible(true);
-        refreshMessageCount();
+        MessagePoller poller = messagePoller;
+        if (poller != null) {
+            showMessageTick(() -> new MessageTick(poller.resync(), null));
+        }
     }
 
     private void refreshMessageCount() {
-        int unreadCount = messageService.getUnreadMessageCount(loggedIn.getId(), "receptionist");
-        messageButton.updateNotificationCount(unreadCount);
-        
-        // Only show banner for new unread messages
-        if (unreadCount > lastNotifiedUnreadMessageCount) {
-            // Find the latest unread message
-            List<physicianconnect.objects.Message> unreadMessages = messageService.getUnreadMessagesForUser(loggedIn.getId(), "receptionist");
-            if (!unreadMessages.isEmpty()) {
-                physicianconnect.objects.Message latest = unreadMessages.get(unreadMessages.size() - 1);
-                String senderType = latest.getSenderType();
-                String senderName = "";
-                
-                if (senderType.equals("physician")) {
-                    senderName = physicianManager.getPhysicianById(latest.getSenderId()).getName();
-                } else if (senderType.equals("receptionist")) {
-                    senderName = receptionistManager.getReceptionistById(latest.getSenderId()).getName();
-                }
-                
-                String notificationMsg = "New message received from " + senderName + " (" + senderType + ")";
-                showNotificationBanner(notificationMsg, e -> showMessageDialog());
-                if (notificationPanel != null) {
-                    notificationPanel.addNotification(notificationMsg, "Message");
-                }
-            }
+        // Only messages saved since the last tick are fetched; the badge is updated from that delta.
+        // Before the poller is built there is nothing to poll: it starts from the current count
+        MessagePoller poller = messagePoller;
+        if (poller != null) {
+            showMessageTick(() -> pollMessages(poller));
         }
-        lastNotifiedUnreadMessageCount = unreadCount;
     }
 
-    private void refreshNotificationCount() {
-        if (notificationPanel != null) {
-            int count = notificationPanel.getUnreadNotificationCount();
-            if (count != lastNotifiedUnreadMessageCount) {
-                notificationButton.updateNotificationCount(count);
-                lastNotifiedUnreadMessageCount = count;
-            }
+    private void showMessageTick(java.util.concurrent.Callable<MessageTick> query) {
+        // Not superseded: each poll advances the poller, so every answer must be shown
+        async.supply(query)
+                .whenComplete(AsyncFacade.handle(tick -> {
+                    messageButton.updateNotificationCount(tick.unreadCount());
+                    if (tick.notification() != null) {
+                        showNotificationBanner(tick.notification(), e -> showMessageDialog());
+                        if (notificationPanel != null) {
+                            notificationPanel.addNotification(tick.notification(), "Message")
+                                    .thenRun(this::refreshNotificationCount);
+                        }
+                    }
+                }, Throwable::printStackTrace));
+    }
+
+    /** Runs off the EDT: polls for new messages and names the latest sender. */
+    private MessageTick pollMessages(MessagePoller poller) {
+        List<physicianconnect.objects.Message> arrived = poller.poll();
+        if (arrived.isEmpty()) {
+            return new MessageTick(poller.getUnreadCount(), null);
         }
+        physicianconnect.objects.Message latest = arrived.get(arrived.size() - 1);
+        String senderType = latest.getSenderType();
+        String senderName = "";
+        if (senderType.equals("physician")) {
+            senderName = physicianManager.getPhysicianById(latest.getSenderId()).getName();
+        } else if (senderType.equals("receptionist")) {
+            senderName = receptionistManager.getReceptionistById(latest.getSenderId()).getName();
+        }
+        return new MessageTick(poller.getUnreadCount(),
+                "New message received from " + senderName + " (" + senderType + ")");
     }
 
-    private void notifyAppointmentChange(String message, String type) {
-        // Always add to notification panel for persistence
-        if (notificationPanel == null) {
-            notificationPanel = new NotificationPanel(
-                PersistenceFactory.getNotificationPersistence(),
-                loggedIn.getId(),
-                "receptionist"
-            );
+    private void refreshNotificationCount() {
+        NotificationPanel panel = notificationPanel;
+        if (panel != null) {
+            notificationPolls.supply(panel::fetchNewNotifications)
+                    .whenComplete(AsyncFacade.handle(fetched -> {
+                        int count = panel.applyNewNotifications(fetched);
+                        if (count != lastUnreadNotificationCount) {
+                            notificationButton.updateNotificationCount(count);
+                            lastUnreadNotificationCount = count;
+                        }
+                    }, Throwable::printStackTrace));
         }
-        notificationPanel.addNotification(message, type);
-        // Update notification count immediately
-        notificationButton.updateNotificationCount(notificationPanel.getUnreadNotificationCount());
+    }
+
+    private NotificationManager notificationManager() {
+        return new NotificationManager(PersistenceFactory.getNotificationPersistence());
+    }
+
+    /**
+     * Refreshes the badges, appointment views and revenue summary when a
+     * change is published, instead of polling; subscriptions end when the
+     * window is disposed.
+     */
+    private void subscribeToChanges() {
+        EventBus eventBus = EventBus.getDefault();
+        // Subscribed first so the calendar index is current before the views refresh
+        subscriptions.add(availabilityService.subscribe(eventBus));
+        Consumer<MessageSaved> messages =
+                EdtCoalescer.coalescing(batch -> refreshMessageCount());
+        Consumer<NotificationAdded> notifications =
+                EdtCoalescer.coalescing(batch -> refreshNotificationCount());
+        subscriptions.add(eventBus.subscribe(MessageSaved.class, e -> {
+            if (e.isFor(loggedIn.getId(), "receptionist")) {
+                messages.accept(e);
+            }
+        }));
+        subscriptions.add(eventBus.subscribe(NotificationAdded.class, e -> {
+            if (e.isFor(loggedIn.getId(), "receptionist")) {
+                notifications.accept(e);
+            }
+        }));
+        subscriptions.add(eventBus.subscribe(AppointmentChanged.class,
+                EdtCoalescer.coalescing(this::onAppointmentsChanged)));
+        subscriptions.add(eventBus.subscribe(InvoiceUpdated.class,
+                EdtCoalescer.coalescing(batch -> updateRevenueSummary())));
+
+        frame.addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                subscriptions.forEach(EventBus.Subscription::close);
+                subscriptions.clear();
+            }
+        });
+    }
+
+    /**
+     * Stores the notifications for a batch of changes off the EDT, then shows
+     * their banners and refreshes the views. The receptionist's own
+     * notifications reach the panel and badge through {@link NotificationAdded}.
+     */
+    private void onAppointmentsChanged(List<AppointmentChanged> changes) {
+        async.supply(() -> {
+                    List<String> banners = new ArrayList<>();
+                    for (AppointmentChanged change : changes) {
+                        switch (change.kind()) {
+                            case CREATED -> banners.add(onAppointmentCreated(change.appointment()));
+                            case UPDATED -> banners.add(onAppointmentUpdated(change.appointment()));
+                            case DELETED -> banners.add(onAppointmentDeleted(change.appointment()));
+                            case CLEARED -> { }
+                        }
+                    }
+                    return banners;
+                })
+                .whenComplete(AsyncFacade.handle(banners -> {
+                    banners.forEach(this::showAppointmentBanner);
+                    updateAppointments();
+                }, error -> {
+                    error.printStackTrace();
+                    updateAppointments();
+                }));
+    }
 
+    private void showAppointmentBanner(String message) {
         // Only show banner if user is logged in
         if (frame != null && frame.isVisible()) {
             showNotificationBanner(message, e -> {
@@ -747,76 +827,45 @@ private void updateCalendarPanels() {
         }
     }
 
-    // Add this method to handle appointment updates from the controller
-    public void onAppointmentUpdated(Appointment appointment) {
-        String physicianName = physicianManager.getPhysicianById(appointment.getPhysicianId()).getName();
-        String message = String.format("Appointment notes for %s and %s has been updated.", 
-            physicianName,
-            appointment.getPatientName());
-        notifyAppointmentChange(message, "Appointment Update!");
-        
-        // Notify the physician about the update
+    /**
+     * Runs off the EDT: stores the notifications for an appointment change,
+     * one for this receptionist and one for the physician.
+     *
+     * @return the banner text for this window
+     */
+    private String notifyAppointmentChange(Appointment appointment, String message, String physicianMessage,
+            String type) {
         Physician physician = physicianManager.getPhysicianById(appointment.getPhysicianId());
-        if (physician != null) {
-            String physicianMessage = String.format("Appointment with %s has been updated.", 
+        String banner = String.format(message, physician == null ? "" : physician.getName(),
                 appointment.getPatientName());
-            
-            // Create a new notification panel for the physician to store the notification
-            NotificationPanel physicianNotificationPanel = new NotificationPanel(
-                PersistenceFactory.getNotificationPersistence(),
-                physician.getId(),
-                "physician"
-            );
-            physicianNotificationPanel.addNotification(physicianMessage, "Appointment Update!");
+        NotificationManager notifications = notificationManager();
+        notifications.notifyUser(loggedIn.getId(), "receptionist", banner, type);
+        if (physician != null) {
+            notifications.notifyUser(physician.getId(), "physician",
+                    String.format(physicianMessage, appointment.getPatientName()), type);
         }
+        return banner;
     }
 
-    // Add this method to handle appointment deletions from the controller
-    public void onAppointmentDeleted(Appointment appointment) {
-        String physicianName = physicianManager.getPhysicianById(appointment.getPhysicianId()).getName();
-        String message = String.format("Appointment for %s and %s has been deleted.", 
-            physicianName,
-            appointment.getPatientName());
-        notifyAppointmentChange(message, "Appointment Cancellation!");
-        
-        // Notify the physician about the deletion
-        Physician physician = physicianManager.getPhysicianById(appointment.getPhysicianId());
-        if (physician != null) {
-            String physicianMessage = String.format("Appointment with %s has been cancelled.", 
-                appointment.getPatientName());
-            
-            // Create a new notification panel for the physician to store the notification
-            NotificationPanel physicianNotificationPanel = new NotificationPanel(
-                PersistenceFactory.getNotificationPersistence(),
-                physician.getId(),
-                "physician"
-            );
-            physicianNotificationPanel.addNotification(physicianMessage, "Appointment Cancellation!");
-        }
+    public String onAppointmentUpdated(Appointment appointment) {
+        return notifyAppointmentChange(appointment,
+                "Appointment notes for %s and %s has been updated.",
+                "Appointment with %s has been updated.",
+                "Appointment Update!");
     }
 
-    // Add this method to handle new appointments from the controller
-    public void onAppointmentCreated(Appointment appointment) {
-        String physicianName = physicianManager.getPhysicianById(appointment.getPhysicianId()).getName();
-        String message = String.format("New appointment set for %s and %s.", 
-            physicianName,
-            appointment.getPatientName());
-        notifyAppointmentChange(message, "New Appointment!");
-        
-        // Notify the physician about the new appointment
-        Physician physician = physicianManager.getPhysicianById(appointment.getPhysicianId());
-        if (physician != null) {
-            String physicianMessage = String.format("New appointment scheduled with %s.", 
-                appointment.getPatientName());
-            
-            // Create a new notification panel for the physician to store the notification
-            NotificationPanel physicianNotificationPanel = new NotificationPanel(
-                PersistenceFactory.getNotificationPersistence(),
-                physician.getId(),
-                "physician"
-            );
-            physicianNotificationPanel.addNotification(physicianMessage, "New Appointment!");
-        }
+    public String onAppointmentDeleted(Appointment appointment) {
+        return notifyAppointmentChange(appointment,
+                "Appointment for %s and %s has been deleted.",
+                "Appointment with %s has been cancelled.",
+                "Appointment Cancellation!");
+    }
+
+    public String onAppointmentCreated(Appointment appointment) {
+        return notifyAppointmentChange(appointment,
+                "New appointment set for %s and %s.",
+                "New appointment scheduled with %s.",
+                "New Appointment!");
     }
 
     private JButton createStyledButton(String txt) {
@@ -0,0 +1,47 @@
+package physicianconnect.presentation.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Adapts an event-bus handler for Swing: events arriving off the EDT are
+ * queued, and one {@code invokeLater} hands the whole backlog to the handler,
+ * so a burst of changes causes a single repaint instead of one per event.
+ */
+public final class EdtCoalescer<E> implements Consumer<E> {
+    private final Consumer<List<E>> handler;
+    private List<E> pending = new ArrayList<>(); // guarded by this
+
+    private EdtCoalescer(Consumer<List<E>> handler) {
+        this.handler = handler;
+    }
+
+    /** @param handler receives the queued events, oldest first, on the EDT */
+    public static <E> Consumer<E> coalescing(Consumer<List<E>> handler) {
+        return new EdtCoalescer<>(handler);
+    }
+
+    @Override
+    public void accept(E event) {
+        boolean schedule;
+        synchronized (this) {
+            schedule = pending.isEmpty();
+            pending.add(event);
+        }
+        if (schedule) {
+            SwingUtilities.invokeLater(this::drain);
+        }
+    }
+
+    private void drain() {
+        List<E> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        handler.accept(batch);
+    }
+}
@@ -1,8 +1,8 @@
 package physicianconnect.presentation.util;
 
+import physicianconnect.logic.export.StatementRenderer;
 import physicianconnect.objects.Invoice;
 import physicianconnect.objects.Payment;
-import physicianconnect.objects.ServiceItem;
 
 import javax.print.attribute.HashPrintRequestAttributeSet;
 import javax.print.attribute.PrintRequestAttributeSet;
@@ -11,7 +11,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.print.*;
 import java.io.*;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 public class InvoiceExportUtil {
@@ -127,40 +126,7 @@ public static void exportInvoice(Component parent, Invoice invoice, String apptD
     // Helper to write all invoice lines to any PrintWriter
     private static void writeInvoiceLines(PrintWriter pw,
             Invoice invoice, String apptDateTime, List<Payment> payments, boolean windowsLineEndings) {
-        String ln = windowsLineEndings ? "\r\n" : "\n";
-        pw.print("==================================================" + ln);
-        pw.print("              PHYSICIANSCONNECT INVOICE           " + ln);
-        pw.print("==================================================" + ln);
-        pw.printf("Patient Name: %s%s", invoice.getPatientName(), ln);
-        pw.printf("Appointment:  %s%s", apptDateTime == null ? "-" : apptDateTime, ln);
-        pw.print("--------------------------------------------------" + ln);
-        pw.print("Services:" + ln);
-        for (ServiceItem s : invoice.getServices()) {
-            pw.printf("  * %-18s $%8.2f%s", s.getName(), s.getCost(), ln);
-        }
-        pw.print("--------------------------------------------------" + ln);
-        pw.print("Payments:" + ln);
-        if (payments != null && !payments.isEmpty()) {
-            for (Payment p : payments) {
-                pw.printf("  * %s: $%8.2f via %s%s",
-                    p.getPaidAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
-                    p.getAmount(),
-                    p.getMethod(),
-                    ln);
-            }
-        } else {
-            pw.print("  (No payments recorded)" + ln);
-        }
-        pw.print("--------------------------------------------------" + ln);
-        pw.printf("%-22s $%8.2f%s", "Insurance Adjustment:", invoice.getInsuranceAdjustment(), ln);
-        pw.printf("%-22s $%8.2f%s", "Total:", invoice.getTotalAmount(), ln);
-        pw.printf("%-22s $%8.2f%s", "Balance:", invoice.getBalance(), ln);
-        pw.printf("%-22s %s%s", "Status:", invoice.getStatus(), ln);
-        pw.printf("%-22s %s%s", "Created:",
-            invoice.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")), ln);
-        pw.print("==================================================" + ln);
-        pw.print("Thank you for your business!" + ln);
-        pw.print("Exported from PhysiciansConnect" + ln);
+        StatementRenderer.writeLines(pw, invoice, apptDateTime, payments, windowsLineEndings);
     }
 
     // Helper to show “Open File” button dialog
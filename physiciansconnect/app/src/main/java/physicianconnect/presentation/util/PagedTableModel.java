@@ -0,0 +1,213 @@
+package physicianconnect.presentation.util;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Read-only table model over a result too large to hold in memory. Only the
+ * row count is known up front; rows are fetched a page at a time on a
+ * background thread as the table paints them, the page after the one being
+ * shown is fetched ahead, and at most {@code maxPages} pages are kept (the
+ * least recently used are dropped), so the heap cost is bounded by
+ * {@code pageSize * maxPages} rows however large the table is.
+ * <p>
+ * A page right after a cached full page is read with a keyset cursor (that
+ * page's last row); any other page, such as one reached by dragging the
+ * scrollbar, is read by offset. Sorting and filtering belong to the
+ * {@link PageSource}; install a new one with {@link #setSource}. Cells of
+ * rows still loading are null. The model's state is only touched on the EDT.
+ * <p>
+ * A query that throws is reported to the {@link #setOnError error handler} on
+ * the EDT. A page that failed stays empty and is not asked for again until
+ * the next {@link #refresh}, so repaints cannot turn a failure into a loop.
+ */
+public class PagedTableModel<R> extends AbstractTableModel {
+
+    /** A sorted, filtered query; called off the EDT. */
+    public interface PageSource<R> {
+        int count();
+
+        /**
+         * Up to {@code limit} rows starting right after {@code after}, or
+         * after skipping {@code offset} rows when {@code after} is null.
+         */
+        List<R> page(R after, int offset, int limit);
+    }
+
+    @FunctionalInterface
+    public interface CellValue<R> {
+        Object get(R row, int column);
+    }
+
+    private static final Executor LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "table-pages");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final String[] columns;
+    private final CellValue<R> cells;
+    private final int pageSize;
+    private final Executor loader;
+    private final Executor edt;
+    private final Map<Integer, List<R>> pages;
+    private final Set<Integer> loading = new HashSet<>();
+    private final Set<Integer> failed = new HashSet<>();
+
+    private PageSource<R> source;
+    private int generation;
+    private int rowCount;
+    private Consumer<? super RuntimeException> onError = Throwable::printStackTrace;
+
+    public PagedTableModel(String[] columns, CellValue<R> cells, int pageSize, int maxPages) {
+        this(columns, cells, pageSize, maxPages, LOADER, SwingUtilities::invokeLater);
+    }
+
+    /** Lets tests load synchronously by passing {@code Runnable::run} for both executors. */
+    public PagedTableModel(String[] columns, CellValue<R> cells, int pageSize, int maxPages,
+            Executor loader, Executor edt) {
+        this.columns = columns.clone();
+        this.cells = cells;
+        this.pageSize = pageSize;
+        this.loader = loader;
+        this.edt = edt;
+        this.pages = new LinkedHashMap<>(maxPages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<R>> eldest) {
+                return size() > maxPages;
+            }
+        };
+    }
+
+    /** Called on the EDT with whatever a count or page query threw. */
+    public void setOnError(Consumer<? super RuntimeException> onError) {
+        this.onError = onError;
+    }
+
+    /** Replaces the query, for a new filter or sort order, and reloads. */
+    public void setSource(PageSource<R> source) {
+        this.source = source;
+        refresh();
+    }
+
+    /** Drops every cached page and counts the rows again, e.g. after a write. */
+    public void refresh() {
+        int current = ++generation;
+        pages.clear();
+        loading.clear();
+        failed.clear();
+        PageSource<R> query = source;
+        if (query == null) {
+            return;
+        }
+        loader.execute(() -> {
+            int count;
+            try {
+                count = query.count();
+            } catch (RuntimeException e) {
+                edt.execute(() -> {
+                    if (current == generation) {
+                        // Show no rows rather than the previous query's count
+                        rowCount = 0;
+                        fireTableDataChanged();
+                        onError.accept(e);
+                    }
+                });
+                return;
+            }
+            edt.execute(() -> {
+                if (current == generation) {
+                    rowCount = count;
+                    fireTableDataChanged();
+                }
+            });
+        });
+    }
+
+    /** The row at {@code rowIndex}, or null while its page is loading. */
+    public R getRow(int rowIndex) {
+        int page = rowIndex / pageSize;
+        List<R> rows = pages.get(page);
+        if (rows == null) {
+            load(page);
+            return null;
+        }
+        if ((page + 1) * pageSize < rowCount) {
+            load(page + 1);
+        }
+        int index = rowIndex % pageSize;
+        return index < rows.size() ? rows.get(index) : null;
+    }
+
+    /** Number of pages held in memory. */
+    public int cachedPages() {
+        return pages.size();
+    }
+
+    private void load(int page) {
+        if (source == null || pages.containsKey(page) || failed.contains(page) || !loading.add(page)) {
+            return;
+        }
+        List<R> previous = pages.get(page - 1);
+        R after = previous != null && previous.size() == pageSize ? previous.get(pageSize - 1) : null;
+        int offset = page * pageSize;
+        int current = generation;
+        PageSource<R> query = source;
+        loader.execute(() -> {
+            List<R> rows;
+            try {
+                rows = query.page(after, offset, pageSize);
+            } catch (RuntimeException e) {
+                edt.execute(() -> {
+                    if (current == generation) {
+                        loading.remove(page);
+                        failed.add(page);
+                        onError.accept(e);
+                    }
+                });
+                return;
+            }
+            edt.execute(() -> {
+                if (current != generation) {
+                    return;
+                }
+                loading.remove(page);
+                pages.put(page, rows);
+                int last = Math.min(offset + rows.size(), rowCount) - 1;
+                if (last >= offset) {
+                    fireTableRowsUpdated(offset, last);
+                }
+            });
+        });
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        R row = getRow(rowIndex);
+        return row == null ? null : cells.get(row, columnIndex);
+    }
+}
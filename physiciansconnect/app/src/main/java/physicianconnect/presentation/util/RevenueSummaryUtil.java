@@ -1,39 +1,24 @@
 package physicianconnect.presentation.util;
 
-import physicianconnect.objects.Invoice;
+import physicianconnect.objects.RevenueTotals;
+import physicianconnect.objects.ServiceRevenue;
 import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.presentation.config.UITheme;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 public class RevenueSummaryUtil {
-        public interface RevenueSummaryListener {
-        void onRevenueSummaryChanged();
+    public static void showRevenueSummary(Component parent, RevenueTotals totals) {
+        showRevenueSummary(parent, totals, List.of());
     }
 
-    private static final List<RevenueSummaryListener> listeners = new CopyOnWriteArrayList<>();
-
-    public static void addListener(RevenueSummaryListener l) {
-        listeners.add(l);
-    }
-
-    public static void removeListener(RevenueSummaryListener l) {
-        listeners.remove(l);
-    }
-
-    public static void fireRevenueSummaryChanged() {
-        for (RevenueSummaryListener l : listeners) {
-            l.onRevenueSummaryChanged();
-        }
-    }
-
-    public static void showRevenueSummary(Component parent, List<Invoice> invoices) {
-        double totalBilled = invoices.stream().mapToDouble(Invoice::getTotalAmount).sum();
-        double totalPaid = invoices.stream().mapToDouble(inv -> inv.getTotalAmount() - inv.getBalance()).sum();
-        double outstanding = invoices.stream().mapToDouble(Invoice::getBalance).sum();
+    /** Adds the per-service totals below the chart when {@code byService} is not empty. */
+    public static void showRevenueSummary(Component parent, RevenueTotals totals, List<ServiceRevenue> byService) {
+        double totalBilled = totals.billed();
+        double totalPaid = totals.paid();
+        double outstanding = totals.outstanding();
 
         // Main panel with border and title
         JPanel mainPanel = new JPanel(new BorderLayout(16, 16));
@@ -138,11 +123,32 @@ public class RevenueSummaryUtil {
         // Add panels to main panel
         mainPanel.add(summaryPanel, BorderLayout.NORTH);
         mainPanel.add(chartPanel, BorderLayout.CENTER);
+        if (!byService.isEmpty()) {
+            mainPanel.add(createServicePanel(byService), BorderLayout.SOUTH);
+        }
 
         JOptionPane.showMessageDialog(parent, mainPanel, UIConfig.REVENUE_SUMMARY_DIALOG_TITLE, 
                 JOptionPane.PLAIN_MESSAGE);
     }
 
+    private static JPanel createServicePanel(List<ServiceRevenue> byService) {
+        JPanel servicePanel = new JPanel(new GridLayout(byService.size(), 2, 16, 4));
+        servicePanel.setBackground(UITheme.BACKGROUND_COLOR);
+        servicePanel.setBorder(BorderFactory.createTitledBorder(
+                BorderFactory.createLineBorder(UITheme.ACCENT_LIGHT_COLOR, 2, true),
+                UIConfig.REVENUE_BY_SERVICE_TITLE,
+                0, 0, UITheme.HEADER_FONT, UITheme.ACCENT_LIGHT_COLOR));
+        for (ServiceRevenue service : byService) {
+            servicePanel.add(createMetricLabel(service.serviceName()));
+            JLabel value = new JLabel(String.format(UIConfig.REVENUE_BY_SERVICE_FORMAT,
+                    service.revenue(), service.itemCount()));
+            value.setFont(UITheme.LABEL_FONT);
+            value.setHorizontalAlignment(SwingConstants.RIGHT);
+            servicePanel.add(value);
+        }
+        return servicePanel;
+    }
+
     private static JLabel createMetricLabel(String text) {
         JLabel label = new JLabel(text);
         label.setFont(UITheme.LABEL_FONT.deriveFont(Font.BOLD));
@@ -162,11 +168,10 @@ public class RevenueSummaryUtil {
         return label;
     }
 
-    // Add this method to RevenueSummaryUtil
-    public static JPanel createSummaryPanel(List<Invoice> invoices) {
-        double totalBilled = invoices.stream().mapToDouble(Invoice::getTotalAmount).sum();
-        double totalPaid = invoices.stream().mapToDouble(inv -> inv.getTotalAmount() - inv.getBalance()).sum();
-        double outstanding = invoices.stream().mapToDouble(Invoice::getBalance).sum();
+    public static JPanel createSummaryPanel(RevenueTotals totals) {
+        double totalBilled = totals.billed();
+        double totalPaid = totals.paid();
+        double outstanding = totals.outstanding();
 
         JPanel summaryPanel = new JPanel(new GridLayout(3, 2, 8, 4));
         summaryPanel.setBackground(UITheme.BACKGROUND_COLOR);
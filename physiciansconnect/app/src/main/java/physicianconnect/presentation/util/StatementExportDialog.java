@@ -0,0 +1,125 @@
+package physicianconnect.presentation.util;
+
+import physicianconnect.logic.controller.AsyncFacade;
+import physicianconnect.logic.controller.BillingController;
+import physicianconnect.logic.export.StatementExporter;
+import physicianconnect.presentation.config.UIConfig;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Month-end batch export: asks for a date range, formats and a ZIP file, then
+ * runs {@link BillingController#exportStatements} off the EDT behind a modal
+ * progress dialog whose Cancel button stops the export and discards the
+ * partial file.
+ */
+public class StatementExportDialog {
+
+    private StatementExportDialog() {
+    }
+
+    public static void show(Component parent, BillingController billingController) {
+        YearMonth lastMonth = YearMonth.now().minusMonths(1);
+        JTextField fromField = new JTextField(lastMonth.atDay(1).toString(), 10);
+        JTextField toField = new JTextField(lastMonth.atEndOfMonth().toString(), 10);
+        JCheckBox txtBox = new JCheckBox("TXT", true);
+        JCheckBox pdfBox = new JCheckBox("PDF", true);
+
+        JPanel panel = new JPanel(new GridLayout(0, 2, 8, 8));
+        panel.add(new JLabel(UIConfig.EXPORT_FROM_LABEL));
+        panel.add(fromField);
+        panel.add(new JLabel(UIConfig.EXPORT_TO_LABEL));
+        panel.add(toField);
+        panel.add(txtBox);
+        panel.add(pdfBox);
+
+        if (JOptionPane.showConfirmDialog(parent, panel, UIConfig.EXPORT_STATEMENTS_DIALOG_TITLE,
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = LocalDate.parse(fromField.getText().trim());
+            to = LocalDate.parse(toField.getText().trim());
+        } catch (DateTimeParseException e) {
+            error(parent, UIConfig.ERROR_EXPORT_DATE_FORMAT);
+            return;
+        }
+        Set<StatementExporter.Format> formats = EnumSet.noneOf(StatementExporter.Format.class);
+        if (txtBox.isSelected()) formats.add(StatementExporter.Format.TXT);
+        if (pdfBox.isSelected()) formats.add(StatementExporter.Format.PDF);
+        if (formats.isEmpty()) {
+            error(parent, UIConfig.ERROR_EXPORT_NO_FORMAT);
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("statements_" + from + "_" + to + ".zip"));
+        if (chooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) return;
+        File target = chooser.getSelectedFile();
+
+        run(parent, billingController, from, to.plusDays(1), formats, target);
+    }
+
+    private static void run(Component parent, BillingController billingController, LocalDate start, LocalDate end,
+            Set<StatementExporter.Format> formats, File target) {
+        JDialog progressDialog = new JDialog(SwingUtilities.getWindowAncestor(parent),
+                UIConfig.EXPORT_STATEMENTS_DIALOG_TITLE, Dialog.ModalityType.APPLICATION_MODAL);
+        JProgressBar bar = new JProgressBar();
+        bar.setIndeterminate(true);
+        bar.setStringPainted(true);
+        JButton cancel = new JButton("Cancel");
+        JPanel content = new JPanel(new BorderLayout(10, 10));
+        content.setBorder(BorderFactory.createEmptyBorder(16, 16, 16, 16));
+        content.add(bar, BorderLayout.CENTER);
+        content.add(cancel, BorderLayout.SOUTH);
+        progressDialog.setContentPane(content);
+        progressDialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        progressDialog.setSize(360, 130);
+        progressDialog.setLocationRelativeTo(parent);
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        cancel.addActionListener(e -> {
+            cancelled.set(true);
+            progressDialog.dispose();
+        });
+
+        // Progress arrives from the export thread; only the latest update matters
+        Consumer<int[]> progress = EdtCoalescer.coalescing((List<int[]> updates) -> {
+            int[] latest = updates.get(updates.size() - 1);
+            bar.setIndeterminate(false);
+            bar.setMaximum(latest[1]);
+            bar.setValue(latest[0]);
+            bar.setString(latest[0] + " / " + latest[1]);
+        });
+
+        AsyncFacade.getDefault()
+                .supply(() -> billingController.exportStatements(start, end, formats, target.toPath(),
+                        (done, total) -> progress.accept(new int[] { done, total }), cancelled::get))
+                .whenComplete(AsyncFacade.handle(count -> {
+                    progressDialog.dispose();
+                    JOptionPane.showMessageDialog(parent,
+                            String.format(UIConfig.EXPORT_STATEMENTS_DONE_FORMAT, count, target.getAbsolutePath()),
+                            UIConfig.SUCCESS_DIALOG_TITLE, JOptionPane.INFORMATION_MESSAGE);
+                }, error -> {
+                    progressDialog.dispose();
+                    error(parent, "Failed to export statements:\n" + error.getMessage());
+                }));
+        progressDialog.setVisible(true);
+    }
+
+    private static void error(Component parent, String message) {
+        JOptionPane.showMessageDialog(parent, message, UIConfig.ERROR_DIALOG_TITLE, JOptionPane.ERROR_MESSAGE);
+    }
+}
@@ -1,4 +1,8 @@
-INSERT OR IGNORE INTO invoices (id, appointment_id, patient_name, services, insurance_adjustment, total_amount, balance, status, created_at) VALUES
-('inv-1', 1, 'Alice Johnson', 'Lab:100', 0, 100, 0, 'Paid', '2025-06-01T10:30:00'),         
-('inv-2', 2, 'Bob Brown', 'Consult:100', 20, 80, 40, 'Partial', '2025-06-02T16:00:00'),    
-('inv-3', 3, 'Charlie Davis', 'XRay:75', 0, 75, 75, 'Sent', '2025-06-03T09:30:00');         
\ No newline at end of file
+INSERT OR IGNORE INTO invoices (id, appointment_id, patient_name, insurance_adjustment, total_amount, balance, status, created_at) VALUES
+('inv-1', 1, 'Alice Johnson', 0, 100, 0, 'Paid', '2025-06-01T10:30:00'),
+('inv-2', 2, 'Bob Brown', 20, 80, 40, 'Partial', '2025-06-02T16:00:00'),
+('inv-3', 3, 'Charlie Davis', 0, 75, 75, 'Sent', '2025-06-03T09:30:00');
+INSERT OR IGNORE INTO invoice_items (invoice_id, position, service_name, amount_cents) VALUES
+('inv-1', 0, 'Lab', 10000),
+('inv-2', 0, 'Consult', 10000),
+('inv-3', 0, 'XRay', 7500);
@@ -0,0 +1,99 @@
+package physicianconnect.logic;
+
+import org.junit.jupiter.api.*;
+import physicianconnect.logic.event.AppointmentChanged;
+import physicianconnect.logic.event.EventBus;
+import physicianconnect.logic.manager.AppointmentManager;
+import physicianconnect.objects.Appointment;
+import physicianconnect.persistence.stub.AppointmentPersistenceStub;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 10);
+
+    private AppointmentPersistenceStub store;
+    private AvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        store = new AppointmentPersistenceStub(false);
+        index = new AvailabilityIndex(store);
+    }
+
+    @Test
+    void testSlotIndexCoversTheDailyGrid() {
+        assertEquals(0, AvailabilityIndex.slotIndex(LocalTime.of(8, 0)));
+        assertEquals(3, AvailabilityIndex.slotIndex(LocalTime.of(9, 30)));
+        assertEquals(AvailabilityIndex.SLOTS_PER_DAY - 1, AvailabilityIndex.slotIndex(LocalTime.of(16, 30)));
+        assertEquals(-1, AvailabilityIndex.slotIndex(LocalTime.of(17, 0)));
+        assertEquals(-1, AvailabilityIndex.slotIndex(LocalTime.of(7, 30)));
+        assertEquals(-1, AvailabilityIndex.slotIndex(LocalTime.of(9, 15)));
+        assertEquals(LocalTime.of(9, 30), AvailabilityIndex.slotStart(3));
+    }
+
+    @Test
+    void testLoadSetsOneBitPerBookedSlot() {
+        store.addAppointment(new Appointment("doc1", "A", DAY.atTime(8, 0)));
+        store.addAppointment(new Appointment("doc1", "B", DAY.atTime(9, 30)));
+        store.addAppointment(new Appointment("doc2", "C", DAY.atTime(8, 0)));
+        store.addAppointment(new Appointment("doc1", "Off grid", DAY.atTime(9, 10)));
+
+        index.load(YearMonth.from(DAY), YearMonth.from(DAY));
+
+        assertEquals(0b1001, index.bookedSlots("doc1", DAY));
+        assertEquals(0b1, index.bookedSlots("doc2", DAY));
+        assertEquals(0, index.bookedSlots("doc1", DAY.plusDays(1)));
+    }
+
+    @Test
+    void testUnloadedMonthIsLoadedOnFirstUse() {
+        store.addAppointment(new Appointment("doc1", "A", LocalDateTime.of(2026, 1, 5, 10, 0)));
+        assertEquals(1 << 4, index.bookedSlots("doc1", LocalDate.of(2026, 1, 5)));
+    }
+
+    @Test
+    void testEventsKeepLoadedMonthsCurrent() {
+        EventBus bus = new EventBus(Runnable::run);
+        index.subscribe(bus);
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 0, 0);
+        Clock clock = Clock.fixed(now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        AppointmentManager manager = new AppointmentManager(store, clock, bus);
+        index.load(YearMonth.from(DAY), YearMonth.from(DAY));
+
+        Appointment booked = new Appointment("doc1", "A", DAY.atTime(10, 0));
+        manager.addAppointment(booked);
+        assertEquals(1 << 4, index.bookedSlots("doc1", DAY));
+
+        manager.deleteAppointment(booked);
+        assertEquals(0, index.bookedSlots("doc1", DAY));
+
+        store.addAppointment(new Appointment("doc1", "Moved", DAY.atTime(11, 0)));
+        index.apply(new AppointmentChanged(AppointmentChanged.Kind.UPDATED,
+                new Appointment("doc1", "Moved", DAY.atTime(11, 0))));
+        assertEquals(1 << 6, index.bookedSlots("doc1", DAY));
+
+        manager.deleteAll();
+        assertEquals(0, index.bookedSlots("doc1", DAY));
+    }
+
+    @Test
+    void testClosedSubscriptionStopsUpdates() {
+        EventBus bus = new EventBus(Runnable::run);
+        index.load(YearMonth.from(DAY), YearMonth.from(DAY));
+        index.subscribe(bus).close();
+
+        bus.publish(new AppointmentChanged(AppointmentChanged.Kind.CREATED,
+                new Appointment("doc1", "A", DAY.atTime(8, 0))));
+
+        assertEquals(0, index.bookedSlots("doc1", DAY));
+    }
+}
@@ -3,13 +3,17 @@ package physicianconnect.logic;
 import org.junit.jupiter.api.*;
 import org.mockito.*;
 import physicianconnect.objects.Appointment;
+import physicianconnect.objects.Physician;
 import physicianconnect.objects.TimeSlot;
 import physicianconnect.persistence.sqlite.AppointmentDB;
+import physicianconnect.persistence.stub.AppointmentPersistenceStub;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,17 +31,28 @@ class AvailabilityServiceTest {
         service = new AvailabilityService(appointmentDb);
     }
 
+    @Test
+    void testConstructionRunsNoQueryUntilPreload() {
+        verifyNoInteractions(appointmentDb);
+        when(appointmentDb.getAppointmentsInRange(any(), any())).thenReturn(List.of());
+
+        service.preload();
+
+        verify(appointmentDb, times(1)).getAppointmentsInRange(any(), any());
+    }
+
     @Test
     void testGetDailyAvailabilityMarksBookedSlots() throws Exception {
         LocalDate date = LocalDate.of(2025, 6, 10);
         LocalDateTime apptTime = date.atTime(9, 0);
         Appointment appt = new Appointment("doc1", "Alice", apptTime);
 
-        when(appointmentDb.getAppointmentsForPhysicianInRange(
-                eq("doc1"),
+        when(appointmentDb.getAppointmentsForPhysiciansInRange(
+                eq(Set.of("doc1")),
                 eq(date.atTime(8, 0)),
                 eq(date.atTime(17, 0))
         )).thenReturn(List.of(appt));
+        when(appointmentDb.getAppointmentsInRange(any(), any())).thenReturn(List.of(appt));
 
         List<TimeSlot> slots = service.getDailyAvailability("doc1", date);
 
@@ -48,8 +63,7 @@ class AvailabilityServiceTest {
     @Test
     void testGetWeeklyAvailabilityReturnsSevenDays() throws Exception {
         LocalDate weekStart = LocalDate.of(2025, 6, 9);
-        when(appointmentDb.getAppointmentsForPhysicianInRange(any(), any(), any()))
-                .thenReturn(List.of());
+        when(appointmentDb.getAppointmentsInRange(any(), any())).thenReturn(List.of());
 
         Map<LocalDate, List<TimeSlot>> week = service.getWeeklyAvailability("doc1", weekStart);
 
@@ -58,4 +72,124 @@ class AvailabilityServiceTest {
             assertNotNull(week.get(weekStart.plusDays(i)));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testEmptyWeekNeedsNoPerPhysicianQuery() throws Exception {
+        LocalDate weekStart = LocalDate.of(2025, 6, 9);
+        when(appointmentDb.getAppointmentsInRange(any(), any())).thenReturn(List.of());
+
+        service.getWeeklyAvailability("doc1", weekStart);
+
+        verify(appointmentDb, never()).getAppointmentsForPhysiciansInRange(any(), any(), any());
+    }
+
+    @Test
+    void testBookedWeekFetchesNamesWithOneQuery() throws Exception {
+        LocalDate weekStart = LocalDate.of(2025, 6, 9);
+        Appointment monday = new Appointment("doc1", "Alice", weekStart.atTime(9, 0));
+        Appointment friday = new Appointment("doc1", "Bob", weekStart.plusDays(4).atTime(16, 30));
+        when(appointmentDb.getAppointmentsInRange(any(), any())).thenReturn(List.of(monday, friday));
+        when(appointmentDb.getAppointmentsForPhysiciansInRange(any(), any(), any()))
+                .thenReturn(List.of(monday, friday));
+
+        Map<LocalDate, List<TimeSlot>> week = service.getWeeklyAvailability("doc1", weekStart);
+
+        verify(appointmentDb, times(1)).getAppointmentsForPhysiciansInRange(any(), any(), any());
+        assertEquals("Alice", week.get(weekStart).get(2).getPatientName());
+        assertEquals("Bob", week.get(weekStart.plusDays(4)).get(17).getPatientName());
+        assertEquals(2, week.values().stream().flatMap(List::stream).filter(TimeSlot::isBooked).count());
+    }
+
+    @Test
+    void testIsSlotAvailableUsesIndexForGridSlots() {
+        LocalDateTime slot = LocalDateTime.of(2025, 6, 10, 9, 30);
+        when(appointmentDb.getAppointmentsInRange(any(), any()))
+                .thenReturn(List.of(new Appointment("doc1", "Alice", slot)));
+
+        assertFalse(service.isSlotAvailable("doc1", slot));
+        assertTrue(service.isSlotAvailable("doc1", slot.plusMinutes(30)));
+        assertTrue(service.isSlotAvailable("doc2", slot));
+        verify(appointmentDb, never()).getAppointmentsForPhysicianInRange(any(), any(), any());
+    }
+
+    @Test
+    void testManyPhysiciansLoadWithOneQuery() {
+        LocalDate date = LocalDate.of(2025, 6, 10);
+        Appointment a = new Appointment("doc1", "Alice", date.atTime(8, 0));
+        Appointment b = new Appointment("doc3", "Bob", date.atTime(16, 30));
+        when(appointmentDb.getAppointmentsInRange(any(), any())).thenReturn(List.of(a, b));
+        when(appointmentDb.getAppointmentsForPhysiciansInRange(any(), any(), any())).thenReturn(List.of(a, b));
+
+        Map<String, Map<LocalDate, List<TimeSlot>>> grid =
+                service.getAvailabilityForPhysicians(List.of("doc1", "doc2", "doc3"), date, date);
+
+        assertEquals(List.of("doc1", "doc2", "doc3"), List.copyOf(grid.keySet()));
+        assertEquals("Alice", grid.get("doc1").get(date).get(0).getPatientName());
+        assertTrue(grid.get("doc2").get(date).stream().noneMatch(TimeSlot::isBooked));
+        assertEquals("Bob", grid.get("doc3").get(date).get(17).getPatientName());
+        verify(appointmentDb, times(1)).getAppointmentsForPhysiciansInRange(eq(Set.of("doc1", "doc3")), any(), any());
+        verify(appointmentDb, never()).getAppointmentsForPhysicianInRange(any(), any(), any());
+    }
+
+    private static Physician physician(String id, String specialty) {
+        Physician p = new Physician(id, "Dr. " + id, id + "@clinic.com", "pw");
+        p.setSpecialty(specialty);
+        return p;
+    }
+
+    @Test
+    void testFindNextAvailableMergesPhysiciansInTimeOrder() {
+        LocalDate day = LocalDate.of(2025, 6, 10);
+        AppointmentPersistenceStub store = new AppointmentPersistenceStub(false);
+        store.addAppointment(new Appointment("doc1", "A", day.atTime(8, 0)));
+        store.addAppointment(new Appointment("doc1", "B", day.atTime(8, 30)));
+        store.addAppointment(new Appointment("doc2", "C", day.atTime(8, 0)));
+        AvailabilityService stubbed = new AvailabilityService(store, new AvailabilityIndex(store));
+        Physician doc1 = physician("doc1", "Cardiology");
+        Physician doc2 = physician("doc2", "Dermatology");
+
+        List<AvailabilityService.FreeSlot> free = stubbed.findNextAvailable(
+                SlotSearchCriteria.among(List.of(doc1, doc2), day.atTime(7, 0)), 3);
+
+        assertEquals(List.of(
+                new AvailabilityService.FreeSlot(doc2, day.atTime(8, 30)),
+                new AvailabilityService.FreeSlot(doc1, day.atTime(9, 0)),
+                new AvailabilityService.FreeSlot(doc2, day.atTime(9, 0))), free);
+    }
+
+    @Test
+    void testFindNextAvailableAppliesCriteria() {
+        LocalDate day = LocalDate.of(2025, 6, 10);
+        AppointmentPersistenceStub store = new AppointmentPersistenceStub(false);
+        store.addAppointment(new Appointment("doc1", "A", day.plusDays(1).atTime(13, 0)));
+        AvailabilityService stubbed = new AvailabilityService(store, new AvailabilityIndex(store));
+        Physician doc1 = physician("doc1", "Cardiology");
+        Physician doc2 = physician("doc2", "Dermatology");
+
+        // Starting mid-afternoon, afternoons only, cardiology only
+        List<AvailabilityService.FreeSlot> free = stubbed.findNextAvailable(
+                SlotSearchCriteria.among(List.of(doc1, doc2), day.atTime(16, 10))
+                        .withSpecialty("cardiology")
+                        .between(LocalTime.of(13, 0), LocalTime.of(14, 0)), 3);
+
+        assertEquals(List.of(
+                new AvailabilityService.FreeSlot(doc1, day.plusDays(1).atTime(13, 30)),
+                new AvailabilityService.FreeSlot(doc1, day.plusDays(2).atTime(13, 0)),
+                new AvailabilityService.FreeSlot(doc1, day.plusDays(2).atTime(13, 30))), free);
+    }
+
+    @Test
+    void testFindNextAvailableStopsAtHorizon() {
+        LocalDate day = LocalDate.of(2025, 6, 10);
+        AppointmentPersistenceStub store = new AppointmentPersistenceStub(false);
+        for (int i = 0; i < AvailabilityIndex.SLOTS_PER_DAY; i++) {
+            store.addAppointment(new Appointment("doc1", "P" + i, day.atTime(AvailabilityIndex.slotStart(i))));
+        }
+        AvailabilityService stubbed = new AvailabilityService(store, new AvailabilityIndex(store));
+
+        assertTrue(stubbed.findNextAvailable(SlotSearchCriteria.among(
+                List.of(physician("doc1", null)), day.atStartOfDay()).withHorizonDays(1), 5).isEmpty());
+        assertEquals(2, stubbed.findNextAvailable(SlotSearchCriteria.among(
+                List.of(physician("doc1", null)), day.atStartOfDay()).withHorizonDays(2), 2).size());
+    }
+}
@@ -0,0 +1,70 @@
+package physicianconnect.logic;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import physicianconnect.objects.Appointment;
+import physicianconnect.objects.Physician;
+import physicianconnect.persistence.stub.AppointmentPersistenceStub;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency of {@link AvailabilityService#findNextAvailable} for 500
+ * physicians over a 90-day horizon, with the first 60 days fully booked so
+ * every cursor has to skip most of the horizon before its first free slot.
+ * Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+public class FindNextAvailableBenchmarkTest {
+
+    private static final int PHYSICIANS = 500;
+    private static final int HORIZON_DAYS = 90;
+    private static final int BOOKED_DAYS = 60;
+
+    @Test
+    public void benchmarkFindNextAvailable() {
+        LocalDate start = LocalDate.of(2025, 6, 2);
+        Random random = new Random(42);
+        AppointmentPersistenceStub store = new AppointmentPersistenceStub(false);
+        List<Appointment> rows = new ArrayList<>();
+        List<Physician> physicians = new ArrayList<>();
+        for (int p = 1; p <= PHYSICIANS; p++) {
+            physicians.add(new Physician("p" + p, "Dr. " + p, "p" + p + "@clinic.com", "pw"));
+            for (int d = 0; d < BOOKED_DAYS + random.nextInt(HORIZON_DAYS - BOOKED_DAYS); d++) {
+                for (int s = 0; s < AvailabilityIndex.SLOTS_PER_DAY; s++) {
+                    rows.add(new Appointment("p" + p, "Patient", start.plusDays(d).atTime(AvailabilityIndex.slotStart(s))));
+                }
+            }
+        }
+        store.addAppointments(rows);
+        AvailabilityIndex index = new AvailabilityIndex(store);
+        index.load(YearMonth.from(start), YearMonth.from(start.plusDays(HORIZON_DAYS)));
+        AvailabilityService service = new AvailabilityService(store, index);
+        SlotSearchCriteria criteria = SlotSearchCriteria.among(physicians, start.atStartOfDay())
+                .withHorizonDays(HORIZON_DAYS);
+
+        for (int i = 0; i < 20; i++) {
+            service.findNextAvailable(criteria, 10);
+        }
+        long[] samples = new long[50];
+        for (int i = 0; i < samples.length; i++) {
+            long begin = System.nanoTime();
+            List<AvailabilityService.FreeSlot> free = service.findNextAvailable(criteria, 10);
+            samples[i] = System.nanoTime() - begin;
+            assertEquals(10, free.size());
+        }
+        Arrays.sort(samples);
+        double medianMs = samples[samples.length / 2] / 1_000_000.0;
+
+        System.out.printf("findNextAvailable %d physicians x %d days: median %.2f ms%n",
+                PHYSICIANS, HORIZON_DAYS, medianMs);
+        assertTrue(medianMs < 10, "median " + medianMs + " ms exceeds the 10 ms budget");
+    }
+}
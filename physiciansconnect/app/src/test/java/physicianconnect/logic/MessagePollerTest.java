@@ -0,0 +1,57 @@
+package physicianconnect.logic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import physicianconnect.objects.Message;
+import physicianconnect.persistence.InMemoryMessageRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessagePollerTest {
+
+    private InMemoryMessageRepository repo;
+    private MessageService service;
+
+    @BeforeEach
+    void setUp() {
+        repo = new InMemoryMessageRepository();
+        service = new MessageService(repo);
+    }
+
+    @Test
+    void testStartsFromCurrentUnreadCount() {
+        service.sendMessage("doc1", "physician", "rec1", "receptionist", "before login");
+        MessagePoller poller = new MessagePoller(service, "rec1", "receptionist");
+
+        assertEquals(1, poller.getUnreadCount());
+        assertTrue(poller.poll().isEmpty());
+    }
+
+    @Test
+    void testPollAddsOnlyNewUnreadMessagesToTheCount() {
+        MessagePoller poller = new MessagePoller(service, "rec1", "receptionist");
+        service.sendMessage("doc1", "physician", "rec1", "receptionist", "one");
+        service.sendMessage("doc1", "physician", "rec2", "receptionist", "not mine");
+        service.sendMessage("doc2", "physician", "rec1", "receptionist", "two");
+
+        List<Message> arrived = poller.poll();
+        assertEquals(List.of("one", "two"), arrived.stream().map(Message::getContent).toList());
+        assertEquals(2, poller.getUnreadCount());
+
+        assertTrue(poller.poll().isEmpty());
+        assertEquals(2, poller.getUnreadCount());
+    }
+
+    @Test
+    void testResyncRecountsAfterMessagesAreRead() {
+        MessagePoller poller = new MessagePoller(service, "rec1", "receptionist");
+        Message sent = service.sendMessage("doc1", "physician", "rec1", "receptionist", "hello");
+        poller.poll();
+        service.markMessageAsRead(sent.getMessageId());
+
+        assertEquals(0, poller.resync());
+        assertTrue(poller.poll().isEmpty());
+    }
+}
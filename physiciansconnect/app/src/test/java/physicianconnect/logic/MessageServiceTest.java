@@ -2,9 +2,12 @@ package physicianconnect.logic;
 
 import org.junit.jupiter.api.*;
 import org.mockito.*;
+import physicianconnect.logic.event.EventBus;
+import physicianconnect.logic.event.MessageSaved;
 import physicianconnect.objects.Message;
 import physicianconnect.persistence.interfaces.MessageRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -74,4 +77,18 @@ class MessageServiceTest {
         service.markMessageAsRead(id);
         verify(messageRepository).markAsRead(id);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSendMessagePublishesMessageSaved() {
+        EventBus bus = new EventBus(Runnable::run);
+        List<MessageSaved> events = new ArrayList<>();
+        bus.subscribe(MessageSaved.class, events::add);
+        service = new MessageService(messageRepository, bus);
+
+        service.sendMessage("sid", "physician", "rid", "receptionist", "hello");
+
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).isFor("rid", "receptionist"));
+        assertFalse(events.get(0).isFor("sid", "physician"));
+    }
+}
@@ -8,7 +8,6 @@ import physicianconnect.objects.Appointment;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,43 +26,34 @@ class AppointmentControllerTest {
     }
 
     @Test
-    void testCreateAppointmentDelegatesAndNotifies() throws Exception {
+    void testCreateAppointmentDelegates() throws Exception {
         Appointment appt = new Appointment("doc1", "Alice", LocalDateTime.now().plusDays(1));
-        AtomicBoolean notified = new AtomicBoolean(false);
-        controller.setOnAppointmentCreated(a -> notified.set(true));
         doNothing().when(mockManager).addAppointment(any());
 
         controller.createAppointment("doc1", "Alice", appt.getDateTime(), "note");
 
         verify(mockManager).addAppointment(any());
-        assertTrue(notified.get());
     }
 
     @Test
-    void testUpdateAppointmentNotesDelegatesAndNotifies() throws Exception {
+    void testUpdateAppointmentNotesDelegates() throws Exception {
         Appointment appt = new Appointment("doc1", "Bob", LocalDateTime.now().plusDays(2));
-        AtomicBoolean notified = new AtomicBoolean(false);
-        controller.setOnAppointmentUpdated(a -> notified.set(true));
         doNothing().when(mockManager).updateAppointment(any());
 
         controller.updateAppointmentNotes(appt, "new notes");
 
         verify(mockManager).updateAppointment(appt);
         assertEquals("new notes", appt.getNotes());
-        assertTrue(notified.get());
     }
 
     @Test
-    void testDeleteAppointmentDelegatesAndNotifies() {
+    void testDeleteAppointmentDelegates() {
         Appointment appt = new Appointment("doc1", "Carol", LocalDateTime.now().plusDays(3));
-        AtomicBoolean notified = new AtomicBoolean(false);
-        controller.setOnAppointmentDeleted(a -> notified.set(true));
         doNothing().when(mockManager).deleteAppointment(any());
 
         controller.deleteAppointment(appt);
 
         verify(mockManager).deleteAppointment(appt);
-        assertTrue(notified.get());
     }
 
     @Test
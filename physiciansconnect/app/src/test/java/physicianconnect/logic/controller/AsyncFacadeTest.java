@@ -0,0 +1,112 @@
+package physicianconnect.logic.controller;
+
+import org.junit.jupiter.api.*;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncFacadeTest {
+
+    private Queue<Runnable> io;
+    private Queue<Runnable> edt;
+    private AsyncFacade async;
+
+    @BeforeEach
+    void setUp() {
+        io = new ArrayDeque<>();
+        edt = new ArrayDeque<>();
+        async = new AsyncFacade(io::add, edt::add);
+    }
+
+    private static void drain(Queue<Runnable> queue) {
+        while (!queue.isEmpty()) {
+            queue.poll().run();
+        }
+    }
+
+    @Test
+    void testResultIsDeliveredThroughTheCompletionExecutor() {
+        CompletableFuture<String> future = async.supply(() -> "done");
+        assertFalse(future.isDone());
+
+        drain(io);
+        assertFalse(future.isDone(), "completes only on the completion executor");
+        drain(edt);
+        assertEquals("done", future.join());
+    }
+
+    @Test
+    void testCancelledCallIsSkippedIfNotStarted() {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Integer> future = async.supply(calls::incrementAndGet);
+        future.cancel(false);
+
+        drain(io);
+        drain(edt);
+        assertEquals(0, calls.get());
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    void testLatestDropsTheSupersededAnswer() {
+        AsyncFacade.Latest<String> weeks = async.latest();
+        List<String> shown = new ArrayList<>();
+        weeks.supply(() -> "week 1").whenComplete(AsyncFacade.handle(shown::add, e -> fail(e)));
+        // Started before the user navigated again, so it runs but must not be shown
+        drain(io);
+        weeks.supply(() -> "week 2").whenComplete(AsyncFacade.handle(shown::add, e -> fail(e)));
+
+        drain(io);
+        drain(edt);
+        assertEquals(List.of("week 2"), shown);
+    }
+
+    @Test
+    void testFailuresReachTheErrorCallbackUnwrapped() {
+        List<Throwable> errors = new ArrayList<>();
+        async.supply(() -> {
+            throw new IllegalStateException("db down");
+        }).thenApply(v -> v).whenComplete(AsyncFacade.handle(v -> fail("no result expected"), errors::add));
+
+        drain(io);
+        drain(edt);
+        assertEquals(1, errors.size());
+        assertInstanceOf(IllegalStateException.class, errors.get(0));
+    }
+
+    @Test
+    void testErrorsCompleteTheFutureToo() {
+        List<Throwable> errors = new ArrayList<>();
+        async.supply(() -> {
+            throw new LinkageError("missing class");
+        }).whenComplete(AsyncFacade.handle(v -> fail("no result expected"), errors::add));
+
+        drain(io);
+        drain(edt);
+        assertEquals(1, errors.size());
+        assertInstanceOf(LinkageError.class, errors.get(0));
+    }
+
+    @Test
+    void testDefaultRunsOnVirtualThreadsAndCompletesOnTheEdt() throws Exception {
+        CompletableFuture<List<Boolean>> seen = new CompletableFuture<>();
+        CountDownLatch registered = new CountDownLatch(1);
+        // Only the callback is waited on: a thread blocked in get() may run callbacks itself
+        AsyncFacade.getDefault().supply(() -> {
+            registered.await(5, TimeUnit.SECONDS);
+            return Thread.currentThread().isVirtual();
+        }).whenComplete((virtual, e) -> seen.complete(List.of(virtual, SwingUtilities.isEventDispatchThread())));
+        registered.countDown();
+
+        assertEquals(List.of(true, true), seen.get(5, TimeUnit.SECONDS));
+    }
+}
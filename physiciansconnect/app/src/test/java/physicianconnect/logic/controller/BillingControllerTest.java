@@ -2,18 +2,27 @@ package physicianconnect.logic.controller;
 
 import org.junit.jupiter.api.*;
 import org.mockito.*;
+import physicianconnect.logic.exceptions.InvalidBillingException;
+import physicianconnect.logic.export.StatementExporter;
 import physicianconnect.logic.manager.InvoiceManager;
 import physicianconnect.logic.manager.PaymentManager;
 import physicianconnect.logic.validation.BillingValidator;
 import physicianconnect.objects.Invoice;
 import physicianconnect.objects.Payment;
+import physicianconnect.objects.RevenueTotals;
 import physicianconnect.objects.ServiceItem;
 
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.*;
 
 class BillingControllerTest {
@@ -44,18 +53,58 @@ class BillingControllerTest {
     }
 
     @Test
-    void testRecordPaymentUpdatesInvoice() {
-        ServiceItem service = new ServiceItem("Consult", 100);
-        Invoice invoice = new Invoice("id", "appt1", "Alice", List.of(service), 0);
-        invoice.setBalance(100);
-        when(invoiceManager.getInvoiceById("id")).thenReturn(invoice);
+    void testRecordPaymentDelegatesWithKey() {
+        Payment stored = new Payment("p1", "id", 100, "Cash");
+        when(paymentManager.recordPayment(any(), eq("key-1"))).thenReturn(stored);
+
+        Payment result = controller.recordPayment("id", 100, "Cash", "key-1");
+
+        assertSame(stored, result);
+        ArgumentCaptor<Payment> captor = ArgumentCaptor.forClass(Payment.class);
+        verify(paymentManager).recordPayment(captor.capture(), eq("key-1"));
+        assertEquals("id", captor.getValue().getInvoiceId());
+        assertEquals(100, captor.getValue().getAmount());
+        verify(invoiceManager, never()).updateInvoice(any());
+    }
+
+    @Test
+    void testRecordPaymentGeneratesKey() {
+        when(paymentManager.recordPayment(any(), any())).thenReturn(new Payment("p1", "id", 100, "Cash"));
 
         controller.recordPayment("id", 100, "Cash");
 
-        verify(paymentManager).addPayment(any());
-        verify(invoiceManager).updateInvoice(invoice);
-        assertEquals(0, invoice.getBalance());
-        assertEquals("Paid", invoice.getStatus());
+        verify(paymentManager).recordPayment(any(), notNull());
+    }
+
+    @Test
+    void testRecordPaymentRejectsOverpayment() {
+        when(paymentManager.recordPayment(any(), any())).thenReturn(null);
+
+        InvalidBillingException ex = assertThrows(InvalidBillingException.class,
+                () -> controller.recordPayment("id", 100, "Cash", "key-1"));
+        assertEquals("Payment exceeds outstanding balance.", ex.getMessage());
+    }
+
+    @Test
+    void testRecordPaymentRejectsUnknownInvoice() {
+        when(paymentManager.recordPayment(any(), any())).thenThrow(new IllegalArgumentException("No invoice"));
+
+        InvalidBillingException ex = assertThrows(InvalidBillingException.class,
+                () -> controller.recordPayment("id", 100, "Cash", "key-1"));
+        assertEquals("Invoice not found.", ex.getMessage());
+    }
+
+    @Test
+    void testRecordPaymentRejectsReusedKeyForOtherPayment() {
+        when(paymentManager.recordPayment(any(), eq("key-1"))).thenReturn(new Payment("p1", "other", 100, "Cash"));
+
+        assertThrows(InvalidBillingException.class, () -> controller.recordPayment("id", 100, "Cash", "key-1"));
+    }
+
+    @Test
+    void testRecordPaymentRejectsNonPositiveAmount() {
+        assertThrows(InvalidBillingException.class, () -> controller.recordPayment("id", 0.004, "Cash", "key-1"));
+        verify(paymentManager, never()).recordPayment(any(), any());
     }
 
     @Test
@@ -82,6 +131,22 @@ class BillingControllerTest {
         verify(invoiceManager).getAllInvoices();
     }
 
+    @Test
+    void testGetRevenueByServiceDelegates() {
+        LocalDateTime start = LocalDateTime.of(2025, 6, 1, 0, 0);
+        when(invoiceManager.getRevenueByService(start, start.plusMonths(1))).thenReturn(List.of());
+        assertNotNull(controller.getRevenueByService(start, start.plusMonths(1)));
+        verify(invoiceManager).getRevenueByService(start, start.plusMonths(1));
+    }
+
+    @Test
+    void testGetRevenueTotalsDelegates() {
+        LocalDate start = LocalDate.of(2025, 6, 1);
+        when(invoiceManager.getRevenueTotals(start, null)).thenReturn(RevenueTotals.EMPTY);
+        assertEquals(RevenueTotals.EMPTY, controller.getRevenueTotals(start, null));
+        verify(invoiceManager).getRevenueTotals(start, null);
+    }
+
     @Test
     void testGetInvoiceByIdDelegates() {
         Invoice invoice = new Invoice("id", "appt1", "Alice", List.of(new ServiceItem("Consult", 100)), 0);
@@ -96,4 +161,12 @@ class BillingControllerTest {
         controller.deleteInvoice("id");
         verify(invoiceManager).deleteInvoice("id");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testExportStatementsRejectsEmptyRange() {
+        LocalDate day = LocalDate.of(2025, 6, 1);
+        assertThrows(InvalidBillingException.class, () -> controller.exportStatements(day, day,
+                Set.of(StatementExporter.Format.TXT), Path.of("unused.zip"), (done, total) -> { }, () -> false));
+        verifyNoInteractions(invoiceManager, paymentManager);
+    }
+}
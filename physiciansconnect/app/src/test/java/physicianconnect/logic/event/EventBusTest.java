@@ -0,0 +1,90 @@
+package physicianconnect.logic.event;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventBusTest {
+
+    @Test
+    void testHandlersOnlyReceiveTheirEventType() {
+        EventBus bus = new EventBus(Runnable::run);
+        List<InvoiceUpdated> invoices = new ArrayList<>();
+        List<NotificationAdded> notifications = new ArrayList<>();
+        bus.subscribe(InvoiceUpdated.class, invoices::add);
+        bus.subscribe(NotificationAdded.class, notifications::add);
+
+        bus.publish(new InvoiceUpdated("inv1"));
+
+        assertEquals(List.of(new InvoiceUpdated("inv1")), invoices);
+        assertTrue(notifications.isEmpty());
+    }
+
+    @Test
+    void testFailingHandlerDoesNotStopOthers() {
+        EventBus bus = new EventBus(Runnable::run);
+        List<InvoiceUpdated> received = new ArrayList<>();
+        bus.subscribe(InvoiceUpdated.class, e -> {
+            throw new IllegalStateException("boom");
+        });
+        bus.subscribe(InvoiceUpdated.class, received::add);
+
+        bus.publish(new InvoiceUpdated("inv1"));
+
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void testClosedSubscriptionStopsDelivery() {
+        EventBus bus = new EventBus(Runnable::run);
+        List<InvoiceUpdated> received = new ArrayList<>();
+        EventBus.Subscription subscription = bus.subscribe(InvoiceUpdated.class, received::add);
+
+        bus.publish(new InvoiceUpdated("inv1"));
+        subscription.close();
+        bus.publish(new InvoiceUpdated("inv2"));
+
+        assertEquals(List.of(new InvoiceUpdated("inv1")), received);
+    }
+
+    @Test
+    void testDefaultDispatchIsAsynchronousAndOrdered() throws InterruptedException {
+        EventBus bus = new EventBus();
+        Thread publisher = Thread.currentThread();
+        List<String> received = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(100);
+        bus.subscribe(InvoiceUpdated.class, e -> {
+            received.add(e.invoiceId());
+            threads.add(Thread.currentThread());
+            done.countDown();
+        });
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add("inv" + i);
+            bus.publish(new InvoiceUpdated("inv" + i));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(expected, received);
+        assertTrue(threads.stream().noneMatch(t -> t == publisher));
+    }
+
+    @Test
+    void testNotificationBroadcastMatchesEveryUserOfItsType() {
+        NotificationAdded broadcast = new NotificationAdded(null, "receptionist");
+        assertTrue(broadcast.isFor("rec1", "receptionist"));
+        assertFalse(broadcast.isFor("doc1", "physician"));
+
+        NotificationAdded direct = new NotificationAdded("doc1", "physician");
+        assertTrue(direct.isFor("doc1", "physician"));
+        assertFalse(direct.isFor("doc2", "physician"));
+    }
+}
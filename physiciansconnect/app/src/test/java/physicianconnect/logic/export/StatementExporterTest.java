@@ -0,0 +1,156 @@
+package physicianconnect.logic.export;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import physicianconnect.logic.event.EventBus;
+import physicianconnect.logic.manager.InvoiceManager;
+import physicianconnect.logic.manager.PaymentManager;
+import physicianconnect.objects.Invoice;
+import physicianconnect.objects.Payment;
+import physicianconnect.objects.ServiceItem;
+import physicianconnect.persistence.stub.InvoicePersistenceStub;
+import physicianconnect.persistence.stub.PaymentPersistenceStub;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementExporterTest {
+    // More than two pages, so the keyset cursor is exercised
+    private static final int INVOICES = StatementExporter.PAGE_SIZE * 2 + 37;
+    private static final LocalDate JUNE = LocalDate.of(2025, 6, 1);
+
+    @TempDir
+    Path tempDir;
+
+    private InvoiceManager invoiceManager;
+    private PaymentManager paymentManager;
+
+    @BeforeEach
+    void setUp() {
+        EventBus events = new EventBus();
+        InvoicePersistenceStub invoices = new InvoicePersistenceStub(false);
+        PaymentPersistenceStub payments = new PaymentPersistenceStub(false);
+        invoiceManager = new InvoiceManager(invoices, events);
+        paymentManager = new PaymentManager(payments, events);
+        for (int i = 0; i < INVOICES; i++) {
+            LocalDateTime created = JUNE.atTime(9, 0).plusMinutes(i * 97L);
+            invoices.addInvoice(new Invoice("inv" + i, "1", "Patient, " + i,
+                    List.of(new ServiceItem("Consult", 100)), 0, created));
+            payments.addPayment(new Payment("p" + i, "inv" + i, 25, "Cash", created.plusHours(1)));
+        }
+        // Outside the range on either side
+        invoices.addInvoice(new Invoice("may", "1", "May", List.of(new ServiceItem("X", 1)), 0,
+                JUNE.minusDays(1).atTime(23, 59)));
+        invoices.addInvoice(new Invoice("july", "1", "July", List.of(new ServiceItem("X", 1)), 0,
+                JUNE.plusMonths(1).atStartOfDay()));
+    }
+
+    @Test
+    void testExportWritesEveryStatementAndManifest() throws Exception {
+        Path target = tempDir.resolve("june.zip");
+        List<int[]> progress = Collections.synchronizedList(new ArrayList<>());
+
+        int count = new StatementExporter(invoiceManager, paymentManager, 3).export(JUNE, JUNE.plusMonths(1),
+                EnumSet.allOf(StatementExporter.Format.class), target,
+                (done, total) -> progress.add(new int[] { done, total }), () -> false);
+
+        assertEquals(INVOICES, count);
+        assertArrayEquals(new int[] { INVOICES, INVOICES }, progress.get(progress.size() - 1));
+        assertFalse(Files.exists(tempDir.resolve("june.zip.part")));
+        try (ZipFile zip = new ZipFile(target.toFile())) {
+            assertEquals(2 * INVOICES + 1, zip.size());
+            List<String> rows = manifestRows(zip);
+            assertEquals(StatementExporter.MANIFEST_HEADER, rows.get(0));
+            assertEquals(2 * INVOICES, rows.size() - 1);
+            // Rows follow invoice order, and each names an entry with matching size and checksum
+            assertTrue(rows.get(1).startsWith("inv0,\"Patient, 0\",2025-06-01T09:00,100.00,100.00,"));
+            for (String row : rows.subList(1, rows.size())) {
+                String[] cols = row.split(",");
+                ZipEntry entry = zip.getEntry(cols[cols.length - 3]);
+                assertNotNull(entry, row);
+                byte[] file = zip.getInputStream(entry).readAllBytes();
+                CRC32 crc = new CRC32();
+                crc.update(file);
+                assertEquals(Integer.parseInt(cols[cols.length - 2]), file.length);
+                assertEquals(String.format("%08x", crc.getValue()), cols[cols.length - 1]);
+            }
+            String txt = new String(zip.getInputStream(zip.getEntry("2025-06-01_Patient__0_inv0.txt"))
+                    .readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(txt.contains("via Cash"));
+        }
+    }
+
+    @Test
+    void testExportSingleFormatIsIndependentOfWorkerCount() throws Exception {
+        Path one = tempDir.resolve("one.zip");
+        Path four = tempDir.resolve("four.zip");
+        Set<StatementExporter.Format> txt = EnumSet.of(StatementExporter.Format.TXT);
+        new StatementExporter(invoiceManager, paymentManager, 1).export(JUNE, JUNE.plusDays(2), txt, one,
+                (done, total) -> { }, () -> false);
+        new StatementExporter(invoiceManager, paymentManager, 4).export(JUNE, JUNE.plusDays(2), txt, four,
+                (done, total) -> { }, () -> false);
+
+        try (ZipFile a = new ZipFile(one.toFile()); ZipFile b = new ZipFile(four.toFile())) {
+            assertEquals(manifestRows(a), manifestRows(b));
+            assertTrue(a.stream().noneMatch(e -> e.getName().endsWith(".pdf")));
+        }
+    }
+
+    @Test
+    void testCancelledExportLeavesNoFile() throws Exception {
+        Path target = tempDir.resolve("cancelled.zip");
+        int[] written = new int[1];
+
+        assertThrows(CancellationException.class, () -> new StatementExporter(invoiceManager, paymentManager, 2)
+                .export(JUNE, JUNE.plusMonths(1), EnumSet.of(StatementExporter.Format.PDF), target,
+                        (done, total) -> written[0] = done, () -> written[0] >= 10));
+
+        assertEquals(10, written[0]);
+        assertFalse(Files.exists(target));
+        assertFalse(Files.exists(tempDir.resolve("cancelled.zip.part")));
+    }
+
+    @Test
+    void testEmptyRangeWritesManifestOnly() throws Exception {
+        Path target = tempDir.resolve("empty.zip");
+        int count = new StatementExporter(invoiceManager, paymentManager, 2).export(LocalDate.of(2020, 1, 1),
+                LocalDate.of(2020, 2, 1), EnumSet.of(StatementExporter.Format.TXT), target, (done, total) -> { },
+                () -> false);
+
+        assertEquals(0, count);
+        try (ZipFile zip = new ZipFile(target.toFile())) {
+            assertEquals(1, zip.size());
+            assertEquals(List.of(StatementExporter.MANIFEST_HEADER), manifestRows(zip));
+        }
+    }
+
+    @Test
+    void testCsvQuotesOnlyWhenNeeded() {
+        assertEquals("plain", StatementExporter.csv("plain"));
+        assertEquals("\"a, \"\"b\"\"\"", StatementExporter.csv("a, \"b\""));
+        assertEquals("", StatementExporter.csv(null));
+    }
+
+    private static List<String> manifestRows(ZipFile zip) throws Exception {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                zip.getInputStream(zip.getEntry(StatementExporter.MANIFEST_NAME)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
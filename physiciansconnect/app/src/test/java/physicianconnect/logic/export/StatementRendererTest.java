@@ -0,0 +1,74 @@
+package physicianconnect.logic.export;
+
+import org.junit.jupiter.api.*;
+import physicianconnect.objects.Invoice;
+import physicianconnect.objects.Payment;
+import physicianconnect.objects.ServiceItem;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementRendererTest {
+
+    private Invoice invoice;
+
+    @BeforeEach
+    void setUp() {
+        invoice = new Invoice("inv1", "1", "Ann (Smith)", List.of(new ServiceItem("Consult", 100)), 10,
+                LocalDateTime.of(2025, 6, 2, 9, 0));
+    }
+
+    @Test
+    void testTextHasServicesPaymentsAndCrlf() {
+        String text = new String(StatementRenderer.renderText(invoice, null,
+                List.of(new Payment("p1", "inv1", 40, "Cash", LocalDateTime.of(2025, 6, 3, 10, 0)))),
+                StandardCharsets.UTF_8);
+
+        assertTrue(text.contains("Patient Name: Ann (Smith)\r\n"));
+        assertTrue(text.contains("Appointment:  -\r\n"));
+        assertTrue(text.contains("Consult"));
+        assertTrue(text.contains("2025-06-03 10:00"));
+        assertFalse(text.replace("\r\n", "").contains("\n"));
+    }
+
+    @Test
+    void testPdfIsWellFormed() {
+        byte[] pdf = StatementRenderer.renderPdf(invoice, "2025-06-02 09:00", List.of());
+        String body = new String(pdf, StandardCharsets.ISO_8859_1);
+
+        assertTrue(body.startsWith("%PDF-1.4\n"));
+        assertTrue(body.endsWith("%%EOF\n"));
+        assertTrue(body.contains("(Patient Name: Ann \\(Smith\\)) Tj"));
+        assertXrefOffsetsPointAtObjects(body);
+    }
+
+    @Test
+    void testLongStatementSpansPages() {
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            payments.add(new Payment("p" + i, "inv1", 1, "Cash", LocalDateTime.of(2025, 6, 3, 10, 0)));
+        }
+        String body = new String(StatementRenderer.renderPdf(invoice, null, payments), StandardCharsets.ISO_8859_1);
+
+        assertTrue(body.contains("/Count 3"));
+        assertXrefOffsetsPointAtObjects(body);
+    }
+
+    private static void assertXrefOffsetsPointAtObjects(String body) {
+        int xref = Integer.parseInt(body.substring(body.lastIndexOf("startxref\n") + 10, body.lastIndexOf("\n%%EOF")));
+        assertTrue(body.startsWith("xref\n", xref));
+        Matcher entries = Pattern.compile("(\\d{10}) 00000 n ").matcher(body.substring(xref));
+        int object = 1;
+        while (entries.find()) {
+            assertTrue(body.startsWith(object + " 0 obj\n", Integer.parseInt(entries.group(1))), "object " + object);
+            object++;
+        }
+        assertTrue(object > 4);
+    }
+}
@@ -2,15 +2,19 @@ package physicianconnect.logic.manager;
 
 import org.junit.jupiter.api.*;
 import org.mockito.*;
+import physicianconnect.logic.event.AppointmentChanged;
+import physicianconnect.logic.event.EventBus;
 import physicianconnect.logic.exceptions.InvalidAppointmentException;
 import physicianconnect.objects.Appointment;
 import physicianconnect.persistence.interfaces.AppointmentPersistence;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class AppointmentManagerTest {
@@ -29,16 +33,18 @@ class AppointmentManagerTest {
     @Test
     void testAddAppointmentDelegates() {
         Appointment appt = new Appointment("doc1", "Alice", LocalDateTime.now().plusDays(1));
-        when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of());
+        when(mockPersistence.addAppointment(appt)).thenReturn(true);
         manager.addAppointment(appt);
         verify(mockPersistence).addAppointment(appt);
+        // Booking never loads the physician's whole schedule
+        verify(mockPersistence, never()).getAppointmentsForPhysician(any());
     }
 
     @Test
     void testAddAppointmentThrowsIfSlotTaken() {
         LocalDateTime slot = LocalDateTime.now().plusDays(1);
         Appointment appt = new Appointment("doc1", "Alice", slot);
-        when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of(appt));
+        when(mockPersistence.addAppointment(appt)).thenReturn(false);
         assertThrows(InvalidAppointmentException.class, () -> manager.addAppointment(appt));
     }
 
@@ -46,7 +52,7 @@ class AppointmentManagerTest {
     void testUpdateAppointmentDelegates() {
         LocalDateTime slot = LocalDateTime.now().plusDays(2);
         Appointment appt = new Appointment("doc1", "Bob", slot);
-        when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of(appt));
+        when(mockPersistence.updateAppointment(appt)).thenReturn(true);
         manager.updateAppointment(appt);
         verify(mockPersistence).updateAppointment(appt);
     }
@@ -55,11 +61,24 @@ class AppointmentManagerTest {
     void testUpdateAppointmentThrowsIfSlotTaken() {
         LocalDateTime slot = LocalDateTime.now().plusDays(2);
         Appointment appt = new Appointment("doc1", "Bob", slot);
-        Appointment other = new Appointment("doc1", "Other", slot);
-        when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of(other));
+        when(mockPersistence.updateAppointment(appt)).thenReturn(false);
         assertThrows(InvalidAppointmentException.class, () -> manager.updateAppointment(appt));
     }
 
+    @Test
+    void testUpdateMissingAppointmentThrowsWithoutEvent() {
+        EventBus bus = new EventBus(Runnable::run);
+        List<AppointmentChanged> events = new ArrayList<>();
+        bus.subscribe(AppointmentChanged.class, events::add);
+        manager = new AppointmentManager(mockPersistence, Clock.systemDefaultZone(), bus);
+        Appointment appt = new Appointment("doc1", "Bob", LocalDateTime.now().plusDays(2));
+        when(mockPersistence.updateAppointment(appt)).thenThrow(new IllegalArgumentException("No appointment"));
+        InvalidAppointmentException ex = assertThrows(InvalidAppointmentException.class,
+                () -> manager.updateAppointment(appt));
+        assertEquals("Appointment no longer exists.", ex.getMessage());
+        assertTrue(events.isEmpty());
+    }
+
     @Test
     void testDeleteAppointmentDelegates() {
         Appointment appt = new Appointment("doc1", "Alice", LocalDateTime.now().plusDays(1));
@@ -86,7 +105,8 @@ class AppointmentManagerTest {
     void testIsSlotAvailable() {
         LocalDateTime slot = LocalDateTime.now().plusDays(1);
         Appointment appt = new Appointment("doc1", "Alice", slot);
-        when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of(appt));
+        when(mockPersistence.getAppointmentsForPhysicianInRange("doc1", slot, slot.plusNanos(1)))
+                .thenReturn(List.of(appt));
         assertFalse(manager.isSlotAvailable("doc1", slot));
         assertTrue(manager.isSlotAvailable("doc1", slot.plusHours(1)));
     }
@@ -96,7 +116,8 @@ void testIsSlotAvailableForUpdateSameRecordSkips() {
     LocalDateTime slot = LocalDateTime.now().plusDays(1);
     Appointment appt = new Appointment("doc1", "Alice", slot);
     // List contains the same appointment (should skip and return true)
-    when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of(appt));
+    when(mockPersistence.getAppointmentsForPhysicianInRange("doc1", slot, slot.plusNanos(1)))
+            .thenReturn(List.of(appt));
     assertTrue(manager.isSlotAvailableForUpdate("doc1", slot, appt));
 }
 
@@ -105,7 +126,8 @@ void testIsSlotAvailableForUpdateSlotTaken() {
     LocalDateTime slot = LocalDateTime.now().plusDays(1);
     Appointment appt = new Appointment("doc1", "Alice", slot.plusHours(1));
     Appointment other = new Appointment("doc1", "Other", slot);
-    when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of(other));
+    when(mockPersistence.getAppointmentsForPhysicianInRange("doc1", slot, slot.plusNanos(1)))
+            .thenReturn(List.of(other));
     // Should return false because slot is taken by "other"
     assertFalse(manager.isSlotAvailableForUpdate("doc1", slot, appt));
 }
@@ -120,20 +142,41 @@ void testGetAllAppointmentsDelegates() {
 }
 
 @Test
-void testObserverPatternAddRemoveNotify() {
-    Runnable listener = mock(Runnable.class);
-    // Add listener
-    manager.addChangeListener(listener);
-    // Trigger notifyListeners via addAppointment
+void testChangesArePublished() {
+    EventBus bus = new EventBus(Runnable::run);
+    List<AppointmentChanged> events = new ArrayList<>();
+    EventBus.Subscription subscription = bus.subscribe(AppointmentChanged.class, events::add);
+    manager = new AppointmentManager(mockPersistence, Clock.systemDefaultZone(), bus);
+
     Appointment appt = new Appointment("doc1", "Alice", LocalDateTime.now().plusDays(2));
-    when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of());
+    when(mockPersistence.addAppointment(appt)).thenReturn(true);
+    when(mockPersistence.updateAppointment(appt)).thenReturn(true);
     manager.addAppointment(appt);
-    verify(listener, atLeastOnce()).run();
+    manager.updateAppointment(appt);
+    manager.deleteAppointment(appt);
 
-    // Remove listener and verify it is not called again
-    reset(listener);
-    manager.removeChangeListener(listener);
+    assertEquals(List.of(
+            new AppointmentChanged(AppointmentChanged.Kind.CREATED, appt),
+            new AppointmentChanged(AppointmentChanged.Kind.UPDATED, appt),
+            new AppointmentChanged(AppointmentChanged.Kind.DELETED, appt)), events);
+
+    // Closed subscriptions receive nothing further
+    subscription.close();
     manager.deleteAll();
-    verify(listener, never()).run();
+    assertEquals(3, events.size());
+}
+
+@Test
+void testRejectedAppointmentIsNotPublished() {
+    EventBus bus = new EventBus(Runnable::run);
+    List<AppointmentChanged> events = new ArrayList<>();
+    bus.subscribe(AppointmentChanged.class, events::add);
+    manager = new AppointmentManager(mockPersistence, Clock.systemDefaultZone(), bus);
+
+    LocalDateTime slot = LocalDateTime.now().plusDays(1);
+    when(mockPersistence.addAppointment(any())).thenReturn(false);
+    assertThrows(InvalidAppointmentException.class,
+            () -> manager.addAppointment(new Appointment("doc1", "Alice", slot)));
+    assertTrue(events.isEmpty());
+}
 }
-}
\ No newline at end of file
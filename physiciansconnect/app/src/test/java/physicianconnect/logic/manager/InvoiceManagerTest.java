@@ -2,9 +2,15 @@ package physicianconnect.logic.manager;
 
 import org.junit.jupiter.api.*;
 import org.mockito.*;
+import physicianconnect.logic.event.EventBus;
+import physicianconnect.logic.event.InvoiceUpdated;
 import physicianconnect.objects.Invoice;
+import physicianconnect.objects.RevenueTotals;
+import physicianconnect.objects.ServiceRevenue;
 import physicianconnect.persistence.interfaces.InvoicePersistence;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -49,6 +55,21 @@ class InvoiceManagerTest {
         assertNotNull(manager.getAllInvoices());
     }
 
+    @Test
+    void testGetRevenueByServiceDelegates() {
+        LocalDateTime start = LocalDateTime.of(2025, 6, 1, 0, 0);
+        List<ServiceRevenue> totals = List.of(new ServiceRevenue("Consult", 2, 20000));
+        when(mockPersistence.getRevenueByService(start, start.plusMonths(1))).thenReturn(totals);
+        assertEquals(totals, manager.getRevenueByService(start, start.plusMonths(1)));
+    }
+
+    @Test
+    void testGetRevenueTotalsDelegates() {
+        RevenueTotals totals = new RevenueTotals(2, 20000, 5000);
+        when(mockPersistence.getRevenueTotals(null, null)).thenReturn(totals);
+        assertEquals(totals, manager.getRevenueTotals(null, null));
+    }
+
     @Test
     void testUpdateInvoiceDelegates() {
         Invoice invoice = mock(Invoice.class);
@@ -61,4 +82,22 @@ class InvoiceManagerTest {
         manager.deleteInvoice("id");
         verify(mockPersistence).deleteInvoiceById("id");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testWritesPublishInvoiceUpdated() {
+        EventBus bus = new EventBus(Runnable::run);
+        List<InvoiceUpdated> events = new ArrayList<>();
+        bus.subscribe(InvoiceUpdated.class, events::add);
+        manager = new InvoiceManager(mockPersistence, bus);
+        Invoice invoice = mock(Invoice.class);
+        when(invoice.getId()).thenReturn("inv1");
+
+        manager.addInvoice(invoice);
+        manager.updateInvoice(invoice);
+        manager.deleteInvoice("inv1");
+        manager.getAllInvoices();
+
+        assertEquals(3, events.size());
+        assertTrue(events.stream().allMatch(e -> "inv1".equals(e.invoiceId())));
+    }
+}
@@ -41,4 +41,19 @@ class PaymentManagerTest {
         when(mockPersistence.getPaymentsByMonth(2025, 6)).thenReturn(List.of());
         assertNotNull(manager.getPaymentsByMonth(2025, 6));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRecordPaymentDelegates() {
+        Payment payment = new Payment("p1", "inv1", 10, "Cash");
+        when(mockPersistence.recordPayment(payment, "key-1")).thenReturn(payment);
+        assertSame(payment, manager.recordPayment(payment, "key-1"));
+        verify(mockPersistence).recordPayment(payment, "key-1");
+    }
+
+    @Test
+    void testRecordPaymentRejectedReturnsNull() {
+        Payment payment = new Payment("p1", "inv1", 10, "Cash");
+        when(mockPersistence.recordPayment(payment, "key-1")).thenReturn(null);
+        assertNull(manager.recordPayment(payment, "key-1"));
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.*;
 import org.mockito.MockedStatic;
 import physicianconnect.logic.manager.PhysicianManager;
 import physicianconnect.logic.manager.ReceptionistManager;
+import physicianconnect.persistence.interfaces.UserDirectory;
 import physicianconnect.presentation.config.UIConfig;
 
 import javax.swing.*;
@@ -99,4 +100,18 @@ class CredentialVerificationTest {
         boolean result = verifier.verifySignUpData("Name", "a@b.com", "pass123", "pass123");
         assertTrue(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testEmailCheckUsesUserDirectory() {
+        UserDirectory directory = mock(UserDirectory.class);
+        when(directory.findUserByEmail("a@b.com"))
+                .thenReturn(new UserDirectory.UserAccount("rec1", "receptionist"));
+        verifier = new CredentialVerification(physicianManager, receptionistManager, directory, dialog);
+        try (MockedStatic<JOptionPane> paneMock = mockStatic(JOptionPane.class)) {
+            assertFalse(verifier.verifySignUpData("Name", "a@b.com", "pass123", "pass123"));
+            paneMock.verify(() -> JOptionPane.showMessageDialog(dialog, UIConfig.ERROR_EMAIL_EXISTS,
+                    UIConfig.ERROR_DIALOG_TITLE, JOptionPane.ERROR_MESSAGE));
+        }
+        verifyNoInteractions(physicianManager, receptionistManager);
+    }
+}
@@ -51,15 +51,27 @@ class ConnectionManagerTest {
 
     @Test
     void testCloseThrowsRuntimeExceptionOnSQLException() throws Exception {
-        var field = ConnectionManager.class.getDeclaredField("connection");
+        var field = ConnectionManager.class.getDeclaredField("pool");
         field.setAccessible(true);
-        Connection mockConn = mock(Connection.class);
-        doThrow(new SQLException("fail")).when(mockConn).close();
-        field.set(null, mockConn);
+        ConnectionPool mockPool = mock(ConnectionPool.class);
+        doThrow(new SQLException("fail")).when(mockPool).close();
+        field.set(null, mockPool);
 
         RuntimeException ex = assertThrows(RuntimeException.class, ConnectionManager::close);
         assertTrue(ex.getMessage().contains("Failed to close DB connection"));
         field.set(null, null);
     }
 
+    @Test
+    void testGetPoolThrowsWhenNotInitialized() {
+        assertThrows(IllegalStateException.class, ConnectionManager::getPool);
+        assertThrows(IllegalStateException.class, ConnectionManager::get);
+    }
+
+    @Test
+    void testGetReturnsPoolWriter() {
+        ConnectionManager.initialize(":memory:");
+        assertSame(ConnectionManager.getPool().getWriterConnection(), ConnectionManager.get());
+    }
+
 }
\ No newline at end of file
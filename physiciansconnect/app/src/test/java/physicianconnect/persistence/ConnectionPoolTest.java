@@ -0,0 +1,278 @@
+package physicianconnect.persistence;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = ConnectionPool.open(tempDir.resolve("pool.db").toString(), 2);
+        pool.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                return stmt.executeUpdate("CREATE TABLE items (id INTEGER PRIMARY KEY, name TEXT)");
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        pool.close();
+    }
+
+    private int countItems(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM items")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private int insertItem(Connection conn, String name) throws SQLException {
+        try (var stmt = conn.prepareStatement("INSERT INTO items (name) VALUES (?)")) {
+            stmt.setString(1, name);
+            return stmt.executeUpdate();
+        }
+    }
+
+    @Test
+    void testFileDatabaseUsesWalJournal() throws Exception {
+        String mode = pool.read(conn -> {
+            try (Statement stmt = conn.createStatement();
+                    ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        });
+        assertEquals("wal", mode.toLowerCase());
+        assertEquals(2, pool.getReaderPoolSize());
+    }
+
+    @Test
+    void testReadConnectionsAreReadOnly() {
+        SQLException ex = assertThrows(SQLException.class, () -> pool.read(conn -> insertItem(conn, "nope")));
+        assertTrue(ex.getMessage().toLowerCase().contains("readonly")
+                || ex.getMessage().toLowerCase().contains("read-only")
+                || ex.getMessage().toLowerCase().contains("query_only"));
+    }
+
+    @Test
+    void testReadsSeeCommittedWrites() throws Exception {
+        pool.write(conn -> insertItem(conn, "a"));
+        pool.write(conn -> insertItem(conn, "b"));
+        assertEquals(2, pool.read(this::countItems));
+    }
+
+    @Test
+    void testReadInsideWriteUsesWriter() throws Exception {
+        Connection writer = pool.getWriterConnection();
+        Connection used = pool.write(conn -> pool.read(inner -> inner));
+        assertSame(writer, used);
+    }
+
+    @Test
+    void testReaderNotBlockedByOpenWriteTransaction() throws Exception {
+        pool.write(conn -> insertItem(conn, "committed"));
+
+        CountDownLatch inTransaction = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> writer = executor.submit(() -> pool.write(conn -> {
+                conn.setAutoCommit(false);
+                try {
+                    insertItem(conn, "pending");
+                    inTransaction.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    conn.commit();
+                    return 1;
+                } catch (InterruptedException e) {
+                    conn.rollback();
+                    throw new SQLException(e);
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            }));
+
+            assertTrue(inTransaction.await(5, TimeUnit.SECONDS));
+            assertTrue(pool.isWriteLocked());
+            // WAL readers see the last committed snapshot instead of waiting for the writer
+            assertEquals(1, pool.read(this::countItems));
+
+            release.countDown();
+            writer.get(5, TimeUnit.SECONDS);
+            assertEquals(2, pool.read(this::countItems));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConcurrentWritesAreSerialized() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String name = "item" + i;
+                futures.add(executor.submit(() -> pool.write(conn -> insertItem(conn, name))));
+            }
+            for (Future<Integer> f : futures) {
+                assertEquals(1, f.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(200, pool.read(this::countItems));
+        assertTrue(pool.getWriteAcquisitions() >= 200);
+    }
+
+    @Test
+    void testCountersTrackUsage() throws Exception {
+        pool.read(this::countItems);
+        pool.read(conn -> {
+            assertEquals(1, pool.getActiveReaders());
+            assertEquals(0.5, pool.getReaderUtilization(), 0.0001);
+            return null;
+        });
+
+        assertEquals(2, pool.getReadAcquisitions());
+        assertEquals(0, pool.getActiveReaders());
+        assertEquals(1, pool.getPeakActiveReaders());
+        assertTrue(pool.getReadWaitNanos() >= 0);
+        assertTrue(pool.getWriteWaitNanos() >= 0);
+    }
+
+    @Test
+    void testInMemoryPoolUsesSingleConnection() throws Exception {
+        try (ConnectionPool memory = ConnectionPool.open(":memory:", 4)) {
+            assertEquals(0, memory.getReaderPoolSize());
+            Connection writer = memory.getWriterConnection();
+            assertSame(writer, memory.read(conn -> conn));
+        }
+    }
+
+    @Test
+    void testWrapSharesGivenConnection() throws Exception {
+        Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        ConnectionPool wrapped = ConnectionPool.wrap(conn);
+        assertSame(conn, wrapped.read(c -> c));
+        assertSame(conn, wrapped.write(c -> c));
+        wrapped.close();
+        assertTrue(conn.isClosed());
+    }
+
+    @Test
+    void testCloseClosesAllConnections() throws Exception {
+        Connection writer = pool.getWriterConnection();
+        pool.close();
+        assertTrue(writer.isClosed());
+        assertEquals(0, pool.getReaderPoolSize());
+    }
+
+    @Test
+    void testTransactionCommits() throws Exception {
+        pool.transaction(conn -> insertItem(conn, "a") + insertItem(conn, "b"));
+        assertEquals(2, (int) pool.read(this::countItems));
+        assertTrue(pool.getWriterConnection().getAutoCommit());
+    }
+
+    @Test
+    void testTransactionRollsBackOnFailure() throws Exception {
+        assertThrows(SQLException.class, () -> pool.transaction(conn -> {
+            insertItem(conn, "a");
+            throw new SQLException("boom");
+        }));
+        assertThrows(IllegalStateException.class, () -> pool.transaction(conn -> {
+            insertItem(conn, "b");
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(0, (int) pool.read(this::countItems));
+        assertTrue(pool.getWriterConnection().getAutoCommit());
+    }
+
+    @Test
+    void testTransactionRollsBackOnError() throws Exception {
+        assertThrows(AssertionError.class, () -> pool.transaction(conn -> {
+            insertItem(conn, "a");
+            throw new AssertionError("boom");
+        }));
+        assertEquals(0, (int) pool.read(this::countItems));
+        assertTrue(pool.getWriterConnection().getAutoCommit());
+    }
+
+    @Test
+    void testNestedTransactionJoinsOuter() throws Exception {
+        assertThrows(SQLException.class, () -> pool.transaction(outer -> {
+            pool.transaction(inner -> insertItem(inner, "inner"));
+            throw new SQLException("outer fails after inner returned");
+        }));
+        assertEquals(0, (int) pool.read(this::countItems));
+    }
+
+    @Test
+    void testAfterCommitRunsOnceTheWriteCommits() throws Exception {
+        List<String> ran = new ArrayList<>();
+        pool.transaction(conn -> {
+            insertItem(conn, "a");
+            pool.afterCommit(() -> ran.add("transaction"));
+            pool.write(inner -> {
+                pool.afterCommit(() -> ran.add("nested write"));
+                return null;
+            });
+            assertTrue(ran.isEmpty(), "ran before commit");
+            return null;
+        });
+        pool.write(conn -> {
+            pool.afterCommit(() -> ran.add("write"));
+            return null;
+        });
+        assertEquals(List.of("transaction", "nested write", "write"), ran);
+    }
+
+    @Test
+    void testAfterCommitDroppedOnRollback() throws Exception {
+        List<String> ran = new ArrayList<>();
+        assertThrows(SQLException.class, () -> pool.transaction(conn -> {
+            pool.afterCommit(() -> ran.add("rolled back"));
+            throw new SQLException("boom");
+        }));
+        pool.write(conn -> {
+            try {
+                pool.transaction(inner -> {
+                    pool.afterCommit(() -> ran.add("inner rolled back"));
+                    throw new SQLException("boom");
+                });
+            } catch (SQLException expected) {
+                // the outer write carries on without the inner transaction's work
+            }
+            pool.afterCommit(() -> ran.add("outer"));
+            return null;
+        });
+        assertEquals(List.of("outer"), ran);
+    }
+
+    @Test
+    void testAfterCommitOutsideWriteRejected() {
+        assertThrows(IllegalStateException.class, () -> pool.afterCommit(() -> { }));
+    }
+}
@@ -2,7 +2,12 @@ package physicianconnect.persistence;
 
 import org.junit.jupiter.api.Test;
 
+import physicianconnect.persistence.sqlite.InvoiceDB;
+import physicianconnect.persistence.sqlite.SchemaInitializer;
+
 import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.List;
 
@@ -32,4 +37,81 @@ class DatabaseSeederTest {
                 DatabaseSeeder.seed(mockConn, List.of("database_seeds/seed_badfile.sql")));
         assertTrue(ex.getMessage().contains("Failed to execute seed file"));
     }
-}
\ No newline at end of file
+
+    private static int count(Connection conn, String sql) throws Exception {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    @Test
+    void testSeedsTokenizedFileInOneTransaction() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            DatabaseSeeder.seed(conn, List.of("database_seeds/seed_tokenizer.sql"));
+
+            assertEquals(5, count(conn, "SELECT COUNT(*) FROM seed_items"));
+            assertEquals(1, count(conn, "SELECT COUNT(*) FROM seed_items WHERE label = 'semi;colon'"));
+            assertEquals(1, count(conn, "SELECT COUNT(*) FROM seed_items WHERE label = 'it''s quoted'"));
+            assertEquals(1, count(conn, "SELECT COUNT(*) FROM seed_history"));
+            assertTrue(conn.getAutoCommit());
+        }
+    }
+
+    @Test
+    void testUnchangedSeedIsSkipped() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            assertTrue(DatabaseSeeder.executeSqlFromResource("database_seeds/seed_tokenizer.sql", conn));
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DELETE FROM seed_items WHERE id = 5");
+            }
+
+            assertFalse(DatabaseSeeder.executeSqlFromResource("database_seeds/seed_tokenizer.sql", conn));
+            assertEquals(4, count(conn, "SELECT COUNT(*) FROM seed_items"));
+        }
+    }
+
+    @Test
+    void testChangedChecksumReappliesSeed() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            DatabaseSeeder.seed(conn, List.of("database_seeds/seed_tokenizer.sql"));
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("UPDATE seed_history SET checksum = 'stale'");
+                stmt.execute("DELETE FROM seed_items");
+            }
+
+            // the fixture uses plain INSERTs, so re-running it into an emptied table succeeds
+            assertTrue(DatabaseSeeder.executeSqlFromResource("database_seeds/seed_tokenizer.sql", conn));
+            assertEquals(5, count(conn, "SELECT COUNT(*) FROM seed_items"));
+        }
+    }
+
+    @Test
+    void testFailingStatementRollsBackWholeFile() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            RuntimeException ex = assertThrows(RuntimeException.class, () ->
+                    DatabaseSeeder.seed(conn, List.of("database_seeds/seed_partial_failure.sql")));
+            assertTrue(ex.getMessage().contains("Failed to execute seed file"));
+
+            assertEquals(0, count(conn,
+                    "SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = 'seed_items'"));
+            assertEquals(0, count(conn, "SELECT COUNT(*) FROM seed_history"));
+            assertTrue(conn.getAutoCommit());
+        }
+    }
+
+    @Test
+    void testSeededInvoicesLeaveNoRevenueDrift() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            SchemaInitializer.initializeSchema(conn);
+            DatabaseSeeder.seed(conn, List.of(
+                    "database_seeds/seed_physicians.sql",
+                    "database_seeds/seed_appointments.sql",
+                    "database_seeds/seed_invoices.sql",
+                    "database_seeds/seed_payments.sql"));
+
+            InvoiceDB invoices = new InvoiceDB(conn);
+            assertEquals(3, invoices.getRevenueTotals(null, null).invoiceCount());
+            assertTrue(invoices.rebuildRevenueDaily().isEmpty());
+        }
+    }
+}
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import physicianconnect.objects.Message;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -114,4 +116,95 @@ class InMemoryMessageRepositoryTest {
         assertEquals(0, repo.countUnreadMessages("other", "rtype"));
         assertEquals(0, repo.countUnreadMessages("rid", "othertype"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCountUnreadMessagesFollowsResaveAndRepeatedRead() {
+        Message m = new Message("sid", "stype", "rid", "rtype", "hello");
+        repo.save(m);
+        repo.save(m);
+        assertEquals(1, repo.countUnreadMessages("rid", "rtype"));
+        repo.markAsRead(m.getMessageId());
+        repo.markAsRead(m.getMessageId());
+        assertEquals(0, repo.countUnreadMessages("rid", "rtype"));
+    }
+
+    @Test
+    void testSaveAll() {
+        repo.saveAll(List.of(
+                new Message("doc1", "physician", "rec1", "receptionist", "a"),
+                new Message("doc1", "physician", "rec1", "receptionist", "b")));
+        assertEquals(2, repo.findByReceiverId("rec1", "receptionist").size());
+    }
+
+    private Message at(String senderId, String senderType, String receiverId, String receiverType,
+            String content, LocalDateTime timestamp) {
+        Message m = new Message(senderId, senderType, receiverId, receiverType, content);
+        m.setTimestamp(timestamp);
+        return m;
+    }
+
+    @Test
+    void testFindConversationPagesBackwardsThroughBothDirections() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 0; i < 7; i++) {
+            repo.save(i % 2 == 0
+                    ? at("doc1", "physician", "rec1", "receptionist", "m" + i, start.plusMinutes(i))
+                    : at("rec1", "receptionist", "doc1", "physician", "m" + i, start.plusMinutes(i)));
+        }
+        // Other conversations involving the same users
+        repo.save(at("doc1", "physician", "rec2", "receptionist", "other", start.plusMinutes(3)));
+        repo.save(at("doc2", "physician", "rec1", "receptionist", "other", start.plusMinutes(8)));
+        repo.save(at("rec1", "physician", "doc1", "physician", "wrong type", start.plusMinutes(9)));
+
+        List<Message> newest = repo.findConversation("doc1", "physician", "rec1", "receptionist", null, 3);
+        assertEquals(List.of("m4", "m5", "m6"), newest.stream().map(Message::getContent).toList());
+
+        List<Message> older = repo.findConversation("doc1", "physician", "rec1", "receptionist", newest.get(0), 3);
+        assertEquals(List.of("m1", "m2", "m3"), older.stream().map(Message::getContent).toList());
+
+        List<Message> oldest = repo.findConversation("rec1", "receptionist", "doc1", "physician", older.get(0), 3);
+        assertEquals(List.of("m0"), oldest.stream().map(Message::getContent).toList());
+        assertTrue(repo.findConversation("doc1", "physician", "rec1", "receptionist", oldest.get(0), 3).isEmpty());
+    }
+
+    @Test
+    void testFindConversationKeepsMessagesWithTheSameTimestamp() {
+        LocalDateTime when = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 0; i < 4; i++) {
+            repo.save(at("doc1", "physician", "rec1", "receptionist", "same " + i, when));
+        }
+        List<String> seen = new ArrayList<>();
+        Message cursor = null;
+        List<Message> page;
+        while (!(page = repo.findConversation("doc1", "physician", "rec1", "receptionist", cursor, 1)).isEmpty()) {
+            seen.add(page.get(0).getContent());
+            cursor = page.get(0);
+        }
+        assertEquals(4, seen.size());
+        assertEquals(4, seen.stream().distinct().count());
+    }
+
+    @Test
+    void testFindSinceReturnsOnlyNewerReceivedMessages() {
+        repo.save(new Message("sid", "stype", "rid", "rtype", "old"));
+        long cursor = repo.latestSequence();
+        repo.save(new Message("sid", "stype", "rid", "rtype", "new"));
+        repo.save(new Message("sid", "stype", "other", "rtype", "elsewhere"));
+
+        List<Message> fresh = repo.findSince("rid", "rtype", cursor);
+        assertEquals(1, fresh.size());
+        assertEquals("new", fresh.get(0).getContent());
+        assertEquals(3, repo.latestSequence());
+    }
+
+    @Test
+    void testMarkConversationReadOnlyTouchesCounterpartUpToSequence() {
+        Message first = repo.save(new Message("doc1", "physician", "rec1", "receptionist", "one"));
+        repo.save(new Message("doc2", "physician", "rec1", "receptionist", "elsewhere"));
+        repo.save(new Message("doc1", "physician", "rec1", "receptionist", "later"));
+
+        assertEquals(1, repo.markConversationRead("rec1", "receptionist", "doc1", "physician", first.getSeq()));
+        assertTrue(first.isRead());
+        assertEquals(2, repo.countUnreadMessages("rec1", "receptionist"));
+    }
+}
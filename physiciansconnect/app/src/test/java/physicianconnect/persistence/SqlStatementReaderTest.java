@@ -0,0 +1,60 @@
+package physicianconnect.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementReaderTest {
+
+    private static List<String> statements(String script) throws IOException {
+        List<String> result = new ArrayList<>();
+        try (SqlStatementReader reader = new SqlStatementReader(new StringReader(script))) {
+            String sql;
+            while ((sql = reader.next()) != null) {
+                result.add(sql);
+            }
+        }
+        return result;
+    }
+
+    @Test
+    void testSplitsOnSemicolonsAndTrims() throws IOException {
+        assertEquals(List.of("SELECT 1", "SELECT 2"), statements("  SELECT 1;\n\nSELECT 2;  \n"));
+    }
+
+    @Test
+    void testKeepsSeparatorsInsideQuotes() throws IOException {
+        assertEquals(List.of(
+                "INSERT INTO t VALUES ('a;b', 'it''s', \"odd;name\", [x;y], `q;r`)"),
+                statements("INSERT INTO t VALUES ('a;b', 'it''s', \"odd;name\", [x;y], `q;r`);"));
+    }
+
+    @Test
+    void testDropsComments() throws IOException {
+        List<String> result = statements("-- leading; comment\nSELECT 1; /* block; comment */ SELECT 2 -- tail\n;");
+        assertEquals(List.of("SELECT 1", "SELECT 2"), result);
+    }
+
+    @Test
+    void testCommentMarkersInsideLiteralsAreKept() throws IOException {
+        assertEquals(List.of("SELECT '-- x', '/* y */', 5 - 3, 6 / 2"),
+                statements("SELECT '-- x', '/* y */', 5 - 3, 6 / 2"));
+    }
+
+    @Test
+    void testFinalStatementWithoutSemicolonAndEmptyStatements() throws IOException {
+        assertEquals(List.of("SELECT 1", "SELECT 2"), statements(";;SELECT 1;;\n;SELECT 2"));
+        assertTrue(statements("  \n-- only a comment\n").isEmpty());
+    }
+
+    @Test
+    void testUnterminatedLiteralFails() {
+        assertThrows(IOException.class, () -> statements("SELECT 'oops;"));
+        assertThrows(IOException.class, () -> statements("SELECT 1 /* never closed"));
+    }
+}
@@ -0,0 +1,126 @@
+package physicianconnect.persistence.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path generate(String file, long seed) throws Exception {
+        Path out = tempDir.resolve(file);
+        SyntheticDataGenerator.Volumes volumes = SyntheticDataGenerator.Volumes.parse(new String[] {
+                "--out=" + out, "--seed=" + seed, "--physicians=5", "--receptionists=2",
+                "--appointments=2000", "--messages=1500", "--invoices=600", "--years=1" });
+        new SyntheticDataGenerator(volumes).generate();
+        return out;
+    }
+
+    private static List<String> rows(Path db, String sql) throws Exception {
+        List<String> rows = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + db);
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(sql)) {
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                StringBuilder row = new StringBuilder();
+                for (int i = 1; i <= columns; i++) {
+                    row.append(rs.getString(i)).append('|');
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+
+    private static int count(Path db, String sql) throws Exception {
+        return Integer.parseInt(rows(db, sql).get(0).replace("|", ""));
+    }
+
+    @Test
+    void testGeneratesRequestedVolumes() throws Exception {
+        Path db = generate("volumes.db", 7);
+
+        assertEquals(5, count(db, "SELECT COUNT(*) FROM physicians"));
+        assertEquals(2, count(db, "SELECT COUNT(*) FROM receptionists"));
+        assertEquals(2000, count(db, "SELECT COUNT(*) FROM appointments"));
+        assertEquals(1500, count(db, "SELECT COUNT(*) FROM messages"));
+        assertEquals(600, count(db, "SELECT COUNT(*) FROM invoices"));
+        assertTrue(count(db, "SELECT COUNT(*) FROM payments") > 0);
+    }
+
+    @Test
+    void testNoPhysicianIsDoubleBooked() throws Exception {
+        Path db = generate("slots.db", 7);
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM (SELECT physician_id, datetime FROM appointments "
+                + "GROUP BY physician_id, datetime HAVING COUNT(*) > 1)"));
+    }
+
+    @Test
+    void testInvoicesMatchTheirAppointment() throws Exception {
+        Path db = generate("billing.db", 7);
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM invoices i JOIN appointments a ON a.id = i.appointment_id "
+                + "WHERE a.patient_name <> i.patient_name"));
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM invoices WHERE status = 'Paid' AND balance <> 0"));
+    }
+
+    @Test
+    void testPatientNamesAreSkewed() throws Exception {
+        Path db = generate("patients.db", 7);
+        int top = count(db, "SELECT MAX(c) FROM (SELECT COUNT(*) c FROM appointments GROUP BY patient_name)");
+        int distinct = count(db, "SELECT COUNT(DISTINCT patient_name) FROM appointments");
+        assertTrue(top > 2000 / distinct * 5, "most frequent patient should far exceed the mean");
+    }
+
+    @Test
+    void testSameSeedProducesSameData() throws Exception {
+        Path a = generate("a.db", 99);
+        Path b = generate("b.db", 99);
+        Path c = generate("c.db", 100);
+
+        String appointments = "SELECT physician_id, patient_name, datetime, notes FROM appointments ORDER BY id";
+        String messages = "SELECT message_id, sender_id, receiver_id, timestamp, is_read FROM messages ORDER BY message_id";
+        assertEquals(rows(a, appointments), rows(b, appointments));
+        assertEquals(rows(a, messages), rows(b, messages));
+        assertNotEquals(rows(a, appointments), rows(c, appointments));
+    }
+
+    @Test
+    void testRefusesToOverwriteWithoutForce() throws Exception {
+        Path out = tempDir.resolve("exists.db");
+        Files.writeString(out, "");
+        SyntheticDataGenerator.Volumes volumes = SyntheticDataGenerator.Volumes.parse(new String[] {
+                "--out=" + out, "--physicians=1", "--receptionists=1", "--appointments=10", "--messages=0",
+                "--invoices=0" });
+        assertThrows(IllegalStateException.class, () -> new SyntheticDataGenerator(volumes).generate());
+
+        SyntheticDataGenerator.Volumes forced = SyntheticDataGenerator.Volumes.parse(new String[] {
+                "--out=" + out, "--physicians=1", "--receptionists=1", "--appointments=10", "--messages=0",
+                "--invoices=0", "--force" });
+        new SyntheticDataGenerator(forced).generate();
+        assertEquals(10, count(out, "SELECT COUNT(*) FROM appointments"));
+    }
+
+    @Test
+    void testScaleAndUnknownOption() {
+        SyntheticDataGenerator.Volumes v = SyntheticDataGenerator.Volumes.parse(new String[] { "--scale=0.001" });
+        assertEquals(2_000, v.appointments);
+        assertEquals(10_000, v.messages);
+        assertEquals(1_000, v.invoices);
+        assertEquals(500, v.physicians);
+        assertThrows(IllegalArgumentException.class,
+                () -> SyntheticDataGenerator.Volumes.parse(new String[] { "--bogus=1" }));
+    }
+}
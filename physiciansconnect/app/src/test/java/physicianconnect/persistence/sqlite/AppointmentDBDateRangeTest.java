@@ -112,4 +112,20 @@ public class AppointmentDBDateRangeTest {
         List<Appointment> none = db.getAppointmentsForPhysicianInRange("p3", start, end);
         assertTrue(none.isEmpty());
     }
+
+    @Test
+    public void testSeveralPhysiciansInOneQuerySortedByPhysicianThenTime() {
+        LocalDateTime day = LocalDateTime.of(2025, 6, 10, 0, 0);
+        db.addAppointment(new Appointment("p2", "B late", day.plusHours(15)));
+        db.addAppointment(new Appointment("p1", "A late", day.plusHours(14)));
+        db.addAppointment(new Appointment("p2", "B early", day.plusHours(9)));
+        db.addAppointment(new Appointment("p1", "A early", day.plusHours(8)));
+        db.addAppointment(new Appointment("p1", "Next day", day.plusDays(1).plusHours(8)));
+
+        List<Appointment> rows = db.getAppointmentsForPhysiciansInRange(List.of("p1", "p2"), day, day.plusDays(1));
+
+        assertEquals(List.of("A early", "A late", "B early", "B late"),
+                rows.stream().map(Appointment::getPatientName).toList());
+        assertTrue(db.getAppointmentsForPhysiciansInRange(List.of(), day, day.plusDays(1)).isEmpty());
+    }
 }
@@ -5,11 +5,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.*;
 
 import physicianconnect.objects.Appointment;
+import physicianconnect.objects.AppointmentWithPhysician;
 import physicianconnect.objects.Physician;
 
 public class AppointmentDBTest {
@@ -105,4 +107,138 @@ public class AppointmentDBTest {
         Appointment a = new Appointment("doc1", "Bruce Banner", LocalDateTime.now().plusMinutes(5));
         assertThrows(RuntimeException.class, () -> db.deleteAppointment(a));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAddAppointmentsInsertsAllRows() {
+        LocalDateTime start = LocalDateTime.of(2025, 7, 1, 9, 0);
+        List<Appointment> batch = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            batch.add(new Appointment(i % 2 == 0 ? "doc1" : "doc2", "Patient " + i, start.plusMinutes(15L * i)));
+        }
+        db.addAppointments(batch);
+
+        assertEquals(600, db.getAppointmentsForPhysician("doc1").size());
+        assertEquals(600, db.getAppointmentsForPhysician("doc2").size());
+    }
+
+    @Test
+    public void testAddAppointmentsRollsBackWholeBatchOnFailure() {
+        LocalDateTime start = LocalDateTime.of(2025, 7, 1, 9, 0);
+        List<Appointment> batch = List.of(
+                new Appointment("doc1", "Valid", start),
+                new Appointment("ghost", "Unknown physician", start.plusHours(1)));
+
+        assertThrows(RuntimeException.class, () -> db.addAppointments(batch));
+        assertTrue(db.getAppointmentsForPhysician("doc1").isEmpty());
+
+        // the connection is back in auto-commit mode for later writes
+        db.addAppointment(new Appointment("doc1", "After", start));
+        assertEquals(1, db.getAppointmentsForPhysician("doc1").size());
+    }
+
+    @Test
+    public void testAddAppointmentsEmptyIsNoOp() {
+        db.addAppointments(List.of());
+        assertTrue(db.getAllAppointments().isEmpty());
+    }
+
+    @Test
+    public void testSecondBookingOfSlotIsRefused() {
+        LocalDateTime slot = LocalDateTime.of(2025, 6, 2, 9, 0);
+        assertTrue(db.addAppointment(new Appointment("doc1", "First", slot)));
+        assertFalse(db.addAppointment(new Appointment("doc1", "Second", slot)));
+        assertTrue(db.addAppointment(new Appointment("doc2", "Other doctor", slot)));
+
+        List<Appointment> list = db.getAppointmentsForPhysician("doc1");
+        assertEquals(1, list.size());
+        assertEquals("First", list.get(0).getPatientName());
+    }
+
+    @Test
+    public void testMoveOntoTakenSlotIsRefused() {
+        LocalDateTime nine = LocalDateTime.of(2025, 6, 2, 9, 0);
+        LocalDateTime ten = LocalDateTime.of(2025, 6, 2, 10, 0);
+        db.addAppointment(new Appointment("doc1", "Nine", nine));
+        db.addAppointment(new Appointment("doc1", "Ten", ten));
+        Appointment booked = db.getAppointmentsForPhysician("doc1").stream()
+                .filter(a -> a.getPatientName().equals("Ten")).findFirst().orElseThrow();
+
+        assertFalse(db.updateAppointment(new Appointment(booked.getId(), "doc1", "Ten", nine, null)));
+        assertEquals(ten, db.getAppointmentsForPhysician("doc1").stream()
+                .filter(a -> a.getPatientName().equals("Ten")).findFirst().orElseThrow().getDateTime());
+
+        Appointment moving = new Appointment(booked.getId(), "doc1", "Ten", ten.plusHours(1), null);
+        assertTrue(db.updateAppointment(moving));
+    }
+
+    @Test
+    public void testUpdateOfMissingAppointmentFails() {
+        Appointment missing = new Appointment(999, "doc1", "Nobody", LocalDateTime.of(2025, 6, 2, 9, 0), null);
+        assertThrows(IllegalArgumentException.class, () -> db.updateAppointment(missing));
+    }
+
+    @Test
+    public void testAppointmentsWithPhysicianAreJoinedAndSorted() {
+        LocalDateTime day = LocalDateTime.of(2025, 6, 2, 9, 0);
+        db.addAppointment(new Appointment("doc2", "Pepper", day.plusHours(2)));
+        db.addAppointment(new Appointment("doc1", "Bruce", day.plusHours(1)));
+        db.addAppointment(new Appointment("doc1", "Betty", day));
+
+        List<AppointmentWithPhysician> rows = db.getAppointmentsWithPhysician(null, null, null, 0, 0);
+
+        assertEquals(List.of("Betty", "Bruce", "Pepper"),
+                rows.stream().map(r -> r.appointment().getPatientName()).toList());
+        assertEquals(List.of("Dr. Banner", "Dr. Banner", "Dr. Stark"),
+                rows.stream().map(AppointmentWithPhysician::physicianName).toList());
+        assertTrue(rows.get(0).appointment().getId() > 0);
+    }
+
+    @Test
+    public void testAppointmentsWithPhysicianFiltersAndPages() {
+        LocalDateTime day = LocalDateTime.of(2025, 6, 2, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            db.addAppointment(new Appointment("doc1", "P" + i, day.plusHours(i)));
+        }
+        db.addAppointment(new Appointment("doc2", "Other", day.plusHours(1)));
+
+        List<AppointmentWithPhysician> page = db.getAppointmentsWithPhysician(
+                "doc1", day.plusHours(1), day.plusHours(5), 1, 2);
+
+        assertEquals(List.of("P2", "P3"), page.stream().map(r -> r.appointment().getPatientName()).toList());
+        assertEquals(4, db.getAppointmentsWithPhysician(null, day.plusHours(1), day.plusHours(4), 0, 0).size());
+    }
+
+    @Test
+    public void testAppointmentPageFollowsKeysetCursorInBothDirections() {
+        LocalDateTime day = LocalDateTime.of(2025, 6, 2, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            db.addAppointment(new Appointment("doc1", "P" + i, day.plusHours(i)));
+        }
+        db.addAppointment(new Appointment("doc2", "Other", day));
+
+        List<AppointmentWithPhysician> first = db.getAppointmentPage("doc1", null, false, null, 0, 2);
+        List<AppointmentWithPhysician> second = db.getAppointmentPage("doc1", null, false,
+                first.get(1).appointment(), 99, 2);
+        List<AppointmentWithPhysician> newest = db.getAppointmentPage("doc1", null, true, null, 1, 2);
+
+        assertEquals(List.of("P0", "P1"), first.stream().map(r -> r.appointment().getPatientName()).toList());
+        assertEquals(List.of("P2", "P3"), second.stream().map(r -> r.appointment().getPatientName()).toList());
+        assertEquals(List.of("P3", "P2"), newest.stream().map(r -> r.appointment().getPatientName()).toList());
+        assertEquals(5, db.countAppointments("doc1", null));
+        assertEquals(6, db.countAppointments(null, " "));
+    }
+
+    @Test
+    public void testAppointmentPageMatchesPatientPrefixIgnoringCase() {
+        LocalDateTime day = LocalDateTime.of(2025, 6, 2, 9, 0);
+        db.addAppointment(new Appointment("doc1", "Bruce Wayne", day));
+        db.addAppointment(new Appointment("doc2", "bruno", day.plusHours(1)));
+        db.addAppointment(new Appointment("doc1", "Abe Bru", day.plusHours(2)));
+
+        List<AppointmentWithPhysician> page = db.getAppointmentPage(null, "BRU", false, null, 0, 10);
+
+        assertEquals(List.of("Bruce Wayne", "bruno"), page.stream().map(r -> r.appointment().getPatientName()).toList());
+        assertEquals("Dr. Banner", page.get(0).physicianName());
+        assertEquals(1, db.countAppointments("doc2", "bru"));
+    }
+}
@@ -5,7 +5,13 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -13,6 +19,7 @@ import java.time.ZoneId;
 
 import org.junit.jupiter.api.*;
 
+import physicianconnect.logic.exceptions.InvalidAppointmentException;
 import physicianconnect.logic.manager.AppointmentManager;
 import physicianconnect.logic.manager.PhysicianManager;
 import physicianconnect.objects.Appointment;
@@ -199,4 +206,37 @@ public class AppointmentManagerDBTest {
         assertEquals(1, afterDel.size());
         assertEquals("Bruce Banner", afterDel.get(0).getPatientName());
     }
+
+    @Test
+    public void testConcurrentBookingsOfOneSlotHaveOneWinner() throws Exception {
+        LocalDateTime slot = LocalDateTime.of(2025, 6, 3, 9, 0);
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            String patient = "Patient " + i;
+            results.add(pool.submit(() -> {
+                start.await();
+                try {
+                    appointmentMgr.addAppointment(new Appointment("doc1", patient, slot));
+                    return true;
+                } catch (InvalidAppointmentException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int booked = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(10, TimeUnit.SECONDS)) {
+                booked++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(1, booked);
+        assertEquals(1, appointmentDb.getAppointmentsForPhysician("doc1").size());
+    }
 }
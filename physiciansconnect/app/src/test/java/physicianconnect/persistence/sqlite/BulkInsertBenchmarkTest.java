@@ -0,0 +1,71 @@
+package physicianconnect.persistence.sqlite;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import physicianconnect.objects.Appointment;
+import physicianconnect.objects.Physician;
+import physicianconnect.persistence.ConnectionPool;
+
+/**
+ * Rows/second for 10k appointment inserts against a file database, one
+ * auto-committed row at a time versus a single batched transaction.
+ * Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+public class BulkInsertBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+
+    @TempDir
+    Path tempDir;
+
+    private static List<Appointment> appointments() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 8, 0);
+        List<Appointment> list = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            list.add(new Appointment("doc1", "Patient " + i, start.plusMinutes(15L * i)));
+        }
+        return list;
+    }
+
+    private double rowsPerSecond(String file, boolean batched) throws Exception {
+        try (ConnectionPool pool = ConnectionPool.open(tempDir.resolve(file).toString(), 1)) {
+            SchemaInitializer.initializeSchema(pool.getWriterConnection());
+            new PhysicianDB(pool).addPhysician(new Physician("doc1", "Dr. Bench", "bench@clinic.com", "pw"));
+            AppointmentDB db = new AppointmentDB(pool);
+            List<Appointment> rows = appointments();
+
+            long start = System.nanoTime();
+            if (batched) {
+                db.addAppointments(rows);
+            } else {
+                for (Appointment a : rows) {
+                    db.addAppointment(a);
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            assertEquals(ROWS, db.getAllAppointments().size());
+            return ROWS / (elapsed / 1_000_000_000.0);
+        }
+    }
+
+    @Test
+    public void benchmarkSingleRowVersusBatchedInsert() throws Exception {
+        double single = rowsPerSecond("single.db", false);
+        double batched = rowsPerSecond("batched.db", true);
+
+        System.out.printf("appointments x%d  single-row: %,.0f rows/s  batched: %,.0f rows/s  (%.1fx)%n",
+                ROWS, single, batched, batched / single);
+        assertTrue(batched > single, "batched insert should outpace per-row commits");
+    }
+}
@@ -0,0 +1,121 @@
+package physicianconnect.persistence.sqlite;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import physicianconnect.logic.controller.BillingController;
+import physicianconnect.logic.event.EventBus;
+import physicianconnect.logic.exceptions.InvalidBillingException;
+import physicianconnect.logic.manager.InvoiceManager;
+import physicianconnect.logic.manager.PaymentManager;
+import physicianconnect.objects.Invoice;
+import physicianconnect.objects.Payment;
+import physicianconnect.objects.ServiceItem;
+import physicianconnect.persistence.ConnectionPool;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Several threads pay the same few invoices at once through BillingController
+ * over a file database, retrying some payments with the key they already
+ * used, and checks that no payment is lost, charged twice or drives a balance
+ * below zero.
+ */
+class ConcurrentPaymentStressTest {
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 100;
+    private static final String[] INVOICES = { "inv1", "inv2", "inv3" };
+    private static final long TOTAL_CENTS = 100_00;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testConcurrentPaymentsNeverOverdrawOrDoubleCharge() throws Exception {
+        try (ConnectionPool pool = ConnectionPool.open(tempDir.resolve("payments.db").toString(), 4)) {
+            SchemaInitializer.initializeSchema(pool.getWriterConnection());
+            InvoiceDB invoiceDB = new InvoiceDB(pool);
+            PaymentDB paymentDB = new PaymentDB(pool);
+            EventBus events = new EventBus();
+            BillingController billing = new BillingController(new InvoiceManager(invoiceDB, events),
+                    new PaymentManager(paymentDB, events));
+            try (Statement stmt = pool.getWriterConnection().createStatement()) {
+                stmt.execute("INSERT INTO physicians (id, name, email, password) VALUES ('doc1', 'Dr. Test', 'doc@clinic.com', 'pw')");
+            }
+            for (int i = 0; i < INVOICES.length; i++) {
+                try (PreparedStatement stmt = pool.getWriterConnection().prepareStatement(
+                        "INSERT INTO appointments (id, physician_id, patient_name, datetime, notes) VALUES (?, 'doc1', ?, ?, '')")) {
+                    stmt.setInt(1, i + 1);
+                    stmt.setString(2, "Patient " + INVOICES[i]);
+                    stmt.setString(3, "2025-06-02T09:0" + i);
+                    stmt.executeUpdate();
+                }
+                invoiceDB.addInvoice(new Invoice(INVOICES[i], String.valueOf(i + 1), "Patient " + INVOICES[i],
+                        List.of(new ServiceItem("Consult", TOTAL_CENTS / 100.0)), 0));
+            }
+
+            Map<String, AtomicLong> acceptedCents = new ConcurrentHashMap<>();
+            for (String id : INVOICES) {
+                acceptedCents.put(id, new AtomicLong());
+            }
+            AtomicLong acceptedCount = new AtomicLong();
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                long seed = 42 + t;
+                String prefix = "t" + t + "-";
+                workers.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        String invoiceId = INVOICES[random.nextInt(INVOICES.length)];
+                        double amount = (1 + random.nextInt(300)) / 100.0;
+                        String key = prefix + i;
+                        try {
+                            Payment first = billing.recordPayment(invoiceId, amount, "Cash", key);
+                            acceptedCents.get(invoiceId).addAndGet(Math.round(amount * 100));
+                            acceptedCount.incrementAndGet();
+                            if (random.nextInt(4) == 0) {
+                                // A retry of the same submission must hand back the same payment
+                                Payment retry = billing.recordPayment(invoiceId, amount, "Cash", key);
+                                assertEquals(first.getId(), retry.getId());
+                            }
+                        } catch (InvalidBillingException rejected) {
+                            // Balance did not cover it; nothing was charged
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+
+            long paymentCount = 0;
+            for (String id : INVOICES) {
+                Invoice invoice = invoiceDB.getInvoiceById(id);
+                long balanceCents = Math.round(invoice.getBalance() * 100);
+                assertTrue(balanceCents >= 0, id + " overdrawn");
+                assertEquals(TOTAL_CENTS - acceptedCents.get(id).get(), balanceCents, id);
+                List<Payment> payments = paymentDB.getPaymentsByInvoice(id);
+                assertEquals(acceptedCents.get(id).get(),
+                        payments.stream().mapToLong(p -> Math.round(p.getAmount() * 100)).sum(), id);
+                paymentCount += payments.size();
+            }
+            assertEquals(acceptedCount.get(), paymentCount);
+            assertTrue(invoiceDB.rebuildRevenueDaily().isEmpty());
+        }
+    }
+}
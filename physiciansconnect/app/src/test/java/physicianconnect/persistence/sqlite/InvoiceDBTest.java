@@ -2,10 +2,13 @@ package physicianconnect.persistence.sqlite;
 
 import org.junit.jupiter.api.*;
 import physicianconnect.objects.Invoice;
+import physicianconnect.objects.RevenueTotals;
 import physicianconnect.objects.ServiceItem;
+import physicianconnect.objects.ServiceRevenue;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -35,7 +38,7 @@ class InvoiceDBTest {
         try (var stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, id);
             stmt.setString(2, "Test Physician");
-            stmt.setString(3, "test@doc.com");
+            stmt.setString(3, id + "@doc.com");
             stmt.setString(4, "pw");
             stmt.executeUpdate();
         }
@@ -102,6 +105,22 @@ class InvoiceDBTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void testGetInvoicesBetweenIsHalfOpenAndOrdered() throws Exception {
+        insertAppointment("1");
+        LocalDateTime monthStart = LocalDateTime.of(2025, 3, 1, 0, 0);
+        db.addInvoice(new Invoice("late", "1", "A", List.of(new ServiceItem("X", 1)), 0, LocalDateTime.of(2025, 3, 31, 23, 59)));
+        db.addInvoice(new Invoice("first", "1", "A", List.of(new ServiceItem("X", 1)), 0, monthStart));
+        db.addInvoice(new Invoice("before", "1", "A", List.of(new ServiceItem("X", 1)), 0, monthStart.minusSeconds(1)));
+        db.addInvoice(new Invoice("next", "1", "A", List.of(new ServiceItem("X", 1)), 0, monthStart.plusMonths(1)));
+
+        List<Invoice> result = db.getInvoicesBetween(monthStart, monthStart.plusMonths(1));
+        assertEquals(List.of("first", "late"), result.stream().map(Invoice::getId).toList());
+        assertEquals(monthStart, result.get(0).getCreatedAt());
+        assertEquals(2, db.getInvoicesByMonth(2025, 3).size());
+        assertEquals(1, db.getInvoicesByMonth(2025, 4).size());
+    }
+
     @Test
     void testUpdateInvoice() throws Exception {
         insertAppointment("1");
@@ -144,6 +163,13 @@ class InvoiceDBTest {
         assertThrows(RuntimeException.class, () -> db.getInvoicesByMonth(2025, 6));
     }
 
+    @Test
+    void testGetInvoicesBetweenCatchesSQLException() throws Exception {
+        conn.close();
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(RuntimeException.class, () -> db.getInvoicesBetween(now, now.plusDays(1)));
+    }
+
     @Test
     void testGetAllInvoicesCatchesSQLException() throws Exception {
         conn.close();
@@ -220,47 +246,123 @@ class InvoiceDBTest {
     }
 
     @Test
-    void testSerializeServicesAndDeserializeServices() throws Exception {
+    void testServiceNamesWithDelimitersRoundTrip() throws Exception {
+        insertAppointment("2");
         List<ServiceItem> services = List.of(
-            new ServiceItem("A", 1.1),
-            new ServiceItem("B", 2.2)
+            new ServiceItem("Lab: Blood; fasting", 45.5),
+            new ServiceItem("Consult", 0.1),
+            new ServiceItem("Consult", 0.2)
         );
-        // serialize with multiple items (covers sb.length() > 0)
-        var serializeMethod = db.getClass().getDeclaredMethod("serializeServices", List.class);
-        serializeMethod.setAccessible(true);
-        String serialized = serializeMethod.invoke(db, services).toString();
-        assertTrue(serialized.contains(";"));
-        // deserialize with multiple items (covers arr.length == 2)
-        var deserializeMethod = db.getClass().getDeclaredMethod("deserializeServices", String.class);
-        deserializeMethod.setAccessible(true);
-        List<ServiceItem> deserialized = (List<ServiceItem>) deserializeMethod.invoke(db, serialized);
-        assertEquals(2, deserialized.size());
-        assertEquals("A", deserialized.get(0).getName());
-        assertEquals(2.2, deserialized.get(1).getCost());
-        // deserialize null/empty (covers str == null || str.isEmpty())
-        List<ServiceItem> empty = (List<ServiceItem>) deserializeMethod.invoke(db, "");
-        assertTrue(empty.isEmpty());
-    }
-
-    @Test
-    void testSerializeServicesSingleItem() throws Exception {
-        List<ServiceItem> services = List.of(new ServiceItem("Single", 9.99));
-        var serializeMethod = db.getClass().getDeclaredMethod("serializeServices", List.class);
-        serializeMethod.setAccessible(true);
-        String serialized = serializeMethod.invoke(db, services).toString();
-        assertEquals("Single:9.99", serialized);
-    }
-
-    @Test
-    void testDeserializeServicesMalformedString() throws Exception {
-        var deserializeMethod = db.getClass().getDeclaredMethod("deserializeServices", String.class);
-        deserializeMethod.setAccessible(true);
-        // Malformed: missing cost
-        List<ServiceItem> result = (List<ServiceItem>) deserializeMethod.invoke(db, "BadData");
-        assertTrue(result.isEmpty());
-        // Malformed: extra colon
-        result = (List<ServiceItem>) deserializeMethod.invoke(db, "A:1.0:extra");
-        assertTrue(result.isEmpty());
+        db.addInvoice(new Invoice("invD", "2", "D", services, 0));
+
+        Invoice fetched = db.getInvoiceById("invD");
+        assertEquals(List.of("Lab: Blood; fasting", "Consult", "Consult"),
+                fetched.getServices().stream().map(ServiceItem::getName).toList());
+        assertEquals(0.2, fetched.getServices().get(2).getCost());
+        assertEquals(45.8, fetched.getTotalAmount(), 1e-9);
+    }
+
+    @Test
+    void testItemsStoredAsIntegerCents() throws Exception {
+        insertAppointment("2");
+        db.addInvoice(new Invoice("invC", "2", "C", List.of(new ServiceItem("Consult", 19.99)), 0));
+        try (var stmt = conn.createStatement();
+             var rs = stmt.executeQuery("SELECT amount_cents, typeof(amount_cents) FROM invoice_items")) {
+            assertTrue(rs.next());
+            assertEquals(1999, rs.getLong(1));
+            assertEquals("integer", rs.getString(2));
+        }
+    }
+
+    @Test
+    void testDeleteInvoiceRemovesItems() throws Exception {
+        insertAppointment("2");
+        db.addInvoice(new Invoice("invX", "2", "X", List.of(new ServiceItem("Consult", 10)), 0));
+        db.deleteInvoiceById("invX");
+        try (var stmt = conn.createStatement();
+             var rs = stmt.executeQuery("SELECT COUNT(*) FROM invoice_items")) {
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void testRevenueByServiceSumsItemsInRange() throws Exception {
+        insertAppointment("1");
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 0, 0);
+        db.addInvoices(List.of(
+                new Invoice("a", "1", "A", List.of(new ServiceItem("Lab", 0.1), new ServiceItem("Consult", 100)), 0, start),
+                new Invoice("b", "1", "B", List.of(new ServiceItem("Lab", 0.2)), 0, start.plusDays(3)),
+                new Invoice("c", "1", "C", List.of(new ServiceItem("XRay", 75)), 0, start.plusMonths(1))));
+
+        List<ServiceRevenue> march = db.getRevenueByService(start, start.plusMonths(1));
+
+        assertEquals(List.of(new ServiceRevenue("Consult", 1, 10000), new ServiceRevenue("Lab", 2, 30)), march);
+        assertEquals(0.3, march.get(1).revenue());
+        assertTrue(db.getRevenueByService(start.minusMonths(1), start).isEmpty());
+    }
+
+    @Test
+    void testRevenueTotalsFollowInsertsPaymentsAndDeletes() throws Exception {
+        insertAppointment("1");
+        LocalDate day = LocalDate.of(2025, 3, 3);
+        db.addInvoices(List.of(
+                new Invoice("a", "1", "A", List.of(new ServiceItem("Consult", 100)), 0, day.atTime(9, 0)),
+                new Invoice("b", "1", "B", List.of(new ServiceItem("Lab", 40.1)), 0, day.atTime(15, 30))));
+        Invoice next = new Invoice("c", "1", "C", List.of(new ServiceItem("XRay", 75)), 25, day.plusDays(1).atTime(9, 0));
+        db.addInvoice(next);
+
+        Invoice a = db.getInvoiceById("a");
+        a.setBalance(60);
+        db.updateInvoice(a);
+        next.setBalance(0);
+        db.updateInvoice(next);
+        db.deleteInvoiceById("b");
+
+        assertEquals(new RevenueTotals(1, 10000, 4000), db.getRevenueTotals(day, day.plusDays(1)));
+        assertEquals(new RevenueTotals(2, 15000, 9000), db.getRevenueTotals(null, null));
+        assertEquals(60.0, db.getRevenueTotals(day, null).outstanding());
+        assertEquals(RevenueTotals.EMPTY, db.getRevenueTotals(null, day));
+        assertTrue(db.rebuildRevenueDaily().isEmpty(), "incremental totals should match the invoices");
+    }
+
+    @Test
+    void testDeletingLastInvoiceOfADayRemovesItsRow() throws Exception {
+        insertAppointment("1");
+        db.addInvoice(new Invoice("a", "1", "A", List.of(new ServiceItem("Consult", 100)), 0,
+                LocalDateTime.of(2025, 3, 3, 9, 0)));
+        db.deleteInvoiceById("a");
+        try (var stmt = conn.createStatement();
+             var rs = stmt.executeQuery("SELECT COUNT(*) FROM revenue_daily")) {
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void testRebuildRevenueDailyRepairsDriftedDays() throws Exception {
+        insertAppointment("1");
+        db.addInvoice(new Invoice("a", "1", "A", List.of(new ServiceItem("Consult", 100)), 0,
+                LocalDateTime.of(2025, 3, 3, 9, 0)));
+        try (var stmt = conn.createStatement()) {
+            stmt.execute("UPDATE invoices SET balance = 30 WHERE id = 'a'");
+            stmt.execute("INSERT INTO revenue_daily VALUES ('2025-01-01', 1, 500, 0)");
+        }
+
+        assertEquals(List.of("2025-01-01", "2025-03-03"), db.rebuildRevenueDaily());
+        assertEquals(new RevenueTotals(1, 10000, 7000), db.getRevenueTotals(null, null));
+        assertTrue(db.rebuildRevenueDaily().isEmpty());
+    }
+
+    @Test
+    void testGetRevenueTotalsCatchesSQLException() throws Exception {
+        conn.close();
+        assertThrows(RuntimeException.class, () -> db.getRevenueTotals(null, null));
+    }
+
+    @Test
+    void testGetRevenueByServiceCatchesSQLException() throws Exception {
+        conn.close();
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(RuntimeException.class, () -> db.getRevenueByService(now, now.plusDays(1)));
     }
 
     @Test
@@ -318,21 +420,101 @@ class InvoiceDBTest {
     void testFromResultSetWithNullStatus() throws Exception {
         insertAppointment("5");
         // Insert invoice directly with status NULL
-        String sql = "INSERT INTO invoices (id, appointment_id, patient_name, services, insurance_adjustment, total_amount, balance, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO invoices (id, appointment_id, patient_name, insurance_adjustment, total_amount, balance, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
         try (var stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, "invNull");
             stmt.setInt(2, 5);
             stmt.setString(3, "NullStatus");
-            stmt.setString(4, ""); // empty services
+            stmt.setDouble(4, 0.0);
             stmt.setDouble(5, 0.0);
             stmt.setDouble(6, 0.0);
-            stmt.setDouble(7, 0.0);
-            stmt.setNull(8, java.sql.Types.VARCHAR); // status is NULL
-            stmt.setString(9, LocalDateTime.now().toString());
+            stmt.setNull(7, java.sql.Types.VARCHAR); // status is NULL
+            stmt.setString(8, LocalDateTime.now().toString());
             stmt.executeUpdate();
         }
         Invoice fetched = db.getInvoiceById("invNull");
         assertNotNull(fetched);
         assertNull(fetched.getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAddInvoices() throws Exception {
+        insertAppointment("1");
+        db.addInvoices(List.of(
+                new Invoice("b1", "1", "A", List.of(new ServiceItem("X", 10)), 0),
+                new Invoice("b2", "1", "B", List.of(new ServiceItem("Y", 20)), 0)));
+        assertEquals(2, db.getAllInvoices().size());
+        assertEquals(20.0, db.getInvoiceById("b2").getTotalAmount());
+    }
+
+    @Test
+    void testAddInvoicesDuplicateIdRollsBack() throws Exception {
+        insertAppointment("1");
+        List<Invoice> batch = List.of(
+                new Invoice("dup", "1", "A", List.of(new ServiceItem("X", 10)), 0),
+                new Invoice("dup", "1", "B", List.of(new ServiceItem("Y", 20)), 0));
+        assertThrows(RuntimeException.class, () -> db.addInvoices(batch));
+        assertNull(db.getInvoiceById("dup"));
+    }
+
+    @Test
+    void testInvoicePageIsNewestFirstWithKeysetCursor() throws Exception {
+        insertAppointment("1");
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            db.addInvoice(new Invoice("inv" + i, "1", "Patient " + i, List.of(new ServiceItem("X", 1)), 0,
+                    start.plusDays(i)));
+        }
+
+        List<Invoice> first = db.getInvoicePage(null, null, 0, 2);
+        List<Invoice> second = db.getInvoicePage(null, first.get(1), 99, 2);
+
+        assertEquals(List.of("inv4", "inv3"), first.stream().map(Invoice::getId).toList());
+        assertEquals(List.of("inv2", "inv1"), second.stream().map(Invoice::getId).toList());
+        assertEquals(List.of("inv1", "inv0"), db.getInvoicePage(null, null, 3, 2).stream().map(Invoice::getId).toList());
+        assertEquals(5, db.countInvoices(null));
+    }
+
+    @Test
+    void testInvoicePageMatchesPatientPrefixIgnoringCase() throws Exception {
+        insertAppointment("1");
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 9, 0);
+        db.addInvoice(new Invoice("a", "1", "Alice Smith", List.of(new ServiceItem("X", 1)), 0, now));
+        db.addInvoice(new Invoice("b", "1", "alicia", List.of(new ServiceItem("X", 1)), 0, now.plusHours(1)));
+        db.addInvoice(new Invoice("c", "1", "Bob Alice", List.of(new ServiceItem("X", 1)), 0, now.plusHours(2)));
+
+        assertEquals(List.of("b", "a"), db.getInvoicePage("ALI", null, 0, 10).stream().map(Invoice::getId).toList());
+        assertEquals(2, db.countInvoices(" ali "));
+        assertEquals(3, db.countInvoices(""));
+    }
+
+    @Test
+    void testInvoicesBetweenPagesOldestFirstWithKeysetCursor() throws Exception {
+        insertAppointment("1");
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            db.addInvoice(new Invoice("inv" + i, "1", "Patient " + i, List.of(new ServiceItem("X", 1)), 0,
+                    start.plusDays(i)));
+        }
+        // Same created_at as inv1, ordered after it by id
+        db.addInvoice(new Invoice("inv1b", "1", "Tie", List.of(new ServiceItem("X", 1)), 0, start.plusDays(1)));
+
+        LocalDateTime from = start.plusDays(1);
+        LocalDateTime to = start.plusDays(4);
+        List<Invoice> first = db.getInvoicesBetween(from, to, null, 2);
+        List<Invoice> second = db.getInvoicesBetween(from, to, first.get(1), 2);
+
+        assertEquals(List.of("inv1", "inv1b"), first.stream().map(Invoice::getId).toList());
+        assertEquals(List.of("inv2", "inv3"), second.stream().map(Invoice::getId).toList());
+        assertTrue(db.getInvoicesBetween(from, to, second.get(1), 2).isEmpty());
+        assertEquals(1, first.get(0).getServices().size());
+    }
+
+    @Test
+    void testInvoicesBetweenPageCatchesSQLException() throws Exception {
+        conn.close();
+        LocalDateTime now = LocalDateTime.now();
+        Exception ex = assertThrows(RuntimeException.class, () -> db.getInvoicesBetween(now, now.plusDays(1), null, 10));
+        assertTrue(ex.getMessage().contains("Failed to load invoices in range"));
+    }
+}
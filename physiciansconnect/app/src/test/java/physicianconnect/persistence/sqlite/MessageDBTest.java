@@ -6,6 +6,7 @@ import physicianconnect.objects.Message;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -301,4 +302,134 @@ class MessageDBTest {
         Exception ex = assertThrows(RuntimeException.class, () -> db.countUnreadMessages("rid", "rtype"));
         assertTrue(ex.getMessage().contains("Failed to count unread messages"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSaveAllStoresEveryMessage() {
+        List<Message> batch = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            batch.add(new Message("doc1", "physician", "rec1", "receptionist", "bulk " + i));
+        }
+        db.saveAll(batch);
+        assertEquals(5, db.findByReceiverId("rec1", "receptionist").size());
+    }
+
+    @Test
+    public void testSaveAllValidatesBeforeWriting() {
+        Message bad = new Message("doc1", "physician", "rec1", "receptionist", null);
+        List<Message> batch = List.of(new Message("doc1", "physician", "rec1", "receptionist", "ok"), bad);
+        assertThrows(IllegalArgumentException.class, () -> db.saveAll(batch));
+        assertTrue(db.findByReceiverId("rec1", "receptionist").isEmpty());
+    }
+
+    private Message at(String senderId, String senderType, String receiverId, String receiverType,
+            String content, LocalDateTime timestamp) {
+        Message m = new Message(senderId, senderType, receiverId, receiverType, content);
+        m.setTimestamp(timestamp);
+        return m;
+    }
+
+    @Test
+    void testFindConversationPagesBackwardsThroughBothDirections() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 0; i < 7; i++) {
+            db.save(i % 2 == 0
+                    ? at("doc1", "physician", "rec1", "receptionist", "m" + i, start.plusMinutes(i))
+                    : at("rec1", "receptionist", "doc1", "physician", "m" + i, start.plusMinutes(i)));
+        }
+        // Other conversations involving the same users
+        db.save(at("doc1", "physician", "rec2", "receptionist", "other", start.plusMinutes(3)));
+        db.save(at("doc2", "physician", "rec1", "receptionist", "other", start.plusMinutes(8)));
+        db.save(at("rec1", "physician", "doc1", "physician", "wrong type", start.plusMinutes(9)));
+
+        List<Message> newest = db.findConversation("doc1", "physician", "rec1", "receptionist", null, 3);
+        assertEquals(List.of("m4", "m5", "m6"), newest.stream().map(Message::getContent).toList());
+
+        List<Message> older = db.findConversation("doc1", "physician", "rec1", "receptionist", newest.get(0), 3);
+        assertEquals(List.of("m1", "m2", "m3"), older.stream().map(Message::getContent).toList());
+
+        List<Message> oldest = db.findConversation("rec1", "receptionist", "doc1", "physician", older.get(0), 3);
+        assertEquals(List.of("m0"), oldest.stream().map(Message::getContent).toList());
+        assertTrue(db.findConversation("doc1", "physician", "rec1", "receptionist", oldest.get(0), 3).isEmpty());
+    }
+
+    @Test
+    void testFindConversationKeepsMessagesWithTheSameTimestamp() {
+        LocalDateTime when = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 0; i < 4; i++) {
+            db.save(at("doc1", "physician", "rec1", "receptionist", "same " + i, when));
+        }
+        List<String> seen = new ArrayList<>();
+        Message cursor = null;
+        List<Message> page;
+        while (!(page = db.findConversation("doc1", "physician", "rec1", "receptionist", cursor, 1)).isEmpty()) {
+            seen.add(page.get(0).getContent());
+            cursor = page.get(0);
+        }
+        assertEquals(4, seen.size());
+        assertEquals(4, seen.stream().distinct().count());
+    }
+
+    @Test
+    void testFindConversationRejectsBadArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> db.findConversation("", "physician", "rec1", "receptionist", null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> db.findConversation("doc1", "physician", "rec1", null, null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> db.findConversation("doc1", "physician", "rec1", "receptionist", null, 0));
+    }
+
+    @Test
+    void testSaveAssignsIncreasingSequenceNumbers() {
+        db.save(makeMessage("a", "physician", "rid", "rtype", "one"));
+        db.saveAll(List.of(
+                makeMessage("a", "physician", "rid", "rtype", "two"),
+                makeMessage("a", "physician", "other", "rtype", "three")));
+
+        List<Message> received = db.findSince("rid", "rtype", 0);
+        assertEquals(List.of("one", "two"), received.stream().map(Message::getContent).toList());
+        assertTrue(received.get(0).getSeq() < received.get(1).getSeq());
+        assertEquals(3, db.latestSequence());
+    }
+
+    @Test
+    void testFindSinceReturnsOnlyNewerMessages() {
+        db.save(makeMessage("a", "physician", "rid", "rtype", "old"));
+        long cursor = db.latestSequence();
+        db.save(makeMessage("a", "physician", "rid", "rtype", "new"));
+
+        List<Message> fresh = db.findSince("rid", "rtype", cursor);
+        assertEquals(1, fresh.size());
+        assertEquals("new", fresh.get(0).getContent());
+        assertTrue(db.findSince("rid", "rtype", fresh.get(0).getSeq()).isEmpty());
+    }
+
+    @Test
+    void testLatestSequenceOfEmptyTableIsZero() {
+        assertEquals(0, db.latestSequence());
+    }
+
+    @Test
+    void testMarkConversationReadMarksBacklogUpToSequence() {
+        Message first = makeMessage("doc1", "physician", "rec1", "receptionist", "one");
+        Message second = makeMessage("doc1", "physician", "rec1", "receptionist", "two");
+        Message mine = makeMessage("rec1", "receptionist", "doc1", "physician", "reply");
+        Message otherSender = makeMessage("doc2", "physician", "rec1", "receptionist", "elsewhere");
+        db.save(first);
+        db.save(second);
+        db.save(mine);
+        db.save(otherSender);
+        long upTo = db.latestSequence();
+        Message later = makeMessage("doc1", "physician", "rec1", "receptionist", "after");
+        db.save(later);
+        assertEquals(4, db.countUnreadMessages("rec1", "receptionist"));
+
+        assertEquals(2, db.markConversationRead("rec1", "receptionist", "doc1", "physician", upTo));
+
+        assertEquals(2, db.countUnreadMessages("rec1", "receptionist"));
+        assertEquals(List.of("elsewhere", "after"), db.findUnreadByReceiverId("rec1", "receptionist").stream()
+                .map(Message::getContent).toList());
+        assertEquals(1, db.countUnreadMessages("doc1", "physician"));
+        assertEquals(0, db.markConversationRead("rec1", "receptionist", "doc1", "physician", upTo));
+    }
+}
@@ -2,7 +2,8 @@ package physicianconnect.persistence.sqlite;
 
 import org.junit.jupiter.api.*;
 import physicianconnect.objects.Notification;
-import physicianconnect.persistence.interfaces.ReceptionistPersistence;
+import physicianconnect.objects.NotificationCategory;
+import physicianconnect.objects.Receptionist;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -10,19 +11,16 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
 class NotificationDBTest {
     private Connection conn;
     private NotificationDB db;
-    private ReceptionistPersistence receptionistPersistence;
 
     @BeforeEach
     void setUp() throws Exception {
         conn = DriverManager.getConnection("jdbc:sqlite::memory:");
         SchemaInitializer.initializeSchema(conn);
-        receptionistPersistence = mock(ReceptionistPersistence.class);
-        db = new NotificationDB(conn, receptionistPersistence);
+        db = new NotificationDB(conn);
 
             // Insert a physician with id "uid" to satisfy the foreign key constraint
     try (var stmt = conn.prepareStatement(
@@ -94,4 +92,108 @@ void testAddAndFetchNotification() {
         conn.close();
         assertDoesNotThrow(() -> db.clearNotificationsForUser("uid", "utype")); // e.printStackTrace() is called, not thrown
     }
-}
\ No newline at end of file
+
+@Test
+void testAddNotifications() {
+    LocalDateTime now = LocalDateTime.now();
+    db.addNotifications(List.of(
+            new Notification("first", "type", now, "uid", "utype"),
+            new Notification("second", "type", now.plusSeconds(1), "uid", "utype")));
+    List<Notification> list = db.getNotificationsForUser("uid", "utype");
+    assertEquals(2, list.size());
+    assertEquals("second", list.get(0).getMessage());
+}
+
+@Test
+void testAddNotificationsSwallowsFailureAndStoresNothing() {
+    LocalDateTime now = LocalDateTime.now();
+    assertDoesNotThrow(() -> db.addNotifications(List.of(
+            new Notification("ok", "type", now, "uid", "utype"),
+            new Notification(null, "type", now, "uid", "utype"))));
+    assertTrue(db.getNotificationsForUser("uid", "utype").isEmpty());
+}
+
+    @Test
+    void testBroadcastOnlyReachesOptedInReceptionists() {
+        ReceptionistDB receptionists = new ReceptionistDB(conn);
+        receptionists.addReceptionist(new Receptionist("r1", "Ann", "ann@clinic.com", "pw", true, true, true));
+        receptionists.addReceptionist(new Receptionist("r2", "Bob", "bob@clinic.com", "pw", true, false, true));
+        receptionists.addReceptionist(new Receptionist("r3", "Cat", "cat@clinic.com", "pw", false, true, true));
+
+        assertEquals(2, db.broadcastToReceptionists("Invoice paid", "Invoice Paid!", NotificationCategory.BILLING));
+        assertEquals(1, db.getNotificationsForUser("r1", "receptionist").size());
+        assertTrue(db.getNotificationsForUser("r2", "receptionist").isEmpty());
+        assertEquals("Invoice paid", db.getNotificationsForUser("r3", "receptionist").get(0).getMessage());
+
+        assertEquals(2, db.broadcastToReceptionists("Booked", "New Appointment!", NotificationCategory.APPOINTMENT));
+        assertEquals(1, db.getNotificationsForUser("r2", "receptionist").size());
+        assertEquals(1, db.getNotificationsForUser("r3", "receptionist").size());
+    }
+
+    @Test
+    void testBroadcastWithNoReceptionistsCreatesNothing() {
+        assertEquals(0, db.broadcastToReceptionists("msg", "type", NotificationCategory.BILLING));
+    }
+
+    @Test
+    void testBroadcastCatchesSQLException() throws Exception {
+        conn.close();
+        assertEquals(0, db.broadcastToReceptionists("msg", "type", NotificationCategory.BILLING));
+    }
+
+    @Test
+    void testAddNotificationAssignsSequenceAndFindSinceReturnsNewer() {
+        Notification first = new Notification("first", "type", LocalDateTime.now(), "uid", "utype");
+        db.addNotification(first);
+        Notification second = new Notification("second", "type", LocalDateTime.now(), "uid", "utype");
+        db.addNotification(second);
+        db.addNotification(new Notification("other", "type", LocalDateTime.now(), "someone", "utype"));
+
+        assertTrue(first.getSeq() > 0);
+        assertTrue(second.getSeq() > first.getSeq());
+        List<Notification> fresh = db.findSince("uid", "utype", first.getSeq());
+        assertEquals(1, fresh.size());
+        assertEquals("second", fresh.get(0).getMessage());
+        assertEquals(second.getSeq(), fresh.get(0).getSeq());
+        assertEquals(second.getSeq() + 1, db.latestSequence());
+    }
+
+    @Test
+    void testFindSinceCatchesSQLException() throws Exception {
+        conn.close();
+        assertTrue(db.findSince("uid", "utype", 0).isEmpty());
+        assertEquals(0, db.latestSequence());
+    }
+
+    @Test
+    void testMarkAllNotificationsReadStopsAtId() {
+        Notification first = new Notification("first", "type", LocalDateTime.now(), "uid", "utype");
+        Notification second = new Notification("second", "type", LocalDateTime.now(), "uid", "utype");
+        Notification later = new Notification("later", "type", LocalDateTime.now(), "uid", "utype");
+        db.addNotification(first);
+        db.addNotification(second);
+        db.addNotification(new Notification("other", "type", LocalDateTime.now(), "someone", "utype"));
+        db.addNotification(later);
+
+        assertEquals(2, db.markAllNotificationsRead("uid", "utype", second.getSeq()));
+
+        assertEquals(1, db.countUnreadNotifications("uid", "utype"));
+        assertEquals(1, db.countUnreadNotifications("someone", "utype"));
+        assertEquals(List.of("later"), db.getNotificationsForUser("uid", "utype").stream()
+                .filter(n -> !n.isRead()).map(Notification::getMessage).toList());
+    }
+
+    @Test
+    void testMarkNotificationAsReadMatchesById() {
+        LocalDateTime now = LocalDateTime.now();
+        Notification one = new Notification("same", "type", now, "uid", "utype");
+        Notification two = new Notification("same", "type", now, "uid", "utype");
+        db.addNotification(one);
+        db.addNotification(two);
+
+        db.markNotificationAsRead(one);
+
+        assertTrue(one.isRead());
+        assertEquals(1, db.countUnreadNotifications("uid", "utype"));
+    }
+}
@@ -0,0 +1,104 @@
+package physicianconnect.persistence.sqlite;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import physicianconnect.objects.Appointment;
+import physicianconnect.objects.AppointmentWithPhysician;
+import physicianconnect.objects.Invoice;
+import physicianconnect.objects.Physician;
+import physicianconnect.objects.ServiceItem;
+import physicianconnect.persistence.ConnectionPool;
+
+/**
+ * Latency of the page queries behind the schedule and billing tables over
+ * 1M appointments and 500k invoices in a file database: the count, a
+ * keyset "next page" while scrolling, and a prefix search.
+ * Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+public class PagedQueryBenchmarkTest {
+
+    private static final int APPOINTMENTS = 1_000_000;
+    private static final int INVOICES = 500_000;
+    private static final int PHYSICIANS = 50;
+    private static final int PAGE = 100;
+
+    @TempDir
+    Path tempDir;
+
+    private static double medianMs(Supplier<?> query) {
+        for (int i = 0; i < 10; i++) {
+            query.get();
+        }
+        long[] samples = new long[30];
+        for (int i = 0; i < samples.length; i++) {
+            long begin = System.nanoTime();
+            query.get();
+            samples[i] = System.nanoTime() - begin;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2] / 1_000_000.0;
+    }
+
+    @Test
+    public void benchmarkPagedScheduleAndBilling() throws Exception {
+        try (ConnectionPool pool = ConnectionPool.open(tempDir.resolve("paged.db").toString(), 2)) {
+            SchemaInitializer.initializeSchema(pool.getWriterConnection());
+            PhysicianDB physicians = new PhysicianDB(pool);
+            for (int p = 0; p < PHYSICIANS; p++) {
+                physicians.addPhysician(new Physician("doc" + p, "Dr. " + p, "doc" + p + "@clinic.com", "pw"));
+            }
+            AppointmentDB appointments = new AppointmentDB(pool);
+            InvoiceDB invoices = new InvoiceDB(pool);
+            LocalDateTime start = LocalDateTime.of(2015, 1, 1, 8, 0);
+            List<Appointment> rows = new ArrayList<>(APPOINTMENTS);
+            for (int i = 0; i < APPOINTMENTS; i++) {
+                rows.add(new Appointment("doc" + i % PHYSICIANS, "Patient " + i, start.plusMinutes(5L * i)));
+            }
+            appointments.addAppointments(rows);
+            rows = null;
+            List<Invoice> bills = new ArrayList<>(INVOICES);
+            for (int i = 0; i < INVOICES; i++) {
+                bills.add(new Invoice("inv" + i, "1", "Patient " + i, List.of(new ServiceItem("Consult", 100)), 0,
+                        start.plusMinutes(10L * i)));
+            }
+            invoices.addInvoices(bills);
+            bills = null;
+
+            List<AppointmentWithPhysician> firstPage = appointments.getAppointmentPage(null, null, false, null, 0, PAGE);
+            Appointment cursor = firstPage.get(PAGE - 1).appointment();
+            Invoice invoiceCursor = invoices.getInvoicePage(null, null, 0, PAGE).get(PAGE - 1);
+
+            double countAll = medianMs(() -> appointments.countAppointments(null, null));
+            double nextPage = medianMs(() -> appointments.getAppointmentPage(null, null, false, cursor, 0, PAGE));
+            double physicianPage = medianMs(() -> appointments.getAppointmentPage("doc7", null, true, null, 0, PAGE));
+            double searchCount = medianMs(() -> appointments.countAppointments(null, "patient 12345"));
+            double searchPage = medianMs(() -> appointments.getAppointmentPage(null, "patient 12345", false, null, 0, PAGE));
+            double invoiceNext = medianMs(() -> invoices.getInvoicePage(null, invoiceCursor, 0, PAGE));
+            double invoiceSearch = medianMs(() -> invoices.getInvoicePage("patient 4999", null, 0, PAGE));
+
+            assertEquals(APPOINTMENTS, appointments.countAppointments(null, null));
+            assertEquals(PAGE, appointments.getAppointmentPage(null, null, false, cursor, 0, PAGE).size());
+            assertEquals(11, appointments.countAppointments(null, "patient 12345"));
+            System.out.printf("appointments x%,d  count: %.2f ms  next page: %.2f ms  physician page: %.2f ms"
+                    + "  prefix count: %.2f ms  prefix page: %.2f ms%n",
+                    APPOINTMENTS, countAll, nextPage, physicianPage, searchCount, searchPage);
+            System.out.printf("invoices x%,d  next page: %.2f ms  prefix page: %.2f ms%n",
+                    INVOICES, invoiceNext, invoiceSearch);
+            for (double ms : new double[] { nextPage, physicianPage, searchCount, searchPage, invoiceNext, invoiceSearch }) {
+                assertTrue(ms < 16, "page query took " + ms + " ms, more than one frame");
+            }
+        }
+    }
+}
@@ -7,6 +7,8 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -61,21 +63,35 @@ class PaymentDBTest {
 
     // Helper to insert an invoice
     private void insertInvoice(String id, String appointmentId) throws Exception {
-        String sql = "INSERT INTO invoices (id, appointment_id, patient_name, services, insurance_adjustment, total_amount, balance, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO invoices (id, appointment_id, patient_name, insurance_adjustment, total_amount, balance, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
         try (var stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, id);
             stmt.setInt(2, Integer.parseInt(appointmentId));
             stmt.setString(3, "Test Patient");
-            stmt.setString(4, "");
+            stmt.setDouble(4, 0.0);
             stmt.setDouble(5, 0.0);
             stmt.setDouble(6, 0.0);
-            stmt.setDouble(7, 0.0);
-            stmt.setString(8, "Unpaid");
-            stmt.setString(9, LocalDateTime.now().toString());
+            stmt.setString(7, "Unpaid");
+            stmt.setString(8, LocalDateTime.now().toString());
             stmt.executeUpdate();
         }
     }
 
+    private void setBalance(String invoiceId, double total, double balance) throws Exception {
+        try (var stmt = conn.prepareStatement("UPDATE invoices SET total_amount = ?, balance = ? WHERE id = ?")) {
+            stmt.setDouble(1, total);
+            stmt.setDouble(2, balance);
+            stmt.setString(3, invoiceId);
+            stmt.executeUpdate();
+        }
+    }
+
+    private InvoiceDB invoices() throws Exception {
+        InvoiceDB invoices = new InvoiceDB(conn);
+        invoices.rebuildRevenueDaily();
+        return invoices;
+    }
+
     @Test
     void testAddAndFetchPayment() {
         Payment p = new Payment("pid1", "inv1", 50.0, "Cash");
@@ -93,6 +109,21 @@ class PaymentDBTest {
         assertFalse(payments.isEmpty());
     }
 
+    @Test
+    void testGetPaymentsBetweenIsHalfOpenAndOrdered() {
+        LocalDateTime monthStart = LocalDateTime.of(2025, 2, 1, 0, 0);
+        db.addPayment(new Payment("p2", "inv1", 20.0, "Card", LocalDateTime.of(2025, 2, 28, 12, 30)));
+        db.addPayment(new Payment("p1", "inv1", 10.0, "Cash", monthStart));
+        db.addPayment(new Payment("p0", "inv1", 5.0, "Cash", monthStart.minusNanos(1000)));
+        db.addPayment(new Payment("p3", "inv1", 30.0, "Cash", monthStart.plusMonths(1)));
+
+        List<Payment> payments = db.getPaymentsBetween(monthStart, monthStart.plusMonths(1));
+        assertEquals(List.of("p1", "p2"), payments.stream().map(Payment::getId).toList());
+        assertEquals(monthStart, payments.get(0).getPaidAt());
+        assertEquals(2, db.getPaymentsByMonth(2025, 2).size());
+        assertEquals(1, db.getPaymentsByMonth(2025, 1).size());
+    }
+
     // --- Catch/exception coverage ---
 
     @Test
@@ -120,4 +151,114 @@ class PaymentDBTest {
         Exception ex = assertThrows(RuntimeException.class, () -> db.getPaymentsByMonth(LocalDateTime.now().getYear(), LocalDateTime.now().getMonthValue()));
         assertTrue(ex.getMessage().contains("Failed to fetch payments by month"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetPaymentsBetweenCatchesSQLException() throws Exception {
+        conn.close();
+        LocalDateTime now = LocalDateTime.now();
+        Exception ex = assertThrows(RuntimeException.class, () -> db.getPaymentsBetween(now, now.plusDays(1)));
+        assertTrue(ex.getMessage().contains("Failed to fetch payments in range"));
+    }
+
+    @Test
+    void testAddPayments() {
+        db.addPayments(List.of(
+                new Payment("b1", "inv1", 10.0, "Cash"),
+                new Payment("b2", "inv1", 15.0, "Card")));
+        assertEquals(2, db.getPaymentsByInvoice("inv1").size());
+    }
+
+    @Test
+    void testAddPaymentsCatchesSQLException() throws Exception {
+        conn.close();
+        Exception ex = assertThrows(RuntimeException.class,
+                () -> db.addPayments(List.of(new Payment("b1", "inv1", 10.0, "Cash"))));
+        assertTrue(ex.getMessage().contains("Failed to add payments"));
+    }
+
+    @Test
+    void testRecordPaymentPartialPaymentsLandOnZero() throws Exception {
+        setBalance("inv1", 0.3, 0.3);
+        InvoiceDB invoices = invoices();
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(db.recordPayment(new Payment("p" + i, "inv1", 0.1, "Cash"), "key-" + i));
+        }
+        assertEquals(0.0, invoices.getInvoiceById("inv1").getBalance());
+        assertEquals("Paid", invoices.getInvoiceById("inv1").getStatus());
+        assertEquals(30, invoices.getRevenueTotals(null, null).paidCents());
+        assertTrue(invoices.rebuildRevenueDaily().isEmpty());
+    }
+
+    @Test
+    void testRecordPaymentMarksPartial() throws Exception {
+        setBalance("inv1", 100, 100);
+        InvoiceDB invoices = invoices();
+        db.recordPayment(new Payment("p1", "inv1", 40, "Cash"), "key-1");
+        assertEquals(60.0, invoices.getInvoiceById("inv1").getBalance());
+        assertEquals("Partial", invoices.getInvoiceById("inv1").getStatus());
+    }
+
+    @Test
+    void testRecordPaymentRejectsOverpayment() throws Exception {
+        setBalance("inv1", 50, 50);
+        InvoiceDB invoices = invoices();
+        assertNull(db.recordPayment(new Payment("p1", "inv1", 50.01, "Cash"), "key-1"));
+        assertEquals(50.0, invoices.getInvoiceById("inv1").getBalance());
+        assertTrue(db.getPaymentsByInvoice("inv1").isEmpty());
+        assertEquals(0, invoices.getRevenueTotals(null, null).paidCents());
+    }
+
+    @Test
+    void testRecordPaymentUnknownInvoice() {
+        assertThrows(IllegalArgumentException.class,
+                () -> db.recordPayment(new Payment("p1", "missing", 1, "Cash"), "key-1"));
+        assertTrue(db.getPaymentsByInvoice("missing").isEmpty());
+    }
+
+    @Test
+    void testRecordPaymentReplayedKeyChargesOnce() throws Exception {
+        setBalance("inv1", 100, 100);
+        InvoiceDB invoices = invoices();
+        Payment first = db.recordPayment(new Payment("p1", "inv1", 25, "Cash"), "key-1");
+        Payment retry = db.recordPayment(new Payment("p2", "inv1", 25, "Cash"), "key-1");
+        assertEquals("p1", retry.getId());
+        assertEquals(first.getAmount(), retry.getAmount());
+        assertEquals(1, db.getPaymentsByInvoice("inv1").size());
+        assertEquals(75.0, invoices.getInvoiceById("inv1").getBalance());
+        assertEquals(2500, invoices.getRevenueTotals(null, null).paidCents());
+    }
+
+    @Test
+    void testRecordPaymentCatchesSQLException() throws Exception {
+        conn.close();
+        Exception ex = assertThrows(RuntimeException.class,
+                () -> db.recordPayment(new Payment("p1", "inv1", 1, "Cash"), "key-1"));
+        assertTrue(ex.getMessage().contains("Failed to record payment"));
+    }
+
+    @Test
+    void testGetPaymentsByInvoicesGroupsOldestFirst() throws Exception {
+        insertInvoice("inv2", "1");
+        insertInvoice("inv3", "1");
+        LocalDateTime at = LocalDateTime.of(2025, 2, 1, 9, 0);
+        db.addPayments(List.of(
+                new Payment("p2", "inv1", 20.0, "Card", at.plusHours(1)),
+                new Payment("p1", "inv1", 10.0, "Cash", at),
+                new Payment("p3", "inv2", 5.0, "Cash", at),
+                new Payment("p4", "inv3", 7.0, "Cash", at)));
+
+        Map<String, List<Payment>> byInvoice = db.getPaymentsByInvoices(List.of("inv1", "inv2", "missing"));
+
+        assertEquals(Set.of("inv1", "inv2"), byInvoice.keySet());
+        assertEquals(List.of("p1", "p2"), byInvoice.get("inv1").stream().map(Payment::getId).toList());
+        assertEquals(1, byInvoice.get("inv2").size());
+        assertTrue(db.getPaymentsByInvoices(List.of()).isEmpty());
+    }
+
+    @Test
+    void testGetPaymentsByInvoicesCatchesSQLException() throws Exception {
+        conn.close();
+        Exception ex = assertThrows(RuntimeException.class, () -> db.getPaymentsByInvoices(List.of("inv1")));
+        assertTrue(ex.getMessage().contains("Failed to fetch payments by invoices"));
+    }
+}
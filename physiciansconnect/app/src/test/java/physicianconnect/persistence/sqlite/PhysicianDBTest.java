@@ -1,10 +1,12 @@
 package physicianconnect.persistence.sqlite;
 
 import org.junit.jupiter.api.*;
+import physicianconnect.objects.Notification;
 import physicianconnect.objects.Physician;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -62,6 +64,20 @@ public class PhysicianDBTest {
         assertNull(db.getPhysicianById("delme"));
     }
 
+    @Test
+    public void testDeletePhysicianRemovesOnlyTheirNotifications() {
+        db.addPhysician(new Physician("delme", "Dr. Doom", "doom@latveria.com", "mask"));
+        NotificationDB notifications = new NotificationDB(conn);
+        LocalDateTime now = LocalDateTime.now();
+        notifications.addNotification(new Notification("bye", "info", now, "delme", "physician"));
+        notifications.addNotification(new Notification("stay", "info", now, "delme", "receptionist"));
+
+        db.deletePhysicianById("delme");
+
+        assertTrue(notifications.getNotificationsForUser("delme", "physician").isEmpty());
+        assertEquals(1, notifications.getNotificationsForUser("delme", "receptionist").size());
+    }
+
     @Test
     public void testDeleteAllPhysicians() {
         db.addPhysician(new Physician("1", "A", "a@a.com", "pw"));
@@ -144,4 +160,24 @@ public class PhysicianDBTest {
         // updatePhysician prints stack trace, does not throw
         assertDoesNotThrow(() -> db.updatePhysician(p));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetPhysicianByEmailIgnoresCaseAndWhitespace() {
+        db.addPhysician(new Physician("doc1", "Dr. Watson", "Watson@Email.com", "secret"));
+
+        Physician fetched = db.getPhysicianByEmail("  watson@EMAIL.com ");
+        assertNotNull(fetched);
+        assertEquals("doc1", fetched.getId());
+        assertNull(db.getPhysicianByEmail("holmes@email.com"));
+        assertNull(db.getPhysicianByEmail(null));
+    }
+
+    @Test
+    public void testEmailDifferingOnlyInCaseIsRejected() {
+        db.addPhysician(new Physician("doc1", "Dr. Watson", "watson@email.com", "secret"));
+        db.addPhysician(new Physician("doc2", "Dr. Imposter", "WATSON@email.com", "other"));
+
+        assertNull(db.getPhysicianById("doc2"));
+        assertEquals("doc1", db.getPhysicianByEmail("watson@email.com").getId());
+    }
+}
@@ -131,4 +131,17 @@ public class PrescriptionDBTest {
         Exception ex = assertThrows(RuntimeException.class, () -> db.deleteAllPrescriptions());
         assertTrue(ex.getMessage().contains("Failed to delete all prescriptions"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAddPrescriptions() {
+        db.addPrescriptions(List.of(
+                new Prescription(0, "doc1", "Bruce Banner", "Ibuprofen", "200mg", "200mg", "Once a day", "",
+                        "2025-06-01T10:00"),
+                new Prescription(0, "doc2", "Bruce Banner", "Aspirin", "100mg", "100mg", "Twice a day", "",
+                        "2025-06-02T10:00")));
+
+        List<Prescription> list = db.getPrescriptionsForPatient("Bruce Banner");
+        assertEquals(2, list.size());
+        assertEquals("Aspirin", list.get(0).getMedicationName());
+    }
+}
@@ -0,0 +1,226 @@
+package physicianconnect.persistence.sqlite;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import physicianconnect.objects.*;
+
+/**
+ * Runs every SQLite persistence operation through a connection that records
+ * the SQL it prepares, then checks with EXPLAIN QUERY PLAN that every
+ * filtered statement is answered from an index rather than a table scan.
+ */
+public class QueryPlanTest {
+
+    private Connection conn;
+    private Connection recording;
+    private final Set<String> preparedSql = new LinkedHashSet<>();
+
+    @BeforeEach
+    public void setup() throws Exception {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        SchemaInitializer.initializeSchema(conn);
+        recording = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement")) {
+                        preparedSql.add((String) args[0]);
+                    }
+                    try {
+                        return method.invoke(conn, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        if (conn != null && !conn.isClosed()) {
+            conn.close();
+        }
+    }
+
+    private void exerciseAllPersistence() {
+        LocalDateTime when = LocalDateTime.of(2025, 6, 2, 9, 0);
+
+        PhysicianDB physicians = new PhysicianDB(recording);
+        Physician doc = new Physician("doc1", "Dr. Banner", "banner@avengers.com", "hulk");
+        physicians.addPhysician(doc);
+        physicians.getPhysicianById("doc1");
+        physicians.getPhysicianByEmail("BANNER@avengers.com");
+        physicians.updatePhysician(doc);
+
+        ReceptionistDB receptionists = new ReceptionistDB(recording);
+        Receptionist rec = new Receptionist("rec1", "Pepper", "pepper@stark.com", "pw");
+        receptionists.addReceptionist(rec);
+        receptionists.getReceptionistById("rec1");
+        receptionists.getReceptionistByEmail("pepper@stark.com");
+        receptionists.updateReceptionist(rec);
+
+        new UserDirectoryDB(recording).findUserByEmail("Pepper@Stark.com");
+
+        AppointmentDB appointments = new AppointmentDB(recording);
+        Appointment appt = new Appointment("doc1", "Bruce", when);
+        appointments.addAppointment(appt);
+        appointments.getAppointmentsForPhysician("doc1");
+        appointments.getAppointmentsForPhysicianInRange("doc1", when.minusDays(1), when.plusDays(1));
+        appointments.getAppointmentsInRange(when.minusDays(1), when.plusDays(1));
+        appointments.getAppointmentsForPhysiciansInRange(List.of("doc1", "doc2"), when.minusDays(1), when.plusDays(1));
+        appointments.getAppointmentsWithPhysician("doc1", when.minusDays(1), null, 0, 50);
+        appointments.getAppointmentsWithPhysician(null, when.minusDays(1), when.plusDays(1), 0, 0);
+        appointments.countAppointments(null, "bru");
+        appointments.countAppointments("doc1", null);
+        appointments.getAppointmentPage("doc1", null, true, appt, 0, 100);
+        appointments.getAppointmentPage(null, "Bru", false, null, 0, 100);
+        appointments.updateAppointment(appointments.getAppointmentsForPhysician("doc1").get(0));
+
+        MedicationDB medications = new MedicationDB(recording);
+        Medication med = new Medication("Ibuprofen", "200mg", "Daily", "With food");
+        medications.addMedication(med);
+        medications.deleteMedication(med);
+
+        PrescriptionDB prescriptions = new PrescriptionDB(recording);
+        prescriptions.addPrescription(new Prescription(0, "doc1", "Bruce", "Ibuprofen", "200mg", "200mg",
+                "Daily", "", when.toString()));
+        prescriptions.getPrescriptionsForPatient("Bruce");
+        prescriptions.deletePrescriptionById(1);
+
+        ReferralDB referrals = new ReferralDB(recording);
+        referrals.addReferral(new Referral(0, "doc1", "Bruce", "Lab", "", "2025-06-02"));
+        referrals.getReferralsForPhysician("doc1");
+        referrals.getReferralsForPatient("Bruce");
+        referrals.deleteReferralById(1);
+
+        InvoiceDB invoices = new InvoiceDB(recording);
+        Invoice invoice = new Invoice("inv1", "1", "Bruce", List.of(new ServiceItem("Consult", 100)), 0);
+        invoices.addInvoice(invoice);
+        invoices.getInvoiceById("inv1");
+        invoices.getInvoicesByMonth(2025, 6);
+        invoices.countInvoices("bru");
+        invoices.getInvoicePage(null, invoice, 0, 100);
+        invoices.getInvoicePage("Bru", null, 0, 100);
+        invoices.getInvoicesBetween(LocalDateTime.of(2025, 6, 1, 0, 0), LocalDateTime.of(2025, 7, 1, 0, 0), null, 100);
+        invoices.getInvoicesBetween(LocalDateTime.of(2025, 6, 1, 0, 0), LocalDateTime.of(2025, 7, 1, 0, 0), invoice, 100);
+        invoices.getRevenueByService(LocalDateTime.of(2025, 6, 1, 0, 0), LocalDateTime.of(2025, 7, 1, 0, 0));
+        invoices.getRevenueTotals(when.toLocalDate(), when.toLocalDate().plusDays(1));
+        invoices.updateInvoice(invoice);
+
+        PaymentDB payments = new PaymentDB(recording);
+        payments.addPayment(new Payment("pay1", "inv1", 50, "Cash"));
+        payments.getPaymentsByInvoice("inv1");
+        payments.getPaymentsByInvoices(List.of("inv1", "inv2"));
+        payments.getPaymentsByMonth(2025, 6);
+        payments.recordPayment(new Payment("pay2", "inv1", 1, "Card"), "key-1");
+
+        MessageDB messages = new MessageDB(recording);
+        Message message = new Message("doc1", "physician", "rec1", "receptionist", "hi");
+        messages.save(message);
+        messages.findByReceiverId("rec1", "receptionist");
+        messages.findBySenderId("doc1", "physician");
+        messages.findUnreadByReceiverId("rec1", "receptionist");
+        messages.countUnreadMessages("rec1", "receptionist");
+        List<Message> page = messages.findConversation("doc1", "physician", "rec1", "receptionist", null, 20);
+        messages.findConversation("doc1", "physician", "rec1", "receptionist", page.get(0), 20);
+        messages.markAsRead(message.getMessageId());
+        messages.markConversationRead("rec1", "receptionist", "doc1", "physician", messages.latestSequence());
+
+        NotificationDB notifications = new NotificationDB(recording);
+        Notification notification = new Notification("hello", "info", when, "doc1", "physician");
+        notifications.addNotification(notification);
+        notifications.getNotificationsForUser("doc1", "physician");
+        notifications.markNotificationAsRead(notification);
+        notifications.markAllNotificationsRead("doc1", "physician", notification.getSeq());
+        notifications.clearNotificationsForUser("doc1", "physician");
+
+        invoices.deleteInvoiceById("inv1");
+        appointments.deleteAppointment(appt);
+        receptionists.deleteReceptionist("rec1");
+        physicians.deletePhysicianById("doc1");
+    }
+
+    private List<String> queryPlan(String sql) throws Exception {
+        List<String> details = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+                ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                details.add(rs.getString("detail"));
+            }
+        }
+        return details;
+    }
+
+    private static boolean isFullScan(String detail) {
+        // Scanning a subquery's result set is not a table scan
+        return detail.startsWith("SCAN ") && !detail.contains(" USING ") && !detail.startsWith("SCAN (subquery");
+    }
+
+    @Test
+    public void testEveryFilteredQueryUsesAnIndex() throws Exception {
+        exerciseAllPersistence();
+
+        List<String> offenders = new ArrayList<>();
+        int checked = 0;
+        for (String sql : preparedSql) {
+            if (!sql.toUpperCase().contains("WHERE")) {
+                continue; // inserts and deliberate whole-table reads
+            }
+            checked++;
+            List<String> plan = queryPlan(sql);
+            boolean usesIndex = plan.stream().anyMatch(d -> d.contains(" USING "));
+            boolean scans = plan.stream().anyMatch(QueryPlanTest::isFullScan);
+            if (!usesIndex || scans) {
+                offenders.add(sql.trim() + " -> " + plan);
+            }
+        }
+
+        assertTrue(checked > 20, "expected to capture the persistence queries, got " + checked);
+        assertTrue(offenders.isEmpty(), "Queries without index support:\n" + String.join("\n", offenders));
+    }
+
+    @Test
+    public void testMessageLookupUsesReceiverIndex() throws Exception {
+        String plan = String.join(" ", queryPlan(
+                "SELECT COUNT(*) FROM messages WHERE receiver_id = ? AND receiver_type = ? AND is_read = 0"));
+        assertTrue(plan.contains("idx_messages_receiver"), plan);
+    }
+
+    @Test
+    public void testConversationPageUsesConversationIndexWithoutSortingEachSide() throws Exception {
+        String direction = "SELECT * FROM (SELECT * FROM messages WHERE sender_id = ? AND sender_type = ? "
+                + "AND receiver_id = ? AND receiver_type = ? AND (timestamp, message_id) < (?, ?) "
+                + "ORDER BY timestamp DESC, message_id DESC LIMIT ?)";
+        List<String> plan = queryPlan("SELECT * FROM (" + direction + " UNION ALL " + direction + ") "
+                + "ORDER BY timestamp DESC, message_id DESC LIMIT ?");
+        assertEquals(2, plan.stream().filter(d -> d.contains("idx_messages_conversation")).count(), plan.toString());
+        // Each side reads the index in order; only its LIMIT-sized output is sorted for the merge
+        for (int i = 0; i < plan.size() - 1; i++) {
+            if (plan.get(i).startsWith("SEARCH messages")) {
+                assertFalse(plan.get(i + 1).contains("TEMP B-TREE"), plan.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testAppointmentRangeUsesCompositeIndex() throws Exception {
+        String plan = String.join(" ", queryPlan(
+                "SELECT * FROM appointments WHERE physician_id = ? AND datetime >= ? AND datetime < ?"));
+        assertTrue(plan.contains("idx_appointments_physician_datetime"), plan);
+    }
+}
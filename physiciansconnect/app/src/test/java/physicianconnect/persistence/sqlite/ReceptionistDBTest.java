@@ -46,6 +46,14 @@ class ReceptionistDBTest {
         assertEquals("id2", fetched.getId());
     }
 
+    @Test
+    void testGetReceptionistByEmailIgnoresCase() {
+        db.addReceptionist(new Receptionist("id2", "Bob", "Bob@Email.com", "pw2"));
+        Receptionist fetched = db.getReceptionistByEmail(" bob@email.COM");
+        assertNotNull(fetched);
+        assertEquals("id2", fetched.getId());
+    }
+
     @Test
     void testGetReceptionistByEmailNotFound() {
         Receptionist fetched = db.getReceptionistByEmail("notfound@email.com");
@@ -113,4 +113,15 @@ public class ReferralDBTest {
         Exception ex = assertThrows(RuntimeException.class, () -> db.deleteAllReferrals());
         assertTrue(ex.getMessage().contains("Failed to delete all referrals"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAddReferrals() {
+        db.addReferrals(List.of(
+                new Referral(0, "doc1", "Patient A", "Lab Test", "Fasting", "2025-06-01"),
+                new Referral(0, "doc1", "Patient B", "Specialist", "", "2025-06-02"),
+                new Referral(0, "doc2", "Patient A", "Imaging", "", "2025-06-03")));
+
+        assertEquals(2, db.getReferralsForPhysician("doc1").size());
+        assertEquals(2, db.getReferralsForPatient("Patient A").size());
+    }
+}
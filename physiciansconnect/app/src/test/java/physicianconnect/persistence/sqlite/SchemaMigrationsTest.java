@@ -0,0 +1,295 @@
+package physicianconnect.persistence.sqlite;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SchemaMigrationsTest {
+
+    private Connection conn;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        if (conn != null && !conn.isClosed()) {
+            conn.close();
+        }
+    }
+
+    private Set<String> indexNames() throws Exception {
+        Set<String> names = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT name FROM sqlite_master WHERE type = 'index'")) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+        return names;
+    }
+
+    @Test
+    public void testFreshSchemaIsAtLatestVersion() throws Exception {
+        SchemaInitializer.initializeSchema(conn);
+        assertEquals(SchemaMigrations.latestVersion(), SchemaMigrations.currentVersion(conn));
+        assertTrue(SchemaMigrations.columnExists(conn, "notifications", "is_read"));
+        assertTrue(indexNames().containsAll(Set.of(
+                "idx_appointments_physician_datetime",
+                "idx_appointments_datetime",
+                "idx_messages_receiver",
+                "idx_notifications_user",
+                "idx_prescriptions_patient",
+                "idx_referrals_patient",
+                "idx_payments_invoice",
+                "idx_invoices_created_at",
+                "idx_messages_unread",
+                "idx_notifications_unread")));
+    }
+
+    @Test
+    public void testMigrateIsIdempotent() throws Exception {
+        SchemaInitializer.initializeSchema(conn);
+        assertEquals(0, SchemaMigrations.migrate(conn));
+        SchemaInitializer.initializeSchema(conn);
+        assertEquals(SchemaMigrations.latestVersion(), SchemaMigrations.currentVersion(conn));
+    }
+
+    @Test
+    public void testUpgradesLegacyDatabase() throws Exception {
+        // A database from an older build: notifications created by NotificationDB with
+        // is_read already present, no indexes and no schema_version table
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE notifications (id INTEGER PRIMARY KEY AUTOINCREMENT, user_id TEXT NOT NULL, "
+                    + "user_type TEXT NOT NULL, message TEXT NOT NULL, type TEXT NOT NULL, timestamp TEXT NOT NULL, "
+                    + "is_read INTEGER DEFAULT 0)");
+            stmt.execute("INSERT INTO notifications (user_id, user_type, message, type, timestamp, is_read) "
+                    + "VALUES ('u', 'physician', 'hello', 'info', '2025-01-01T10:00', 1)");
+        }
+
+        SchemaInitializer.initializeSchema(conn);
+
+        assertEquals(SchemaMigrations.latestVersion(), SchemaMigrations.currentVersion(conn));
+        assertTrue(indexNames().contains("idx_notifications_user"));
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT is_read FROM notifications")) {
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+        }
+    }
+
+    @Test
+    public void testNotificationsForeignKeyDroppedAndRowsKept() throws Exception {
+        // Base tables as created by builds that tied notifications.user_id to physicians
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA foreign_keys = ON");
+            stmt.execute("CREATE TABLE physicians (id TEXT PRIMARY KEY, name TEXT NOT NULL, "
+                    + "email TEXT UNIQUE NOT NULL, password TEXT NOT NULL)");
+            stmt.execute("CREATE TABLE notifications (id INTEGER PRIMARY KEY AUTOINCREMENT, user_id TEXT NOT NULL, "
+                    + "user_type TEXT NOT NULL, message TEXT NOT NULL, type TEXT NOT NULL, timestamp TEXT NOT NULL, "
+                    + "FOREIGN KEY (user_id) REFERENCES physicians(id) ON DELETE CASCADE)");
+            stmt.execute("INSERT INTO physicians VALUES ('doc1', 'Dr. One', 'one@clinic.com', 'pw')");
+            stmt.execute("INSERT INTO notifications (user_id, user_type, message, type, timestamp) "
+                    + "VALUES ('doc1', 'physician', 'hello', 'info', '2025-01-01T10:00')");
+        }
+
+        SchemaInitializer.initializeSchema(conn);
+
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("PRAGMA foreign_key_list(notifications)")) {
+                assertFalse(rs.next());
+            }
+            stmt.execute("INSERT INTO notifications (user_id, user_type, message, type, timestamp) "
+                    + "VALUES ('rec1', 'receptionist', 'paid', 'billing', '2025-01-02T10:00')");
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM notifications")) {
+                assertEquals(2, rs.getInt(1));
+            }
+        }
+        assertTrue(indexNames().contains("idx_notifications_user"));
+    }
+
+    @Test
+    public void testAnalyzeRunsWhenMigrationsApply() throws Exception {
+        SchemaInitializer.initializeSchema(conn);
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(
+                        "SELECT name FROM sqlite_master WHERE type = 'table' AND name = 'sqlite_stat1'")) {
+            assertTrue(rs.next(), "ANALYZE should create sqlite_stat1");
+        }
+    }
+
+    @Test
+    public void testDoubleBookingsMoveToConflictsWithoutLosingAny() throws Exception {
+        // A version 7 database holding a double booking from the old check-then-insert race
+        SchemaInitializer.initializeSchema(conn);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM schema_version WHERE version >= 8");
+            stmt.execute("DROP INDEX idx_appointments_physician_datetime");
+            stmt.execute("CREATE INDEX idx_appointments_physician_datetime ON appointments(physician_id, datetime)");
+            stmt.execute("INSERT INTO physicians (id, name, email, password) VALUES ('doc1', 'Dr. One', 'one@clinic.com', 'pw')");
+            stmt.execute("INSERT INTO appointments (id, physician_id, patient_name, datetime, notes) "
+                    + "VALUES (1, 'doc1', 'First', '2025-06-02T09:00', NULL), "
+                    + "(2, 'doc1', 'Second', '2025-06-02T09:00', 'follow-up'), "
+                    + "(3, 'doc1', 'Third', '2025-06-02T09:00', NULL), "
+                    + "(4, 'doc1', 'Later', '2025-06-02T10:00', NULL)");
+            stmt.execute("INSERT INTO invoices (id, appointment_id, patient_name) VALUES ('inv1', 2, 'Second')");
+        }
+
+        assertEquals(SchemaMigrations.latestVersion() - 7, SchemaMigrations.migrate(conn));
+
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT id FROM appointments ORDER BY id")) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+                assertTrue(rs.next());
+                assertEquals(4, rs.getInt(1));
+                assertFalse(rs.next());
+            }
+            // Every booking is still somewhere: the earliest holds the slot, the rest are conflicts
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT id, patient_name, datetime, notes, kept_id FROM appointment_conflicts ORDER BY id")) {
+                assertTrue(rs.next());
+                assertEquals(2, rs.getInt("id"));
+                assertEquals("Second", rs.getString("patient_name"));
+                assertEquals("2025-06-02T09:00", rs.getString("datetime"));
+                assertEquals("follow-up", rs.getString("notes"));
+                assertEquals(1, rs.getInt("kept_id"));
+                assertTrue(rs.next());
+                assertEquals(3, rs.getInt("id"));
+                assertEquals(1, rs.getInt("kept_id"));
+                assertFalse(rs.next());
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT appointment_id FROM invoices WHERE id = 'inv1'")) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+            }
+            assertThrows(java.sql.SQLException.class, () -> stmt.execute("INSERT INTO appointments "
+                    + "(physician_id, patient_name, datetime) VALUES ('doc1', 'Third', '2025-06-02T09:00')"));
+        }
+    }
+
+    @Test
+    public void testStaffEmailsBecomeUniqueIgnoringCase() throws Exception {
+        // A version 9 database where sign-ups differing only in case slipped through
+        SchemaInitializer.initializeSchema(conn);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM schema_version WHERE version >= 10");
+            stmt.execute("DROP INDEX idx_physicians_email_nocase");
+            stmt.execute("DROP INDEX idx_receptionists_email_nocase");
+            stmt.execute("INSERT INTO physicians (id, name, email, password) VALUES "
+                    + "('doc1', 'Dr. One', ' one@clinic.com ', 'pw'), ('doc2', 'Dr. Two', 'ONE@clinic.com', 'pw')");
+            stmt.execute("INSERT INTO receptionists (id, name, email, password) VALUES "
+                    + "('rec1', 'Ann', 'ann@clinic.com', 'pw'), ('rec2', 'Ann Again', 'Ann@Clinic.com', 'pw')");
+        }
+
+        assertEquals(SchemaMigrations.latestVersion() - 9, SchemaMigrations.migrate(conn));
+
+        Set<String> indexes = indexNames();
+        assertTrue(indexes.contains("idx_physicians_email_nocase"));
+        assertTrue(indexes.contains("idx_receptionists_email_nocase"));
+        assertFalse(indexes.contains("idx_receptionists_email"));
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT id, email FROM physicians ORDER BY id")) {
+                assertTrue(rs.next());
+                assertEquals("one@clinic.com", rs.getString("email"));
+                assertTrue(rs.next());
+                assertEquals("ONE@clinic.com#doc2", rs.getString("email"));
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT email FROM receptionists WHERE id = 'rec2'")) {
+                assertTrue(rs.next());
+                assertEquals("Ann@Clinic.com#rec2", rs.getString(1));
+            }
+            assertThrows(java.sql.SQLException.class, () -> stmt.execute("INSERT INTO receptionists "
+                    + "(id, name, email, password) VALUES ('rec3', 'Ann Three', 'ANN@CLINIC.COM', 'pw')"));
+        }
+    }
+
+    @Test
+    public void testInvoiceServicesMoveToLineItems() throws Exception {
+        // A version 11 database still packing services into "name:cost;name:cost"
+        SchemaInitializer.initializeSchema(conn);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM schema_version WHERE version >= 12");
+            stmt.execute("DROP TABLE invoice_items");
+            stmt.execute("ALTER TABLE invoices ADD COLUMN services TEXT");
+            stmt.execute("INSERT INTO invoices (id, patient_name, services, created_at) VALUES "
+                    + "('inv1', 'Ann', 'Consult:100.0;Lab: Blood:45.5;BadData;XRay:oops', '2025-06-02T09:00'), "
+                    + "('inv2', 'Bob', '', '2025-06-03T09:00')");
+        }
+
+        assertEquals(SchemaMigrations.latestVersion() - 11, SchemaMigrations.migrate(conn));
+
+        assertFalse(SchemaMigrations.columnExists(conn, "invoices", "services"));
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(
+                        "SELECT invoice_id, position, service_name, amount_cents FROM invoice_items ORDER BY position")) {
+            assertTrue(rs.next());
+            assertEquals("Consult", rs.getString("service_name"));
+            assertEquals(10000, rs.getLong("amount_cents"));
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt("position"));
+            assertEquals("Lab: Blood", rs.getString("service_name"));
+            assertEquals(4550, rs.getLong("amount_cents"));
+            assertFalse(rs.next());
+        }
+        assertEquals(145.5, new InvoiceDB(conn).getInvoiceById("inv1").getTotalAmount());
+    }
+
+    @Test
+    public void testRevenueDailyBackfilledFromInvoices() throws Exception {
+        // A version 12 database with invoices but no daily totals yet
+        SchemaInitializer.initializeSchema(conn);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM schema_version WHERE version >= 13");
+            stmt.execute("DROP TABLE revenue_daily");
+            stmt.execute("INSERT INTO invoices (id, patient_name, total_amount, balance, created_at) VALUES "
+                    + "('inv1', 'Ann', 100.0, 40.0, '2025-06-02T09:00'), "
+                    + "('inv2', 'Bob', 50.5, 50.5, '2025-06-02T16:30'), "
+                    + "('inv3', 'Cy', 20.0, 0.0, '2025-06-03T10:00')");
+        }
+
+        assertEquals(SchemaMigrations.latestVersion() - 12, SchemaMigrations.migrate(conn));
+
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(
+                        "SELECT day, invoice_count, billed_cents, paid_cents FROM revenue_daily ORDER BY day")) {
+            assertTrue(rs.next());
+            assertEquals("2025-06-02", rs.getString(1));
+            assertEquals(2, rs.getInt(2));
+            assertEquals(15050, rs.getLong(3));
+            assertEquals(6000, rs.getLong(4));
+            assertTrue(rs.next());
+            assertEquals("2025-06-03", rs.getString(1));
+            assertEquals(2000, rs.getLong(4));
+            assertFalse(rs.next());
+        }
+    }
+
+    @Test
+    public void testPaymentIdempotencyKeysAreUnique() throws Exception {
+        SchemaInitializer.initializeSchema(conn);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO invoices (id, patient_name, total_amount, balance) VALUES ('inv1', 'Ann', 10, 10)");
+            stmt.execute("INSERT INTO payments (id, invoice_id, amount, method, paid_at) VALUES "
+                    + "('p1', 'inv1', 1, 'Cash', '2025-06-02T09:00'), ('p2', 'inv1', 1, 'Cash', '2025-06-02T09:00')");
+            stmt.execute("INSERT INTO payments (id, invoice_id, amount, method, paid_at, idempotency_key) "
+                    + "VALUES ('p3', 'inv1', 1, 'Cash', '2025-06-02T09:00', 'k1')");
+            assertThrows(SQLException.class, () -> stmt.execute(
+                    "INSERT INTO payments (id, invoice_id, amount, method, paid_at, idempotency_key) "
+                            + "VALUES ('p4', 'inv1', 1, 'Cash', '2025-06-02T09:00', 'k1')"));
+        }
+        assertEquals(0, SchemaMigrations.migrate(conn));
+    }
+}
@@ -0,0 +1,169 @@
+package physicianconnect.persistence.sqlite;
+
+import org.junit.jupiter.api.*;
+import physicianconnect.objects.Message;
+import physicianconnect.objects.Notification;
+import physicianconnect.objects.NotificationCategory;
+import physicianconnect.objects.Receptionist;
+import physicianconnect.persistence.ConnectionPool;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives MessageDB and NotificationDB through a seeded random mix of writes
+ * and checks after every step that the maintained unread counters agree with
+ * a COUNT(*) over the tables.
+ */
+class UnreadCountInvariantTest {
+    private static final String[][] USERS = {
+            { "doc1", "physician" }, { "doc2", "physician" },
+            { "rec1", "receptionist" }, { "rec2", "receptionist" }, { "rec3", "receptionist" } };
+
+    private Connection conn;
+    private MessageDB messages;
+    private NotificationDB notifications;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        SchemaInitializer.initializeSchema(conn);
+        messages = new MessageDB(conn);
+        notifications = new NotificationDB(conn);
+
+        ReceptionistDB receptionists = new ReceptionistDB(conn);
+        receptionists.addReceptionist(new Receptionist("rec1", "Ann", "ann@clinic.com", "pw"));
+        Receptionist optedOut = new Receptionist("rec2", "Bea", "bea@clinic.com", "pw");
+        optedOut.setNotifyAppointment(false);
+        receptionists.addReceptionist(optedOut);
+        receptionists.addReceptionist(new Receptionist("rec3", "Cal", "cal@clinic.com", "pw"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (conn != null && !conn.isClosed()) {
+            conn.close();
+        }
+    }
+
+    private int countInTable(String sql, String userId, String userType) throws Exception {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, userId);
+            stmt.setString(2, userType);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private void assertCountersMatchTables(String step) throws Exception {
+        for (String[] user : USERS) {
+            assertEquals(
+                    countInTable("SELECT COUNT(*) FROM messages WHERE receiver_id = ? AND receiver_type = ? AND is_read = 0",
+                            user[0], user[1]),
+                    messages.countUnreadMessages(user[0], user[1]),
+                    "unread messages for " + user[0] + " after " + step);
+            assertEquals(
+                    countInTable("SELECT COUNT(*) FROM notifications WHERE user_id = ? AND user_type = ? AND is_read = 0",
+                            user[0], user[1]),
+                    notifications.countUnreadNotifications(user[0], user[1]),
+                    "unread notifications for " + user[0] + " after " + step);
+        }
+    }
+
+    @Test
+    void testCountersMatchDatabaseThroughRandomWrites() throws Exception {
+        Random random = new Random(42);
+        List<Message> sent = new ArrayList<>();
+        List<Notification> added = new ArrayList<>();
+        LocalDateTime clock = LocalDateTime.of(2025, 6, 2, 9, 0);
+
+        // Rows written before the first read are picked up by the warm-up query
+        messages.save(new Message("doc1", "physician", "rec1", "receptionist", "before warm-up"));
+        notifications.addNotification(new Notification("before warm-up", "info", clock, "doc1", "physician"));
+        assertCountersMatchTables("warm-up");
+
+        for (int step = 0; step < 400; step++) {
+            String[] from = USERS[random.nextInt(USERS.length)];
+            String[] to = USERS[random.nextInt(USERS.length)];
+            clock = clock.plusSeconds(1);
+            int op = random.nextInt(11);
+            switch (op) {
+                case 0 -> {
+                    Message message = new Message(from[0], from[1], to[0], to[1], "m" + step);
+                    messages.save(message);
+                    sent.add(message);
+                }
+                case 1 -> {
+                    if (!sent.isEmpty()) {
+                        messages.markAsRead(sent.get(random.nextInt(sent.size())).getMessageId());
+                    }
+                }
+                case 2 -> {
+                    // Re-saving replaces the row, possibly flipping it back to unread
+                    if (!sent.isEmpty()) {
+                        Message message = sent.get(random.nextInt(sent.size()));
+                        message.setRead(random.nextBoolean());
+                        messages.save(message);
+                    }
+                }
+                case 3 -> messages.saveAll(List.of(
+                        new Message(from[0], from[1], to[0], to[1], "batch a" + step),
+                        new Message(to[0], to[1], from[0], from[1], "batch b" + step)));
+                case 4 -> {
+                    Notification notification = new Notification("n" + step, "info", clock, to[0], to[1]);
+                    notifications.addNotification(notification);
+                    added.add(notification);
+                }
+                case 5 -> {
+                    if (!added.isEmpty()) {
+                        notifications.markNotificationAsRead(added.get(random.nextInt(added.size())));
+                    }
+                }
+                case 6 -> notifications.broadcastToReceptionists("b" + step, "info",
+                        random.nextBoolean() ? NotificationCategory.APPOINTMENT : NotificationCategory.BILLING);
+                case 7 -> notifications.addNotifications(List.of(
+                        new Notification("batch" + step, "info", clock, to[0], to[1])));
+                case 8 -> messages.markConversationRead(to[0], to[1], from[0], from[1],
+                        random.nextInt((int) messages.latestSequence() + 1));
+                case 9 -> notifications.markAllNotificationsRead(to[0], to[1],
+                        random.nextInt((int) notifications.latestSequence() + 1));
+                default -> {
+                    if (random.nextInt(4) == 0) {
+                        notifications.clearNotificationsForUser(to[0], to[1]);
+                    }
+                }
+            }
+            assertCountersMatchTables("step " + step + " (op " + op + ")");
+        }
+    }
+
+    @Test
+    void testRolledBackWritesLeaveCountersAlone() throws Exception {
+        ConnectionPool pool = ConnectionPool.wrap(conn);
+        messages = new MessageDB(pool);
+        notifications = new NotificationDB(pool);
+        LocalDateTime now = LocalDateTime.of(2025, 6, 2, 9, 0);
+        Notification read = new Notification("seen", "info", now, "doc1", "physician");
+        notifications.addNotification(read);
+        assertCountersMatchTables("setup");
+
+        assertThrows(SQLException.class, () -> pool.transaction(c -> {
+            messages.save(new Message("doc1", "physician", "rec1", "receptionist", "rolled back"));
+            notifications.addNotification(new Notification("rolled back", "info", now, "doc2", "physician"));
+            notifications.markNotificationAsRead(read);
+            notifications.broadcastToReceptionists("rolled back", "info", NotificationCategory.APPOINTMENT);
+            throw new SQLException("boom");
+        }));
+        assertCountersMatchTables("rollback");
+    }
+}
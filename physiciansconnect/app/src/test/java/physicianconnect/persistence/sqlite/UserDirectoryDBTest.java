@@ -0,0 +1,51 @@
+package physicianconnect.persistence.sqlite;
+
+import org.junit.jupiter.api.*;
+import physicianconnect.objects.Physician;
+import physicianconnect.objects.Receptionist;
+import physicianconnect.persistence.interfaces.UserDirectory.UserAccount;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserDirectoryDBTest {
+
+    private Connection conn;
+    private UserDirectoryDB directory;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        SchemaInitializer.initializeSchema(conn);
+        new PhysicianDB(conn).addPhysician(new Physician("doc1", "Dr. Strange", "strange@sanctum.com", "pw"));
+        new ReceptionistDB(conn).addReceptionist(new Receptionist("rec1", "Wong", "Wong@Sanctum.com", "pw"));
+        directory = new UserDirectoryDB(conn);
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        if (conn != null && !conn.isClosed()) {
+            conn.close();
+        }
+    }
+
+    @Test
+    public void testFindsAccountInEitherRole() {
+        assertEquals(new UserAccount("doc1", "physician"), directory.findUserByEmail("STRANGE@sanctum.com"));
+        assertEquals(new UserAccount("rec1", "receptionist"), directory.findUserByEmail(" wong@sanctum.com "));
+    }
+
+    @Test
+    public void testUnknownEmailReturnsNull() {
+        assertNull(directory.findUserByEmail("nobody@sanctum.com"));
+        assertNull(directory.findUserByEmail(null));
+    }
+
+    @Test
+    public void testFailsWhenConnectionClosed() throws Exception {
+        conn.close();
+        assertThrows(RuntimeException.class, () -> directory.findUserByEmail("strange@sanctum.com"));
+    }
+}
@@ -2,6 +2,8 @@ package physicianconnect.persistence.stub;
 
 import org.junit.jupiter.api.*;
 import physicianconnect.objects.Appointment;
+import physicianconnect.objects.AppointmentWithPhysician;
+import physicianconnect.objects.Physician;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -42,7 +44,7 @@ void testUpdateAppointmentNoMatchDoesNothing() {
     stub.addAppointment(appt);
     Appointment notFound = new Appointment("doc2", "Bob", LocalDateTime.of(2025, 6, 10, 9, 0));
     notFound.setNotes("Should not update");
-    stub.updateAppointment(notFound);
+    assertThrows(IllegalArgumentException.class, () -> stub.updateAppointment(notFound));
     List<Appointment> list = stub.getAppointmentsForPhysician("doc1");
     assertFalse(list.isEmpty());
     assertEquals("Alice", list.get(0).getPatientName());
@@ -107,4 +109,48 @@ void testUpdateAppointmentNoMatchDoesNothing() {
         stub.close();
         assertTrue(stub.getAllAppointments().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAddAppointments() {
+        LocalDateTime t = LocalDateTime.of(2025, 6, 10, 9, 0);
+        stub.addAppointments(List.of(new Appointment("doc1", "Alice", t), new Appointment("doc1", "Bob", t.plusHours(1))));
+        assertEquals(2, stub.getAppointmentsForPhysician("doc1").size());
+    }
+
+    @Test
+    void testAppointmentsWithPhysicianUsesPhysicianNames() {
+        PhysicianPersistenceStub physicians = new PhysicianPersistenceStub(false);
+        physicians.addPhysician(new Physician("doc1", "Dr. One", "one@clinic.com", "pw"));
+        stub = new AppointmentPersistenceStub(false, physicians);
+        stub.addAppointment(new Appointment("doc2", "Bob", LocalDateTime.of(2025, 6, 10, 8, 0)));
+        stub.addAppointment(new Appointment("doc1", "Alice", LocalDateTime.of(2025, 6, 10, 9, 0)));
+        stub.addAppointment(new Appointment("doc1", "Carol", LocalDateTime.of(2025, 6, 10, 10, 0)));
+
+        List<AppointmentWithPhysician> rows = stub.getAppointmentsWithPhysician(null, null, null, 0, 0);
+        assertEquals(List.of("Bob", "Alice", "Carol"),
+                rows.stream().map(r -> r.appointment().getPatientName()).toList());
+        assertNull(rows.get(0).physicianName());
+        assertEquals("Dr. One", rows.get(1).physicianName());
+        assertEquals(3, rows.stream().map(r -> r.appointment().getId()).distinct().count());
+
+        List<AppointmentWithPhysician> page = stub.getAppointmentsWithPhysician(
+                "doc1", LocalDateTime.of(2025, 6, 10, 9, 0), null, 1, 1);
+        assertEquals("Carol", page.get(0).appointment().getPatientName());
+    }
+
+    @Test
+    void testAppointmentPageFiltersByPrefixAndFollowsCursor() {
+        stub.addAppointment(new Appointment("doc1", "Alice", LocalDateTime.of(2025, 6, 10, 9, 0)));
+        stub.addAppointment(new Appointment("doc1", "alan", LocalDateTime.of(2025, 6, 10, 10, 0)));
+        stub.addAppointment(new Appointment("doc2", "Alma", LocalDateTime.of(2025, 6, 10, 11, 0)));
+        stub.addAppointment(new Appointment("doc1", "Bob", LocalDateTime.of(2025, 6, 10, 12, 0)));
+
+        List<AppointmentWithPhysician> newest = stub.getAppointmentPage(null, "al", true, null, 0, 2);
+        assertEquals(List.of("Alma", "alan"), newest.stream().map(r -> r.appointment().getPatientName()).toList());
+        List<AppointmentWithPhysician> rest = stub.getAppointmentPage(null, "al", true,
+                newest.get(1).appointment(), 0, 2);
+        assertEquals(List.of("Alice"), rest.stream().map(r -> r.appointment().getPatientName()).toList());
+        assertEquals(2, stub.countAppointments("doc1", "AL"));
+        assertEquals(4, stub.countAppointments(null, null));
+    }
+}
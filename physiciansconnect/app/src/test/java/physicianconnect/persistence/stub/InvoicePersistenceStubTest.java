@@ -2,9 +2,12 @@ package physicianconnect.persistence.stub;
 
 import org.junit.jupiter.api.*;
 import physicianconnect.objects.Invoice;
+import physicianconnect.objects.RevenueTotals;
 import physicianconnect.objects.ServiceItem;
+import physicianconnect.objects.ServiceRevenue;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -102,9 +105,83 @@ class InvoicePersistenceStubTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void testGetInvoicesBetweenIsHalfOpenAndOrdered() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 0, 0);
+        stub.addInvoice(new Invoice("late", "1", "A", List.of(new ServiceItem("X", 1)), 0, start.plusDays(10)));
+        stub.addInvoice(new Invoice("first", "1", "A", List.of(new ServiceItem("X", 1)), 0, start));
+        stub.addInvoice(new Invoice("next", "1", "A", List.of(new ServiceItem("X", 1)), 0, start.plusMonths(1)));
+        List<Invoice> result = stub.getInvoicesBetween(start, start.plusMonths(1));
+        assertEquals(List.of("first", "late"), result.stream().map(Invoice::getId).toList());
+    }
+
+    @Test
+    void testRevenueByServiceSumsItemsInRange() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 0, 0);
+        stub.addInvoice(new Invoice("a", "1", "A", List.of(new ServiceItem("Lab", 0.1), new ServiceItem("Consult", 100)),
+                0, start));
+        stub.addInvoice(new Invoice("b", "1", "B", List.of(new ServiceItem("Lab", 0.2)), 0, start.plusDays(3)));
+        stub.addInvoice(new Invoice("c", "1", "C", List.of(new ServiceItem("XRay", 75)), 0, start.plusMonths(1)));
+
+        assertEquals(List.of(new ServiceRevenue("Consult", 1, 10000), new ServiceRevenue("Lab", 2, 30)),
+                stub.getRevenueByService(start, start.plusMonths(1)));
+    }
+
+    @Test
+    void testRevenueTotalsCoverCreationDaysInRange() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        stub.addInvoice(new Invoice("a", "1", "A", List.of(new ServiceItem("X", 100)), 0, start));
+        Invoice paid = new Invoice("b", "1", "B", List.of(new ServiceItem("Y", 50)), 10, start.plusDays(1));
+        paid.setBalance(15);
+        stub.addInvoice(paid);
+        stub.addInvoice(new Invoice("c", "1", "C", List.of(new ServiceItem("Z", 75)), 0, start.plusDays(2)));
+
+        assertEquals(new RevenueTotals(2, 14000, 2500),
+                stub.getRevenueTotals(start.toLocalDate(), start.toLocalDate().plusDays(2)));
+        assertEquals(190.0, stub.getRevenueTotals(null, null).outstanding());
+    }
+
     @Test
     void testConstructorWithSeed() {
         InvoicePersistenceStub seededStub = new InvoicePersistenceStub(true);
         assertFalse(seededStub.getAllInvoices().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAddInvoicesSkipsNulls() {
+        List<Invoice> batch = new ArrayList<>();
+        batch.add(new Invoice("b1", "1", "A", List.of(new ServiceItem("X", 1)), 0));
+        batch.add(null);
+        batch.add(new Invoice("b2", "1", "B", List.of(new ServiceItem("Y", 2)), 0));
+        stub.addInvoices(batch);
+        assertEquals(2, stub.getAllInvoices().size());
+    }
+
+    @Test
+    void testInvoicePageMatchesPrefixNewestFirst() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 0, 0);
+        stub.addInvoice(new Invoice("a", "1", "Alice", List.of(new ServiceItem("X", 1)), 0, start));
+        stub.addInvoice(new Invoice("b", "1", "alan", List.of(new ServiceItem("X", 1)), 0, start.plusDays(1)));
+        stub.addInvoice(new Invoice("c", "1", "Bob", List.of(new ServiceItem("X", 1)), 0, start.plusDays(2)));
+
+        List<Invoice> first = stub.getInvoicePage("AL", null, 0, 1);
+        assertEquals(List.of("b"), first.stream().map(Invoice::getId).toList());
+        assertEquals(List.of("a"), stub.getInvoicePage("AL", first.get(0), 5, 1).stream().map(Invoice::getId).toList());
+        assertEquals(2, stub.countInvoices("al"));
+        assertEquals(3, stub.countInvoices(null));
+    }
+
+    @Test
+    void testInvoicesBetweenPagesWithKeysetCursor() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 0, 0);
+        stub.addInvoice(new Invoice("b", "1", "A", List.of(new ServiceItem("X", 1)), 0, start));
+        stub.addInvoice(new Invoice("a", "1", "A", List.of(new ServiceItem("X", 1)), 0, start));
+        stub.addInvoice(new Invoice("c", "1", "A", List.of(new ServiceItem("X", 1)), 0, start.plusDays(1)));
+        stub.addInvoice(new Invoice("out", "1", "A", List.of(new ServiceItem("X", 1)), 0, start.plusMonths(1)));
+
+        List<Invoice> first = stub.getInvoicesBetween(start, start.plusMonths(1), null, 2);
+        assertEquals(List.of("a", "b"), first.stream().map(Invoice::getId).toList());
+        assertEquals(List.of("c"), stub.getInvoicesBetween(start, start.plusMonths(1), first.get(1), 2)
+                .stream().map(Invoice::getId).toList());
+    }
+}
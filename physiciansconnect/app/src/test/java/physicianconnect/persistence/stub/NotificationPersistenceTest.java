@@ -2,7 +2,10 @@ package physicianconnect.persistence.stub;
 
 import org.junit.jupiter.api.*;
 import physicianconnect.objects.Notification;
+import physicianconnect.objects.NotificationCategory;
+import physicianconnect.objects.Receptionist;
 import physicianconnect.persistence.interfaces.NotificationPersistence;
+import physicianconnect.persistence.interfaces.ReceptionistPersistence;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -35,4 +38,62 @@ class NotificationPersistenceStubTest {
         List<Notification> list = stub.getNotificationsForUser("uid", "utype");
         assertTrue(list.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAddNotifications() {
+        LocalDateTime now = LocalDateTime.now();
+        stub.addNotifications(List.of(
+                new Notification("a", "type", now, "uid", "utype"),
+                new Notification("b", "type", now, "other", "utype")));
+        assertEquals(1, stub.getNotificationsForUser("uid", "utype").size());
+    }
+
+    @Test
+    void testBroadcastOnlyReachesOptedInReceptionists() {
+        ReceptionistPersistence receptionists = new ReceptionistPersistenceStub(false);
+        receptionists.addReceptionist(new Receptionist("r1", "Ann", "ann@clinic.com", "pw", true, true, true));
+        receptionists.addReceptionist(new Receptionist("r2", "Bob", "bob@clinic.com", "pw", true, false, true));
+        NotificationPersistence notifications = StubFactory.createNotificationPersistence(receptionists);
+
+        assertEquals(1, notifications.broadcastToReceptionists("Invoice paid", "Invoice Paid!", NotificationCategory.BILLING));
+        assertEquals(1, notifications.getNotificationsForUser("r1", "receptionist").size());
+        assertTrue(notifications.getNotificationsForUser("r2", "receptionist").isEmpty());
+    }
+
+    @Test
+    void testFindSinceReturnsNotificationsAfterCursor() {
+        stub.addNotification(new Notification("old", "type", LocalDateTime.now(), "uid", "utype"));
+        long cursor = stub.latestSequence();
+        stub.addNotification(new Notification("new", "type", LocalDateTime.now(), "uid", "utype"));
+
+        List<Notification> fresh = stub.findSince("uid", "utype", cursor);
+        assertEquals(1, fresh.size());
+        assertEquals("new", fresh.get(0).getMessage());
+    }
+
+    @Test
+    void testCountUnreadNotificationsTracksInsertsReadsAndClears() {
+        Notification first = new Notification("a", "type", LocalDateTime.now(), "uid", "utype");
+        stub.addNotification(first);
+        stub.addNotifications(List.of(new Notification("b", "type", LocalDateTime.now(), "uid", "utype")));
+        assertEquals(2, stub.countUnreadNotifications("uid", "utype"));
+
+        stub.markNotificationAsRead(first);
+        stub.markNotificationAsRead(first);
+        assertTrue(first.isRead());
+        assertEquals(1, stub.countUnreadNotifications("uid", "utype"));
+
+        stub.clearNotificationsForUser("uid", "utype");
+        assertEquals(0, stub.countUnreadNotifications("uid", "utype"));
+    }
+
+    @Test
+    void testMarkAllNotificationsReadStopsAtId() {
+        Notification first = new Notification("a", "type", LocalDateTime.now(), "uid", "utype");
+        stub.addNotification(first);
+        stub.addNotification(new Notification("b", "type", LocalDateTime.now(), "uid", "utype"));
+
+        assertEquals(1, stub.markAllNotificationsRead("uid", "utype", first.getSeq()));
+        assertEquals(1, stub.countUnreadNotifications("uid", "utype"));
+    }
+}
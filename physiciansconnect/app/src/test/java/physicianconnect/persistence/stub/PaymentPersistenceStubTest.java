@@ -1,10 +1,14 @@
 package physicianconnect.persistence.stub;
 
 import org.junit.jupiter.api.*;
+import physicianconnect.objects.Invoice;
 import physicianconnect.objects.Payment;
+import physicianconnect.objects.ServiceItem;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -60,6 +64,16 @@ class PaymentPersistenceStubTest {
         assertTrue(payments.isEmpty());
     }
 
+    @Test
+    void testGetPaymentsBetweenIsHalfOpenAndOrdered() {
+        LocalDateTime start = LocalDateTime.of(2025, 2, 1, 0, 0);
+        stub.addPayment(new Payment("p2", "inv1", 20.0, "Card", start.plusDays(3)));
+        stub.addPayment(new Payment("p1", "inv1", 10.0, "Cash", start));
+        stub.addPayment(new Payment("p3", "inv1", 30.0, "Cash", start.plusMonths(1)));
+        List<Payment> payments = stub.getPaymentsBetween(start, start.plusMonths(1));
+        assertEquals(List.of("p1", "p2"), payments.stream().map(Payment::getId).toList());
+    }
+
     @Test
     void testDeletePaymentById() {
         Payment p = new Payment("pid1", "inv1", 50.0, "Cash");
@@ -84,4 +98,43 @@ class PaymentPersistenceStubTest {
         assertTrue(stub.getPaymentsByInvoice("inv1").isEmpty());
         assertTrue(stub.getPaymentsByInvoice("inv2").isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAddPayments() {
+        stub.addPayments(List.of(new Payment("b1", "inv1", 10.0, "Cash"), new Payment("b2", "inv1", 20.0, "Card")));
+        assertEquals(2, stub.getPaymentsByInvoice("inv1").size());
+    }
+
+    @Test
+    void testRecordPaymentDrawsDownInvoiceBalance() {
+        InvoicePersistenceStub invoices = new InvoicePersistenceStub(false);
+        Invoice invoice = new Invoice("inv1", "appt1", "Alice", List.of(new ServiceItem("Consult", 100)), 0);
+        invoices.addInvoice(invoice);
+        stub = new PaymentPersistenceStub(false, invoices);
+
+        assertNotNull(stub.recordPayment(new Payment("p1", "inv1", 60, "Cash"), "key-1"));
+        assertEquals("Partial", invoices.getInvoiceById("inv1").getStatus());
+        assertNull(stub.recordPayment(new Payment("p2", "inv1", 40.01, "Cash"), "key-2"));
+        assertEquals("p1", stub.recordPayment(new Payment("p3", "inv1", 60, "Cash"), "key-1").getId());
+        assertNotNull(stub.recordPayment(new Payment("p4", "inv1", 40, "Cash"), "key-3"));
+
+        assertEquals(0.0, invoices.getInvoiceById("inv1").getBalance());
+        assertEquals("Paid", invoices.getInvoiceById("inv1").getStatus());
+        assertEquals(2, stub.getPaymentsByInvoice("inv1").size());
+        assertThrows(IllegalArgumentException.class,
+                () -> stub.recordPayment(new Payment("p5", "missing", 1, "Cash"), "key-4"));
+    }
+
+    @Test
+    void testGetPaymentsByInvoicesGroupsOldestFirst() {
+        LocalDateTime at = LocalDateTime.of(2025, 2, 1, 9, 0);
+        stub.addPayment(new Payment("p2", "inv1", 20.0, "Card", at.plusHours(1)));
+        stub.addPayment(new Payment("p1", "inv1", 10.0, "Cash", at));
+        stub.addPayment(new Payment("p3", "inv2", 5.0, "Cash", at));
+
+        Map<String, List<Payment>> byInvoice = stub.getPaymentsByInvoices(List.of("inv1", "missing"));
+
+        assertEquals(Set.of("inv1"), byInvoice.keySet());
+        assertEquals(List.of("p1", "p2"), byInvoice.get("inv1").stream().map(Payment::getId).toList());
+    }
+}
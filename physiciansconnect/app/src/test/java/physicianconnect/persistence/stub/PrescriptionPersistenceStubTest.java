@@ -71,4 +71,14 @@ public void testGetPrescriptionsForPatientNotFound() {
     List<Prescription> result = stub.getPrescriptionsForPatient("Nonexistent");
     assertTrue(result.isEmpty());
 }
-}
\ No newline at end of file
+
+    @Test
+    void testAddPrescriptionsAssignsIds() {
+        stub.addPrescriptions(List.of(
+                new Prescription(0, "doc1", "Patient A", "Ibuprofen", "200mg", "200mg", "Once", "", "2025-06-01T10:00"),
+                new Prescription(0, "doc1", "Patient A", "Aspirin", "100mg", "100mg", "Once", "", "2025-06-02T10:00")));
+        List<Prescription> list = stub.getPrescriptionsForPatient("Patient A");
+        assertEquals(2, list.size());
+        assertNotEquals(list.get(0).getId(), list.get(1).getId());
+    }
+}
@@ -53,4 +53,12 @@ public class ReferralPersistenceStubTest {
         assertTrue(stub.getReferralsForPhysician("doc1").isEmpty());
         assertTrue(stub.getReferralsForPhysician("doc2").isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAddReferrals() {
+        stub.addReferrals(List.of(
+                new Referral(0, "doc1", "Patient A", "Lab Test", "Fasting", "2025-06-01"),
+                new Referral(0, "doc1", "Patient B", "Specialist", "", "2025-06-02")));
+        assertEquals(2, stub.getReferralsForPhysician("doc1").size());
+    }
+}
@@ -6,15 +6,18 @@ import physicianconnect.logic.controller.AppointmentController;
 import physicianconnect.logic.manager.PhysicianManager;
 import physicianconnect.logic.AvailabilityService;
 import physicianconnect.objects.Physician;
+import physicianconnect.objects.TimeSlot;
 import physicianconnect.presentation.util.TestUtils; // <-- Add this import
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class AllPhysiciansDailyPanelTest {
@@ -48,7 +51,7 @@ class AllPhysiciansDailyPanelTest {
         AtomicReference<LocalDate> changedDate = new AtomicReference<>();
         AllPhysiciansDailyPanel panel = new AllPhysiciansDailyPanel(
                 physicianManager, appointmentController, availabilityService,
-                LocalDate.of(2025, 6, 10), changedDate::set);
+                LocalDate.of(2025, 6, 10), changedDate::set, TestUtils.inlineAsync());
 
         frame.add(panel);
         frame.pack();
@@ -76,7 +79,7 @@ class AllPhysiciansDailyPanelTest {
 
         AllPhysiciansDailyPanel panel = new AllPhysiciansDailyPanel(
                 physicianManager, appointmentController, availabilityService,
-                date, changedDate::set);
+                date, changedDate::set, TestUtils.inlineAsync());
 
         JButton prevBtn = TestUtils.getButton(panel, "← Prev Day");
         JButton nextBtn = TestUtils.getButton(panel, "Next Day →");
@@ -99,7 +102,7 @@ class AllPhysiciansDailyPanelTest {
 
         AllPhysiciansDailyPanel panel = new AllPhysiciansDailyPanel(
                 physicianManager, appointmentController, availabilityService,
-                LocalDate.of(2025, 6, 10), d -> {});
+                LocalDate.of(2025, 6, 10), d -> {}, TestUtils.inlineAsync());
 
         JTextField searchField = (JTextField) TestUtils.getField(panel, "searchField");
         JPanel panelsContainer = (JPanel) TestUtils.getField(panel, "panelsContainer");
@@ -127,4 +130,29 @@ class AllPhysiciansDailyPanelTest {
         searchField.postActionEvent();
         assertEquals(0, panelsContainer.getComponentCount());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDayGridLoadsAllPhysiciansWithOneCall() throws Exception {
+        Physician p1 = new Physician("doc1", "Dr. Alice", "alice@email.com", "pw");
+        Physician p2 = new Physician("doc2", "Dr. Bob", "bob@email.com", "pw");
+        when(physicianManager.getAllPhysicians()).thenReturn(List.of(p1, p2));
+        LocalDate date = LocalDate.of(2025, 6, 10);
+        List<TimeSlot> aliceSlots = TimeSlot.generateDailySlots(date);
+        aliceSlots.get(0).setBooked(true);
+        aliceSlots.get(0).setPatientName("Patient");
+        when(availabilityService.getAvailabilityForPhysicians(List.of("doc1", "doc2"), date, date))
+                .thenReturn(Map.of("doc1", Map.of(date, aliceSlots)));
+
+        AllPhysiciansDailyPanel panel = new AllPhysiciansDailyPanel(
+                physicianManager, appointmentController, availabilityService, date, d -> {}, TestUtils.inlineAsync());
+        JTextField searchField = (JTextField) TestUtils.getField(panel, "searchField");
+        searchField.setText("Bob");
+
+        verify(availabilityService, times(1)).getAvailabilityForPhysicians(any(), any(), any());
+        verify(availabilityService, never()).getDailyAvailability(any(), any());
+        JPanel panelsContainer = (JPanel) TestUtils.getField(panel, "panelsContainer");
+        DailyAvailabilityPanel bobPanel = (DailyAvailabilityPanel)
+                ((JPanel) panelsContainer.getComponent(0)).getComponent(1);
+        assertEquals(18, ((List<?>) TestUtils.getField(bobPanel, "currentSlots")).size());
+    }
+}
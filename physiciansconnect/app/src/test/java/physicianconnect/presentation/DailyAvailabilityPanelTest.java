@@ -50,8 +50,8 @@ class DailyAvailabilityPanelTest {
         when(mockAvailabilityService.getDailyAvailability(anyString(), eq(date))).thenReturn(slots);
 
         DailyAvailabilityPanel panel = new DailyAvailabilityPanel(
-                "doc1", mockAvailabilityService, mockAppointmentController, date, () -> {
-                });
+                "doc1", mockAvailabilityService, mockAppointmentController, date, null, () -> {
+                }, TestUtils.inlineAsync());
 
         assertEquals(date, panel.getCurrentDate());
         // Should have loaded slots from service
@@ -65,8 +65,8 @@ class DailyAvailabilityPanelTest {
                 .thenThrow(new RuntimeException("DB error"));
 
         DailyAvailabilityPanel panel = new DailyAvailabilityPanel(
-                "doc1", mockAvailabilityService, mockAppointmentController, date, () -> {
-                });
+                "doc1", mockAvailabilityService, mockAppointmentController, date, null, () -> {
+                }, TestUtils.inlineAsync());
 
         // Should fallback to all-free slots
         assertEquals(date, panel.getCurrentDate());
@@ -130,8 +130,8 @@ class DailyAvailabilityPanelTest {
                 .thenReturn(List.of(appt));
 
         DailyAvailabilityPanel panel = new DailyAvailabilityPanel(
-                "doc1", mockAvailabilityService, mockAppointmentController, date, () -> {
-                });
+                "doc1", mockAvailabilityService, mockAppointmentController, date, null, () -> {
+                }, TestUtils.inlineAsync());
 
         // Mock ViewAppointmentPanel to simulate dialog
         try (MockedConstruction<ViewAppointmentPanel> mockViewDlg = mockConstruction(ViewAppointmentPanel.class,
@@ -167,8 +167,8 @@ class DailyAvailabilityPanelTest {
                 .thenReturn(List.of());
 
         DailyAvailabilityPanel panel = new DailyAvailabilityPanel(
-                "doc1", mockAvailabilityService, mockAppointmentController, date, () -> {
-                });
+                "doc1", mockAvailabilityService, mockAppointmentController, date, null, () -> {
+                }, TestUtils.inlineAsync());
 
         // Mock JOptionPane to verify error dialog
         try (MockedStatic<JOptionPane> mockedPane = mockStatic(JOptionPane.class)) {
@@ -194,8 +194,8 @@ class DailyAvailabilityPanelTest {
         when(mockAvailabilityService.getDailyAvailability(anyString(), eq(date))).thenReturn(slots);
 
         DailyAvailabilityPanel panel = new DailyAvailabilityPanel(
-                "doc1", mockAvailabilityService, mockAppointmentController, date, () -> {
-                });
+                "doc1", mockAvailabilityService, mockAppointmentController, date, null, () -> {
+                }, TestUtils.inlineAsync());
 
         // Click in the time label column (should do nothing)
         int x = 10; // In time label column (TIME_LABEL_WIDTH = 80)
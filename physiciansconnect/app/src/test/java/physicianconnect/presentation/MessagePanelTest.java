@@ -7,6 +7,7 @@ import physicianconnect.logic.exceptions.InvalidMessageException;
 import physicianconnect.objects.Message;
 import physicianconnect.objects.Physician;
 import physicianconnect.objects.Receptionist;
+import physicianconnect.presentation.util.TestUtils;
 
 import javax.swing.*;
 import java.awt.*;
@@ -16,9 +17,11 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class MessagePanelTest {
@@ -48,7 +51,7 @@ class MessagePanelTest {
         when(messageController.getUnreadMessagesForUser(anyString(), anyString())).thenReturn(List.of());
         when(messageController.getUnreadMessageCount(anyString(), anyString())).thenReturn(0);
 
-        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users);
+        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users, TestUtils.inlineAsync());
 
         JTextField searchField = (JTextField) getField(panel, "searchField");
         assertNotNull(searchField);
@@ -69,7 +72,7 @@ class MessagePanelTest {
         when(messageController.getUnreadMessagesForUser(anyString(), anyString())).thenReturn(List.of());
         when(messageController.getUnreadMessageCount(anyString(), anyString())).thenReturn(0);
 
-        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users);
+        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users, TestUtils.inlineAsync());
         JTextField searchField = (JTextField) getField(panel, "searchField");
         DefaultListModel<?> model = (DefaultListModel<?>) getField(panel, "searchResultsModel");
 
@@ -84,11 +87,12 @@ class MessagePanelTest {
     void testSelectRecipientAndLoadMessages() throws Exception {
         Message m1 = createMessage("doc1", "physician", "rec1", "receptionist", "Hello", false);
         Message m2 = createMessage("rec1", "receptionist", "doc1", "physician", "Hi!", false);
-        when(messageController.getAllMessagesForUser("doc1", "physician")).thenReturn(List.of(m1, m2));
+        when(messageController.getConversation(eq("doc1"), eq("physician"), eq("rec1"), eq("receptionist"), isNull(), anyInt()))
+                .thenReturn(List.of(m1, m2));
         when(messageController.getUnreadMessagesForUser(anyString(), anyString())).thenReturn(List.of());
         when(messageController.getUnreadMessageCount(anyString(), anyString())).thenReturn(0);
 
-        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users);
+        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users, TestUtils.inlineAsync());
 
         JList<Object> searchResultsList = (JList<Object>) getField(panel, "searchResultsList");
         DefaultListModel<Object> model = (DefaultListModel<Object>) getField(panel, "searchResultsModel");
@@ -107,18 +111,65 @@ class MessagePanelTest {
         assertEquals(2, messageListModel.size());
     }
 
+    @Test
+    void testOpeningConversationMarksUnreadBacklogInOneCall() throws Exception {
+        List<Message> page = new java.util.ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Message m = createMessage("rec1", "receptionist", "doc1", "physician", "unread " + i, false);
+            m.setSeq(10 + i);
+            page.add(m);
+        }
+        when(messageController.getConversation(eq("doc1"), eq("physician"), eq("rec1"), eq("receptionist"), isNull(), anyInt()))
+                .thenReturn(page);
+
+        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users, TestUtils.inlineAsync());
+        selectRecipient(panel, "rec1");
+
+        verify(messageController).markConversationRead("doc1", "physician", "rec1", "receptionist", 14L);
+        verify(messageController, never()).markMessageAsRead(any());
+        assertTrue(page.stream().allMatch(Message::isRead));
+    }
+
+    @Test
+    void testScrollingToTopLoadsOlderPage() throws Exception {
+        List<Message> newest = new java.util.ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            newest.add(createMessage("rec1", "receptionist", "doc1", "physician", "new " + i, true));
+        }
+        Message oldest = createMessage("doc1", "physician", "rec1", "receptionist", "first", false);
+        when(messageController.getConversation(eq("doc1"), eq("physician"), eq("rec1"), eq("receptionist"), isNull(), anyInt()))
+                .thenReturn(newest);
+        when(messageController.getConversation(eq("doc1"), eq("physician"), eq("rec1"), eq("receptionist"), eq(newest.get(0)), anyInt()))
+                .thenReturn(List.of(oldest));
+
+        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users, TestUtils.inlineAsync());
+        panel.setSize(800, 600);
+        panel.validate();
+        selectRecipient(panel, "rec1");
+
+        DefaultListModel<Message> messageListModel = (DefaultListModel<Message>) getField(panel, "messageListModel");
+        assertEquals(50, messageListModel.size());
+
+        JScrollBar vertical = ((JScrollPane) getField(panel, "messageScrollPane")).getVerticalScrollBar();
+        assertTrue(vertical.getValue() > vertical.getMinimum(), "first page should open scrolled to the bottom");
+        vertical.setValue(vertical.getMinimum());
+
+        assertEquals(51, messageListModel.size());
+        assertEquals("first", messageListModel.get(0).getContent());
+        assertFalse((Boolean) getField(panel, "hasOlderMessages"));
+    }
+
 @Test
 void testSendMessageSuccess() throws Exception {
     Message sent = createMessage("doc1", "physician", "rec1", "receptionist", "How are you?", false);
 
     // Before sending, no messages
-    when(messageController.getAllMessagesForUser(anyString(), anyString()))
-        .thenReturn(List.of()) // first call: recipient selection
-        .thenReturn(List.of(sent)); // second call: after sending
+    when(messageController.getConversation(anyString(), anyString(), anyString(), anyString(), any(), anyInt()))
+        .thenReturn(List.of()); // recipient selection: empty conversation
     when(messageController.getUnreadMessagesForUser(anyString(), anyString())).thenReturn(List.of());
     when(messageController.getUnreadMessageCount(anyString(), anyString())).thenReturn(0);
 
-    MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users);
+    MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users, TestUtils.inlineAsync());
 
     when(messageController.sendMessage(anyString(), anyString(), anyString(), anyString(), anyString())).thenReturn(sent);
 
@@ -148,7 +199,7 @@ void testSendMessageSuccess() throws Exception {
 
     @Test
     void testSendMessageNoRecipientShowsDialog() throws Exception {
-        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users);
+        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users, TestUtils.inlineAsync());
         JTextField messageInput = (JTextField) getField(panel, "messageInput");
         messageInput.setText("Hello!");
 
@@ -163,7 +214,7 @@ void testSendMessageSuccess() throws Exception {
     void testSendMessageInvalidShowsDialog() throws Exception {
         when(messageController.sendMessage(anyString(), anyString(), anyString(), anyString(), anyString()))
                 .thenThrow(new InvalidMessageException("Invalid!"));
-        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users);
+        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users, TestUtils.inlineAsync());
 
         // Select recipient
         JList<Object> searchResultsList = (JList<Object>) getField(panel, "searchResultsList");
@@ -188,6 +239,18 @@ void testSendMessageSuccess() throws Exception {
     }
 
     // --- Helpers ---
+    private void selectRecipient(MessagePanel panel, String userId) {
+        JList<Object> searchResultsList = (JList<Object>) getField(panel, "searchResultsList");
+        DefaultListModel<Object> model = (DefaultListModel<Object>) getField(panel, "searchResultsModel");
+        for (int i = 0; i < model.size(); i++) {
+            if (model.get(i) instanceof Receptionist && ((Receptionist) model.get(i)).getId().equals(userId)) {
+                searchResultsList.setSelectedIndex(i);
+                return;
+            }
+        }
+        fail("User not listed: " + userId);
+    }
+
     private boolean containsUser(DefaultListModel<?> model, Object user) {
         for (int i = 0; i < model.size(); i++) {
             if (model.get(i).equals(user)) return true;
@@ -33,7 +33,7 @@ void testLoadNotificationsFromPersistence() {
     stored.add(new Notification("msg2", "type2", LocalDateTime.now().minusMinutes(5), "uid", "utype"));
     when(notificationPersistence.getNotificationsForUser("uid", "utype")).thenReturn(stored);
 
-    NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype");
+    NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype", TestUtils.inlineAsync());
     panel.loadNotifications();
 
     DefaultListModel<?> model = (DefaultListModel<?>) TestUtils.getField(panel, "notificationListModel");
@@ -42,7 +42,7 @@ void testLoadNotificationsFromPersistence() {
 
     @Test
     void testAddNotificationAddsToPersistenceAndUnread() {
-        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype");
+        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype", TestUtils.inlineAsync());
         panel.addNotification("new message", "typeX");
 
         // Should call persistence
@@ -61,7 +61,7 @@ void testLoadNotificationsFromPersistence() {
 
     @Test
     void testMaxNotificationsEnforced() {
-        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype");
+        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype", TestUtils.inlineAsync());
         // Add 12 notifications (MAX_NOTIFICATIONS is 10)
         for (int i = 0; i < 12; i++) {
             panel.addNotification("msg" + i, "type");
@@ -76,7 +76,7 @@ void testLoadNotificationsFromPersistence() {
 // Arjun made changes to fix issue with viewing notifs so now this testis hard to implement/fix rn
 //    @Test
 //    void testUnreadNotificationCount() {
-//        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype");
+//        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype", TestUtils.inlineAsync());
 //        assertEquals(0, panel.getUnreadNotificationCount());
 //        panel.addNotification("msg", "type");
 //
@@ -87,7 +87,7 @@ void testLoadNotificationsFromPersistence() {
     // Arjun made changes to fix issue with viewing notifs so now this testis hard to implement/fix rn
 //    @Test
 //    void testMarkAllAsReadClearsUnread() {
-//        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype");
+//        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype", TestUtils.inlineAsync());
 //        panel.addNotification("msg", "type");
 //        assertEquals(1, panel.getUnreadNotificationCount());
 //        panel.markAllAsRead();
@@ -100,7 +100,7 @@ void testLoadNotificationsFromPersistence() {
 
     @Test
     void testCellRendererSetsTextAndColors() {
-        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype");
+        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype", TestUtils.inlineAsync());
         addNotification(panel, "msg", "Appointment Cancellation!", LocalDateTime.now().minusMinutes(1));
         DefaultListModel<?> model = (DefaultListModel<?>) TestUtils.getField(panel, "notificationListModel");
         Notification n = (Notification) model.get(0);
@@ -123,5 +123,84 @@ void testLoadNotificationsFromPersistence() {
         unread.add(n);
     }
 
+    @Test
+    void testPollAddsOnlyNotificationsNewerThanTheLastLoad() {
+        when(notificationPersistence.latestSequence()).thenReturn(5L);
+        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype", TestUtils.inlineAsync());
+
+        Notification fresh = new Notification("fresh", "typeX", LocalDateTime.now(), "uid", "utype");
+        fresh.setSeq(6);
+        when(notificationPersistence.findSince("uid", "utype", 5L)).thenReturn(List.of(fresh));
+        when(notificationPersistence.findSince("uid", "utype", 6L)).thenReturn(List.of());
+        when(notificationPersistence.countUnreadNotifications("uid", "utype")).thenReturn(1);
+
+        assertEquals(1, panel.pollNewNotifications());
+        assertEquals(1, panel.pollNewNotifications());
+        verify(notificationPersistence).findSince("uid", "utype", 6L);
+
+        DefaultListModel<?> model = (DefaultListModel<?>) TestUtils.getField(panel, "notificationListModel");
+        assertEquals(1, model.size());
+        assertSame(fresh, model.get(0));
+    }
+
+    @Test
+    void testPollSkipsNotificationsThePanelAddedItself() {
+        doAnswer(inv -> {
+            ((Notification) inv.getArgument(0)).setSeq(1);
+            return null;
+        }).when(notificationPersistence).addNotification(any(Notification.class));
+        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype", TestUtils.inlineAsync());
+        panel.addNotification("local", "typeX");
+
+        Notification stored = new Notification("local", "typeX", LocalDateTime.now(), "uid", "utype");
+        stored.setSeq(1);
+        when(notificationPersistence.findSince("uid", "utype", 0L)).thenReturn(List.of(stored));
+        when(notificationPersistence.countUnreadNotifications("uid", "utype")).thenReturn(1);
+
+        assertEquals(1, panel.pollNewNotifications());
+        DefaultListModel<?> model = (DefaultListModel<?>) TestUtils.getField(panel, "notificationListModel");
+        assertEquals(1, model.size());
+    }
+
+    @Test
+    void testPollReportsTheMaintainedUnreadCount() {
+        // More unread than the panel has listed: the badge follows the counter
+        when(notificationPersistence.findSince("uid", "utype", 0L)).thenReturn(List.of());
+        when(notificationPersistence.countUnreadNotifications("uid", "utype")).thenReturn(12);
+        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype", TestUtils.inlineAsync());
 
-}
\ No newline at end of file
+        assertEquals(12, panel.pollNewNotifications());
+    }
+
+    @Test
+    void testAddedNotificationAlreadyListedByAPollIsNotListedTwice() {
+        Notification stored = new Notification("local", "typeX", LocalDateTime.now(), "uid", "utype");
+        stored.setSeq(1);
+        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype", TestUtils.inlineAsync());
+        doAnswer(inv -> {
+            // A poll lists the stored row before the insert's completion runs
+            when(notificationPersistence.findSince("uid", "utype", 0L)).thenReturn(List.of(stored));
+            panel.pollNewNotifications();
+            ((Notification) inv.getArgument(0)).setSeq(1);
+            return null;
+        }).when(notificationPersistence).addNotification(any(Notification.class));
+
+        panel.addNotification("local", "typeX");
+
+        DefaultListModel<?> model = (DefaultListModel<?>) TestUtils.getField(panel, "notificationListModel");
+        assertEquals(1, model.size());
+    }
+
+    @Test
+    void testMarkAllAsReadStoresThenReloads() {
+        when(notificationPersistence.latestSequence()).thenReturn(4L);
+        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype", TestUtils.inlineAsync());
+
+        panel.markAllAsRead();
+
+        InOrder order = inOrder(notificationPersistence);
+        order.verify(notificationPersistence).markAllNotificationsRead("uid", "utype", 4L);
+        order.verify(notificationPersistence).getNotificationsForUser("uid", "utype");
+        assertTrue(((List<?>) TestUtils.getField(panel, "unreadNotifications")).isEmpty());
+    }
+}
@@ -62,7 +62,7 @@ class WeeklyAvailabilityPanelTest {
         when(availabilityService.getWeeklyAvailability(anyString(), any())).thenReturn(weekData);
 
         WeeklyAvailabilityPanel panel = new WeeklyAvailabilityPanel(
-                "doc1", availabilityService, appointmentController, monday, onWeekChanged);
+                "doc1", availabilityService, appointmentController, monday, onWeekChanged, TestUtils.inlineAsync());
 
         // Check that weekData is set and contains correct days
         Map<?, ?> loaded = (Map<?, ?>) TestUtils.getField(panel, "weekData");
@@ -75,7 +75,7 @@ class WeeklyAvailabilityPanelTest {
         when(availabilityService.getWeeklyAvailability(anyString(), any())).thenThrow(new RuntimeException("fail"));
 
         WeeklyAvailabilityPanel panel = new WeeklyAvailabilityPanel(
-                "doc1", availabilityService, appointmentController, monday, onWeekChanged);
+                "doc1", availabilityService, appointmentController, monday, onWeekChanged, TestUtils.inlineAsync());
 
         Map<?, ?> loaded = (Map<?, ?>) TestUtils.getField(panel, "weekData");
         assertEquals(7, loaded.size());
@@ -137,7 +137,7 @@ class WeeklyAvailabilityPanelTest {
                 .thenReturn(List.of(appt));
 
         WeeklyAvailabilityPanel panel = new WeeklyAvailabilityPanel(
-                "doc1", availabilityService, appointmentController, monday, onWeekChanged);
+                "doc1", availabilityService, appointmentController, monday, onWeekChanged, TestUtils.inlineAsync());
 
         // Simulate click on Wednesday, slot 4 (10:00, which is booked)
         int x = 80 + 2 * 100 + 10;
@@ -165,7 +165,7 @@ class WeeklyAvailabilityPanelTest {
                 .thenReturn(Collections.emptyList());
 
         WeeklyAvailabilityPanel panel = new WeeklyAvailabilityPanel(
-                "doc1", availabilityService, appointmentController, monday, onWeekChanged);
+                "doc1", availabilityService, appointmentController, monday, onWeekChanged, TestUtils.inlineAsync());
 
         // Simulate click on Wednesday, slot 4 (10:00, which is booked)
         int x = 80 + 2 * 100 + 10;
@@ -188,7 +188,7 @@ class WeeklyAvailabilityPanelTest {
         when(availabilityService.getWeeklyAvailability(anyString(), any())).thenReturn(weekData);
 
         WeeklyAvailabilityPanel panel = new WeeklyAvailabilityPanel(
-                "doc1", availabilityService, appointmentController, monday, onWeekChanged);
+                "doc1", availabilityService, appointmentController, monday, onWeekChanged, TestUtils.inlineAsync());
 
         // Click in time label column
         int x = 10; // < TIME_LABEL_WIDTH
@@ -224,7 +224,7 @@ class WeeklyAvailabilityPanelTest {
         });
 
         WeeklyAvailabilityPanel panel = new WeeklyAvailabilityPanel(
-                "doc1", availabilityService, appointmentController, monday, onWeekChanged);
+                "doc1", availabilityService, appointmentController, monday, onWeekChanged, TestUtils.inlineAsync());
 
         LocalDate nextMonday = monday.plusWeeks(1);
         panel.loadWeek(nextMonday);
@@ -239,7 +239,7 @@ class WeeklyAvailabilityPanelTest {
         when(availabilityService.getWeeklyAvailability(anyString(), any())).thenReturn(weekData);
 
         WeeklyAvailabilityPanel panel = new WeeklyAvailabilityPanel(
-                "doc1", availabilityService, appointmentController, monday, onWeekChanged);
+                "doc1", availabilityService, appointmentController, monday, onWeekChanged, TestUtils.inlineAsync());
 
         // Use a BufferedImage as Graphics context for headless test
         BufferedImage img = new BufferedImage(900, 600, BufferedImage.TYPE_INT_RGB);
@@ -5,6 +5,7 @@ import org.mockito.*;
 import physicianconnect.logic.controller.PatientHistoryController;
 import physicianconnect.logic.manager.AppointmentManager;
 import physicianconnect.objects.Appointment;
+import physicianconnect.presentation.util.TestUtils;
 
 import javax.swing.*;
 import java.awt.*;
@@ -33,7 +34,7 @@ class PatientHistoryPanelTest {
         when(appointmentManager.getAppointmentsForPhysician("doc1")).thenReturn(List.of(apt1, apt2));
         when(historyController.getPatientHistoryString(eq("doc1"), any())).thenReturn("History for patient");
 
-        PatientHistoryPanel panel = new PatientHistoryPanel(appointmentManager, historyController, "doc1");
+        PatientHistoryPanel panel = new PatientHistoryPanel(appointmentManager, historyController, "doc1", TestUtils.inlineAsync());
 
         JComboBox<?> combo = (JComboBox<?>) getField(panel, "patientCombo");
         JTextArea area = (JTextArea) getField(panel, "historyArea");
@@ -47,7 +48,7 @@ class PatientHistoryPanelTest {
     @Test
     void testPanelWithNoPatients() {
         when(appointmentManager.getAppointmentsForPhysician("doc1")).thenReturn(List.of());
-        PatientHistoryPanel panel = new PatientHistoryPanel(appointmentManager, historyController, "doc1");
+        PatientHistoryPanel panel = new PatientHistoryPanel(appointmentManager, historyController, "doc1", TestUtils.inlineAsync());
 
         JComboBox<?> combo = (JComboBox<?>) getField(panel, "patientCombo");
         JTextArea area = (JTextArea) getField(panel, "historyArea");
@@ -66,7 +67,7 @@ class PatientHistoryPanelTest {
         when(historyController.getPatientHistoryString("doc1", "Alice")).thenReturn("Alice's history");
         when(historyController.getPatientHistoryString("doc1", "Bob")).thenReturn("Bob's history");
 
-        PatientHistoryPanel panel = new PatientHistoryPanel(appointmentManager, historyController, "doc1");
+        PatientHistoryPanel panel = new PatientHistoryPanel(appointmentManager, historyController, "doc1", TestUtils.inlineAsync());
         JComboBox<String> combo = (JComboBox<String>) getField(panel, "patientCombo");
         JTextArea area = (JTextArea) getField(panel, "historyArea");
 
@@ -85,7 +86,7 @@ class PatientHistoryPanelTest {
         Appointment apt1 = mock(Appointment.class);
         when(apt1.getPatientName()).thenReturn("Alice");
         when(appointmentManager.getAppointmentsForPhysician("doc1")).thenReturn(List.of(apt1));
-        PatientHistoryPanel panel = new PatientHistoryPanel(appointmentManager, historyController, "doc1");
+        PatientHistoryPanel panel = new PatientHistoryPanel(appointmentManager, historyController, "doc1", TestUtils.inlineAsync());
         JComboBox<String> combo = (JComboBox<String>) getField(panel, "patientCombo");
         JTextArea area = (JTextArea) getField(panel, "historyArea");
 
@@ -0,0 +1,61 @@
+package physicianconnect.presentation.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdtCoalescerTest {
+
+    @Test
+    void testBurstIsDeliveredAsOneBatchOnTheEdt() throws Exception {
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        List<Boolean> onEdt = new CopyOnWriteArrayList<>();
+        Consumer<Integer> consumer = EdtCoalescer.coalescing(batch -> {
+            onEdt.add(SwingUtilities.isEventDispatchThread());
+            batches.add(batch);
+        });
+
+        // Hold the EDT so every event queues behind the first invokeLater
+        CountDownLatch release = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 10; i++) {
+            consumer.accept(i);
+        }
+        release.countDown();
+        SwingUtilities.invokeAndWait(() -> { });
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            expected.add(i);
+        }
+        assertEquals(List.of(expected), batches);
+        assertEquals(List.of(true), onEdt);
+    }
+
+    @Test
+    void testEventAfterDrainStartsNewBatch() throws Exception {
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        Consumer<String> consumer = EdtCoalescer.coalescing(batches::add);
+
+        consumer.accept("a");
+        SwingUtilities.invokeAndWait(() -> { });
+        consumer.accept("b");
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(List.of(List.of("a"), List.of("b")), batches);
+    }
+}
@@ -0,0 +1,136 @@
+package physicianconnect.presentation.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedTableModelTest {
+
+    /** Rows 0..size-1; records how each page was asked for. */
+    private static class NumberSource implements PagedTableModel.PageSource<Integer> {
+        final int size;
+        final List<String> calls = new ArrayList<>();
+
+        NumberSource(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int count() {
+            return size;
+        }
+
+        @Override
+        public List<Integer> page(Integer after, int offset, int limit) {
+            int start = after != null ? after + 1 : offset;
+            calls.add(after != null ? "after " + after : "offset " + offset);
+            return IntStream.range(start, Math.min(start + limit, size)).boxed().toList();
+        }
+    }
+
+    private PagedTableModel<Integer> model;
+    private NumberSource source;
+
+    @BeforeEach
+    void setUp() {
+        model = new PagedTableModel<>(new String[] { "N" }, (row, column) -> row, 10, 3,
+                Runnable::run, Runnable::run);
+        source = new NumberSource(95);
+        model.setSource(source);
+    }
+
+    @Test
+    void testCountsUpFrontAndLoadsPagesOnDemand() {
+        assertEquals(95, model.getRowCount());
+        assertTrue(source.calls.isEmpty());
+
+        assertNull(model.getValueAt(0, 0), "first touch starts the load");
+        assertEquals(0, model.getValueAt(0, 0));
+        assertNull(model.getRow(94));
+        assertEquals(94, model.getRow(94));
+        assertEquals(List.of("offset 0", "after 9", "offset 90"), source.calls);
+    }
+
+    @Test
+    void testNextPageUsesKeysetCursorAndJumpsUseOffset() {
+        model.getRow(0);
+        model.getRow(5);   // prefetches page 1 right after page 0
+        model.getRow(60);  // jump: page 5 has no cached page before it
+
+        assertEquals(List.of("offset 0", "after 9", "offset 60"), source.calls);
+        assertEquals(15, model.getRow(15));
+    }
+
+    @Test
+    void testKeepsAtMostMaxPages() {
+        for (int row = 0; row < 95; row += 10) {
+            model.getRow(row);
+        }
+        assertEquals(3, model.cachedPages());
+    }
+
+    @Test
+    void testRefreshDropsCachedPages() {
+        model.getRow(0);
+        model.getRow(0);
+        NumberSource smaller = new NumberSource(4);
+        model.setSource(smaller);
+
+        assertEquals(0, model.cachedPages());
+        assertEquals(4, model.getRowCount());
+        model.getRow(3);
+        assertEquals(3, model.getRow(3));
+        assertEquals(List.of("offset 0"), smaller.calls);
+    }
+
+    @Test
+    void testFailedPageReportedOnceAndNotRetriedUntilRefresh() {
+        List<RuntimeException> errors = new ArrayList<>();
+        model.setOnError(errors::add);
+        AtomicBoolean broken = new AtomicBoolean(true);
+        NumberSource failing = new NumberSource(95) {
+            @Override
+            public List<Integer> page(Integer after, int offset, int limit) {
+                calls.add("offset " + offset);
+                if (broken.get()) {
+                    throw new IllegalStateException("database is locked");
+                }
+                return super.page(after, offset, limit);
+            }
+        };
+        model.setSource(failing);
+
+        for (int repaint = 0; repaint < 5; repaint++) {
+            assertNull(model.getValueAt(0, 0));
+        }
+        assertEquals(List.of("offset 0"), failing.calls);
+        assertEquals(1, errors.size());
+        assertEquals("database is locked", errors.get(0).getMessage());
+
+        broken.set(false);
+        model.refresh();
+        model.getRow(0);
+        assertEquals(0, model.getRow(0));
+    }
+
+    @Test
+    void testFailedCountReported() {
+        List<RuntimeException> errors = new ArrayList<>();
+        model.setOnError(errors::add);
+        model.setSource(new NumberSource(95) {
+            @Override
+            public int count() {
+                throw new IllegalStateException("no such table");
+            }
+        });
+
+        assertEquals(0, model.getRowCount());
+        assertEquals(1, errors.size());
+    }
+}
@@ -1,9 +1,16 @@
 package physicianconnect.presentation.util;
 
+import physicianconnect.logic.controller.AsyncFacade;
+
 import javax.swing.*;
 import java.awt.*;
 
 public class TestUtils {
+    /** Runs and completes async panel calls inline, so results can be asserted right away. */
+    public static AsyncFacade inlineAsync() {
+        return new AsyncFacade(Runnable::run, Runnable::run);
+    }
+
     public static JTextField findTextField(Container container, int index) {
         return (JTextField) findComponentOfType(container, JTextField.class, index);
     }
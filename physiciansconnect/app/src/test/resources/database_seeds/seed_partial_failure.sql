@@ -0,0 +1,3 @@
+CREATE TABLE IF NOT EXISTS seed_items (id INTEGER PRIMARY KEY, label TEXT NOT NULL);
+INSERT INTO seed_items (id, label) VALUES (1, 'first');
+INSERT INTO seed_items (id, label) VALUES (1, 'duplicate key');
@@ -0,0 +1,10 @@
+-- Fixture for DatabaseSeederTest: literals containing separators and comments
+CREATE TABLE IF NOT EXISTS seed_items (id INTEGER PRIMARY KEY, label TEXT NOT NULL);
+
+/* block comment; with a semicolon */
+INSERT INTO seed_items (id, label) VALUES
+(1, 'semi;colon'),
+(2, 'it''s quoted'),
+(3, '-- not a comment'),
+(4, '/* not a comment either */');
+INSERT INTO seed_items (id, label) VALUES (5, 'no trailing semicolon')